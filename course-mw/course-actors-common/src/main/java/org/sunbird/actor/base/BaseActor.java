@@ -5,6 +5,7 @@ import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.LoggerUtil;
 import org.sunbird.common.request.Request;
+import org.sunbird.common.request.RequestDeadline;
 import org.sunbird.common.responsecode.ResponseCode;
 
 public abstract class BaseActor extends UntypedAbstractActor {
@@ -18,17 +19,30 @@ public abstract class BaseActor extends UntypedAbstractActor {
       Request request = (Request) message;
       String operation = request.getOperation();
       logger.info(request.getRequestContext(), "onReceive called for operation: " + operation);
+      // Deadline applies only when the caller is waiting on an ask, not for background tells.
+      if (isAsked()) RequestDeadline.set(request.getRequestContext());
       try {
+        if (RequestDeadline.isExpired()) {
+          logger.info(request.getRequestContext(), "Deadline exceeded, skipping operation: " + operation);
+          sender().tell(RequestDeadline.exceeded(), self());
+          return;
+        }
         onReceive(request);
       } catch (Exception e) {
         logger.error(request.getRequestContext(), "Error while processing the message : " + operation, e);
         onReceiveException(operation, e);
+      } finally {
+        RequestDeadline.clear();
       }
     } else {
       // Do nothing !
     }
   }
 
+  private boolean isAsked() {
+    return "temp".equals(sender().path().parent().name());
+  }
+
   protected void onReceiveException(String callerName, Exception exception) throws Exception {
     sender().tell(exception, self());
   }
@@ -123,9 +123,13 @@ public class PageCacheLoaderService implements Runnable {
       cache.put(mapName, key, obj);
       return true;
     } else {
-      Map<String, Map<String, Object>> map = getDCMap(mapName);
-      if (map != null) {
-        map.put(key, (Map<String, Object>) obj);
+      switch (mapName) {
+        case "getPageData":
+          DataCacheHandler.putPage(key, (Map<String, Object>) obj);
+          break;
+        case "getSection":
+          DataCacheHandler.putSection(key, (Map<String, Object>) obj);
+          break;
       }
     }
     return false;
@@ -40,6 +40,7 @@ public final class SunbirdKey {
     public static final String CHILDREN = "children";
     public static final String ROOT = "root";
     public static final String LAST_PUBLISHED_ON = "lastPublishedOn";
+    public static final String PKG_VERSION = "pkgVersion";
     public static final String REQUESTED_FOR = "requestedFor";
     // Content Status Update API Specific - START
     public static final String ACTUAL_USER_ID = "actualUserId";
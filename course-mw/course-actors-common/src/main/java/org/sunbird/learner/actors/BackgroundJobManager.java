@@ -1,12 +1,9 @@
 package org.sunbird.learner.actors;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.commons.lang3.StringUtils;
 import org.sunbird.actor.base.BaseActor;
-import org.sunbird.common.ElasticSearchHelper;
+import org.sunbird.common.ElasticSearchBulkQueue;
 import org.sunbird.common.exception.ProjectCommonException;
-import org.sunbird.common.factory.EsClientFactory;
-import org.sunbird.common.inf.ElasticSearchService;
 import org.sunbird.common.models.util.ActorOperations;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerUtil;
@@ -17,7 +14,6 @@ import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.learner.actors.coursebatch.service.UserCoursesService;
 import org.sunbird.learner.util.CourseBatchSchedulerUtil;
 import org.sunbird.learner.util.Util;
-import scala.concurrent.Future;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -42,8 +38,6 @@ public class BackgroundJobManager extends BaseActor {
     headerMap.put("accept", "application/json");
   }
 
-  private ElasticSearchService esService = EsClientFactory.getInstance(JsonKey.REST);
-
   @Override
   public void onReceive(Request request) throws Throwable {
     if (dbInfo == null) {
@@ -87,8 +81,7 @@ public class BackgroundJobManager extends BaseActor {
 
     Map<String, Object> batch =
         (Map<String, Object>) actorMessage.getRequest().get(JsonKey.USER_COURSES);
-    updateDataToElastic(actorMessage.getRequestContext(), 
-        ProjectUtil.EsIndex.sunbird.getIndexName(),
+    upsertDataToElastic(actorMessage.getRequestContext(),
         ProjectUtil.EsType.usercourses.getTypeName(),
         (String) batch.get(JsonKey.ID),
         batch);
@@ -102,8 +95,7 @@ public class BackgroundJobManager extends BaseActor {
     String userId = (String) batch.get(JsonKey.USER_ID);
     String batchId = (String) batch.get(JsonKey.BATCH_ID);
     String identifier = UserCoursesService.generateUserCourseESId(batchId, userId);
-    insertDataToElastic(actorMessage.getRequestContext(), 
-        ProjectUtil.EsIndex.sunbird.getIndexName(),
+    insertDataToElastic(actorMessage.getRequestContext(),
         ProjectUtil.EsType.usercourses.getTypeName(),
         identifier,
         batch);
@@ -112,8 +104,8 @@ public class BackgroundJobManager extends BaseActor {
   @SuppressWarnings("unchecked")
   private void updateCourseBatchInfoToEs(Request actorMessage) {
     Map<String, Object> batch = (Map<String, Object>) actorMessage.getRequest().get(JsonKey.BATCH);
-    updateDataToElastic(
-            actorMessage.getRequestContext(), ProjectUtil.EsIndex.sunbird.getIndexName(),
+    upsertDataToElastic(
+            actorMessage.getRequestContext(),
         ProjectUtil.EsType.courseBatch.getTypeName(),
         (String) batch.get(JsonKey.ID),
         batch);
@@ -134,39 +126,35 @@ public class BackgroundJobManager extends BaseActor {
         CourseBatchSchedulerUtil.headerMap);
   }
 
-  private boolean updateDataToElastic(
-          RequestContext requestContext, String indexName, String typeName, String identifier, Map<String, Object> data) {
-    Future<Boolean> responseF = esService.update(requestContext, typeName, identifier, data);
-    boolean response = (boolean) ElasticSearchHelper.getResponseFromFuture(responseF);
-    if (response) {
-      return true;
-    }
-    logger.info(requestContext, "unbale to save the data inside ES with identifier " + identifier);
-    return false;
+  /**
+   * Queues the data to be saved in place of the document, the queue writes it with the next bulk
+   * request.
+   *
+   *
+   * @param requestContext
+   * @param type String
+   * @param identifier String
+   * @param data Map<String,Object>
+   */
+  private void insertDataToElastic(
+          RequestContext requestContext, String type, String identifier, Map<String, Object> data) {
+    logger.debug(requestContext, "BackgroundJobManager:insertDataToElastic: type = " + type + " identifier = " + identifier);
+    ElasticSearchBulkQueue.getInstance().replace(requestContext, type, identifier, data);
   }
 
   /**
-   * Method to cache the course data .
+   * Queues the data to be merged into the document, the queue writes it with the next bulk request.
    *
    *
    * @param requestContext
-   * @param index String
    * @param type String
    * @param identifier String
    * @param data Map<String,Object>
-   * @return boolean
    */
-  private boolean insertDataToElastic(
-          RequestContext requestContext, String index, String type, String identifier, Map<String, Object> data) {
-    logger.info(requestContext, "BackgroundJobManager:insertDataToElastic: type = " + type + " identifier = " + identifier);
-    Future<String> responseF = esService.save(requestContext, type, identifier, data);
-    String response = (String) ElasticSearchHelper.getResponseFromFuture(responseF);
-    logger.debug(requestContext, "ES save response for identifier :" + identifier + " : ", response);
-    if (!StringUtils.isBlank(response)) {
-      return true;
-    }
-    logger.info(requestContext,"unbale to save the data inside ES with identifier " + identifier);
-    return false;
+  private void upsertDataToElastic(
+          RequestContext requestContext, String type, String identifier, Map<String, Object> data) {
+    logger.debug(requestContext, "BackgroundJobManager:upsertDataToElastic: type = " + type + " identifier = " + identifier);
+    ElasticSearchBulkQueue.getInstance().upsert(requestContext, type, identifier, data);
   }
 
   /**
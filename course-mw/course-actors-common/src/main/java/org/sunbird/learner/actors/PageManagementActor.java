@@ -28,6 +28,7 @@ import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.dto.SearchDTO;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.util.ContentSearchUtil;
+import org.sunbird.learner.util.DataCacheHandler;
 import org.sunbird.learner.util.Util;
 import org.sunbird.telemetry.util.TelemetryUtil;
 import org.sunbird.userorg.UserOrgService;
@@ -175,6 +176,8 @@ public class PageManagementActor extends BaseActor {
     Response response =
         cassandraOperation.updateRecord(
                 actorMessage.getRequestContext(), sectionDbInfo.getKeySpace(), sectionDbInfo.getTableName(), sectionMap);
+    DataCacheHandler.recordChange(
+        actorMessage.getRequestContext(), sectionDbInfo.getTableName(), sectionMap);
     sender().tell(response, self());
     targetObject =
         TelemetryUtil.generateTargetObject(
@@ -219,6 +222,8 @@ public class PageManagementActor extends BaseActor {
     Response response =
         cassandraOperation.insertRecord(
                 actorMessage.getRequestContext(), sectionDbInfo.getKeySpace(), sectionDbInfo.getTableName(), sectionMap);
+    DataCacheHandler.recordChange(
+        actorMessage.getRequestContext(), sectionDbInfo.getTableName(), sectionMap);
     response.put(JsonKey.SECTION_ID, uniqueId);
     sender().tell(response, self());
     targetObject =
@@ -471,6 +476,8 @@ public class PageManagementActor extends BaseActor {
     Response response =
         cassandraOperation.updateRecord(
                 actorMessage.getRequestContext(), pageDbInfo.getKeySpace(), pageDbInfo.getTableName(), pageMap);
+    DataCacheHandler.recordChange(
+        actorMessage.getRequestContext(), pageDbInfo.getTableName(), pageMap);
     sender().tell(response, self());
 
     targetObject =
@@ -534,6 +541,8 @@ public class PageManagementActor extends BaseActor {
     Response response =
         cassandraOperation.insertRecord(
                 actorMessage.getRequestContext(), pageDbInfo.getKeySpace(), pageDbInfo.getTableName(), pageMap);
+    DataCacheHandler.recordChange(
+        actorMessage.getRequestContext(), pageDbInfo.getTableName(), pageMap);
     response.put(JsonKey.PAGE_ID, uniqueId);
     sender().tell(response, self());
     targetObject = TelemetryUtil.generateTargetObject(uniqueId, JsonKey.PAGE, JsonKey.CREATE, null);
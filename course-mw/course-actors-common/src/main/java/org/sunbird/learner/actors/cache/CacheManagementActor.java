@@ -5,12 +5,15 @@ import org.sunbird.cache.CacheFactory;
 import org.sunbird.cache.interfaces.Cache;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.ActorOperations;
+import org.sunbird.common.models.util.ConfigSnapshot;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.LoggerUtil;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.learner.util.CourseBatchUtil;
+import org.sunbird.learner.util.DataCacheHandler;
 
 public class CacheManagementActor extends BaseActor {
   private Cache cache = CacheFactory.getInstance();
@@ -35,6 +38,17 @@ public class CacheManagementActor extends BaseActor {
       } else {
         cache.clearAll();
       }
+      if (JsonKey.ALL.equals(mapName)
+          || JsonKey.PAGE_MANAGEMENT.equals(mapName)
+          || JsonKey.PAGE_SECTION.equals(mapName)) {
+        DataCacheHandler.refresh();
+      }
+      if (JsonKey.ALL.equals(mapName) || JsonKey.CONFIG.equals(mapName)) {
+        ConfigSnapshot.reload();
+      }
+      if (JsonKey.ALL.equals(mapName) || JsonKey.CERT_TEMPLATES.equals(mapName)) {
+        CourseBatchUtil.invalidateTemplates();
+      }
 
       Response response = new Response();
       response.setResponseCode(ResponseCode.success);
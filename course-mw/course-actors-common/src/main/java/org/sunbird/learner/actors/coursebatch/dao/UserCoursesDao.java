@@ -8,6 +8,9 @@ import org.sunbird.models.user.courses.UserCourses;
 
 public interface UserCoursesDao {
 
+  /** Field of an enrolment read with the write time, in microseconds, of its active column. */
+  String ACTIVE_WRITETIME = "writetime(active)";
+
   /**
    * Get user courses information.
    *
@@ -62,7 +65,73 @@ public interface UserCoursesDao {
    * @param active
    */
   List<String> getBatchParticipants(RequestContext requestContext, String batchId, boolean active);
+
+  /**
+   * Get one page of participant IDs in given batch
+   *
+   * @param requestContext
+   * @param batchId Batch ID
+   * @param active Only active or only inactive participants, all participants if null
+   * @param limit Maximum number of participants in the page
+   * @param cursor Cursor returned with the previous page, null for the first page
+   * @return participants of the page and cursor of the next page, null after the last page
+   */
+  Map<String, Object> getBatchParticipantsPage(
+      RequestContext requestContext, String batchId, Boolean active, int limit, String cursor);
   
   
   List<Map<String, Object>> listEnrolments(RequestContext requestContext, String userId);
+
+  /**
+   * Get the enrolments of the given users in given batch, read by primary key
+   *
+   * @param requestContext
+   * @param courseId Course ID
+   * @param batchId Batch ID
+   * @param userIds User IDs
+   */
+  List<Map<String, Object>> listEnrolments(
+      RequestContext requestContext, String courseId, String batchId, List<String> userIds);
+
+  /**
+   * Get user courses information of the given users in given batch
+   *
+   * @param requestContext
+   * @param batchId Batch ID
+   * @param userIds User IDs
+   */
+  List<UserCourses> readAll(RequestContext requestContext, String batchId, List<String> userIds);
+
+  /**
+   * Update the same user courses attributes of the given users in given batch in one batch
+   *
+   * @param requestContext
+   * @param updateAttributes Map containing user courses attributes which needs to be updated
+   */
+  Response batchUpdate(
+      RequestContext requestContext,
+      String batchId,
+      List<String> userIds,
+      Map<String, Object> updateAttributes);
+
+  /**
+   * Write the batch, user, course, active and enrolled date fields of the given enrolments to the
+   * batch partitioned participants table. A failure is logged, not thrown, as the enrolments are
+   * already written; the participants sync of the data sync API repairs the table.
+   *
+   * @param requestContext
+   * @param userCoursesDetails List of enrolments
+   */
+  void syncBatchParticipants(RequestContext requestContext, List<Map<String, Object>> userCoursesDetails);
+
+  /**
+   * Copy the given enrolments to the batch partitioned participants table, each written with the
+   * {@link #ACTIVE_WRITETIME} of its enrolment so that a participant written by a live enrolment
+   * change after the enrolment was read is not overwritten by the copy.
+   *
+   * @param requestContext
+   * @param userCoursesDetails List of enrolments read with their {@link #ACTIVE_WRITETIME}
+   */
+  void backfillBatchParticipants(
+      RequestContext requestContext, List<Map<String, Object>> userCoursesDetails);
 }
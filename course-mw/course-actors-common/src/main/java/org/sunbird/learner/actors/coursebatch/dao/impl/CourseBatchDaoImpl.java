@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.apache.commons.lang3.StringUtils;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
@@ -13,6 +14,7 @@ import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.actors.coursebatch.dao.CourseBatchDao;
 import org.sunbird.learner.constants.CourseJsonKey;
+import org.sunbird.learner.util.CourseBatchCache;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.course.batch.CourseBatch;
 
@@ -38,12 +40,34 @@ public class CourseBatchDaoImpl implements CourseBatchDao {
     attributeMap.putAll(map);
     attributeMap.remove(JsonKey.COURSE_ID);
     attributeMap.remove(JsonKey.BATCH_ID);
-    return cassandraOperation.updateRecord(
+    Response response =
+        cassandraOperation.updateRecord(
             requestContext, courseBatchDb.getKeySpace(), courseBatchDb.getTableName(), attributeMap, primaryKey);
+    CourseBatchCache.invalidate(batchId);
+    return response;
   }
 
   @Override
   public CourseBatch readById(String courseId, String batchId, RequestContext requestContext) {
+    Map<String, Object> courseBatch =
+        CourseBatchCache.get(batchId, () -> readCourseBatch(requestContext, courseId, batchId));
+    if (null != courseBatch
+        && !StringUtils.equals(courseId, (String) courseBatch.get(JsonKey.COURSE_ID))) {
+      // Cached under another course, read it again to fail the same way as without the cache.
+      CourseBatchCache.invalidate(batchId);
+      courseBatch = CourseBatchCache.get(batchId, () -> readCourseBatch(requestContext, courseId, batchId));
+    }
+    if (null == courseBatch) {
+      throw new ProjectCommonException(
+          ResponseCode.invalidCourseBatchId.getErrorCode(),
+          ResponseCode.invalidCourseBatchId.getErrorMessage(),
+          ResponseCode.CLIENT_ERROR.getResponseCode());
+    }
+    return mapper.convertValue(courseBatch, CourseBatch.class);
+  }
+
+  private Map<String, Object> readCourseBatch(
+      RequestContext requestContext, String courseId, String batchId) {
     Map<String, Object> primaryKey = new HashMap<>();
     primaryKey.put(JsonKey.COURSE_ID, courseId);
     primaryKey.put(JsonKey.BATCH_ID, batchId);
@@ -52,15 +76,9 @@ public class CourseBatchDaoImpl implements CourseBatchDao {
                 requestContext, courseBatchDb.getKeySpace(), courseBatchDb.getTableName(), primaryKey,null);
     List<Map<String, Object>> courseList =
         (List<Map<String, Object>>) courseBatchResult.get(JsonKey.RESPONSE);
-    if (courseList.isEmpty()) {
-      throw new ProjectCommonException(
-          ResponseCode.invalidCourseBatchId.getErrorCode(),
-          ResponseCode.invalidCourseBatchId.getErrorMessage(),
-          ResponseCode.CLIENT_ERROR.getResponseCode());
-    } else {
-      courseList.get(0).remove(JsonKey.PARTICIPANT);
-      return mapper.convertValue(courseList.get(0), CourseBatch.class);
-    }
+    if (courseList.isEmpty()) return null;
+    courseList.get(0).remove(JsonKey.PARTICIPANT);
+    return courseList.get(0);
   }
 
   @Override
@@ -78,6 +96,7 @@ public class CourseBatchDaoImpl implements CourseBatchDao {
 
   @Override
   public Response delete(RequestContext requestContext, String id) {
+    CourseBatchCache.invalidate(id);
     return cassandraOperation.deleteRecord(
         courseBatchDb.getKeySpace(), courseBatchDb.getTableName(), id, requestContext);
   }
@@ -95,6 +114,7 @@ public class CourseBatchDaoImpl implements CourseBatchDao {
         CourseJsonKey.CERTIFICATE_TEMPLATES_COLUMN,
         templateId,
         templateDetails);
+    CourseBatchCache.invalidate(batchId);
   }
 
   @Override
@@ -109,5 +129,6 @@ public class CourseBatchDaoImpl implements CourseBatchDao {
         primaryKey,
         CourseJsonKey.CERTIFICATE_TEMPLATES_COLUMN,
         templateId);
+    CourseBatchCache.invalidate(batchId);
   }
 }
@@ -6,7 +6,9 @@ import java.util.stream.Collectors;
 import org.apache.commons.collections.CollectionUtils;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.ConfigSnapshot;
 import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerUtil;
 import org.sunbird.common.request.RequestContext;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.actors.coursebatch.dao.UserCoursesDao;
@@ -23,6 +25,15 @@ public class UserCoursesDaoImpl implements UserCoursesDao {
   private static final String TABLE_NAME =
       Util.dbInfoMap.get(JsonKey.LEARNER_COURSE_DB).getTableName();
   private static final String USER_ENROLMENTS = "user_enrolments";
+  private static final String BATCH_PARTICIPANTS = "batch_participants";
+  private static final List<String> PARTICIPANT_FIELDS =
+      Arrays.asList(
+          JsonKey.BATCH_ID,
+          JsonKey.USER_ID,
+          JsonKey.COURSE_ID,
+          JsonKey.ACTIVE,
+          JsonKey.COURSE_ENROLL_DATE);
+  private LoggerUtil logger = new LoggerUtil(UserCoursesDaoImpl.class);
   public static UserCoursesDao getInstance() {
     if (userCoursesDao == null) {
       userCoursesDao = new UserCoursesDaoImpl();
@@ -68,7 +79,10 @@ public class UserCoursesDaoImpl implements UserCoursesDao {
 
   @Override
   public Response batchInsert(RequestContext requestContext, List<Map<String, Object>> userCoursesDetails) {
-    return cassandraOperation.batchInsert(requestContext, KEYSPACE_NAME, USER_ENROLMENTS, userCoursesDetails);
+    Response response =
+        cassandraOperation.batchInsert(requestContext, KEYSPACE_NAME, USER_ENROLMENTS, userCoursesDetails);
+    syncBatchParticipants(requestContext, userCoursesDetails);
+    return response;
   }
 
   @Override
@@ -78,7 +92,10 @@ public class UserCoursesDaoImpl implements UserCoursesDao {
 
   @Override
   public Response insertV2(RequestContext requestContext, Map<String, Object> userCoursesDetails) {
-    return cassandraOperation.insertRecord(requestContext, KEYSPACE_NAME, USER_ENROLMENTS, userCoursesDetails);
+    Response response =
+        cassandraOperation.insertRecord(requestContext, KEYSPACE_NAME, USER_ENROLMENTS, userCoursesDetails);
+    syncBatchParticipants(requestContext, Arrays.asList(userCoursesDetails));
+    return response;
   }
 
   @Override
@@ -92,7 +109,14 @@ public class UserCoursesDaoImpl implements UserCoursesDao {
     updateList.remove(JsonKey.BATCH_ID);
     updateList.remove(JsonKey.COURSE_ID);
     updateList.remove(JsonKey.USER_ID);
-    return cassandraOperation.updateRecord(requestContext, KEYSPACE_NAME, USER_ENROLMENTS, updateList, primaryKey);
+    Response response =
+        cassandraOperation.updateRecord(requestContext, KEYSPACE_NAME, USER_ENROLMENTS, updateList, primaryKey);
+    if (updateList.containsKey(JsonKey.ACTIVE) || updateList.containsKey(JsonKey.COURSE_ENROLL_DATE)) {
+      Map<String, Object> participant = new HashMap<>(updateList);
+      participant.putAll(primaryKey);
+      syncBatchParticipants(requestContext, Arrays.asList(participant));
+    }
+    return response;
   }
 
   @Override
@@ -119,7 +143,14 @@ public class UserCoursesDaoImpl implements UserCoursesDao {
     Map<String, Object> queryMap = new HashMap<>();
     queryMap.put(JsonKey.BATCH_ID, batchId);
     Response response =
-            cassandraOperation.getRecordsByIndexedProperty(KEYSPACE_NAME, USER_ENROLMENTS, "batchid", batchId, requestContext);
+        readsBatchParticipants()
+            ? cassandraOperation.getRecordsByProperties(
+                KEYSPACE_NAME,
+                BATCH_PARTICIPANTS,
+                queryMap,
+                Arrays.asList(JsonKey.USER_ID, JsonKey.ACTIVE),
+                requestContext)
+            : cassandraOperation.getRecordsByIndexedProperty(KEYSPACE_NAME, USER_ENROLMENTS, "batchid", batchId, requestContext);
         /*cassandraOperation.getRecords(
                 requestContext, KEYSPACE_NAME, USER_ENROLMENTS, queryMap, Arrays.asList(JsonKey.USER_ID, JsonKey.ACTIVE));*/
     List<Map<String, Object>> userCoursesList =
@@ -129,11 +160,41 @@ public class UserCoursesDaoImpl implements UserCoursesDao {
     }
     return userCoursesList
         .stream()
-        .filter(userCourse -> (active == (boolean) userCourse.get(JsonKey.ACTIVE)))
+        .filter(userCourse -> (active == Boolean.TRUE.equals(userCourse.get(JsonKey.ACTIVE))))
         .map(userCourse -> (String) userCourse.get(JsonKey.USER_ID))
         .collect(Collectors.toList());
   }
 
+  @Override
+  public Map<String, Object> getBatchParticipantsPage(
+      RequestContext requestContext, String batchId, Boolean active, int limit, String cursor) {
+    Map<String, Object> filters = new HashMap<>();
+    filters.put("batchid", batchId);
+    if (null != active) filters.put(JsonKey.ACTIVE, active);
+    Response response =
+        cassandraOperation.getRecordsPageByIndexedProperty(
+            KEYSPACE_NAME,
+            readsBatchParticipants() ? BATCH_PARTICIPANTS : USER_ENROLMENTS,
+            filters,
+            Arrays.asList(JsonKey.USER_ID),
+            limit,
+            cursor,
+            requestContext);
+    List<Map<String, Object>> userCoursesList =
+        (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    Map<String, Object> page = new HashMap<>();
+    page.put(
+        JsonKey.PARTICIPANTS,
+        CollectionUtils.isEmpty(userCoursesList)
+            ? new ArrayList<>()
+            : userCoursesList
+                .stream()
+                .map(userCourse -> (String) userCourse.get(JsonKey.USER_ID))
+                .collect(Collectors.toList()));
+    page.put(JsonKey.NEXT_CURSOR, response.get(JsonKey.PAGING_STATE));
+    return page;
+  }
+
   @Override
   public List<Map<String, Object>> listEnrolments(RequestContext requestContext, String userId) {
     Map<String, Object> primaryKey = new HashMap<>();
@@ -146,4 +207,133 @@ public class UserCoursesDaoImpl implements UserCoursesDao {
       return userCoursesList;
     }
   }
+
+  @Override
+  public List<Map<String, Object>> listEnrolments(
+      RequestContext requestContext, String courseId, String batchId, List<String> userIds) {
+    Map<String, Object> primaryKey = new HashMap<>();
+    primaryKey.put(JsonKey.USER_ID, userIds);
+    primaryKey.put(JsonKey.COURSE_ID, courseId);
+    primaryKey.put(JsonKey.BATCH_ID, batchId);
+    Response response =
+        cassandraOperation.getRecordsByProperties(
+            KEYSPACE_NAME,
+            USER_ENROLMENTS,
+            primaryKey,
+            Arrays.asList(JsonKey.USER_ID, JsonKey.ACTIVE),
+            requestContext);
+    List<Map<String, Object>> userCoursesList =
+        (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    return null == userCoursesList ? new ArrayList<>() : userCoursesList;
+  }
+
+  @Override
+  public List<UserCourses> readAll(
+      RequestContext requestContext, String batchId, List<String> userIds) {
+    Map<String, Object> primaryKey = new HashMap<>();
+    primaryKey.put(JsonKey.BATCH_ID, batchId);
+    primaryKey.put(JsonKey.USER_ID, userIds);
+    Response response =
+        cassandraOperation.getRecordsByProperties(
+            KEYSPACE_NAME, TABLE_NAME, primaryKey, null, requestContext);
+    List<Map<String, Object>> userCoursesList =
+        (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    if (CollectionUtils.isEmpty(userCoursesList)) {
+      return new ArrayList<>();
+    }
+    return userCoursesList
+        .stream()
+        .map(userCourses -> mapper.convertValue(userCourses, UserCourses.class))
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public Response batchUpdate(
+      RequestContext requestContext,
+      String batchId,
+      List<String> userIds,
+      Map<String, Object> updateAttributes) {
+    Map<String, Object> updateList = new HashMap<>(updateAttributes);
+    updateList.remove(JsonKey.BATCH_ID);
+    updateList.remove(JsonKey.USER_ID);
+    List<Map<String, Map<String, Object>>> records = new ArrayList<>();
+    for (String userId : userIds) {
+      Map<String, Object> primaryKey = new HashMap<>();
+      primaryKey.put(JsonKey.BATCH_ID, batchId);
+      primaryKey.put(JsonKey.USER_ID, userId);
+      Map<String, Map<String, Object>> record = new HashMap<>();
+      record.put(JsonKey.PRIMARY_KEY, primaryKey);
+      record.put(JsonKey.NON_PRIMARY_KEY, updateList);
+      records.add(record);
+    }
+    return cassandraOperation.batchUpdate(KEYSPACE_NAME, TABLE_NAME, records, requestContext);
+  }
+
+  @Override
+  public void syncBatchParticipants(
+      RequestContext requestContext, List<Map<String, Object>> userCoursesDetails) {
+    List<Map<String, Object>> participants = new ArrayList<>();
+    for (Map<String, Object> userCourses : userCoursesDetails) {
+      Map<String, Object> participant = toParticipant(userCourses);
+      if (null != participant) participants.add(participant);
+    }
+    if (participants.isEmpty()) return;
+    try {
+      cassandraOperation.batchInsert(requestContext, KEYSPACE_NAME, BATCH_PARTICIPANTS, participants);
+    } catch (Exception e) {
+      logger.error(
+          requestContext,
+          "UserCoursesDaoImpl:syncBatchParticipants: failed for "
+              + participants.size()
+              + " participants, to be repaired by the batch_participants sync: "
+              + e.getMessage(),
+          e);
+    }
+  }
+
+  @Override
+  public void backfillBatchParticipants(
+      RequestContext requestContext, List<Map<String, Object>> userCoursesDetails) {
+    List<Map<String, Object>> participants = new ArrayList<>();
+    List<Long> timestamps = new ArrayList<>();
+    for (Map<String, Object> userCourses : userCoursesDetails) {
+      Map<String, Object> participant = toParticipant(userCourses);
+      if (null == participant) continue;
+      participants.add(participant);
+      Object writeTime = userCourses.get(ACTIVE_WRITETIME);
+      timestamps.add(writeTime instanceof Number ? ((Number) writeTime).longValue() : 0L);
+    }
+    if (participants.isEmpty()) return;
+    try {
+      cassandraOperation.batchInsertWithTimestamps(
+          requestContext, KEYSPACE_NAME, BATCH_PARTICIPANTS, participants, timestamps);
+    } catch (Exception e) {
+      logger.error(
+          requestContext,
+          "UserCoursesDaoImpl:backfillBatchParticipants: failed for "
+              + participants.size()
+              + " participants: "
+              + e.getMessage(),
+          e);
+    }
+  }
+
+  private static Map<String, Object> toParticipant(Map<String, Object> userCourses) {
+    if (null == userCourses.get(JsonKey.BATCH_ID) || null == userCourses.get(JsonKey.USER_ID)) {
+      return null;
+    }
+    Map<String, Object> participant = new HashMap<>();
+    for (String field : PARTICIPANT_FIELDS) {
+      if (userCourses.containsKey(field)) participant.put(field, userCourses.get(field));
+    }
+    return participant;
+  }
+
+  /**
+   * Participant reads switch from the batchid index of user_enrolments, which is queried on every
+   * node, to the batch partition of batch_participants once that table is backfilled.
+   */
+  private static boolean readsBatchParticipants() {
+    return ConfigSnapshot.getBoolean(JsonKey.SUNBIRD_BATCH_PARTICIPANTS_READ_ENABLED, false);
+  }
 }
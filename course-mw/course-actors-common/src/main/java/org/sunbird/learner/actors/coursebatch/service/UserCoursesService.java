@@ -1,9 +1,12 @@
 package org.sunbird.learner.actors.coursebatch.service;
 
+import com.google.common.collect.Lists;
+import org.sunbird.common.ElasticSearchBulkQueue;
 import org.sunbird.common.ElasticSearchHelper;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.factory.EsClientFactory;
 import org.sunbird.common.inf.ElasticSearchService;
+import org.sunbird.common.models.util.ConfigSnapshot;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerUtil;
 import org.sunbird.common.models.util.ProjectUtil;
@@ -18,8 +21,18 @@ import scala.concurrent.Future;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class UserCoursesService {
   private UserCoursesDao userCourseDao = UserCoursesDaoImpl.getInstance();
@@ -27,8 +40,25 @@ public class UserCoursesService {
   public static final String UNDERSCORE = "_";
   private LoggerUtil logger = new LoggerUtil(UserCoursesService.class);
 
+  /** Number of participants read or updated together when adding or removing participants. */
+  public static final int PARTICIPANT_CHUNK_SIZE =
+      ConfigSnapshot.getInt(JsonKey.SUNBIRD_PARTICIPANT_CHUNK_SIZE, 100);
+
+  private static final ExecutorService participantExecutor = createParticipantExecutor();
+
   protected Integer CASSANDRA_BATCH_SIZE = getBatchSize(JsonKey.CASSANDRA_WRITE_BATCH_SIZE);
 
+  private static ExecutorService createParticipantExecutor() {
+    AtomicInteger threadCount = new AtomicInteger();
+    return Executors.newFixedThreadPool(
+        Math.max(1, ConfigSnapshot.getInt(JsonKey.SUNBIRD_PARTICIPANT_PARALLELISM, 4)),
+        runnable -> {
+          Thread thread = new Thread(runnable, "participant-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
   public static String generateUserCourseESId(String batchId, String userId) {
     return batchId + UNDERSCORE + userId;
   }
@@ -66,10 +96,11 @@ public class UserCoursesService {
             + batchId);
   }
 
+  /**
+   * Enrols the users in the batch, written in Cassandra batches of {@code
+   * cassandra_write_batch_size} records which run in parallel.
+   */
   public void enroll(RequestContext requestContext, String batchId, String courseId, List<String> userIds) {
-    Integer count = 0;
-
-    List<Map<String, Object>> records = new ArrayList<>();
     Map<String, Object> userCoursesCommon = new HashMap<>();
     userCoursesCommon.put(JsonKey.BATCH_ID, batchId);
     userCoursesCommon.put(JsonKey.COURSE_ID, courseId);
@@ -78,26 +109,21 @@ public class UserCoursesService {
     userCoursesCommon.put(JsonKey.STATUS, ProjectUtil.ProgressStatus.NOT_STARTED.getValue());
     userCoursesCommon.put(JsonKey.COURSE_PROGRESS, 0);
 
-    for (String userId : userIds) {
-      Map<String, Object> userCourses = new HashMap<>();
-      userCourses.put(JsonKey.USER_ID, userId);
-      userCourses.putAll(userCoursesCommon);
-
-      count++;
-      records.add(userCourses);
-      if (count > CASSANDRA_BATCH_SIZE) {
-        performBatchInsert(requestContext, records);
-        syncUsersToES(requestContext, records);
-        records.clear();
-        count = 0;
-      }
-      if (count != 0) {
-        performBatchInsert(requestContext, records);
-        syncUsersToES(requestContext, records);
-        records.clear();
-        count = 0;
-      }
-    }
+    runInChunks(
+        userIds,
+        CASSANDRA_BATCH_SIZE,
+        chunk -> {
+          List<Map<String, Object>> records = new ArrayList<>();
+          for (String userId : chunk) {
+            Map<String, Object> userCourses = new HashMap<>();
+            userCourses.put(JsonKey.USER_ID, userId);
+            userCourses.putAll(userCoursesCommon);
+            records.add(userCourses);
+          }
+          performBatchInsert(requestContext, records);
+          syncUsersToES(requestContext, records);
+          return null;
+        });
   }
 
   private void syncUsersToES(RequestContext requestContext, List<Map<String, Object>> records) {
@@ -130,13 +156,90 @@ public class UserCoursesService {
     }
   }
 
-  public void unenroll(RequestContext requestContext, String batchId, String userId) {
-    UserCourses userCourses = userCourseDao.read(requestContext, batchId, userId);
-    validateUserUnenroll(requestContext, userCourses);
-    Map<String, Object> updateAttributes = new HashMap<>();
-    updateAttributes.put(JsonKey.ACTIVE, ProjectUtil.ActiveStatus.INACTIVE.getValue());
-    userCourseDao.update(requestContext, userCourses.getBatchId(), userCourses.getUserId(), updateAttributes);
-    sync(requestContext, updateAttributes, userCourses.getBatchId(), userCourses.getUserId());
+  /**
+   * Unenrols the users from the batch, read and updated in parallel chunks of {@link
+   * #PARTICIPANT_CHUNK_SIZE} users.
+   *
+   * @return error message per user who could not be unenrolled
+   */
+  public Map<String, String> unenroll(RequestContext requestContext, String batchId, List<String> userIds) {
+    Map<String, String> errors = new HashMap<>();
+    for (Map<String, String> chunkErrors :
+        runInChunks(
+            userIds, PARTICIPANT_CHUNK_SIZE, chunk -> unenrollChunk(requestContext, batchId, chunk))) {
+      errors.putAll(chunkErrors);
+    }
+    return errors;
+  }
+
+  private Map<String, String> unenrollChunk(RequestContext requestContext, String batchId, List<String> userIds) {
+    Map<String, UserCourses> userCoursesById =
+        userCourseDao
+            .readAll(requestContext, batchId, userIds)
+            .stream()
+            .collect(Collectors.toMap(UserCourses::getUserId, userCourses -> userCourses, (a, b) -> a));
+    Map<String, String> errors = new HashMap<>();
+    List<String> validUserIds = new ArrayList<>();
+    for (String userId : userIds) {
+      try {
+        validateUserUnenroll(requestContext, userCoursesById.get(userId));
+        validUserIds.add(userId);
+      } catch (ProjectCommonException ex) {
+        errors.put(userId, ex.getMessage());
+      }
+    }
+    if (!validUserIds.isEmpty()) {
+      Map<String, Object> updateAttributes = new HashMap<>();
+      updateAttributes.put(JsonKey.ACTIVE, ProjectUtil.ActiveStatus.INACTIVE.getValue());
+      userCourseDao.batchUpdate(requestContext, batchId, validUserIds, updateAttributes);
+      for (String userId : validUserIds) {
+        sync(requestContext, new HashMap<>(updateAttributes), batchId, userId);
+      }
+    }
+    return errors;
+  }
+
+  /**
+   * Reads the enrolments of only the given users by primary key, in parallel chunks of {@link
+   * #PARTICIPANT_CHUNK_SIZE} users, instead of all participants of the batch.
+   *
+   * @return ids of the given users who are active participants of the batch
+   */
+  public Set<String> getActiveParticipants(
+      RequestContext requestContext, String courseId, String batchId, List<String> userIds) {
+    Set<String> participants = new HashSet<>();
+    for (List<Map<String, Object>> enrolments :
+        runInChunks(
+            userIds,
+            PARTICIPANT_CHUNK_SIZE,
+            chunk -> userCourseDao.listEnrolments(requestContext, courseId, batchId, chunk))) {
+      for (Map<String, Object> enrolment : enrolments) {
+        if (Boolean.TRUE.equals(enrolment.get(JsonKey.ACTIVE))) {
+          participants.add((String) enrolment.get(JsonKey.USER_ID));
+        }
+      }
+    }
+    return participants;
+  }
+
+  private <T> List<T> runInChunks(
+      List<String> userIds, int chunkSize, Function<List<String>, T> task) {
+    List<List<String>> chunks =
+        Lists.partition(new ArrayList<>(new LinkedHashSet<>(userIds)), Math.max(1, chunkSize));
+    if (chunks.size() <= 1) {
+      return chunks.stream().map(task).collect(Collectors.toList());
+    }
+    List<CompletableFuture<T>> futures =
+        chunks
+            .stream()
+            .map(chunk -> CompletableFuture.supplyAsync(() -> task.apply(chunk), participantExecutor))
+            .collect(Collectors.toList());
+    try {
+      return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+      throw e;
+    }
   }
 
   public Map<String, Object> getActiveEnrollments(String userId) {
@@ -156,9 +259,8 @@ public class UserCoursesService {
     String id = generateUserCourseESId(batchId, userId);
     courseMap.put(JsonKey.ID, id);
     courseMap.put(JsonKey.IDENTIFIER, id);
-    Future<Boolean> responseF =
-        esService.upsert(requestContext, ProjectUtil.EsType.usercourses.getTypeName(), id, courseMap);
-    boolean response = (boolean) ElasticSearchHelper.getResponseFromFuture(responseF);
+    ElasticSearchBulkQueue.getInstance()
+        .upsert(requestContext, ProjectUtil.EsType.usercourses.getTypeName(), id, courseMap);
   }
 
   public List<String> getEnrolledUserFromBatch(RequestContext requestContext, String batchId) {
@@ -178,4 +280,9 @@ public class UserCoursesService {
   public List<String> getParticipantsList(String batchId, boolean active, RequestContext requestContext) {
     return userCourseDao.getBatchParticipants(requestContext, batchId, active);
   }
+
+  public Map<String, Object> getParticipantsPage(
+      String batchId, Boolean active, int limit, String cursor, RequestContext requestContext) {
+    return userCourseDao.getBatchParticipantsPage(requestContext, batchId, active, limit, cursor);
+  }
 }
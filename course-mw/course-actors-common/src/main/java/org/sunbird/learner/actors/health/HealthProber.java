@@ -0,0 +1,257 @@
+package org.sunbird.learner.actors.health;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.ElasticSearchHelper;
+import org.sunbird.common.factory.EsClientFactory;
+import org.sunbird.common.inf.ElasticSearchService;
+import org.sunbird.common.models.util.ConfigSnapshot;
+import org.sunbird.common.models.util.HttpUtil;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerUtil;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.common.models.util.PropertiesCache;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.util.Util;
+
+/**
+ * Probes the dependencies of the service in the background and keeps the last status of each, so
+ * that health requests are answered from memory and never load the dependencies themselves.
+ *
+ * <p>Every {@code sunbird_health_probe_interval} seconds each dependency is probed on its own
+ * thread; a probe which does not answer within {@code sunbird_health_probe_timeout} milliseconds
+ * counts as failed and is not started again while it still runs. The service is ready when the
+ * last probe of every critical dependency (Cassandra and Elasticsearch) succeeded and is not older
+ * than three intervals. The content search service is probed and reported, but does not affect
+ * readiness.
+ */
+public class HealthProber {
+
+  private static final LoggerUtil logger = new LoggerUtil(HealthProber.class);
+  private static final HealthProber instance =
+      new HealthProber(
+          createProbes(),
+          Arrays.asList(JsonKey.CASSANDRA_SERVICE, JsonKey.ES_SERVICE),
+          ConfigSnapshot.getLong(JsonKey.SUNBIRD_HEALTH_PROBE_INTERVAL, 30L),
+          ConfigSnapshot.getLong(JsonKey.SUNBIRD_HEALTH_PROBE_TIMEOUT, 5000L));
+
+  private final Map<String, Callable<Boolean>> probes;
+  private final List<String> critical;
+  private final long interval;
+  private final long timeout;
+  private final Map<String, ProbeStatus> statuses = new ConcurrentHashMap<>();
+  private final Map<String, Future<Boolean>> running = new ConcurrentHashMap<>();
+  private final ExecutorService probeExecutor;
+  private ScheduledExecutorService scheduler;
+
+  HealthProber(
+      Map<String, Callable<Boolean>> probes, List<String> critical, long interval, long timeout) {
+    this.probes = probes;
+    this.critical = critical;
+    this.interval = interval;
+    this.timeout = timeout;
+    AtomicInteger threadCount = new AtomicInteger();
+    this.probeExecutor =
+        Executors.newCachedThreadPool(
+            runnable -> {
+              Thread thread = new Thread(runnable, "health-probe-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  public static HealthProber getInstance() {
+    return instance;
+  }
+
+  /** Starts probing on a schedule, the first round right away. Calling it again does nothing. */
+  public synchronized void start() {
+    if (null != scheduler) return;
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "health-prober");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleWithFixedDelay(this::probeAll, 0, interval, TimeUnit.SECONDS);
+  }
+
+  void probeAll() {
+    Map<String, Future<Boolean>> started = new LinkedHashMap<>();
+    Map<String, Long> startTimes = new HashMap<>();
+    probes.forEach(
+        (name, probe) -> {
+          Future<Boolean> previous = running.get(name);
+          if (null != previous && !previous.isDone()) {
+            record(name, false, null, new TimeoutException("previous probe still running"));
+            return;
+          }
+          startTimes.put(name, System.currentTimeMillis());
+          Future<Boolean> future = probeExecutor.submit(probe);
+          running.put(name, future);
+          started.put(name, future);
+        });
+    started.forEach(
+        (name, future) -> {
+          long startTime = startTimes.get(name);
+          try {
+            long remaining = Math.max(0, timeout - (System.currentTimeMillis() - startTime));
+            boolean healthy = Boolean.TRUE.equals(future.get(remaining, TimeUnit.MILLISECONDS));
+            record(name, healthy, System.currentTimeMillis() - startTime, null);
+          } catch (TimeoutException e) {
+            record(
+                name,
+                false,
+                System.currentTimeMillis() - startTime,
+                new TimeoutException("no answer within " + timeout + " ms"));
+          } catch (Exception e) {
+            Exception cause =
+                e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            record(name, false, System.currentTimeMillis() - startTime, cause);
+          }
+        });
+  }
+
+  private void record(String name, boolean healthy, Long latency, Exception error) {
+    ProbeStatus previous = statuses.get(name);
+    int failures = healthy ? 0 : (null == previous ? 0 : previous.consecutiveFailures) + 1;
+    statuses.put(
+        name,
+        new ProbeStatus(healthy, latency, System.currentTimeMillis(), failures, error));
+    if (!healthy && 1 == failures) {
+      logger.info(
+          null,
+          "HealthProber: "
+              + name
+              + " is unhealthy: "
+              + (null == error ? "probe failed" : error.getMessage()));
+    }
+  }
+
+  /** @return true if the last probe of every critical dependency succeeded and is recent */
+  public boolean isReady() {
+    long staleBefore = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(interval * 3);
+    for (String name : critical) {
+      ProbeStatus status = statuses.get(name);
+      if (null == status || !status.healthy || status.checkedAt < staleBefore) return false;
+    }
+    return true;
+  }
+
+  /** @return true if the last probe of every dependency succeeded */
+  public boolean isHealthy() {
+    for (String name : probes.keySet()) {
+      ProbeStatus status = statuses.get(name);
+      if (null == status || !status.healthy) return false;
+    }
+    return true;
+  }
+
+  /**
+   * @param names dependencies to report, all if empty
+   * @return last status per dependency in the format of {@link ProjectUtil#createCheckResponse},
+   *     with latency, time of the last probe and count of consecutive failures
+   */
+  public List<Map<String, Object>> getChecks(String... names) {
+    List<Map<String, Object>> checks = new ArrayList<>();
+    for (String name : names.length > 0 ? Arrays.asList(names) : probes.keySet()) {
+      ProbeStatus status = statuses.get(name);
+      if (null == status) {
+        checks.add(ProjectUtil.createCheckResponse(name, true, new Exception("not probed yet")));
+        continue;
+      }
+      Map<String, Object> check =
+          ProjectUtil.createCheckResponse(name, !status.healthy, status.error);
+      check.put(JsonKey.LATENCY, status.latency);
+      check.put(JsonKey.LAST_CHECKED, status.checkedAt);
+      check.put(JsonKey.CONSECUTIVE_FAILURES, status.consecutiveFailures);
+      checks.add(check);
+    }
+    return checks;
+  }
+
+  public Map<String, Object> snapshot() {
+    Map<String, Object> snapshot = new TreeMap<>();
+    snapshot.put(JsonKey.READY, isReady());
+    snapshot.put(JsonKey.Healthy, isHealthy());
+    snapshot.put(JsonKey.CHECKS, getChecks());
+    return snapshot;
+  }
+
+  private static Map<String, Callable<Boolean>> createProbes() {
+    Map<String, Callable<Boolean>> probes = new LinkedHashMap<>();
+    probes.put(
+        JsonKey.CASSANDRA_SERVICE,
+        () -> {
+          CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+          Util.DbInfo pagesDbInfo = Util.dbInfoMap.get(JsonKey.PAGE_MGMT_DB);
+          cassandraOperation.getAllRecords(
+              null, pagesDbInfo.getKeySpace(), pagesDbInfo.getTableName());
+          return true;
+        });
+    probes.put(
+        JsonKey.ES_SERVICE,
+        () -> {
+          ElasticSearchService esUtil = EsClientFactory.getInstance(JsonKey.REST);
+          return Boolean.TRUE.equals(
+              ElasticSearchHelper.getResponseFromFuture(esUtil.healthCheck()));
+        });
+    probes.put(JsonKey.EKSTEP_SERVICE, HealthProber::probeContentSearch);
+    return probes;
+  }
+
+  private static Boolean probeContentSearch() throws Exception {
+    String body = "{\"request\":{\"filters\":{\"identifier\":\"test\"}}}";
+    Map<String, String> headers = new HashMap<>();
+    headers.put(
+        JsonKey.AUTHORIZATION, JsonKey.BEARER + System.getenv(JsonKey.EKSTEP_AUTHORIZATION));
+    if (StringUtils.isBlank(headers.get(JsonKey.AUTHORIZATION))) {
+      headers.put(
+          JsonKey.AUTHORIZATION,
+          PropertiesCache.getInstance().getProperty(JsonKey.EKSTEP_AUTHORIZATION));
+      headers.put("Content_Type", "application/json; charset=utf-8");
+    }
+    String searchBaseUrl = ProjectUtil.getConfigValue(JsonKey.SEARCH_SERVICE_API_BASE_URL);
+    String response =
+        HttpUtil.sendPostRequest(
+            searchBaseUrl
+                + PropertiesCache.getInstance().getProperty(JsonKey.EKSTEP_CONTENT_SEARCH_URL),
+            body,
+            headers);
+    return response.contains("OK");
+  }
+
+  private static class ProbeStatus {
+    private final boolean healthy;
+    private final Long latency;
+    private final long checkedAt;
+    private final int consecutiveFailures;
+    private final Exception error;
+
+    ProbeStatus(
+        boolean healthy, Long latency, long checkedAt, int consecutiveFailures, Exception error) {
+      this.healthy = healthy;
+      this.latency = latency;
+      this.checkedAt = checkedAt;
+      this.consecutiveFailures = consecutiveFailures;
+      this.error = error;
+    }
+  }
+}
@@ -0,0 +1,223 @@
+package org.sunbird.learner.actors.qrcodedownload;
+
+import static java.io.File.separator;
+import static org.apache.commons.csv.CSVFormat.DEFAULT;
+import static org.sunbird.common.models.util.JsonKey.CLOUD_FOLDER_CONTENT;
+import static org.sunbird.common.models.util.JsonKey.CONTENT_AZURE_STORAGE_CONTAINER;
+import static org.sunbird.common.models.util.ProjectUtil.getConfigValue;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.stream.Collectors;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.actor.base.BaseActor;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.models.util.ActorOperations;
+import org.sunbird.common.models.util.ConfigSnapshot;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.common.models.util.TelemetryEnvKey;
+import org.sunbird.common.request.Request;
+import org.sunbird.common.request.RequestContext;
+import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.common.util.CloudStorageUtil;
+import org.sunbird.keys.SunbirdKey;
+import org.sunbird.learner.actors.bulkupload.dao.BulkUploadProcessDao;
+import org.sunbird.learner.actors.bulkupload.dao.impl.BulkUploadProcessDaoImpl;
+import org.sunbird.learner.actors.bulkupload.model.BulkUploadProcess;
+import org.sunbird.learner.util.ContentSearchUtil;
+import org.sunbird.learner.util.Util;
+
+/**
+ * This actor processes the QR code download jobs created by {@link QRCodeDownloadManagementActor}.
+ * It searches the courses, resolves the dialcode image urls in bulk, streams the CSV to a temp file
+ * and uploads it to cloud storage. Job progress is tracked in bulk_upload_process.
+ */
+public class QRCodeDownloadBackgroundJobActor extends BaseActor {
+
+  private static final List<String> fields =
+      Arrays.asList(
+          "identifier", "dialcodes", "name", SunbirdKey.PKG_VERSION, SunbirdKey.LAST_PUBLISHED_ON);
+  private static final String[] CSV_HEADER = {"Course Name", "Dialcodes", "Image Url"};
+  private static final Map<String, String> filtersHelperMap =
+      new HashMap<String, String>() {
+        {
+          put(JsonKey.USER_IDs, JsonKey.CREATED_BY);
+          put(JsonKey.STATUS, JsonKey.STATUS);
+          put(JsonKey.CONTENT_TYPE, JsonKey.CONTENT_TYPE);
+        }
+      };
+  private static int SEARCH_CONTENTS_LIMIT =
+      ConfigSnapshot.getInt(JsonKey.SUNBIRD_QRCODE_COURSES_LIMIT, 2000);
+
+  private BulkUploadProcessDao bulkUploadProcessDao = new BulkUploadProcessDaoImpl();
+  private QRCodeImageUrlResolver imageUrlResolver = new QRCodeImageUrlResolver();
+  private ObjectMapper mapper = new ObjectMapper();
+
+  @Override
+  public void onReceive(Request request) throws Throwable {
+    Util.initializeContext(request, TelemetryEnvKey.QR_CODE_DOWNLOAD);
+    if (ActorOperations.PROCESS_QR_CODE_DOWNLOAD.getValue().equals(request.getOperation())) {
+      process(request);
+    } else {
+      onReceiveUnsupportedOperation(request.getOperation());
+    }
+  }
+
+  private void process(Request request) {
+    RequestContext requestContext = request.getRequestContext();
+    String processId = (String) request.get(JsonKey.PROCESS_ID);
+    BulkUploadProcess job = bulkUploadProcessDao.read(requestContext, processId);
+    if (null == job
+        || ProjectUtil.BulkProcessStatus.COMPLETED.getValue() == job.getStatus()
+        || ProjectUtil.BulkProcessStatus.FAILED.getValue() == job.getStatus()) {
+      logger.info(requestContext, "QRCodeDownloadBackgroundJobActor:process: nothing to process for " + processId);
+      return;
+    }
+    long startTime = System.currentTimeMillis();
+    job.setStatus(ProjectUtil.BulkProcessStatus.IN_PROGRESS.getValue());
+    job.setProcessStartTime(ProjectUtil.getFormattedDate());
+    bulkUploadProcessDao.update(requestContext, job);
+    File file = null;
+    try {
+      Map<String, Object> filters =
+          mapper.readValue(job.getData(), new TypeReference<Map<String, Object>>() {});
+      Map<String, String> headers = (Map<String, String>) request.get(JsonKey.HEADER);
+      List<Map<String, Object>> contents = searchCourses(requestContext, filters, headers);
+      Map<String, Map<String, String>> imageUrls = imageUrlResolver.resolve(requestContext, contents);
+      file = generateCSVFile(contents, imageUrls);
+      String fileUrl = uploadFile(file);
+      job.setSuccessResult(fileUrl);
+      job.setStatus(ProjectUtil.BulkProcessStatus.COMPLETED.getValue());
+    } catch (ProjectCommonException e) {
+      logger.error(requestContext, "QRCodeDownloadBackgroundJobActor:process: failed for " + processId, e);
+      job.setFailureResult(e.getMessage());
+      job.setStatus(ProjectUtil.BulkProcessStatus.FAILED.getValue());
+    } catch (Exception e) {
+      logger.error(requestContext, "QRCodeDownloadBackgroundJobActor:process: failed for " + processId, e);
+      job.setFailureResult(ResponseCode.errorProcessingFile.getErrorMessage());
+      job.setStatus(ProjectUtil.BulkProcessStatus.FAILED.getValue());
+    } finally {
+      FileUtils.deleteQuietly(file);
+    }
+    job.setProcessEndTime(ProjectUtil.getFormattedDate());
+    bulkUploadProcessDao.update(requestContext, job);
+    logger.info(
+        requestContext,
+        "QRCodeDownloadBackgroundJobActor:process: processId = "
+            + processId
+            + ", status = "
+            + job.getStatus()
+            + ", time taken = "
+            + (System.currentTimeMillis() - startTime));
+  }
+
+  /**
+   * Search the courses created by the requested users which have dialcodes linked to them.
+   *
+   * @param requestContext
+   * @param filters
+   * @param headers
+   * @return list of contents having identifier, name and dialcodes
+   */
+  private List<Map<String, Object>> searchCourses(
+      RequestContext requestContext, Map<String, Object> filters, Map<String, String> headers)
+      throws IOException {
+    Map<String, Object> searchRequestMap = new HashMap<>();
+    searchRequestMap.put(
+        JsonKey.FILTERS,
+        filters
+            .keySet()
+            .stream()
+            .filter(key -> filtersHelperMap.containsKey(key))
+            .collect(Collectors.toMap(key -> filtersHelperMap.get(key), key -> filters.get(key))));
+    searchRequestMap.put(JsonKey.FIELDS, fields);
+    searchRequestMap.put(JsonKey.EXISTS, JsonKey.DIAL_CODES);
+    searchRequestMap.put(
+        JsonKey.SORT_BY, Collections.singletonMap(SunbirdKey.LAST_PUBLISHED_ON, JsonKey.DESC));
+    searchRequestMap.put(JsonKey.LIMIT, SEARCH_CONTENTS_LIMIT);
+    String requestJson =
+        mapper.writeValueAsString(Collections.singletonMap(JsonKey.REQUEST, searchRequestMap));
+    Map<String, Object> searchResponse =
+        ContentSearchUtil.searchContentSync(requestContext, null, requestJson, headers);
+    List<Map<String, Object>> contents = (List<Map<String, Object>>) searchResponse.get("contents");
+    if (CollectionUtils.isEmpty(contents))
+      throw new ProjectCommonException(
+          ResponseCode.errorUserHasNotCreatedAnyCourse.getErrorCode(),
+          ResponseCode.errorUserHasNotCreatedAnyCourse.getErrorMessage(),
+          ResponseCode.CLIENT_ERROR.getResponseCode());
+    List<Map<String, Object>> linkedContents =
+        contents
+            .stream()
+            .filter(content -> CollectionUtils.isNotEmpty((List) content.get(JsonKey.DIAL_CODES)))
+            .filter(content -> content.get(JsonKey.NAME) != null)
+            .collect(Collectors.toList());
+    if (linkedContents.isEmpty())
+      throw new ProjectCommonException(
+          ResponseCode.errorNoDialcodesLinked.getErrorCode(),
+          ResponseCode.errorNoDialcodesLinked.getErrorMessage(),
+          ResponseCode.CLIENT_ERROR.getResponseCode());
+    return linkedContents;
+  }
+
+  /**
+   * Streams the CSV rows to a temp file instead of building the whole content in memory.
+   *
+   * @param contents
+   * @param imageUrls map of content identifier to dialcode and image url
+   * @return generated file
+   */
+  private File generateCSVFile(
+      List<Map<String, Object>> contents, Map<String, Map<String, String>> imageUrls)
+      throws IOException {
+    File file =
+        new File(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString() + ".csv");
+    try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+        CSVPrinter printer = new CSVPrinter(writer, DEFAULT.withHeader(CSV_HEADER))) {
+      for (Map<String, Object> content : contents) {
+        String name = (String) content.get(JsonKey.NAME);
+        Map<String, String> contentUrls =
+            imageUrls.getOrDefault((String) content.get(JsonKey.IDENTIFIER), Collections.emptyMap());
+        for (String dialCode : (List<String>) content.get(JsonKey.DIAL_CODES)) {
+          printer.printRecord(name, dialCode, contentUrls.getOrDefault(dialCode, ""));
+        }
+      }
+    } catch (IOException e) {
+      FileUtils.deleteQuietly(file);
+      throw e;
+    }
+    return file;
+  }
+
+  private String uploadFile(File file) {
+    String objectKey =
+        getConfigValue(CLOUD_FOLDER_CONTENT)
+            + separator
+            + "textbook"
+            + separator
+            + "toc"
+            + separator
+            + file.getName();
+    String fileUrl =
+        CloudStorageUtil.upload(
+            CloudStorageUtil.CloudStorageType.AZURE,
+            getConfigValue(CONTENT_AZURE_STORAGE_CONTAINER),
+            objectKey,
+            file.getAbsolutePath());
+    if (StringUtils.isBlank(fileUrl))
+      throw new ProjectCommonException(
+          ResponseCode.errorUploadQRCodeCSVfailed.getErrorCode(),
+          ResponseCode.errorUploadQRCodeCSVfailed.getErrorMessage(),
+          ResponseCode.SERVER_ERROR.getResponseCode());
+    return fileUrl;
+  }
+}
@@ -1,36 +1,24 @@
 package org.sunbird.learner.actors.qrcodedownload;
 
-import static java.io.File.separator;
-import static org.sunbird.common.models.util.JsonKey.CLOUD_FOLDER_CONTENT;
-import static org.sunbird.common.models.util.JsonKey.CONTENT_AZURE_STORAGE_CONTAINER;
-import static org.sunbird.common.models.util.ProjectUtil.getConfigValue;
-
+import akka.actor.ActorRef;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.io.File;
-import java.io.IOException;
-import java.util.*;
-import java.util.stream.Collectors;
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.MapUtils;
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.lang.StringUtils;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Named;
 import org.sunbird.actor.base.BaseActor;
-import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.ActorOperations;
+import org.sunbird.common.models.util.BulkUploadJsonKey;
 import org.sunbird.common.models.util.JsonKey;
-import org.sunbird.common.models.util.LoggerUtil;
-import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.models.util.TelemetryEnvKey;
 import org.sunbird.common.request.Request;
 import org.sunbird.common.request.RequestContext;
-import org.sunbird.common.responsecode.ResponseCode;
-import org.sunbird.common.util.CloudStorageUtil;
-import org.sunbird.helper.ServiceFactory;
-import org.sunbird.keys.SunbirdKey;
-import org.sunbird.learner.util.ContentSearchUtil;
+import org.sunbird.learner.actors.bulkupload.dao.BulkUploadProcessDao;
+import org.sunbird.learner.actors.bulkupload.dao.impl.BulkUploadProcessDaoImpl;
+import org.sunbird.learner.actors.bulkupload.model.BulkUploadProcess;
 import org.sunbird.learner.util.Util;
 
 /**
@@ -38,20 +26,13 @@ import org.sunbird.learner.util.Util;
  * that are linked to courses that are created userIds given
  */
 public class QRCodeDownloadManagementActor extends BaseActor {
-  private static final List<String> fields = Arrays.asList("identifier", "dialcodes", "name");
-  private static final Map<String, String> filtersHelperMap =
-      new HashMap<String, String>() {
-        {
-          put(JsonKey.USER_IDs, JsonKey.CREATED_BY);
-          put(JsonKey.STATUS, JsonKey.STATUS);
-          put(JsonKey.CONTENT_TYPE, JsonKey.CONTENT_TYPE);
-        }
-      };
-  private static Util.DbInfo courseDialCodeInfo =
-      Util.dbInfoMap.get(JsonKey.SUNBIRD_COURSE_DIALCODES_DB);
-  private static int SEARCH_CONTENTS_LIMIT = Integer.parseInt(StringUtils.isNotBlank(ProjectUtil.getConfigValue(JsonKey.SUNBIRD_QRCODE_COURSES_LIMIT)) ? ProjectUtil.getConfigValue(JsonKey.SUNBIRD_QRCODE_COURSES_LIMIT) : "2000");
 
-  private static CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+  private BulkUploadProcessDao bulkUploadProcessDao = new BulkUploadProcessDaoImpl();
+  private ObjectMapper mapper = new ObjectMapper();
+
+  @Inject
+  @Named("qrcode-download-background-job-actor")
+  private ActorRef qrCodeDownloadBackgroundJobActorRef;
 
   @Override
   public void onReceive(Request request) throws Throwable {
@@ -61,6 +42,9 @@ public class QRCodeDownloadManagementActor extends BaseActor {
       case "downloadQRCodes":
         downloadQRCodes(request);
         break;
+      case "getQRCodeDownloadStatus":
+        getQRCodeDownloadStatus(request);
+        break;
 
       default:
         onReceiveUnsupportedOperation(requestedOperation);
@@ -69,218 +53,63 @@ public class QRCodeDownloadManagementActor extends BaseActor {
   }
 
   /**
-   * The request must contain list of userIds (Users Ids of people who have created courses)
+   * The request must contain list of userIds (Users Ids of people who have created courses). The
+   * export is registered as a job and processed by the background job actor, the caller gets the
+   * processId to poll the status.
    *
    * @param request
    */
-  private void downloadQRCodes(Request request) {
-    Map<String, String> headers = (Map<String, String>) request.getRequest().get(JsonKey.HEADER);
+  private void downloadQRCodes(Request request) throws JsonProcessingException {
+    RequestContext requestContext = request.getRequestContext();
     Map<String, Object> requestMap = (Map<String, Object>) request.getRequest().get(JsonKey.FILTER);
     requestMap.put(JsonKey.CONTENT_TYPE, "course");
-    Map<String, Object> searchResponse = searchCourses(request.getRequestContext(), requestMap, headers);
-    List<Map<String, Object>> contents = (List<Map<String, Object>>) searchResponse.get("contents");
-    if (CollectionUtils.isEmpty(contents))
-      throw new ProjectCommonException(
-          ResponseCode.errorUserHasNotCreatedAnyCourse.getErrorCode(),
-          ResponseCode.errorUserHasNotCreatedAnyCourse.getErrorMessage(),
-          ResponseCode.CLIENT_ERROR.getResponseCode());
-    Map<String, List<String>> dialCodesMap =
-        contents
-            .stream()
-            .filter(content -> content.get("dialcodes") != null)
-            .filter(content -> content.get("name") != null)
-            .collect(
-                Collectors.toMap(
-                    content ->
-                        ((String) content.get("identifier")) + "<<<" + (String) content.get("name"),
-                    content -> (List<String>) content.get("dialcodes"), (a,b) -> b, LinkedHashMap::new));
-    File file = generateCSVFile(request.getRequestContext(), dialCodesMap);
-    Response response = new Response();
-    if (null == file)
-      throw new ProjectCommonException(
-          ResponseCode.errorProcessingFile.getErrorCode(),
-          ResponseCode.errorProcessingFile.getErrorMessage(),
-          ResponseCode.SERVER_ERROR.getResponseCode());
+    String processId = ProjectUtil.getUniqueIdFromTimestamp(1);
+    BulkUploadProcess job = new BulkUploadProcess();
+    job.setId(processId);
+    job.setObjectType(JsonKey.QR_CODE_DOWNLOAD);
+    job.setData(mapper.writeValueAsString(requestMap));
+    job.setUploadedBy((String) request.getContext().get(JsonKey.REQUESTED_BY));
+    job.setUploadedDate(ProjectUtil.getFormattedDate());
+    job.setStatus(ProjectUtil.BulkProcessStatus.NEW.getValue());
+    bulkUploadProcessDao.create(job, requestContext);
 
-    response = uploadFile(request.getRequestContext(), file);
+    Response response = new Response();
+    response.put(JsonKey.PROCESS_ID, processId);
+    response.put(JsonKey.STATUS, BulkUploadJsonKey.NOT_STARTED);
     sender().tell(response, self());
-  }
 
-  /**
-   * Search call to Learning Platform composite search engine
-   *
-   *
-   * @param requestContext
-   * @param requestMap
-   * @param headers
-   * @return
-   */
-  private Map<String, Object> searchCourses(
-          RequestContext requestContext, Map<String, Object> requestMap, Map<String, String> headers) {
-    String request = prepareSearchRequest (requestContext, requestMap);
-    Map<String, Object> searchResponse =
-        ContentSearchUtil.searchContentSync(requestContext, null, request, headers);
-    return searchResponse;
+    Request jobRequest = new Request(requestContext);
+    jobRequest.put(JsonKey.PROCESS_ID, processId);
+    jobRequest.put(JsonKey.HEADER, request.getRequest().get(JsonKey.HEADER));
+    jobRequest.setOperation(ActorOperations.PROCESS_QR_CODE_DOWNLOAD.getValue());
+    qrCodeDownloadBackgroundJobActorRef.tell(jobRequest, self());
   }
 
   /**
-   * Request Preparation for search Request for getting courses created by user and dialcodes linked
-   * to them.
+   * Returns the status of a QR code download job, with the file url once it is completed.
    *
-   *
-   * @param requestContext
-   * @param requestMap
-   * @return
-   */
-  private String prepareSearchRequest(RequestContext requestContext, Map<String, Object> requestMap) {
-    Map<String, Object> searchRequestMap =
-        new HashMap<String, Object>() {
-          {
-            put(
-                JsonKey.FILTERS,
-                requestMap
-                    .keySet()
-                    .stream()
-                    .filter(key -> filtersHelperMap.containsKey(key))
-                    .collect(
-                        Collectors.toMap(
-                            key -> filtersHelperMap.get(key), key -> requestMap.get(key))));
-            put(JsonKey.FIELDS, fields);
-            put(JsonKey.EXISTS, JsonKey.DIAL_CODES);
-            put(JsonKey.SORT_BY, new HashMap<String, String>() {{
-              put(SunbirdKey.LAST_PUBLISHED_ON, JsonKey.DESC);
-            }});
-            //TODO: Limit should come from request, need to facilitate this change.
-            put(JsonKey.LIMIT, SEARCH_CONTENTS_LIMIT);
-          }
-        };
-    Map<String, Object> request =
-        new HashMap<String, Object>() {
-          {
-            put(JsonKey.REQUEST, searchRequestMap);
-          }
-        };
-    String requestJson = null;
-    try {
-      requestJson = new ObjectMapper().writeValueAsString(request);
-    } catch (JsonProcessingException e) {
-      logger.error(requestContext, "QRCodeDownloadManagement:prepareSearchRequest: Exception occurred with error message = "
-                      + e.getMessage(), e);
-    }
-    return requestJson;
-  }
-
-  /**
-   * Generates the CSV File for the data provided
-   *
-   * @param requestContext
-   * @param dialCodeMap
-   * @return
-   */
-  private File generateCSVFile(RequestContext requestContext, Map<String, List<String>> dialCodeMap) {
-    File file = null;
-    if (MapUtils.isEmpty(dialCodeMap))
-      throw new ProjectCommonException(
-          ResponseCode.errorNoDialcodesLinked.getErrorCode(),
-          ResponseCode.errorNoDialcodesLinked.getErrorMessage(),
-          ResponseCode.CLIENT_ERROR.getResponseCode());
-    try {
-      file = new File(UUID.randomUUID().toString() + ".csv");
-      StringBuilder csvFile = new StringBuilder();
-      csvFile.append("Course Name,Dialcodes,Image Url");
-      dialCodeMap
-          .keySet()
-          .forEach(
-              name -> {
-                dialCodeMap
-                    .get(name)
-                    .forEach(
-                        dialCode -> {
-                          csvFile.append("\n");
-                          csvFile
-                              .append(name.split("<<<")[1])
-                              .append(",")
-                              .append(dialCode)
-                              .append(",")
-                              .append(getQRCodeImageUrl(requestContext, dialCode));
-                        });
-              });
-      FileUtils.writeStringToFile(file, csvFile.toString());
-    } catch (IOException e) {
-      logger.error(requestContext, "QRCodeDownloadManagement:createCSVFile: Exception occurred with error message = "
-                      + e.getMessage(), e);
-    }
-    return file;
-  }
-
-  /**
-   * Fetch the QR code Url for the given dialcodes
-   *
-   * @param requestContext
-   * @param dialCode
-   * @return
+   * @param request
    */
-  private String getQRCodeImageUrl(RequestContext requestContext, String dialCode) {
-    // TODO: Dialcode as primary key in cassandra
-    Response response =
-        cassandraOperation.getRecordsByProperty(
-                requestContext, courseDialCodeInfo.getKeySpace(),
-            courseDialCodeInfo.getTableName(),
-            JsonKey.FILE_NAME,
-            "0_" + dialCode,
-            Arrays.asList("url"));
-    if (null != response && response.get(JsonKey.RESPONSE) != null) {
-      Object obj = response.get(JsonKey.RESPONSE);
-      if (null != obj && obj instanceof List) {
-        List<Map<String, Object>> listOfMap = (List<Map<String, Object>>) obj;
-        if (CollectionUtils.isNotEmpty(listOfMap)) {
-          return (String) listOfMap.get(0).get("url");
-        }
-      }
+  private void getQRCodeDownloadStatus(Request request) {
+    String processId = (String) request.getRequest().get(JsonKey.PROCESS_ID);
+    BulkUploadProcess job = bulkUploadProcessDao.read(request.getRequestContext(), processId);
+    if (null == job || !JsonKey.QR_CODE_DOWNLOAD.equals(job.getObjectType())) {
+      ProjectCommonException.throwResourceNotFoundException();
     }
-    return "";
-  }
-
-  /**
-   * Uploading the generated csv to aws
-   *
-   *
-   * @param requestContext
-   * @param file
-   * @return
-   */
-  private Response uploadFile(RequestContext requestContext, File file) {
-    String objectKey =
-        getConfigValue(CLOUD_FOLDER_CONTENT)
-            + separator
-            + "textbook"
-            + separator
-            + "toc"
-            + separator;
     Response response = new Response();
-    try {
-      if (file.isFile()) {
-        objectKey += file.getName();
-        String fileUrl =
-            CloudStorageUtil.upload(
-                CloudStorageUtil.CloudStorageType.AZURE,
-                getConfigValue(CONTENT_AZURE_STORAGE_CONTAINER),
-                objectKey,
-                file.getAbsolutePath());
-        if (StringUtils.isBlank(fileUrl))
-          throw new ProjectCommonException(
-              ResponseCode.errorUploadQRCodeCSVfailed.getErrorCode(),
-              ResponseCode.errorUploadQRCodeCSVfailed.getErrorMessage(),
-              ResponseCode.SERVER_ERROR.getResponseCode());
-        response.put("fileUrl", fileUrl);
-      }
-      return response;
-    } catch (Exception e) {
-      logger.error(requestContext, "QRCodeDownloadManagement:uploadFile: Exception occurred with error message = "
-                      + e.getMessage(), e);
-      throw e;
-    } finally {
-      FileUtils.deleteQuietly(file);
+    response.put(JsonKey.PROCESS_ID, processId);
+    int status = job.getStatus();
+    if (status == ProjectUtil.BulkProcessStatus.COMPLETED.getValue()) {
+      response.put(JsonKey.STATUS, BulkUploadJsonKey.COMPLETED);
+      response.put(JsonKey.FILE_URL, job.getSuccessResult());
+    } else if (status == ProjectUtil.BulkProcessStatus.FAILED.getValue()) {
+      response.put(JsonKey.STATUS, JsonKey.FAILED);
+      response.put(JsonKey.FAILURE_RESULT, job.getFailureResult());
+    } else if (status == ProjectUtil.BulkProcessStatus.IN_PROGRESS.getValue()) {
+      response.put(JsonKey.STATUS, BulkUploadJsonKey.IN_PROGRESS);
+    } else {
+      response.put(JsonKey.STATUS, BulkUploadJsonKey.NOT_STARTED);
     }
+    sender().tell(response, self());
   }
 }
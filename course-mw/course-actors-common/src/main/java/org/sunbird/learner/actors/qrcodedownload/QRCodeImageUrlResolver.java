@@ -0,0 +1,132 @@
+package org.sunbird.learner.actors.qrcodedownload;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.ConfigSnapshot;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerUtil;
+import org.sunbird.common.request.RequestContext;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.keys.SunbirdKey;
+import org.sunbird.learner.util.Util;
+
+/**
+ * Resolves QR code image urls for dialcodes linked to a content. Lookups are done in bulk (IN query
+ * on dialcode_images) and the resolved urls are cached per content version, so repeated exports of
+ * an unchanged textbook do not hit Cassandra again.
+ */
+public class QRCodeImageUrlResolver {
+
+  private static final String FILE_NAME_PREFIX = "0_";
+  private static final String FILE_NAME_COLUMN = "filename";
+  private static final String URL = "url";
+  private static final LoggerUtil logger = new LoggerUtil(QRCodeImageUrlResolver.class);
+  private static final Util.DbInfo courseDialCodeInfo =
+      Util.dbInfoMap.get(JsonKey.SUNBIRD_COURSE_DIALCODES_DB);
+  private static final int LOOKUP_BATCH_SIZE =
+      ConfigSnapshot.getInt(JsonKey.SUNBIRD_QRCODE_DIALCODE_LOOKUP_BATCH_SIZE, 100);
+  private static final Cache<String, Map<String, String>> imageUrlCache =
+      CacheBuilder.newBuilder()
+          .maximumSize(ConfigSnapshot.getInt(JsonKey.SUNBIRD_QRCODE_IMAGE_CACHE_SIZE, 500))
+          .expireAfterWrite(
+              ConfigSnapshot.getInt(JsonKey.SUNBIRD_QRCODE_IMAGE_CACHE_TTL, 3600), TimeUnit.SECONDS)
+          .build();
+
+  private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+
+  /**
+   * Resolve the image url of every dialcode of the given contents.
+   *
+   * @param requestContext
+   * @param contents list of content maps having identifier, dialcodes and version details
+   * @return map of content identifier to an ordered map of dialcode and image url
+   */
+  public Map<String, Map<String, String>> resolve(
+      RequestContext requestContext, List<Map<String, Object>> contents) {
+    Map<String, Map<String, String>> result = new HashMap<>();
+    Map<String, List<String>> pending = new LinkedHashMap<>();
+    for (Map<String, Object> content : contents) {
+      String identifier = (String) content.get(JsonKey.IDENTIFIER);
+      List<String> dialCodes = (List<String>) content.get(JsonKey.DIAL_CODES);
+      Map<String, String> cached = imageUrlCache.getIfPresent(getCacheKey(content));
+      if (null != cached && cached.keySet().containsAll(dialCodes)) {
+        result.put(identifier, cached);
+      } else {
+        pending.put(identifier, dialCodes);
+      }
+    }
+    if (!pending.isEmpty()) {
+      List<String> dialCodes =
+          pending.values().stream().flatMap(List::stream).distinct().collect(Collectors.toList());
+      Map<String, String> imageUrls = fetchImageUrls(requestContext, dialCodes);
+      for (Map<String, Object> content : contents) {
+        String identifier = (String) content.get(JsonKey.IDENTIFIER);
+        if (pending.containsKey(identifier)) {
+          Map<String, String> contentUrls = new LinkedHashMap<>();
+          pending
+              .get(identifier)
+              .forEach(
+                  dialCode ->
+                      contentUrls.put(dialCode, imageUrls.getOrDefault(dialCode, "")));
+          imageUrlCache.put(getCacheKey(content), contentUrls);
+          result.put(identifier, contentUrls);
+        }
+      }
+    }
+    logger.info(
+        requestContext,
+        "QRCodeImageUrlResolver:resolve: contents = "
+            + contents.size()
+            + ", resolved from cache = "
+            + (contents.size() - pending.size()));
+    return result;
+  }
+
+  private Map<String, String> fetchImageUrls(RequestContext requestContext, List<String> dialCodes) {
+    Map<String, String> imageUrls = new HashMap<>();
+    for (List<String> chunk : Lists.partition(dialCodes, LOOKUP_BATCH_SIZE)) {
+      List<String> fileNames = new ArrayList<>(chunk.size());
+      chunk.forEach(dialCode -> fileNames.add(FILE_NAME_PREFIX + dialCode));
+      Response response =
+          cassandraOperation.getRecordsByProperty(
+              requestContext,
+              courseDialCodeInfo.getKeySpace(),
+              courseDialCodeInfo.getTableName(),
+              JsonKey.FILE_NAME,
+              fileNames,
+              Arrays.asList(FILE_NAME_COLUMN, URL));
+      List<Map<String, Object>> records =
+          null != response ? (List<Map<String, Object>>) response.get(JsonKey.RESPONSE) : null;
+      if (CollectionUtils.isNotEmpty(records)) {
+        for (Map<String, Object> record : records) {
+          String fileName = (String) record.get(FILE_NAME_COLUMN);
+          if (StringUtils.startsWith(fileName, FILE_NAME_PREFIX)) {
+            imageUrls.put(
+                fileName.substring(FILE_NAME_PREFIX.length()),
+                StringUtils.defaultString((String) record.get(URL)));
+          }
+        }
+      }
+    }
+    return imageUrls;
+  }
+
+  private static String getCacheKey(Map<String, Object> content) {
+    Object version = content.get(SunbirdKey.PKG_VERSION);
+    if (null == version) version = content.get(SunbirdKey.LAST_PUBLISHED_ON);
+    return content.get(JsonKey.IDENTIFIER) + "_" + version;
+  }
+}
@@ -24,9 +24,11 @@ import org.sunbird.common.request.RequestContext;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.dto.SearchDTO;
 import org.sunbird.learner.actors.coursebatch.service.UserCoursesService;
+import org.sunbird.learner.util.CourseBatchUtil;
 import org.sunbird.learner.util.JsonUtil;
 import org.sunbird.learner.util.Util;
 import org.sunbird.telemetry.util.TelemetryWriter;
+import org.sunbird.userorg.UserOrgCache;
 import scala.concurrent.Future;
 
 import java.time.Instant;
@@ -47,6 +49,7 @@ public class SearchHandlerActor extends BaseActor {
   private String topn = PropertiesCache.getInstance().getProperty(JsonKey.SEARCH_TOP_N);
   private ElasticSearchService esService = EsClientFactory.getInstance(JsonKey.REST);
   private static final String CREATED_BY = "createdBy";
+  private static final String CREATORS = "creators";
   
   
   @SuppressWarnings({"unchecked", "rawtypes"})
@@ -105,6 +108,18 @@ public class SearchHandlerActor extends BaseActor {
             populateCreatorDetails(request.getRequestContext(), result);
           if (!searchQueryMap.containsKey(JsonKey.FIELDS))
             addCollectionId(result);
+          List<String> certTemplateFields =
+              (List<String>) request.getContext().get(JsonKey.CERT_TEMPLATE_FIELDS);
+          if (CollectionUtils.isNotEmpty(certTemplateFields)) {
+            result.put(
+                JsonKey.CONTENT,
+                ((List<Map<String, Object>>) result.getOrDefault(JsonKey.CONTENT, new ArrayList<>()))
+                    .stream()
+                    .map(
+                        courseBatch ->
+                            CourseBatchUtil.projectCertTemplates(courseBatch, certTemplateFields))
+                    .collect(Collectors.toList()));
+          }
           response.put(JsonKey.RESPONSE, result);
         } else {
           result = new HashMap<>();
@@ -133,12 +148,28 @@ public class SearchHandlerActor extends BaseActor {
   private Map<String, Object> getCreatorDetails(RequestContext requestContext, List<String> creatorIds) throws Exception {
     String userSearchUrl = ProjectUtil.getConfigValue(JsonKey.USER_SEARCH_BASE_URL) + "/private/user/v1/search";
     List<String> fields = Arrays.asList(ProjectUtil.getConfigValue(JsonKey.CREATOR_DETAILS_FIELDS).split(","));
-    String reqStr = getUserSearchRequest(creatorIds, fields);
-    logger.info(requestContext, "Calling user search to fetch creator details for IDs: " + creatorIds);
-	  List<Map<String, Object>> tempResult = makePostRequest(requestContext, userSearchUrl, reqStr);
+    List<Map<String, Object>> tempResult =
+        UserOrgCache.getInstance(CREATORS)
+            .getAll(creatorIds, chunk -> searchCreators(requestContext, userSearchUrl, chunk, fields));
 	  return CollectionUtils.isNotEmpty(tempResult) ? tempResult.stream().collect(Collectors.toMap(s -> (String) s.remove("id"), s -> s)) : new HashMap<String, Object>();
   }
 
+  private List<Map<String, Object>> searchCreators(
+      RequestContext requestContext, String userSearchUrl, List<String> creatorIds, List<String> fields) {
+    logger.info(requestContext, "Calling user search to fetch creator details for IDs: " + creatorIds);
+    try {
+      return makePostRequest(requestContext, userSearchUrl, getUserSearchRequest(creatorIds, fields));
+    } catch (ProjectCommonException e) {
+      throw e;
+    } catch (Exception e) {
+      logger.error(requestContext, "SearchHandlerActor:searchCreators: user search failed for IDs: " + creatorIds, e);
+      throw new ProjectCommonException(
+          ResponseCode.internalError.getErrorCode(),
+          ResponseCode.internalError.getErrorMessage(),
+          ResponseCode.SERVER_ERROR.getResponseCode());
+    }
+  }
+
   private String getUserSearchRequest(List<String> creatorIds, List<String> fields) throws Exception {
     Map<String, Object> reqMap = new HashMap<String, Object>() {{
       put("request", new HashMap<String, Object>() {{
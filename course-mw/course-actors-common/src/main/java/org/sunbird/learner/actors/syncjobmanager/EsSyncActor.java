@@ -21,6 +21,8 @@ import org.sunbird.common.request.Request;
 import org.sunbird.common.request.RequestContext;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.learner.actors.coursebatch.dao.UserCoursesDao;
+import org.sunbird.learner.actors.coursebatch.dao.impl.UserCoursesDaoImpl;
 import org.sunbird.learner.actors.coursebatch.service.UserCoursesService;
 import org.sunbird.learner.util.Util;
 import org.sunbird.learner.util.Util.DbInfo;
@@ -38,7 +40,10 @@ public class EsSyncActor extends BaseActor {
 
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
   private ElasticSearchService esService = EsClientFactory.getInstance(JsonKey.REST);
+  private UserCoursesDao userCoursesDao = UserCoursesDaoImpl.getInstance();
   private static final int BATCH_SIZE = 100;
+  private static final String USER_ENROLMENTS = "user_enrolments";
+  private static final ObjectMapper mapper = new ObjectMapper();
 
   @Override
   public void onReceive(Request request) throws Throwable {
@@ -55,6 +60,10 @@ public class EsSyncActor extends BaseActor {
     Map<String, Object> dataMap = (Map<String, Object>) req.get(JsonKey.DATA);
     String objectType = (String) dataMap.get(JsonKey.OBJECT_TYPE);
     logger.info(req.getRequestContext(), "EsSyncBackgroundActor: sync called for objectType=" + objectType);
+    if (JsonKey.BATCH_PARTICIPANTS.equals(objectType)) {
+      syncBatchParticipants(req, dataMap);
+      return;
+    }
     Util.DbInfo dbInfo = getDbInfoObj(objectType);
     if (null == dbInfo) {
       throw new ProjectCommonException(
@@ -119,6 +128,82 @@ public class EsSyncActor extends BaseActor {
     logger.info(req.getRequestContext(), "EsSyncBackgroundActor:sync: Syncing data for " + requestLogMsg + " completed");
   }
 
+  /**
+   * Backfills the batch partitioned participants table from user_enrolments, for the given batch
+   * ids or for all batches if none are given.
+   */
+  private void syncBatchParticipants(Request req, Map<String, Object> dataMap) {
+    Response response = new Response();
+    response.put(JsonKey.RESPONSE, JsonKey.SUCCESS);
+    sender().tell(response, self());
+
+    String keyspace = Util.dbInfoMap.get(JsonKey.LEARNER_COURSE_DB).getKeySpace();
+    List<String> fields =
+        Arrays.asList(
+            JsonKey.BATCH_ID,
+            JsonKey.USER_ID,
+            JsonKey.COURSE_ID,
+            JsonKey.ACTIVE,
+            JsonKey.COURSE_ENROLL_DATE,
+            UserCoursesDao.ACTIVE_WRITETIME);
+    List<Object> batchIds = (List<Object>) dataMap.get(JsonKey.OBJECT_IDS);
+    if (CollectionUtils.isEmpty(batchIds)) {
+      cassandraOperation.applyOperationOnRecordsAsync(
+          req.getRequestContext(),
+          keyspace,
+          USER_ENROLMENTS,
+          null,
+          fields,
+          getBatchParticipantsCallback(req.getRequestContext()));
+      return;
+    }
+    for (Object batchId : batchIds) {
+      Map<String, Object> filters = new HashMap<>();
+      filters.put(JsonKey.BATCH_ID, batchId);
+      cassandraOperation.applyOperationOnRecordsAsync(
+          req.getRequestContext(),
+          keyspace,
+          USER_ENROLMENTS,
+          filters,
+          fields,
+          getBatchParticipantsCallback(req.getRequestContext()));
+    }
+  }
+
+  private FutureCallback<ResultSet> getBatchParticipantsCallback(RequestContext requestContext) {
+    return new FutureCallback<ResultSet>() {
+      @Override
+      public void onSuccess(ResultSet result) {
+        List<Map<String, Object>> enrolments = new ArrayList<>();
+        Map<String, String> columnMap = CassandraUtil.fetchColumnsMapping(result);
+        long count = 0;
+        try {
+          for (Row row : result) {
+            Map<String, Object> enrolment = new HashMap<>();
+            columnMap.forEach((key, column) -> enrolment.put(key, row.getObject(column)));
+            enrolments.add(enrolment);
+            count++;
+            if (enrolments.size() >= BATCH_SIZE) {
+              userCoursesDao.backfillBatchParticipants(requestContext, enrolments);
+              enrolments.clear();
+            }
+          }
+          if (!enrolments.isEmpty()) {
+            userCoursesDao.backfillBatchParticipants(requestContext, enrolments);
+          }
+          logger.info(requestContext, "getBatchParticipantsCallback sync successful count=" + count);
+        } catch (Exception e) {
+          logger.error(requestContext, "Exception occurred while getBatchParticipantsCallback on count" + count, e);
+        }
+      }
+
+      @Override
+      public void onFailure(Throwable t) {
+        logger.error(requestContext, "Exception occurred while getBatchParticipantsCallback ", t);
+      }
+    };
+  }
+
   private String getType(String objectType) {
     String type = "";
     if (objectType.equals(JsonKey.BATCH)) {
@@ -186,7 +271,7 @@ public class EsSyncActor extends BaseActor {
               Object value = row.getObject(entry.getValue());
               if (entry.getKey().equals("contentStatus") && value != null) {
                 try {
-                  rowMap.put(entry.getKey(), new ObjectMapper().writeValueAsString(value));
+                  rowMap.put(entry.getKey(), mapper.writeValueAsString(value));
                 } catch (JsonProcessingException e) {
                   logger.error(requestContext, "JsonProcessingException occurred while getSyncCallback ", e);
                 }
@@ -14,7 +14,10 @@ import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerUtil;
 import org.sunbird.common.models.util.PropertiesCache;
 import org.sunbird.common.models.util.RestUtil;
+import org.sunbird.common.request.HeaderParam;
 import org.sunbird.common.request.RequestContext;
+import org.sunbird.common.util.SingleFlight;
+import scala.compat.java8.FutureConverters;
 import scala.concurrent.ExecutionContextExecutor;
 import scala.concurrent.Future;
 
@@ -24,12 +27,15 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 /** @author Mahesh Kumar Gangula */
 public class ContentSearchUtil {
 
   private static String contentSearchURL = null;
   private static LoggerUtil logger = new LoggerUtil(ContentSearchUtil.class);
+  private static SingleFlight<HttpResponse<JsonNode>> singleFlight =
+      SingleFlight.getInstance("contentSearch");
 
   static {
     String baseUrl = System.getenv(JsonKey.SUNBIRD_API_MGR_BASE_URL);
@@ -62,14 +68,8 @@ public class ContentSearchUtil {
       ExecutionContextExecutor ec) {
     String logMsgPrefix = "searchContent: ";
 
-    Unirest.clearDefaultHeaders();
-    String urlString =
-        StringUtils.isNotBlank(urlQueryString)
-            ? contentSearchURL + urlQueryString
-            : contentSearchURL;
-    BaseRequest request =
-        Unirest.post(urlString).headers(getUpdatedHeaders(headers)).body(queryRequestBody);
-    Future<HttpResponse<JsonNode>> response = RestUtil.executeAsync(request);
+    Future<HttpResponse<JsonNode>> response =
+        FutureConverters.toScala(search(urlQueryString, queryRequestBody, headers));
 
     return response.map(
         new Mapper<HttpResponse<JsonNode>, Map<String, Object>>() {
@@ -77,18 +77,7 @@ public class ContentSearchUtil {
           public Map<String, Object> apply(HttpResponse<JsonNode> response) {
             try {
               if (RestUtil.isSuccessful(response)) {
-                JSONObject result = response.getBody().getObject().getJSONObject("result");
-                Map<String, Object> resultMap = jsonToMap(result);
-                Object contents = resultMap.get(JsonKey.CONTENT);
-                resultMap.remove(JsonKey.CONTENT);
-                resultMap.put(JsonKey.CONTENTS, contents);
-                String resmsgId = RestUtil.getFromResponse(response, "params.resmsgid");
-                String apiId = RestUtil.getFromResponse(response, "id");
-                Map<String, Object> param = new HashMap<>();
-                param.put(JsonKey.RES_MSG_ID, resmsgId);
-                param.put(JsonKey.API_ID, apiId);
-                resultMap.put(JsonKey.PARAMS, param);
-                return resultMap;
+                return getResultMap(response);
               } else {
                 logger.debug(requestContext, logMsgPrefix + "Search content failed. Error response = " + response.getBody());
                 return null;
@@ -104,29 +93,11 @@ public class ContentSearchUtil {
 
   public static Map<String, Object> searchContentSync(
           RequestContext requestContext, String urlQueryString, String queryRequestBody, Map<String, String> headers) {
-    Unirest.clearDefaultHeaders();
-    String urlString =
-        StringUtils.isNotBlank(urlQueryString)
-            ? contentSearchURL + urlQueryString
-            : contentSearchURL;
-
-    BaseRequest request =
-        Unirest.post(urlString).headers(getUpdatedHeaders(headers)).body(queryRequestBody);
     try {
-      HttpResponse<JsonNode> response = RestUtil.execute(request);
+      HttpResponse<JsonNode> response =
+          search(urlQueryString, queryRequestBody, headers).toCompletableFuture().join();
       if (RestUtil.isSuccessful(response)) {
-        JSONObject result = response.getBody().getObject().getJSONObject("result");
-        Map<String, Object> resultMap = jsonToMap(result);
-        Object contents = resultMap.get(JsonKey.CONTENT);
-        resultMap.remove(JsonKey.CONTENT);
-        resultMap.put(JsonKey.CONTENTS, contents);
-        String resmsgId = RestUtil.getFromResponse(response, "params.resmsgid");
-        String apiId = RestUtil.getFromResponse(response, "id");
-        Map<String, Object> param = new HashMap<>();
-        param.put(JsonKey.RES_MSG_ID, resmsgId);
-        param.put(JsonKey.API_ID, apiId);
-        resultMap.put(JsonKey.PARAMS, param);
-        return resultMap;
+        return getResultMap(response);
       } else {
         logger.info(requestContext, "Composite search resturned failed response :: " + response.getStatus());
         return new HashMap<>();
@@ -137,6 +108,49 @@ public class ContentSearchUtil {
     }
   }
 
+  /**
+   * Sends the search unless an identical one is in flight. Requests are identical if they have the
+   * same query string, body (in any key order) and channel; other headers do not change the result.
+   * Callers share the response and build their own result map from it.
+   */
+  private static CompletionStage<HttpResponse<JsonNode>> search(
+      String urlQueryString, String queryRequestBody, Map<String, String> headers) {
+    String urlString =
+        StringUtils.isNotBlank(urlQueryString)
+            ? contentSearchURL + urlQueryString
+            : contentSearchURL;
+    String channel = null;
+    if (headers != null) {
+      for (Map.Entry<String, String> header : headers.entrySet()) {
+        if (HeaderParam.CHANNEL_ID.getName().equalsIgnoreCase(header.getKey())) channel = header.getValue();
+      }
+    }
+    return singleFlight.execute(
+        SingleFlight.key(urlString, queryRequestBody, channel),
+        () -> {
+          Unirest.clearDefaultHeaders();
+          BaseRequest request =
+              Unirest.post(urlString).headers(getUpdatedHeaders(headers)).body(queryRequestBody);
+          return FutureConverters.toJava(RestUtil.executeAsync(request));
+        });
+  }
+
+  private static Map<String, Object> getResultMap(HttpResponse<JsonNode> response)
+      throws Exception {
+    JSONObject result = response.getBody().getObject().getJSONObject("result");
+    Map<String, Object> resultMap = jsonToMap(result);
+    Object contents = resultMap.get(JsonKey.CONTENT);
+    resultMap.remove(JsonKey.CONTENT);
+    resultMap.put(JsonKey.CONTENTS, contents);
+    String resmsgId = RestUtil.getFromResponse(response, "params.resmsgid");
+    String apiId = RestUtil.getFromResponse(response, "id");
+    Map<String, Object> param = new HashMap<>();
+    param.put(JsonKey.RES_MSG_ID, resmsgId);
+    param.put(JsonKey.API_ID, apiId);
+    resultMap.put(JsonKey.PARAMS, param);
+    return resultMap;
+  }
+
   public static Map<String, Object> jsonToMap(JSONObject object) throws JSONException {
     Map<String, Object> map = new HashMap<String, Object>();
 
@@ -0,0 +1,99 @@
+package org.sunbird.learner.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.commons.collections.CollectionUtils;
+import org.sunbird.common.models.util.ConfigSnapshot;
+import org.sunbird.common.models.util.JsonKey;
+
+/**
+ * Read-through cache of course batches by batch id. Entries expire {@code
+ * sunbird_course_batch_cache_ttl} seconds after they are loaded and at most {@code
+ * sunbird_course_batch_cache_size} batches are kept per source.
+ *
+ * <p>The rows read from Cassandra by {@code CourseBatchDaoImpl.readById} and the documents found in
+ * Elasticsearch by the content state update are kept in separate caches. The index is written
+ * asynchronously and lags the table, so a document searched right after a batch update may still
+ * be the old one; it must never be served as the row which batch updates read.
+ *
+ * <p>Batch writes of this instance invalidate the entry in both caches; writes on other instances
+ * are picked up when the entry expires, so keep the ttl short. Missing batches are not cached.
+ * Callers get a copy of the cached batch and may modify it.
+ */
+public final class CourseBatchCache {
+
+  private static final Cache<String, Map<String, Object>> cache = createCache();
+  private static final Cache<String, Map<String, Object>> searchCache = createCache();
+
+  private CourseBatchCache() {}
+
+  private static Cache<String, Map<String, Object>> createCache() {
+    return CacheBuilder.newBuilder()
+        .maximumSize(ConfigSnapshot.getInt(JsonKey.SUNBIRD_COURSE_BATCH_CACHE_SIZE, 10000))
+        .expireAfterWrite(
+            ConfigSnapshot.getInt(JsonKey.SUNBIRD_COURSE_BATCH_CACHE_TTL, 30), TimeUnit.SECONDS)
+        .build();
+  }
+
+  /**
+   * @param batchId batch id
+   * @param loader reads the batch row on a cache miss, returns null if it does not exist
+   * @return copy of the batch, null if it does not exist
+   */
+  public static Map<String, Object> get(String batchId, Supplier<Map<String, Object>> loader) {
+    Map<String, Object> batch = cache.getIfPresent(batchId);
+    if (null == batch) {
+      batch = loader.get();
+      if (null == batch) return null;
+      cache.put(batchId, new HashMap<>(batch));
+    }
+    return new HashMap<>(batch);
+  }
+
+  /**
+   * @param batchIds batch ids
+   * @param loader searches the batches missing in the cache in one call, each having {@code
+   *     batchId}
+   * @return copies of the batch documents which exist, cached ones first
+   */
+  public static List<Map<String, Object>> getAll(
+      List<String> batchIds, Function<List<String>, List<Map<String, Object>>> loader) {
+    List<Map<String, Object>> batches = new ArrayList<>();
+    List<String> missing = new ArrayList<>();
+    for (String batchId : batchIds) {
+      Map<String, Object> batch = searchCache.getIfPresent(batchId);
+      if (null != batch) batches.add(new HashMap<>(batch));
+      else missing.add(batchId);
+    }
+    if (!missing.isEmpty()) {
+      List<Map<String, Object>> loaded = loader.apply(missing);
+      if (CollectionUtils.isNotEmpty(loaded)) {
+        for (Map<String, Object> batch : loaded) {
+          String batchId = (String) batch.get(JsonKey.BATCH_ID);
+          if (null != batchId) searchCache.put(batchId, new HashMap<>(batch));
+          batches.add(batch);
+        }
+      }
+    }
+    return batches;
+  }
+
+  public static void invalidate(String batchId) {
+    if (null != batchId) {
+      cache.invalidate(batchId);
+      searchCache.invalidate(batchId);
+    }
+  }
+
+  public static void invalidateAll() {
+    cache.invalidateAll();
+    searchCache.invalidateAll();
+  }
+}
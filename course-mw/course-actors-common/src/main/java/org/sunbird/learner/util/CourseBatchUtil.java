@@ -1,8 +1,11 @@
 package org.sunbird.learner.util;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.mashape.unirest.http.HttpResponse;
 import com.mashape.unirest.http.Unirest;
+import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.common.ElasticSearchHelper;
@@ -10,17 +13,21 @@ import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.factory.EsClientFactory;
 import org.sunbird.common.inf.ElasticSearchService;
 import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.ConfigSnapshot;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerUtil;
 import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.models.util.ProjectUtil.EsType;
 import org.sunbird.common.request.RequestContext;
 import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.common.util.OutboundHttp;
 import org.sunbird.learner.constants.CourseJsonKey;
 import scala.concurrent.Future;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.apache.http.HttpHeaders.AUTHORIZATION;
 import static org.sunbird.common.exception.ProjectCommonException.throwClientErrorException;
@@ -34,6 +41,13 @@ public class CourseBatchUtil {
   private static ElasticSearchService esUtil = EsClientFactory.getInstance(JsonKey.REST);
   private static ObjectMapper mapper = new ObjectMapper();
   private static LoggerUtil logger = new LoggerUtil(CourseBatchUtil.class);
+  private static final String CERT_SERVICE_DESTINATION = "certService";
+  private static final Cache<String, Map<String, Object>> templateCache =
+      CacheBuilder.newBuilder()
+          .maximumSize(ConfigSnapshot.getInt(JsonKey.SUNBIRD_CERT_TEMPLATE_CACHE_SIZE, 1000))
+          .expireAfterWrite(
+              ConfigSnapshot.getInt(JsonKey.SUNBIRD_CERT_TEMPLATE_CACHE_TTL, 300), TimeUnit.SECONDS)
+          .build();
 
   private CourseBatchUtil() {}
 
@@ -45,6 +59,7 @@ public class CourseBatchUtil {
     Future<String> esResponseF =
         esUtil.save(requestContext, ProjectUtil.EsType.courseBatch.getTypeName(), uniqueId, req);
     String esResponse = (String) ElasticSearchHelper.getResponseFromFuture(esResponseF);
+    CourseBatchCache.invalidate(uniqueId);
     logger.info(requestContext, "CourseBatchManagementActor::syncCourseBatchForeground: Sync response for course batch ID = "
             + uniqueId
             + " received response = "
@@ -68,7 +83,59 @@ public class CourseBatchUtil {
     return result;
   }
 
+  /**
+   * Reads the template, from the template cache if it was read within {@code
+   * sunbird_cert_template_cache_ttl} seconds. Invalid templates are never cached.
+   *
+   * @return copy of the template details
+   * @throws ProjectCommonException if the template does not exist or cannot be read
+   */
   public static Map<String, Object> validateTemplate(RequestContext requestContext, String templateId) {
+    Map<String, Object> template = templateCache.getIfPresent(templateId);
+    if (null == template) {
+      template = readValidTemplate(requestContext, templateId);
+      templateCache.put(templateId, new HashMap<>(template));
+    }
+    return new HashMap<>(template);
+  }
+
+  public static void invalidateTemplates() {
+    templateCache.invalidateAll();
+  }
+
+  /**
+   * Keeps only the given fields of each template in {@code cert_templates} of the batch, so batch
+   * listings need not carry the full template details.
+   *
+   * @param courseBatch batch as stored in Elasticsearch, not modified
+   * @param fields template fields to keep, templates are left as they are if empty
+   * @return copy of the batch with the projected templates, the batch itself if there is nothing to
+   *     project
+   */
+  public static Map<String, Object> projectCertTemplates(
+      Map<String, Object> courseBatch, List<String> fields) {
+    if (MapUtils.isEmpty(courseBatch) || CollectionUtils.isEmpty(fields)) return courseBatch;
+    Object certTemplates = courseBatch.get(CourseJsonKey.CERTIFICATE_TEMPLATES_COLUMN);
+    if (!(certTemplates instanceof Map)) return courseBatch;
+    Map<String, Object> projected = new HashMap<>();
+    ((Map<String, Object>) certTemplates)
+        .forEach(
+            (templateId, template) -> {
+              Map<String, Object> templateFields = new HashMap<>();
+              if (template instanceof Map) {
+                for (String field : fields) {
+                  if (((Map<String, Object>) template).containsKey(field))
+                    templateFields.put(field, ((Map<String, Object>) template).get(field));
+                }
+              }
+              projected.put(templateId, templateFields);
+            });
+    Map<String, Object> projectedBatch = new HashMap<>(courseBatch);
+    projectedBatch.put(CourseJsonKey.CERTIFICATE_TEMPLATES_COLUMN, projected);
+    return projectedBatch;
+  }
+
+  private static Map<String, Object> readValidTemplate(RequestContext requestContext, String templateId) {
     Response templateResponse = getTemplate(requestContext, templateId);
     if (templateResponse == null
         || MapUtils.isEmpty(templateResponse.getResult())
@@ -156,7 +223,8 @@ public class CourseBatchUtil {
   private static HttpResponse<String> templateReadResponse(RequestContext requestContext, String baseUrl, String templateRelativeUrl, String templateId) throws Exception {
     String certTempUrl = getTemplateUrl(requestContext, baseUrl, templateRelativeUrl, templateId);
     HttpResponse<String> httpResponse = null;
-    httpResponse = Unirest.get(certTempUrl).headers(getdefaultHeaders()).asString();
+    httpResponse =
+        OutboundHttp.execute(CERT_SERVICE_DESTINATION, Unirest.get(certTempUrl).headers(getdefaultHeaders()));
     logger.info(requestContext, "CourseBatchUtil:getResponse Response Status : " + httpResponse.getStatus());
     return httpResponse;
   }
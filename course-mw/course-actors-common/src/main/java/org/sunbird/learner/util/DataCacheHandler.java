@@ -1,74 +1,271 @@
 /** */
 package org.sunbird.learner.util;
 
+import com.google.common.collect.Lists;
+import org.apache.commons.lang3.StringUtils;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerUtil;
+import org.sunbird.common.request.RequestContext;
 import org.sunbird.helper.ServiceFactory;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 /**
- * This class will handle the data cache.
+ * This class will handle the data cache. The page and section maps are immutable snapshots which
+ * are swapped atomically on refresh. The first run and {@link #refresh()} load the tables fully.
+ * Later scheduled runs read only the partition of the table in page_cache_changes, to which every
+ * page and section write records the id and date of the row, and reload the rows whose date
+ * differs from the snapshot. Rows deleted from the tables stay cached until {@link #refresh()}. A
+ * refresh reads Cassandra without holding any lock and swaps its snapshot in only if no page or
+ * section was put meanwhile, otherwise it refreshes again on top of the newer one.
  *
  * @author Amit Kumar
  */
 public class DataCacheHandler implements Runnable {
+  private static final String KEY_SPACE_NAME = "sunbird";
+  private static final String NA = "NA";
+  private static final int FETCH_BATCH_SIZE = 100;
+  private static final String CHANGES_TABLE = "page_cache_changes";
+  private static final String TABLE_NAME = "tablename";
+  private static final int MAX_REFRESH_ATTEMPTS = 3;
   /**
-   * pageMap is the map of (orgId:pageName) and page Object (i.e map of string , object) sectionMap
-   * is the map of section Id and section Object (i.e map of string , object)
+   * pageSnapshot holds the map of (orgId:pageName) and page Object (i.e map of string , object)
+   * sectionSnapshot holds the map of section Id and section Object (i.e map of string , object)
    */
-  private static Map<String, Map<String, Object>> pageMap = new ConcurrentHashMap<>();
+  private static final AtomicReference<Snapshot> pageSnapshot =
+      new AtomicReference<>(Snapshot.EMPTY);
 
-  private static Map<String, Map<String, Object>> sectionMap = new ConcurrentHashMap<>();
+  private static final AtomicReference<Snapshot> sectionSnapshot =
+      new AtomicReference<>(Snapshot.EMPTY);
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
-  private static final String KEY_SPACE_NAME = "sunbird";
-  private LoggerUtil logger = new LoggerUtil(DataCacheHandler.class);
-  
+  private static LoggerUtil logger = new LoggerUtil(DataCacheHandler.class);
+
+  /** Reload the page and section rows recorded as changed since the last refresh. */
   @Override
   public void run() {
+    refreshAll(false);
+  }
+
+  /** Reload the page and section tables fully. */
+  public static void refresh() {
+    new DataCacheHandler().refreshAll(true);
+  }
+
+  private void refreshAll(boolean full) {
     logger.info(null, "DataCacheHandler:run: Cache refresh started.");
-    cache(pageMap, "page_management");
-    cache(sectionMap, "page_section");
+    refresh(pageSnapshot, JsonKey.PAGE_MANAGEMENT, full);
+    refresh(sectionSnapshot, JsonKey.PAGE_SECTION, full);
     logger.info(null, "DataCacheHandler:run: Cache refresh completed.");
   }
 
-  @SuppressWarnings("unchecked")
-  private void cache(Map<String, Map<String, Object>> map, String tableName) {
-    try {
-      Response response = cassandraOperation.getAllRecords(null, KEY_SPACE_NAME, tableName);
-      List<Map<String, Object>> responseList =
-          (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
-      if (null != responseList && !responseList.isEmpty()) {
-        for (Map<String, Object> resultMap : responseList) {
-          if (tableName.equalsIgnoreCase(JsonKey.PAGE_SECTION)) {
-            map.put((String) resultMap.get(JsonKey.ID), resultMap);
-          } else {
-            String orgId =
-                (((String) resultMap.get(JsonKey.ORGANISATION_ID)) == null
-                    ? "NA"
-                    : (String) resultMap.get(JsonKey.ORGANISATION_ID));
-            map.put(orgId + ":" + ((String) resultMap.get(JsonKey.PAGE_NAME)), resultMap);
-          }
-        }
+  private void refresh(AtomicReference<Snapshot> reference, String tableName, boolean full) {
+    for (int attempt = 1; attempt <= MAX_REFRESH_ATTEMPTS; attempt++) {
+      Snapshot current = reference.get();
+      if (reference.compareAndSet(current, refresh(current, tableName, full))) {
+        return;
       }
-      logger.debug(null, "pagemap keyset " + map.keySet());
-      logger.info(null, tableName + " cache size: " + map.size());
+    }
+    logger.info(
+        null,
+        "DataCacheHandler:refresh: "
+            + tableName
+            + " changed during every refresh attempt, left to the next refresh.");
+  }
+
+  private Snapshot refresh(Snapshot current, String tableName, boolean full) {
+    try {
+      Snapshot snapshot =
+          full || current.markers.isEmpty() ? load(tableName) : loadDelta(current, tableName);
+      logger.info(null, tableName + " cache size: " + snapshot.data.size());
+      return snapshot;
     } catch (Exception e) {
       logger.error(null, "DataCacheHandler:cache: Exception in retrieving page section " + e.getMessage(), e);
+      return current;
     }
   }
 
+  private Snapshot load(String tableName) {
+    Snapshot.Builder builder = new Snapshot.Builder(Snapshot.EMPTY, tableName);
+    getRecords(cassandraOperation.getAllRecords(null, KEY_SPACE_NAME, tableName))
+        .forEach(builder::put);
+    return builder.build();
+  }
+
+  private Snapshot loadDelta(Snapshot current, String tableName) {
+    Map<String, Object> filters = new HashMap<>();
+    filters.put(TABLE_NAME, tableName);
+    List<String> changedIds =
+        getRecords(
+                cassandraOperation.getRecordsByProperties(
+                    KEY_SPACE_NAME, CHANGES_TABLE, filters, null, null))
+            .stream()
+            .filter(
+                record ->
+                    !Objects.equals(
+                        current.markers.get(record.get(JsonKey.ID)), getMarker(record)))
+            .map(record -> (String) record.get(JsonKey.ID))
+            .collect(Collectors.toList());
+    if (changedIds.isEmpty()) {
+      return current;
+    }
+    Snapshot.Builder builder = new Snapshot.Builder(current, tableName);
+    for (List<String> ids : Lists.partition(changedIds, FETCH_BATCH_SIZE)) {
+      getRecords(
+              cassandraOperation.getRecordsByProperty(
+                  null, KEY_SPACE_NAME, tableName, JsonKey.ID, ids, null))
+          .forEach(builder::put);
+    }
+    logger.info(
+        null, "DataCacheHandler:loadDelta: " + tableName + " changed = " + changedIds.size());
+    return builder.build();
+  }
+
+  /**
+   * Record a page or section written by this node, so that the next scheduled refresh of the
+   * other nodes reloads it. A failure is logged, the row is then reloaded by {@link #refresh()}.
+   *
+   * @param requestContext
+   * @param tableName page_management or page_section
+   * @param record written row with its id and updated (or created) date
+   */
+  public static void recordChange(
+      RequestContext requestContext, String tableName, Map<String, Object> record) {
+    Map<String, Object> change = new HashMap<>();
+    change.put(TABLE_NAME, tableName);
+    change.put(JsonKey.ID, record.get(JsonKey.ID));
+    change.put(JsonKey.UPDATED_DATE, getMarker(record));
+    try {
+      ServiceFactory.getInstance()
+          .upsertRecord(KEY_SPACE_NAME, CHANGES_TABLE, change, requestContext);
+    } catch (Exception e) {
+      logger.error(
+          requestContext,
+          "DataCacheHandler:recordChange: failed for " + tableName + " " + record.get(JsonKey.ID),
+          e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<Map<String, Object>> getRecords(Response response) {
+    List<Map<String, Object>> records =
+        null != response ? (List<Map<String, Object>>) response.get(JsonKey.RESPONSE) : null;
+    return null != records ? records : Collections.emptyList();
+  }
+
+  private static Object getMarker(Map<String, Object> record) {
+    Object marker = record.get(JsonKey.UPDATED_DATE);
+    return null != marker ? marker : record.get(JsonKey.CREATED_DATE);
+  }
+
+  private static String getPageKey(Map<String, Object> page) {
+    String orgId = (String) page.get(JsonKey.ORGANISATION_ID);
+    return (null == orgId ? NA : orgId) + ":" + page.get(JsonKey.PAGE_NAME);
+  }
+
+  /**
+   * Put a page written by this node into the cache without waiting for the next refresh.
+   *
+   * @param key orgId:pageName
+   * @param page page data
+   */
+  public static void putPage(String key, Map<String, Object> page) {
+    pageSnapshot.updateAndGet(
+        snapshot -> new Snapshot.Builder(snapshot, JsonKey.PAGE_MANAGEMENT).put(key, page).build());
+  }
+
+  /**
+   * Put a section written by this node into the cache without waiting for the next refresh.
+   *
+   * @param key section id
+   * @param section section data
+   */
+  public static void putSection(String key, Map<String, Object> section) {
+    sectionSnapshot.updateAndGet(
+        snapshot ->
+            new Snapshot.Builder(snapshot, JsonKey.PAGE_SECTION).put(key, section).build());
+  }
+
+  /** Drop the cached snapshots so that the next refresh does a full load. */
+  static void reset() {
+    pageSnapshot.set(Snapshot.EMPTY);
+    sectionSnapshot.set(Snapshot.EMPTY);
+  }
+
   /** @return the pageMap */
   public static Map<String, Map<String, Object>> getPageMap() {
-    return pageMap;
+    return pageSnapshot.get().data;
   }
 
   /** @return the sectionMap */
   public static Map<String, Map<String, Object>> getSectionMap() {
-    return sectionMap;
+    return sectionSnapshot.get().data;
+  }
+
+  /** Immutable cache snapshot of a table, with the change marker and cache key of every row id. */
+  private static final class Snapshot {
+    static final Snapshot EMPTY =
+        new Snapshot(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    final Map<String, Map<String, Object>> data;
+    final Map<String, Object> markers;
+    final Map<String, String> keys;
+
+    Snapshot(
+        Map<String, Map<String, Object>> data,
+        Map<String, Object> markers,
+        Map<String, String> keys) {
+      this.data = Collections.unmodifiableMap(data);
+      this.markers = Collections.unmodifiableMap(markers);
+      this.keys = Collections.unmodifiableMap(keys);
+    }
+
+    static final class Builder {
+      private final boolean page;
+      private final Map<String, Map<String, Object>> data;
+      private final Map<String, Object> markers;
+      private final Map<String, String> keys;
+
+      Builder(Snapshot snapshot, String tableName) {
+        this.page = JsonKey.PAGE_MANAGEMENT.equalsIgnoreCase(tableName);
+        this.data = new HashMap<>(snapshot.data);
+        this.markers = new HashMap<>(snapshot.markers);
+        this.keys = new HashMap<>(snapshot.keys);
+      }
+
+      void put(Map<String, Object> record) {
+        String id = (String) record.get(JsonKey.ID);
+        put(page ? getPageKey(record) : id, record);
+      }
+
+      Builder put(String key, Map<String, Object> record) {
+        String id = (String) record.get(JsonKey.ID);
+        if (StringUtils.isNotBlank(id)) {
+          // A renamed page moves to a new key, drop the entry under the old one.
+          String oldKey = keys.put(id, key);
+          if (null != oldKey && !oldKey.equals(key)) data.remove(oldKey);
+          markers.put(id, getMarker(record));
+        }
+        data.put(key, record);
+        return this;
+      }
+
+      void remove(String id) {
+        markers.remove(id);
+        String key = keys.remove(id);
+        if (null != key) data.remove(key);
+      }
+
+      Snapshot build() {
+        return new Snapshot(data, markers, keys);
+      }
+    }
   }
 }
@@ -4,6 +4,8 @@ package org.sunbird.learner.util;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import org.sunbird.common.cacheloader.PageCacheLoaderService;
+import org.sunbird.common.models.util.ConfigSnapshot;
+import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.LoggerUtil;
 import org.sunbird.common.models.util.ProjectLogger;
@@ -12,6 +14,8 @@ import org.sunbird.common.models.util.ProjectLogger;
 public class SchedulerManager {
 
   private static final int PAGE_DATA_TTL = 4;
+  private static final int PAGE_CACHE_REFRESH_INTERVAL =
+      ConfigSnapshot.getInt(JsonKey.SUNBIRD_PAGE_CACHE_REFRESH_INTERVAL, 5);
   private static LoggerUtil logger = new LoggerUtil(SchedulerManager.class);
 
   /*
@@ -21,7 +25,8 @@ public class SchedulerManager {
 
   /** all scheduler job will be configure here. */
   public static void schedule() {
-    service.scheduleWithFixedDelay(new DataCacheHandler(), 0, PAGE_DATA_TTL, TimeUnit.HOURS);
+    service.scheduleWithFixedDelay(
+        new DataCacheHandler(), 0, PAGE_CACHE_REFRESH_INTERVAL, TimeUnit.MINUTES);
     service.scheduleWithFixedDelay(new PageCacheLoaderService(), 0, PAGE_DATA_TTL, TimeUnit.HOURS);
     logger.info(null, 
         "SchedulerManager:schedule: Started scheduler job for cache refresh.");
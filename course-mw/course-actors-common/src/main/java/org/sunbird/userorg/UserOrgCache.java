@@ -0,0 +1,146 @@
+package org.sunbird.userorg;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.models.util.ConfigSnapshot;
+import org.sunbird.common.models.util.JsonKey;
+
+/**
+ * Read-through cache of users and organisations read from the user service, one named instance per
+ * kind of lookup. Entries expire {@code sunbird_user_org_cache_ttl} seconds after they are loaded
+ * and at most {@code sunbird_user_org_cache_size} entries are kept per instance.
+ *
+ * <p>Bulk lookups only send the ids missing in the cache, in chunks of at most {@code
+ * sunbird_user_org_lookup_batch_size} ids. Missing users and organisations are not cached. Callers
+ * get copies of the cached maps. Entries read with a user token are kept under the {@link
+ * #tokenScope(String)} of the token, so a user read with one token is not served to another one and
+ * the token itself is not kept. Hit and miss counts per instance are reported by {@link
+ * #snapshot()}.
+ */
+public class UserOrgCache {
+
+  private static final Map<String, UserOrgCache> instances = new ConcurrentHashMap<>();
+
+  private final Cache<String, Map<String, Object>> cache;
+  private final int batchSize;
+
+  UserOrgCache(long size, long ttl, int batchSize) {
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(size)
+            .expireAfterWrite(ttl, TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+    this.batchSize = batchSize;
+  }
+
+  /** @param name kind of lookup, e.g. users or organisations */
+  public static UserOrgCache getInstance(String name) {
+    return instances.computeIfAbsent(
+        name,
+        key ->
+            new UserOrgCache(
+                ConfigSnapshot.getLong(JsonKey.SUNBIRD_USER_ORG_CACHE_SIZE, 10000L),
+                ConfigSnapshot.getLong(JsonKey.SUNBIRD_USER_ORG_CACHE_TTL, 60L),
+                ConfigSnapshot.getInt(JsonKey.SUNBIRD_USER_ORG_LOOKUP_BATCH_SIZE, 100)));
+  }
+
+  /**
+   * @param authToken user token the entries are read with
+   * @return hash of the token to prefix the cache keys with, empty if there is no token
+   */
+  public static String tokenScope(String authToken) {
+    return StringUtils.isBlank(authToken)
+        ? ""
+        : Hashing.sha256().hashString(authToken, StandardCharsets.UTF_8).toString();
+  }
+
+  /**
+   * @param key cache key
+   * @param loader reads the entry on a cache miss, returns null if it does not exist
+   * @return copy of the entry, null if it does not exist
+   */
+  public Map<String, Object> get(String key, Supplier<Map<String, Object>> loader) {
+    Map<String, Object> value = cache.getIfPresent(key);
+    if (null == value) {
+      value = loader.get();
+      if (null == value) return null;
+      cache.put(key, new HashMap<>(value));
+    }
+    return new HashMap<>(value);
+  }
+
+  /**
+   * @param ids ids to look up
+   * @param loader reads the entries of a chunk of ids missing in the cache, each having {@code id}
+   * @return copies of the entries which exist, cached ones first
+   */
+  public List<Map<String, Object>> getAll(
+      List<String> ids, Function<List<String>, List<Map<String, Object>>> loader) {
+    return getAll(null, ids, loader);
+  }
+
+  /**
+   * @param scope prefix of the cache keys, e.g. the {@link #tokenScope(String)} of the user token
+   * @param ids ids to look up
+   * @param loader reads the entries of a chunk of ids missing in the cache, each having {@code id}
+   * @return copies of the entries which exist, cached ones first
+   */
+  public List<Map<String, Object>> getAll(
+      String scope, List<String> ids, Function<List<String>, List<Map<String, Object>>> loader) {
+    String prefix = null == scope ? "" : scope + "_";
+    List<Map<String, Object>> values = new ArrayList<>();
+    List<String> missing = new ArrayList<>();
+    for (String id : new LinkedHashSet<>(ids)) {
+      Map<String, Object> value = cache.getIfPresent(prefix + id);
+      if (null != value) values.add(new HashMap<>(value));
+      else missing.add(id);
+    }
+    for (int start = 0; start < missing.size(); start += batchSize) {
+      List<Map<String, Object>> loaded =
+          loader.apply(missing.subList(start, Math.min(start + batchSize, missing.size())));
+      if (CollectionUtils.isNotEmpty(loaded)) {
+        for (Map<String, Object> value : loaded) {
+          String id = (String) value.get(JsonKey.ID);
+          if (null != id) cache.put(prefix + id, new HashMap<>(value));
+          values.add(new HashMap<>(value));
+        }
+      }
+    }
+    return values;
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public static Map<String, Object> snapshot() {
+    Map<String, Object> snapshot = new TreeMap<>();
+    instances.forEach(
+        (name, instance) -> {
+          CacheStats stats = instance.cache.stats();
+          Map<String, Object> metrics = new TreeMap<>();
+          metrics.put("size", instance.cache.size());
+          metrics.put("hits", stats.hitCount());
+          metrics.put("misses", stats.missCount());
+          metrics.put("hitRate", stats.hitRate());
+          snapshot.put(name, metrics);
+        });
+    return snapshot;
+  }
+}
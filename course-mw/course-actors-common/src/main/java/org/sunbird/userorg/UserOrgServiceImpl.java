@@ -12,7 +12,9 @@ import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerUtil;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.common.util.KeycloakRequiredActionLinkUtil;
+import org.sunbird.common.util.OutboundHttp;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +41,10 @@ public class UserOrgServiceImpl implements UserOrgService {
   private ObjectMapper mapper = new ObjectMapper();
   private static final String FORWARD_SLASH = "/";
   private static final String X_AUTHENTICATED_USER_TOKEN = "x-authenticated-user-token";
+  private static final String USER_ORG_DESTINATION = "userOrg";
+  private static final String ORGANISATIONS = "organisations";
+  private static final String USERS = "users";
+  private static final String USER_READS = "userReads";
   private LoggerUtil logger = new LoggerUtil(UserOrgServiceImpl.class);
 
   private static UserOrgService instance = null;
@@ -75,12 +81,15 @@ public class UserOrgServiceImpl implements UserOrgService {
             + requestUrl);
     try {
       String reqBody = mapper.writeValueAsString(requestMap);
-      logger.info(null, "UserOrgServiceImpl:getResponse:Sending Request Body=" + reqBody);
+      logger.debug(null, () -> "UserOrgServiceImpl:getResponse:Sending Request Body=" + reqBody);
       if (HttpMethod.POST.equals(requestType)) {
-        httpResponse = Unirest.post(requestUrl).headers(headers).body(reqBody).asString();
+        httpResponse =
+            OutboundHttp.execute(
+                USER_ORG_DESTINATION, Unirest.post(requestUrl).headers(headers).body(reqBody));
       }
       if (HttpMethod.GET.equals(requestType)) {
-        httpResponse = Unirest.get(requestUrl).headers(headers).asString();
+        httpResponse =
+            OutboundHttp.execute(USER_ORG_DESTINATION, Unirest.get(requestUrl).headers(headers));
       }
       logger.info(null, 
           "UserOrgServiceImpl:getResponse Response Status : "
@@ -131,17 +140,20 @@ public class UserOrgServiceImpl implements UserOrgService {
 
   @Override
   public Map<String, Object> getOrganisationById(String id) {
-    Map<String, Object> filterlist = new HashMap<>();
-    filterlist.put(ID, id);
-    List<Map<String, Object>> list = getOrganisations(filterlist);
+    List<Map<String, Object>> list = getOrganisationsByIds(Collections.singletonList(id));
     return !CollectionUtils.isEmpty(list) ? list.get(0) : null;
   }
 
   @Override
   public List<Map<String, Object>> getOrganisationsByIds(List<String> ids) {
-    Map<String, Object> filterlist = new HashMap<>();
-    filterlist.put(ID, ids);
-    return getOrganisations(filterlist);
+    return UserOrgCache.getInstance(ORGANISATIONS)
+        .getAll(
+            ids,
+            chunk -> {
+              Map<String, Object> filterlist = new HashMap<>();
+              filterlist.put(ID, chunk);
+              return getOrganisations(filterlist);
+            });
   }
 
   private List<Map<String, Object>> getOrganisations(Map<String, Object> filterlist) {
@@ -159,8 +171,17 @@ public class UserOrgServiceImpl implements UserOrgService {
     return null;
   }
 
+  /**
+   * Users are cached per hash of the token they are read with, the user service may return private
+   * fields to one token which another one must not see.
+   */
   @Override
   public Map<String, Object> getUserById(String id, String authToken) {
+    return UserOrgCache.getInstance(USER_READS)
+        .get(UserOrgCache.tokenScope(authToken) + "_" + id, () -> readUser(id, authToken));
+  }
+
+  private Map<String, Object> readUser(String id, String authToken) {
     Map<String, Object> filterlist = new HashMap<>();
     filterlist.put(ID, id);
     Map<String, Object> requestMap = getRequestMap(filterlist);
@@ -178,12 +199,18 @@ public class UserOrgServiceImpl implements UserOrgService {
     return null;
   }
 
+  /** Cached per hash of the token like {@link #getUserById(String, String)}. */
   @Override
   public List<Map<String, Object>> getUsersByIds(List<String> ids, String authToken) {
-    Map<String, Object> filterlist = new HashMap<>();
-    filterlist.put(ID, ids);
-    Map<String, Object> requestMap = getRequestMap(filterlist);
-    return getUsersResponse(requestMap, authToken);
+    return UserOrgCache.getInstance(USERS)
+        .getAll(
+            UserOrgCache.tokenScope(authToken),
+            ids,
+            chunk -> {
+              Map<String, Object> filterlist = new HashMap<>();
+              filterlist.put(ID, chunk);
+              return getUsersResponse(getRequestMap(filterlist), authToken);
+            });
   }
 
   @Override
@@ -198,8 +225,8 @@ public class UserOrgServiceImpl implements UserOrgService {
         getUserOrgResponse(
             getConfigValue(SUNBIRD_SEND_EMAIL_NOTIFICATION_API), HttpMethod.POST, request, headers);
     if (response != null) {
-      logger.info(null,
-          "UserOrgServiceImpl:sendEmailNotification Response" + response.get(RESPONSE));
+      logger.debug(
+          null, () -> "UserOrgServiceImpl:sendEmailNotification Response" + response.get(RESPONSE));
     }
   }
 
@@ -25,6 +25,7 @@ import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.actors.coursebatch.dao.impl.CourseBatchDaoImpl;
+import org.sunbird.learner.util.CourseBatchCache;
 import org.sunbird.models.course.batch.CourseBatch;
 
 /** Created by rajatgupta on 08/04/19. */
@@ -44,6 +45,7 @@ public class CourseBatchDaoTest {
     cassandraOperation = mock(CassandraOperationImpl.class);
     when(ServiceFactory.getInstance()).thenReturn(cassandraOperation);
     courseBatchDao = new CourseBatchDaoImpl();
+    CourseBatchCache.invalidateAll();
   }
 
   @Test
@@ -13,6 +13,7 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
@@ -21,6 +22,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.cassandraimpl.CassandraOperationImpl;
 import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.ConfigSnapshot;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.actors.coursebatch.dao.impl.UserCoursesDaoImpl;
@@ -248,4 +250,98 @@ public class UserCoursesDaoTest {
     List<String> participants = userCoursesDao.getBatchParticipants(null, JsonKey.BATCH_ID, true);
     Assert.assertEquals(0, participants.size());
   }
+
+  @Test
+  public void listEnrolmentsOfUsersSuccess() {
+    Response readResponse = new Response();
+    Map<String, Object> userCoursesMap = new HashMap<>();
+    userCoursesMap.put(JsonKey.USER_ID, JsonKey.USER_ID);
+    userCoursesMap.put(JsonKey.ACTIVE, true);
+    readResponse.put(JsonKey.RESPONSE, Arrays.asList(userCoursesMap));
+    when(cassandraOperation.getRecordsByProperties(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.anyList(), Mockito.any()))
+        .thenReturn(readResponse);
+    List<Map<String, Object>> enrolments =
+        userCoursesDao.listEnrolments(
+            null, JsonKey.COURSE_ID, JsonKey.BATCH_ID, Arrays.asList(JsonKey.USER_ID));
+    Assert.assertEquals(1, enrolments.size());
+  }
+
+  @Test
+  public void batchUpdateUserCoursesSuccess() {
+    when(cassandraOperation.batchUpdate(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyList(), Mockito.any()))
+        .thenReturn(new Response());
+    Map<String, Object> updateAttributes = new HashMap<>();
+    updateAttributes.put(JsonKey.ACTIVE, false);
+    Response response =
+        userCoursesDao.batchUpdate(
+            null, JsonKey.BATCH_ID, Arrays.asList("user1", "user2"), updateAttributes);
+    Assert.assertNotEquals(null, response);
+  }
+
+  @Test
+  public void getBatchParticipantsPageSuccess() {
+    Response readResponse = new Response();
+    Map<String, Object> userCoursesMap = new HashMap<>();
+    userCoursesMap.put(JsonKey.USER_ID, JsonKey.USER_ID);
+    readResponse.put(JsonKey.RESPONSE, Arrays.asList(userCoursesMap));
+    readResponse.put(JsonKey.PAGING_STATE, "nextPage");
+    when(cassandraOperation.getRecordsPageByIndexedProperty(
+            Mockito.anyString(),
+            Mockito.anyString(),
+            Mockito.anyMap(),
+            Mockito.anyList(),
+            Mockito.eq(10),
+            Mockito.eq("page"),
+            Mockito.any()))
+        .thenReturn(readResponse);
+    Map<String, Object> page =
+        userCoursesDao.getBatchParticipantsPage(null, JsonKey.BATCH_ID, true, 10, "page");
+    Assert.assertEquals(Arrays.asList(JsonKey.USER_ID), page.get(JsonKey.PARTICIPANTS));
+    Assert.assertEquals("nextPage", page.get(JsonKey.NEXT_CURSOR));
+  }
+
+  @Test
+  public void batchInsertWritesBatchParticipants() {
+    Map<String, Object> userCoursesMap = new HashMap<>();
+    userCoursesMap.put(JsonKey.BATCH_ID, JsonKey.BATCH_ID);
+    userCoursesMap.put(JsonKey.USER_ID, JsonKey.USER_ID);
+    userCoursesMap.put(JsonKey.ACTIVE, true);
+    userCoursesMap.put(JsonKey.COURSE_PROGRESS, 0);
+    when(cassandraOperation.batchInsert(
+            Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyList()))
+        .thenReturn(new Response());
+    userCoursesDao.batchInsert(null, Arrays.asList(userCoursesMap));
+    ArgumentCaptor<List> participants = ArgumentCaptor.forClass(List.class);
+    Mockito.verify(cassandraOperation)
+        .batchInsert(
+            Mockito.any(), Mockito.anyString(), Mockito.eq("batch_participants"), participants.capture());
+    Map<String, Object> participant = (Map<String, Object>) participants.getValue().get(0);
+    Assert.assertEquals(3, participant.size());
+    Assert.assertEquals(true, participant.get(JsonKey.ACTIVE));
+  }
+
+  @Test
+  @PrepareForTest({ServiceFactory.class, ConfigSnapshot.class})
+  public void getBatchParticipantsFromBatchParticipantsTable() {
+    PowerMockito.mockStatic(ConfigSnapshot.class);
+    when(ConfigSnapshot.getBoolean(
+            Mockito.eq(JsonKey.SUNBIRD_BATCH_PARTICIPANTS_READ_ENABLED), Mockito.anyBoolean()))
+        .thenReturn(true);
+    Response readResponse = new Response();
+    Map<String, Object> userCoursesMap = new HashMap<>();
+    userCoursesMap.put(JsonKey.USER_ID, JsonKey.USER_ID);
+    userCoursesMap.put(JsonKey.ACTIVE, true);
+    readResponse.put(JsonKey.RESPONSE, Arrays.asList(userCoursesMap));
+    when(cassandraOperation.getRecordsByProperties(
+            Mockito.anyString(),
+            Mockito.eq("batch_participants"),
+            Mockito.anyMap(),
+            Mockito.anyList(),
+            Mockito.any()))
+        .thenReturn(readResponse);
+    List<String> participants = userCoursesDao.getBatchParticipants(null, JsonKey.BATCH_ID, true);
+    Assert.assertEquals(1, participants.size());
+  }
 }
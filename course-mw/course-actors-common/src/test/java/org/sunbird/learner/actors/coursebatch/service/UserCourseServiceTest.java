@@ -4,6 +4,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import akka.dispatch.Futures;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.Assert;
@@ -17,6 +18,7 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
 import org.sunbird.cassandraimpl.CassandraOperationImpl;
 import org.sunbird.common.ElasticSearchRestHighImpl;
 import org.sunbird.common.exception.ProjectCommonException;
@@ -162,4 +164,21 @@ public class UserCourseServiceTest {
     when(esUtil.search(Mockito.any(), Mockito.anyObject(), Mockito.anyString())).thenReturn(promise.future());
     Assert.assertEquals(null, userCoursesService.getActiveEnrollments(JsonKey.USER_ID));
   }
+
+  @Test
+  public void unenrollReportsUsersNotEnrolled() {
+    Whitebox.setInternalState(userCoursesService, "userCourseDao", userCoursesDao);
+    UserCourses userCourses = new UserCourses();
+    userCourses.setUserId("user1");
+    userCourses.setActive(true);
+    when(userCoursesDao.readAll(Mockito.any(), Mockito.anyString(), Mockito.anyList()))
+        .thenReturn(Arrays.asList(userCourses));
+    Map<String, String> errors =
+        userCoursesService.unenroll(null, JsonKey.BATCH_ID, Arrays.asList("user1", "user2"));
+    Assert.assertEquals(1, errors.size());
+    Assert.assertEquals(ResponseCode.userNotEnrolledCourse.getErrorMessage(), errors.get("user2"));
+    Mockito.verify(userCoursesDao)
+        .batchUpdate(
+            Mockito.any(), Mockito.eq(JsonKey.BATCH_ID), Mockito.eq(Arrays.asList("user1")), Mockito.anyMap());
+  }
 }
@@ -0,0 +1,55 @@
+package org.sunbird.learner.actors.health;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.sunbird.common.models.util.JsonKey;
+
+public class HealthProberTest {
+
+  @Test
+  public void testReadyWhenCriticalProbesSucceed() {
+    Map<String, Callable<Boolean>> probes = new LinkedHashMap<>();
+    probes.put("cassandra", () -> true);
+    probes.put("search", () -> false);
+    HealthProber prober = new HealthProber(probes, Arrays.asList("cassandra"), 30, 1000);
+    assertFalse(prober.isReady());
+    prober.probeAll();
+    assertTrue(prober.isReady());
+    assertFalse(prober.isHealthy());
+    List<Map<String, Object>> checks = prober.getChecks();
+    assertEquals(true, checks.get(0).get(JsonKey.Healthy));
+    assertEquals(false, checks.get(1).get(JsonKey.Healthy));
+    assertEquals(1, checks.get(1).get(JsonKey.CONSECUTIVE_FAILURES));
+  }
+
+  @Test
+  public void testSlowProbeTimesOutAndIsNotRestarted() {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger started = new AtomicInteger();
+    Map<String, Callable<Boolean>> probes = new LinkedHashMap<>();
+    probes.put(
+        "es",
+        () -> {
+          started.incrementAndGet();
+          release.await();
+          return true;
+        });
+    HealthProber prober = new HealthProber(probes, Arrays.asList("es"), 30, 50);
+    prober.probeAll();
+    prober.probeAll();
+    release.countDown();
+    assertEquals(1, started.get());
+    assertFalse(prober.isReady());
+    assertEquals(2, prober.getChecks("es").get(0).get(JsonKey.CONSECUTIVE_FAILURES));
+  }
+}
@@ -0,0 +1,117 @@
+package org.sunbird.learner.actors.qrcodedownload;
+
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.cassandraimpl.CassandraOperationImpl;
+import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.keys.SunbirdKey;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ServiceFactory.class})
+@PowerMockIgnore("javax.management.*")
+public class QRCodeImageUrlResolverTest {
+  private CassandraOperation cassandraOperation;
+  private QRCodeImageUrlResolver resolver;
+
+  @Before
+  public void beforeEachTest() {
+    PowerMockito.mockStatic(ServiceFactory.class);
+    cassandraOperation = mock(CassandraOperationImpl.class);
+    when(ServiceFactory.getInstance()).thenReturn(cassandraOperation);
+    resolver = new QRCodeImageUrlResolver();
+  }
+
+  @Test
+  public void resolveImageUrlsInSingleLookup() {
+    when(cassandraOperation.getRecordsByProperty(
+            Mockito.any(),
+            Mockito.anyString(),
+            Mockito.anyString(),
+            Mockito.anyString(),
+            Mockito.anyList(),
+            Mockito.anyList()))
+        .thenReturn(getDialCodeImages("A1B2C3", "D4E5F6"));
+    List<Map<String, Object>> contents =
+        Arrays.asList(
+            getContent("do_1", "1", "A1B2C3"), getContent("do_2", "2", "D4E5F6", "X0Y0Z0"));
+
+    Map<String, Map<String, String>> result = resolver.resolve(null, contents);
+
+    Assert.assertEquals("http://url/A1B2C3", result.get("do_1").get("A1B2C3"));
+    Assert.assertEquals("http://url/D4E5F6", result.get("do_2").get("D4E5F6"));
+    Assert.assertEquals("", result.get("do_2").get("X0Y0Z0"));
+    Mockito.verify(cassandraOperation, Mockito.times(1))
+        .getRecordsByProperty(
+            Mockito.any(),
+            Mockito.anyString(),
+            Mockito.anyString(),
+            Mockito.anyString(),
+            Mockito.anyList(),
+            Mockito.anyList());
+  }
+
+  @Test
+  public void resolveImageUrlsFromCacheForSameVersion() {
+    when(cassandraOperation.getRecordsByProperty(
+            Mockito.any(),
+            Mockito.anyString(),
+            Mockito.anyString(),
+            Mockito.anyString(),
+            Mockito.anyList(),
+            Mockito.anyList()))
+        .thenReturn(getDialCodeImages("G7H8I9"));
+    List<Map<String, Object>> contents = Arrays.asList(getContent("do_3", "1", "G7H8I9"));
+
+    resolver.resolve(null, contents);
+    Map<String, Map<String, String>> result = resolver.resolve(null, contents);
+
+    Assert.assertEquals("http://url/G7H8I9", result.get("do_3").get("G7H8I9"));
+    Mockito.verify(cassandraOperation, Mockito.times(1))
+        .getRecordsByProperty(
+            Mockito.any(),
+            Mockito.anyString(),
+            Mockito.anyString(),
+            Mockito.anyString(),
+            Mockito.anyList(),
+            Mockito.anyList());
+  }
+
+  private Map<String, Object> getContent(String identifier, String version, String... dialCodes) {
+    Map<String, Object> content = new HashMap<>();
+    content.put(JsonKey.IDENTIFIER, identifier);
+    content.put(SunbirdKey.PKG_VERSION, version);
+    content.put(JsonKey.DIAL_CODES, Arrays.asList(dialCodes));
+    return content;
+  }
+
+  private Response getDialCodeImages(String... dialCodes) {
+    List<Map<String, Object>> records = new ArrayList<>();
+    for (String dialCode : dialCodes) {
+      Map<String, Object> record = new HashMap<>();
+      record.put("filename", "0_" + dialCode);
+      record.put("url", "http://url/" + dialCode);
+      records.add(record);
+    }
+    Response response = new Response();
+    response.put(JsonKey.RESPONSE, records);
+    return response;
+  }
+}
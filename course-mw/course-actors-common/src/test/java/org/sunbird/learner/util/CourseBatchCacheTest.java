@@ -0,0 +1,88 @@
+package org.sunbird.learner.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.sunbird.common.models.util.JsonKey;
+
+public class CourseBatchCacheTest {
+
+  @Before
+  public void setUp() {
+    CourseBatchCache.invalidateAll();
+  }
+
+  @Test
+  public void testGetLoadsOnce() {
+    AtomicInteger loads = new AtomicInteger();
+    for (int i = 0; i < 3; i++) {
+      Map<String, Object> batch =
+          CourseBatchCache.get(
+              "batch1",
+              () -> {
+                loads.incrementAndGet();
+                return getBatch("batch1");
+              });
+      assertEquals("batch1", batch.get(JsonKey.BATCH_ID));
+      batch.put(JsonKey.STATUS, 2);
+    }
+    assertEquals(1, loads.get());
+    assertEquals(1, CourseBatchCache.get("batch1", () -> null).get(JsonKey.STATUS));
+    CourseBatchCache.invalidate("batch1");
+    assertNull(CourseBatchCache.get("batch1", () -> null));
+  }
+
+  @Test
+  public void testGetAllLoadsOnlyMissing() {
+    CourseBatchCache.getAll(Arrays.asList("batch1"), missing -> Arrays.asList(getBatch("batch1")));
+    List<List<String>> requested = new ArrayList<>();
+    List<Map<String, Object>> batches =
+        CourseBatchCache.getAll(
+            Arrays.asList("batch1", "batch2", "batch3"),
+            missing -> {
+              requested.add(missing);
+              return Arrays.asList(getBatch("batch2"));
+            });
+    assertEquals(Arrays.asList(Arrays.asList("batch2", "batch3")), requested);
+    assertEquals(2, batches.size());
+    requested.clear();
+    CourseBatchCache.getAll(
+        Arrays.asList("batch1", "batch2"),
+        missing -> {
+          requested.add(missing);
+          return new ArrayList<>();
+        });
+    assertEquals(0, requested.size());
+  }
+
+  @Test
+  public void testSearchedBatchesAreNotServedAsRows() {
+    CourseBatchCache.getAll(Arrays.asList("batch1"), missing -> Arrays.asList(getBatch("batch1")));
+    assertNull(CourseBatchCache.get("batch1", () -> null));
+    CourseBatchCache.get("batch2", () -> getBatch("batch2"));
+    List<List<String>> requested = new ArrayList<>();
+    CourseBatchCache.getAll(
+        Arrays.asList("batch2"),
+        missing -> {
+          requested.add(missing);
+          return new ArrayList<>();
+        });
+    assertEquals(Arrays.asList(Arrays.asList("batch2")), requested);
+  }
+
+  private Map<String, Object> getBatch(String batchId) {
+    Map<String, Object> batch = new HashMap<>();
+    batch.put(JsonKey.BATCH_ID, batchId);
+    batch.put(JsonKey.COURSE_ID, "do_123");
+    batch.put(JsonKey.STATUS, 1);
+    return batch;
+  }
+}
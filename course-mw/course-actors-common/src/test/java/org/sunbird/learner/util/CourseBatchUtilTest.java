@@ -26,6 +26,9 @@ import org.sunbird.common.factory.EsClientFactory;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.responsecode.ResponseCode;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 import static org.powermock.api.mockito.PowerMockito.when;
@@ -53,6 +56,37 @@ public class CourseBatchUtilTest {
     Assert.assertEquals("randomTemplate", certificate.get("name"));
   }
 
+  @Test
+  public void validateTemplateReadsCachedTemplate() throws UnirestException {
+    mockResponseForTemplate(
+        200,
+        "{\"result\":{\"content\":{\"identifier\":\"randomTemplateId\",\"name\":\"randomTemplate\"}}}");
+    CourseBatchUtil.validateTemplate(null, "randomTemplateId").put("name", "changed");
+    Map<String, Object> certificate = CourseBatchUtil.validateTemplate(null, "randomTemplateId");
+    Assert.assertEquals("randomTemplate", certificate.get("name"));
+    PowerMockito.verifyStatic(Unirest.class, Mockito.times(1));
+    Unirest.get(Mockito.anyString());
+  }
+
+  @Test
+  public void projectCertTemplatesTest() {
+    Map<String, Object> template = new HashMap<>();
+    template.put(JsonKey.IDENTIFIER, "randomTemplateId");
+    template.put(JsonKey.NAME, "randomTemplate");
+    template.put(JsonKey.CRITERIA, "{}");
+    Map<String, Object> courseBatch = new HashMap<>();
+    courseBatch.put("cert_templates", Collections.singletonMap("randomTemplateId", template));
+    Map<String, Object> projectedBatch =
+        CourseBatchUtil.projectCertTemplates(
+            courseBatch, Arrays.asList(JsonKey.IDENTIFIER, JsonKey.NAME));
+    Map<String, Object> projected =
+        (Map<String, Object>) ((Map<String, Object>) projectedBatch.get("cert_templates")).get("randomTemplateId");
+    Assert.assertEquals(2, projected.size());
+    Assert.assertEquals("randomTemplate", projected.get(JsonKey.NAME));
+    Assert.assertSame(template, ((Map<String, Object>) courseBatch.get("cert_templates")).get("randomTemplateId"));
+    Assert.assertEquals(3, template.size());
+  }
+
   @Test
   public void validateTemplateFailureTest() throws UnirestException {
     mockResponseForTemplate(404, null);
@@ -179,6 +213,7 @@ public class CourseBatchUtilTest {
   }
 
   private void mockResponseForTemplate(int status, String body) throws UnirestException {
+    CourseBatchUtil.invalidateTemplates();
     GetRequest http = Mockito.mock(GetRequest.class);
     RequestBodyEntity entity = Mockito.mock(RequestBodyEntity.class);
     HttpResponse<String> response = Mockito.mock(HttpResponse.class);
@@ -1,5 +1,11 @@
 package org.sunbird.learner.util;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -12,6 +18,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.sunbird.builder.mocker.CassandraMocker;
 import org.sunbird.builder.mocker.MockerBuilder;
 import org.sunbird.builder.object.CustomObjectBuilder;
+import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.helper.ServiceFactory;
 
 @RunWith(PowerMockRunner.class)
@@ -24,6 +31,7 @@ public class DataCacheHandlerTest {
   @Before
   public void setup() {
     group = MockerBuilder.getFreshMockerGroup().withCassandraMock(new CassandraMocker());
+    DataCacheHandler.reset();
   }
 
   @Test
@@ -45,4 +53,134 @@ public class DataCacheHandlerTest {
     Assert.assertEquals(10, cacheHandler.getPageMap().size());
     Assert.assertEquals(4, cacheHandler.getSectionMap().size());
   }
+
+  @Test
+  public void pageManagementDeltaRefreshSuccessTest() {
+    PowerMockito.when(
+            group
+                .getCassandraMockerService()
+                .getAllRecords(Mockito.any(), Mockito.anyString(), Mockito.eq("page_management")))
+        .thenReturn(CustomObjectBuilder.getRandomPageManagements(3).asCassandraResponse());
+    PowerMockito.when(
+            group
+                .getCassandraMockerService()
+                .getAllRecords(Mockito.any(), Mockito.anyString(), Mockito.eq("page_section")))
+        .thenReturn(CustomObjectBuilder.getRandomPageSections(2).asCassandraResponse());
+    DataCacheHandler.refresh();
+    Assert.assertTrue(DataCacheHandler.getPageMap().containsKey("randomOrgId1:randomPageName1"));
+
+    mockChanges(
+        "page_management",
+        Arrays.asList(
+            getMarker("pageId1", "2026-01-01 10:00:00:000+0000"), getMarker("pageId2", null)));
+    mockChanges("page_section", new ArrayList<>());
+    Map<String, Object> renamedPage = getMarker("pageId1", "2026-01-01 10:00:00:000+0000");
+    renamedPage.put(JsonKey.PAGE_NAME, "renamedPage");
+    renamedPage.put(JsonKey.ORGANISATION_ID, "randomOrgId1");
+    PowerMockito.when(
+            group
+                .getCassandraMockerService()
+                .getRecordsByProperty(
+                    Mockito.any(),
+                    Mockito.anyString(),
+                    Mockito.eq("page_management"),
+                    Mockito.eq(JsonKey.ID),
+                    Mockito.eq(Arrays.asList("pageId1")),
+                    Mockito.any()))
+        .thenReturn(
+            new CustomObjectBuilder.CustomObjectWrapper<>(Arrays.asList(renamedPage))
+                .asCassandraResponse());
+    Map<String, Map<String, Object>> sectionMap = DataCacheHandler.getSectionMap();
+    new DataCacheHandler().run();
+
+    Map<String, Map<String, Object>> pageMap = DataCacheHandler.getPageMap();
+    Assert.assertEquals(3, pageMap.size());
+    Assert.assertFalse(pageMap.containsKey("randomOrgId1:randomPageName1"));
+    Assert.assertTrue(pageMap.containsKey("randomOrgId1:renamedPage"));
+    Assert.assertTrue(pageMap.containsKey("randomOrgId2:randomPageName2"));
+    Assert.assertSame(sectionMap, DataCacheHandler.getSectionMap());
+    Mockito.verify(group.getCassandraMockerService(), Mockito.times(1))
+        .getAllRecords(Mockito.any(), Mockito.anyString(), Mockito.eq("page_management"));
+
+    // an on-demand refresh loads the tables fully, dropping deleted rows
+    PowerMockito.when(
+            group
+                .getCassandraMockerService()
+                .getAllRecords(Mockito.any(), Mockito.anyString(), Mockito.eq("page_management")))
+        .thenReturn(CustomObjectBuilder.getRandomPageManagements(2).asCassandraResponse());
+    DataCacheHandler.refresh();
+    Assert.assertEquals(2, DataCacheHandler.getPageMap().size());
+  }
+
+  @Test
+  public void pageManagementPutDuringRefreshIsKeptTest() {
+    PowerMockito.when(
+            group
+                .getCassandraMockerService()
+                .getAllRecords(Mockito.any(), Mockito.anyString(), Mockito.eq("page_management")))
+        .thenReturn(CustomObjectBuilder.getRandomPageManagements(2).asCassandraResponse());
+    PowerMockito.when(
+            group
+                .getCassandraMockerService()
+                .getAllRecords(Mockito.any(), Mockito.anyString(), Mockito.eq("page_section")))
+        .thenReturn(CustomObjectBuilder.getRandomPageSections(2).asCassandraResponse());
+    DataCacheHandler.refresh();
+
+    Map<String, Object> renamedPage = getMarker("pageId1", null);
+    renamedPage.put(JsonKey.PAGE_NAME, "renamedPage");
+    renamedPage.put(JsonKey.ORGANISATION_ID, "randomOrgId1");
+    AtomicBoolean put = new AtomicBoolean();
+    PowerMockito.when(
+            group
+                .getCassandraMockerService()
+                .getRecordsByProperties(
+                    Mockito.anyString(),
+                    Mockito.eq("page_cache_changes"),
+                    Mockito.eq(getFilters("page_management")),
+                    Mockito.any(),
+                    Mockito.any()))
+        .thenAnswer(
+            invocation -> {
+              // a page update request is served while the refresh reads Cassandra
+              if (put.compareAndSet(false, true)) {
+                DataCacheHandler.putPage("randomOrgId1:renamedPage", renamedPage);
+              }
+              return new CustomObjectBuilder.CustomObjectWrapper<>(
+                      Arrays.asList(getMarker("pageId1", null), getMarker("pageId2", null)))
+                  .asCassandraResponse();
+            });
+    mockChanges("page_section", new ArrayList<>());
+    new DataCacheHandler().run();
+
+    Map<String, Map<String, Object>> pageMap = DataCacheHandler.getPageMap();
+    Assert.assertTrue(pageMap.containsKey("randomOrgId1:renamedPage"));
+    Assert.assertFalse(pageMap.containsKey("randomOrgId1:randomPageName1"));
+    Assert.assertEquals(2, pageMap.size());
+  }
+
+  private void mockChanges(String tableName, List<Map<String, Object>> changes) {
+    PowerMockito.when(
+            group
+                .getCassandraMockerService()
+                .getRecordsByProperties(
+                    Mockito.anyString(),
+                    Mockito.eq("page_cache_changes"),
+                    Mockito.eq(getFilters(tableName)),
+                    Mockito.any(),
+                    Mockito.any()))
+        .thenReturn(new CustomObjectBuilder.CustomObjectWrapper<>(changes).asCassandraResponse());
+  }
+
+  private Map<String, Object> getFilters(String tableName) {
+    Map<String, Object> filters = new HashMap<>();
+    filters.put("tablename", tableName);
+    return filters;
+  }
+
+  private Map<String, Object> getMarker(String id, String updatedDate) {
+    Map<String, Object> marker = new HashMap<>();
+    marker.put(JsonKey.ID, id);
+    marker.put(JsonKey.UPDATED_DATE, updatedDate);
+    return marker;
+  }
 }
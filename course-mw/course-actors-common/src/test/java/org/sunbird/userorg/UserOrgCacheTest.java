@@ -0,0 +1,65 @@
+package org.sunbird.userorg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.sunbird.common.models.util.JsonKey;
+
+public class UserOrgCacheTest {
+
+  @Test
+  public void testGetAllLoadsOnlyMissingIdsInChunks() {
+    UserOrgCache cache = new UserOrgCache(100, 60, 2);
+    List<List<String>> requests = new ArrayList<>();
+    cache.getAll(Arrays.asList("user1"), ids -> load(requests, ids));
+    List<Map<String, Object>> users =
+        cache.getAll(Arrays.asList("user1", "user2", "user3", "user4"), ids -> load(requests, ids));
+    assertEquals(
+        Arrays.asList(Arrays.asList("user1"), Arrays.asList("user2", "user3"), Arrays.asList("user4")),
+        requests);
+    assertEquals(
+        Arrays.asList("user1", "user2", "user3", "user4"),
+        users.stream().map(user -> user.get(JsonKey.ID)).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testGetDoesNotCacheMissingEntries() {
+    UserOrgCache cache = new UserOrgCache(100, 60, 2);
+    assertNull(cache.get("user1", () -> null));
+    Map<String, Object> user = cache.get("user1", () -> user("user1"));
+    user.put(JsonKey.ID, "changed");
+    assertEquals("user1", cache.get("user1", () -> null).get(JsonKey.ID));
+  }
+
+  @Test
+  public void testGetAllKeepsEntriesPerTokenScope() {
+    UserOrgCache cache = new UserOrgCache(100, 60, 2);
+    List<List<String>> requests = new ArrayList<>();
+    String scope = UserOrgCache.tokenScope("token1");
+    cache.getAll(scope, Arrays.asList("user1"), ids -> load(requests, ids));
+    cache.getAll(scope, Arrays.asList("user1"), ids -> load(requests, ids));
+    cache.getAll(UserOrgCache.tokenScope("token2"), Arrays.asList("user1"), ids -> load(requests, ids));
+    assertEquals(2, requests.size());
+    assertFalse(scope.contains("token1"));
+    assertEquals("", UserOrgCache.tokenScope(null));
+  }
+
+  private List<Map<String, Object>> load(List<List<String>> requests, List<String> ids) {
+    requests.add(new ArrayList<>(ids));
+    return ids.stream().map(this::user).collect(Collectors.toList());
+  }
+
+  private Map<String, Object> user(String id) {
+    Map<String, Object> user = new HashMap<>();
+    user.put(JsonKey.ID, id);
+    return user;
+  }
+}
@@ -13,6 +13,7 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.sunbird.actor.base.BaseActor;
 import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.ElasticSearchBulkQueue;
 import org.sunbird.common.ElasticSearchHelper;
 import org.sunbird.common.factory.EsClientFactory;
 import org.sunbird.common.inf.ElasticSearchService;
@@ -187,7 +188,8 @@ public class BulkUploadBackGroundJobActor extends BaseActor {
           updateAttributes.put(JsonKey.COURSE_ENROLL_DATE, ProjectUtil.getFormattedDate());
           userCourseDao.update(requestContext, batchId, userId, updateAttributes);
           String id = UserCoursesService.generateUserCourseESId(batchId, userId);
-          esService.update(requestContext, EsType.usercourses.getTypeName(), id, updateAttributes);
+          ElasticSearchBulkQueue.getInstance()
+              .upsert(requestContext, EsType.usercourses.getTypeName(), id, updateAttributes);
         }
       } else {
         addUserCourses(
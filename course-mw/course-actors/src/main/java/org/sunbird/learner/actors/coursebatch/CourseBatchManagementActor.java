@@ -4,6 +4,7 @@ import static org.sunbird.common.models.util.JsonKey.ID;
 import static org.sunbird.common.models.util.JsonKey.PARTICIPANTS;
 
 import akka.actor.ActorRef;
+import com.google.common.collect.Lists;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.text.MessageFormat;
@@ -34,6 +35,7 @@ import org.sunbird.learner.actors.coursebatch.service.UserCoursesService;
 import org.sunbird.learner.constants.CourseJsonKey;
 import org.sunbird.learner.constants.InstructionEvent;
 import org.sunbird.learner.util.ContentUtil;
+import org.sunbird.learner.util.CourseBatchCache;
 import org.sunbird.learner.util.CourseBatchSchedulerUtil;
 import org.sunbird.learner.util.CourseBatchUtil;
 import org.sunbird.learner.util.Util;
@@ -196,6 +198,8 @@ public class CourseBatchManagementActor extends BaseActor {
             ? (String) request.get(JsonKey.BATCH_ID)
             : (String) request.get(JsonKey.ID);
     String requestedBy = (String) actorMessage.getContext().get(JsonKey.REQUESTED_BY);
+    // The update is validated against the stored batch, not a cached copy.
+    CourseBatchCache.invalidate(batchId);
     CourseBatch oldBatch =
         courseBatchDao.readById((String) request.get(JsonKey.COURSE_ID), batchId, actorMessage.getRequestContext());
     CourseBatch courseBatch = getUpdateCourseBatch(actorMessage.getRequestContext(), request);
@@ -296,26 +300,22 @@ public class CourseBatchManagementActor extends BaseActor {
     Map<String, Object> req = actorMessage.getRequest();
     Response response = new Response();
 
-    Map<String, Object> targetObject = null;
-    List<Map<String, Object>> correlatedObject = new ArrayList<>();
-
     String batchId = (String) req.get(JsonKey.BATCH_ID);
-    TelemetryUtil.generateCorrelatedObject(batchId, TelemetryEnvKey.BATCH, null, correlatedObject);
     Map<String, Object> courseBatchObject = getValidatedCourseBatch(actorMessage.getRequestContext(), batchId);
     String batchCreator = (String) courseBatchObject.get(JsonKey.CREATED_BY);
     String batchCreatorRootOrgId = getRootOrg(batchCreator, (String) actorMessage.getContext().getOrDefault(JsonKey.X_AUTH_TOKEN, ""));
-    List<String> participants =
-        userCoursesService.getEnrolledUserFromBatch(
-                actorMessage.getRequestContext(), (String) courseBatchObject.get(JsonKey.BATCH_ID));
     CourseBatch courseBatch = new ObjectMapper().convertValue(courseBatchObject, CourseBatch.class);
     List<String> userIds = (List<String>) req.get(JsonKey.USER_IDs);
-    if (participants == null) {
-      participants = new ArrayList<>();
-    }
+    Set<String> participants =
+        userCoursesService.getActiveParticipants(
+            actorMessage.getRequestContext(),
+            (String) courseBatchObject.get(JsonKey.COURSE_ID),
+            (String) courseBatchObject.get(JsonKey.BATCH_ID),
+            userIds);
     Map<String, String> participantWithRootOrgIds = getRootOrgForMultipleUsers(userIds, (String) actorMessage.getContext().getOrDefault(JsonKey.X_AUTH_TOKEN, ""));
     List<String> addedParticipants = new ArrayList<>();
     for (String userId : userIds) {
-      if (!(participants.contains(userId))) {
+      if (!participants.contains(userId)) {
         if (!participantWithRootOrgIds.containsKey(userId)
             || (!batchCreatorRootOrgId.equals(participantWithRootOrgIds.get(userId)))) {
           response.put(
@@ -324,7 +324,7 @@ public class CourseBatchManagementActor extends BaseActor {
                   ResponseCode.userNotAssociatedToRootOrg.getErrorMessage(), userId));
           continue;
         }
-        addedParticipants.add(userId);
+        if (participants.add(userId)) addedParticipants.add(userId);
 
       } else {
         response.getResult().put(userId, JsonKey.SUCCESS);
@@ -334,16 +334,9 @@ public class CourseBatchManagementActor extends BaseActor {
     userCoursesService.enroll(
             actorMessage.getRequestContext(), batchId, (String) courseBatchObject.get(JsonKey.COURSE_ID), addedParticipants);
     for (String userId : addedParticipants) {
-      participants.add(userId);
       response.getResult().put(userId, JsonKey.SUCCESS);
-
-      targetObject =
-          TelemetryUtil.generateTargetObject(userId, TelemetryEnvKey.USER, JsonKey.UPDATE, null);
-      correlatedObject = new ArrayList<>();
-      TelemetryUtil.generateCorrelatedObject(
-          batchId, TelemetryEnvKey.BATCH, null, correlatedObject);
-      TelemetryUtil.telemetryProcessingCall(req, targetObject, correlatedObject, actorMessage.getContext());
     }
+    generateParticipantsTelemetry(req, batchId, addedParticipants, JsonKey.UPDATE, actorMessage.getContext());
     sender().tell(response, self());
     if (courseNotificationActive()) {
       Map<String, Object> participantMentorMap = new HashMap<>();
@@ -357,46 +350,37 @@ public class CourseBatchManagementActor extends BaseActor {
     Map<String, Object> req = actorMessage.getRequest();
     Response response = new Response();
 
-    Map<String, Object> targetObject = null;
-    List<Map<String, Object>> correlatedObject = new ArrayList<>();
-
     String batchId = (String) req.get(JsonKey.BATCH_ID);
-    TelemetryUtil.generateCorrelatedObject(batchId, TelemetryEnvKey.BATCH, null, correlatedObject);
     Map<String, Object> courseBatchObject = getValidatedCourseBatch(actorMessage.getRequestContext(), batchId);
-    List<String> participants =
-        userCoursesService.getEnrolledUserFromBatch(
-                actorMessage.getRequestContext(), (String) courseBatchObject.get(JsonKey.BATCH_ID));
     CourseBatch courseBatch = new ObjectMapper().convertValue(courseBatchObject, CourseBatch.class);
     List<String> userIds = (List<String>) req.get(JsonKey.USER_IDs);
-    if (participants == null) {
-      participants = new ArrayList<>();
+    Set<String> participants =
+        userCoursesService.getActiveParticipants(
+            actorMessage.getRequestContext(),
+            (String) courseBatchObject.get(JsonKey.COURSE_ID),
+            (String) courseBatchObject.get(JsonKey.BATCH_ID),
+            userIds);
+    List<String> enrolledUserIds = new ArrayList<>();
+    for (String id : userIds) {
+      if (!participants.contains(id)) {
+        response.getResult().put(id, ResponseCode.userNotEnrolledCourse.getErrorMessage());
+      } else {
+        enrolledUserIds.add(id);
+      }
     }
-    List<String> participantsList =
-        CollectionUtils.isEmpty(participants) ? new ArrayList<>() : participants;
+    Map<String, String> errors =
+        userCoursesService.unenroll(actorMessage.getRequestContext(), batchId, enrolledUserIds);
     List<String> removedParticipants = new ArrayList<>();
-    userIds.forEach(
-        id -> {
-          if (!participantsList.contains(id)) {
-            response.getResult().put(id, ResponseCode.userNotEnrolledCourse.getErrorMessage());
-          } else {
-            try {
-              userCoursesService.unenroll(actorMessage.getRequestContext(), batchId, id);
-              removedParticipants.add(id);
-              response.getResult().put(id, JsonKey.SUCCESS);
-            } catch (ProjectCommonException ex) {
-              response.getResult().put(id, ex.getMessage());
-            }
-          }
-        });
-
-    for (String userId : removedParticipants) {
-      targetObject =
-          TelemetryUtil.generateTargetObject(userId, TelemetryEnvKey.USER, JsonKey.REMOVE, null);
-      correlatedObject = new ArrayList<>();
-      TelemetryUtil.generateCorrelatedObject(
-          batchId, TelemetryEnvKey.BATCH, null, correlatedObject);
-      TelemetryUtil.telemetryProcessingCall(req, targetObject, correlatedObject, actorMessage.getContext());
+    for (String id : new LinkedHashSet<>(enrolledUserIds)) {
+      if (errors.containsKey(id)) {
+        response.getResult().put(id, errors.get(id));
+      } else {
+        removedParticipants.add(id);
+        response.getResult().put(id, JsonKey.SUCCESS);
+      }
     }
+
+    generateParticipantsTelemetry(req, batchId, removedParticipants, JsonKey.REMOVE, actorMessage.getContext());
     sender().tell(response, self());
     if (courseNotificationActive()) {
       Map<String, Object> participantMentorMap = new HashMap<>();
@@ -405,6 +389,30 @@ public class CourseBatchManagementActor extends BaseActor {
     }
   }
 
+  /**
+   * Generates one audit event per chunk of participants added to or removed from the batch, with
+   * the batch as target and the participants as correlated objects.
+   */
+  private void generateParticipantsTelemetry(
+      Map<String, Object> req,
+      String batchId,
+      List<String> userIds,
+      String state,
+      Map<String, Object> context) {
+    for (List<String> chunk : Lists.partition(userIds, UserCoursesService.PARTICIPANT_CHUNK_SIZE)) {
+      Map<String, Object> targetObject =
+          TelemetryUtil.generateTargetObject(batchId, TelemetryEnvKey.BATCH, state, null);
+      List<Map<String, Object>> correlatedObject = new ArrayList<>();
+      TelemetryUtil.generateCorrelatedObject(batchId, TelemetryEnvKey.BATCH, null, correlatedObject);
+      for (String userId : chunk) {
+        TelemetryUtil.generateCorrelatedObject(userId, TelemetryEnvKey.USER, null, correlatedObject);
+      }
+      Map<String, Object> props = new HashMap<>(req);
+      props.put(JsonKey.USER_IDs, chunk);
+      TelemetryUtil.telemetryProcessingCall(props, targetObject, correlatedObject, context);
+    }
+  }
+
   private Map<String, Object> getValidatedCourseBatch(RequestContext requestContext, String batchId) {
     Future<Map<String, Object>> resultF =
         esService.getDataByIdentifier(requestContext, ProjectUtil.EsType.courseBatch.getTypeName(), batchId);
@@ -445,7 +453,10 @@ public class CourseBatchManagementActor extends BaseActor {
     if (result.containsKey(JsonKey.COURSE_ID))
       result.put(JsonKey.COLLECTION_ID, result.getOrDefault(JsonKey.COURSE_ID, ""));
     Response response = new Response();
-    response.put(JsonKey.RESPONSE, result);
+    response.put(
+        JsonKey.RESPONSE,
+        CourseBatchUtil.projectCertTemplates(
+            result, (List<String>) actorMessage.getContext().get(JsonKey.CERT_TEMPLATE_FIELDS)));
     sender().tell(response, self());
   }
 
@@ -809,6 +820,10 @@ public class CourseBatchManagementActor extends BaseActor {
       active = (boolean) request.get(JsonKey.ACTIVE);
     }
     String batchID = (String) request.get(JsonKey.BATCH_ID);
+    if (null != request.get(JsonKey.LIMIT) || null != request.get(JsonKey.CURSOR)) {
+      getParticipantsPage(actorMessage, request, batchID, active);
+      return;
+    }
     List<String> participants = userCoursesService.getParticipantsList(batchID, active, actorMessage.getRequestContext());
 
     if (CollectionUtils.isEmpty(participants)) {
@@ -823,6 +838,37 @@ public class CourseBatchManagementActor extends BaseActor {
     sender().tell(response, self());
   }
 
+  /**
+   * Returns one page of participants, read from Cassandra with the paging state passed as cursor.
+   * The page holds at most {@code limit} participants, {@code sunbird_participants_page_size} by
+   * default and {@code sunbird_participants_max_page_size} at most; it can hold fewer even when more
+   * participants follow, which is signalled by a next cursor.
+   */
+  private void getParticipantsPage(
+      Request actorMessage, Map<String, Object> request, String batchId, boolean active) {
+    int maxPageSize = ConfigSnapshot.getInt(JsonKey.SUNBIRD_PARTICIPANTS_MAX_PAGE_SIZE, 10000);
+    int limit = ConfigSnapshot.getInt(JsonKey.SUNBIRD_PARTICIPANTS_PAGE_SIZE, 1000);
+    if (null != request.get(JsonKey.LIMIT)) {
+      limit = ((Number) request.get(JsonKey.LIMIT)).intValue();
+    }
+    Map<String, Object> page =
+        userCoursesService.getParticipantsPage(
+            batchId,
+            active,
+            Math.min(limit, maxPageSize),
+            (String) request.get(JsonKey.CURSOR),
+            actorMessage.getRequestContext());
+    List<String> participants = (List<String>) page.get(JsonKey.PARTICIPANTS);
+
+    Response response = new Response();
+    Map<String, Object> result = new HashMap<String, Object>();
+    result.put(JsonKey.COUNT, participants.size());
+    result.put(JsonKey.PARTICIPANTS, participants);
+    result.put(JsonKey.NEXT_CURSOR, page.get(JsonKey.NEXT_CURSOR));
+    response.put(JsonKey.BATCH, result);
+    sender().tell(response, self());
+  }
+
   private Map<String, Object> mapESFieldsToObject(Map<String, Object> courseBatch) {
     Map<String, Map<String, Object>> certificateTemplates =
             (Map<String, Map<String, Object>>)
@@ -100,6 +100,38 @@ public class CourseBatchUserManagementActorTest extends SunbirdApplicationActorT
     Assert.assertTrue(participants.isEmpty());
   }
 
+  @Test
+  @PrepareForTest({ServiceFactory.class})
+  public void getBatchParticipantsPageSuccess() {
+    group = MockerBuilder.getFreshMockerGroup().withCassandraMock(new CassandraMocker());
+    Response page = CustomObjectBuilder.getRandomUserCoursesList(5).asCassandraResponse();
+    page.put(JsonKey.PAGING_STATE, "nextPage");
+    when(group
+            .getCassandraMockerService()
+            .getRecordsPageByIndexedProperty(
+                Mockito.anyString(),
+                Mockito.anyString(),
+                Mockito.anyMap(),
+                Mockito.anyList(),
+                Mockito.eq(5),
+                Mockito.eq("firstPage"),
+                Mockito.any()))
+        .thenReturn(page);
+    Request req = new Request();
+    HashMap<String, Object> innerMap = new HashMap<>();
+    innerMap.put(JsonKey.BATCH_ID, "randomBatchId");
+    innerMap.put(JsonKey.LIMIT, 5);
+    innerMap.put(JsonKey.CURSOR, "firstPage");
+    HashMap<String, Object> batchMap = new HashMap<>();
+    batchMap.put(JsonKey.BATCH, innerMap);
+    req.setOperation("getParticipants");
+    req.setRequest(batchMap);
+    Response response = executeInTenSeconds(req, Response.class);
+    Map<String, Object> result = (Map<String, Object>) response.get(JsonKey.BATCH);
+    Assert.assertEquals(5, (int) result.get(JsonKey.COUNT));
+    Assert.assertEquals("nextPage", result.get(JsonKey.NEXT_CURSOR));
+  }
+
   @Test
   @PrepareForTest({ServiceFactory.class, EsClientFactory.class, UserOrgServiceImpl.class})
   public void addUserToBatchSuccess() {
@@ -146,8 +178,8 @@ public class CourseBatchUserManagementActorTest extends SunbirdApplicationActorT
             .collect(Collectors.toList());
     when(group
             .getCassandraMockerService()
-            .getRecordsByIndexedProperty(
-                    Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.any()))
+            .getRecordsByProperties(
+                    Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.anyList(), Mockito.any()))
         .thenReturn(userCoursesWrapper.asCassandraResponse());
     when(group
             .getESMockerService()
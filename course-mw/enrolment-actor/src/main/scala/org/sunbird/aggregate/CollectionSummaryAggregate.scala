@@ -13,8 +13,9 @@ import org.joda.time.{DateTime, DateTimeZone}
 import org.sunbird.actor.base.BaseActor
 import org.sunbird.cache.util.RedisCacheUtil
 import org.sunbird.common.models.response.Response
-import org.sunbird.common.models.util.{JsonKey, ProjectLogger, ProjectUtil, TelemetryEnvKey}
+import org.sunbird.common.models.util.{ConfigSnapshot, JsonKey, ProjectLogger, TelemetryEnvKey}
 import org.sunbird.common.request.{Request, RequestContext}
+import org.sunbird.common.util.OutboundHttp
 import org.sunbird.learner.actors.coursebatch.dao.CourseBatchDao
 import org.sunbird.learner.actors.coursebatch.dao.impl.CourseBatchDaoImpl
 import org.sunbird.learner.util.{JsonUtil, Util}
@@ -23,8 +24,8 @@ import java.math.BigDecimal
 import scala.collection.JavaConverters._
 
 class CollectionSummaryAggregate @Inject()(implicit val cacheUtil: RedisCacheUtil) extends BaseActor {
-  val ttl: Int = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("collection_summary_agg_cache_ttl"))) ProjectUtil.getConfigValue("collection_summary_agg_cache_ttl").toInt else 60
-  val dataSource: String = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("collection_summary_agg_data_source"))) ProjectUtil.getConfigValue("collection_summary_agg_data_source") else "telemetry-events-syncts"
+  val ttl: Int = ConfigSnapshot.getInt("collection_summary_agg_cache_ttl", 60)
+  val dataSource: String = ConfigSnapshot.getString("collection_summary_agg_data_source", "telemetry-events-syncts")
   val stateLookUpQuery = "{\"type\":\"extraction\",\"dimension\":\"derived_loc_state\",\"outputName\":\"state\",\"extractionFn\":{\"type\":\"registeredLookup\",\"lookup\":\"stateLookup\",\"retainMissingValue\":true}}"
   val districtLookUpQuery = "{\"type\":\"extraction\",\"dimension\":\"derived_loc_district\",\"outputName\":\"district\",\"extractionFn\":{\"type\":\"registeredLookup\",\"lookup\":\"districtLookup\",\"retainMissingValue\":true}}"
   val gson = new Gson
@@ -196,11 +197,11 @@ class CollectionSummaryAggregate @Inject()(implicit val cacheUtil: RedisCacheUti
          |  }
          |}""".stripMargin.replaceAll("null", " ")
     println("Druid Query" + JsonUtil.serialize(druidQuery))
-    val host: String = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("druid_proxy_api_host"))) ProjectUtil.getConfigValue("druid_proxy_api_host") else "localhost"
-    val port: String = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("druid_proxy_api_port"))) ProjectUtil.getConfigValue("druid_proxy_api_port") else "8081"
-    val endPoint: String = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("druid_proxy_api_endpoint"))) ProjectUtil.getConfigValue("druid_proxy_api_endpoint") else "/druid/v2/"
+    val host: String = ConfigSnapshot.getString("druid_proxy_api_host", "localhost")
+    val port: String = ConfigSnapshot.getString("druid_proxy_api_port", "8081")
+    val endPoint: String = ConfigSnapshot.getString("druid_proxy_api_endpoint", "/druid/v2/")
     val request = Unirest.post(s"http://$host:$port$endPoint").headers(getUpdatedHeaders(new util.HashMap[String, String]())).body(druidQuery)
-    val response = request.asString().getBody
+    val response = OutboundHttp.execute("druid", request).getBody
     println("=====Druid Response======" + response)
     response
   }
@@ -10,6 +10,7 @@ import org.sunbird.common.inf.ElasticSearchService
 import org.sunbird.common.models.util.{JsonKey, ProjectUtil}
 import org.sunbird.common.request.RequestContext
 import org.sunbird.dto.SearchDTO
+import org.sunbird.learner.util.CourseBatchCache
 
 abstract class BaseEnrolmentActor extends BaseActor {
 
@@ -26,6 +27,13 @@ abstract class BaseEnrolmentActor extends BaseActor {
         response.getOrDefault(JsonKey.CONTENT, new java.util.ArrayList[util.Map[String, AnyRef]]).asInstanceOf[util.List[util.Map[String, AnyRef]]]
     }
     
+    /** Batch documents by id through the search cache of the course batches, the missing ones searched in one call. */
+    def getCachedBatches(requestContext: RequestContext, batchIds: java.util.List[String]): java.util.List[java.util.Map[String, AnyRef]] = {
+        CourseBatchCache.getAll(batchIds, new java.util.function.Function[java.util.List[String], java.util.List[java.util.Map[String, AnyRef]]] {
+            override def apply(missing: java.util.List[String]): java.util.List[java.util.Map[String, AnyRef]] = getBatches(requestContext, missing, null)
+        })
+    }
+
     def setEsService(es: ElasticSearchService) = {
         esService = es
         this
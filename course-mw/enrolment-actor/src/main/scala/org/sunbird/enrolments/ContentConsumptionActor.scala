@@ -1,8 +1,10 @@
 package org.sunbird.enrolments
 
+import java.text.SimpleDateFormat
 import java.util
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.google.common.cache.{Cache, CacheBuilder}
 import javax.inject.Inject
 import org.apache.commons.collections4.{CollectionUtils, MapUtils}
 import org.apache.commons.lang3.StringUtils
@@ -26,7 +28,12 @@ class ContentConsumptionActor @Inject() extends BaseEnrolmentActor {
     private var pushTokafkaEnabled: Boolean = true //TODO: to be removed once all are in scala
     private val consumptionDBInfo = Util.dbInfoMap.get(JsonKey.LEARNER_CONTENT_DB)
     private val assessmentAggregatorDBInfo = Util.dbInfoMap.get(JsonKey.ASSESSMENT_AGGREGATOR_DB)
-    val dateFormatter = ProjectUtil.getDateFormatter
+    // Coalesced updates are written from the flush threads too, so the formatter is per thread.
+    private val dateFormatter = new ThreadLocal[SimpleDateFormat] {
+        override def initialValue(): SimpleDateFormat = ProjectUtil.getDateFormatter
+    }
+    private var coalescer = ContentStateCoalescer.getInstance
+    private var progressUpdateMode = ConfigSnapshot.getString(JsonKey.SUNBIRD_ENROLMENT_PROGRESS_UPDATE_MODE, ContentConsumptionActor.CHECKED_MODE)
 
     override def onReceive(request: Request): Unit = {
         Util.initializeContext(request, TelemetryEnvKey.BATCH)
@@ -50,7 +57,7 @@ class ContentConsumptionActor @Inject() extends BaseEnrolmentActor {
         if(CollectionUtils.isNotEmpty(assessmentEvents)) {
             val batchAssessmentList: Map[String, List[java.util.Map[String, AnyRef]]] = assessmentEvents.filter(event => StringUtils.isNotBlank(event.getOrDefault(JsonKey.BATCH_ID, "").asInstanceOf[String])).toList.groupBy(event => event.get(JsonKey.BATCH_ID).asInstanceOf[String])
             val batchIds = batchAssessmentList.keySet.toList.asJava
-            val batches:Map[String, List[java.util.Map[String, AnyRef]]] = getBatches(request.getRequestContext ,new java.util.ArrayList[String](batchIds), null).toList.groupBy(batch => batch.get(JsonKey.BATCH_ID).asInstanceOf[String])
+            val batches:Map[String, List[java.util.Map[String, AnyRef]]] = getCachedBatches(request.getRequestContext, batchIds).toList.groupBy(batch => batch.get(JsonKey.BATCH_ID).asInstanceOf[String])
             val invalidBatchIds = batchAssessmentList.keySet.diff(batches.keySet).toList.asJava
             val validBatches:Map[String, List[java.util.Map[String, AnyRef]]]  = batches.filterKeys(key => batchIds.contains(key))
             val completedBatchIds = validBatches.filter(batch => 1 != batch._2.head.get(JsonKey.STATUS).asInstanceOf[Integer]).keys.toList.asJava
@@ -96,7 +103,7 @@ class ContentConsumptionActor @Inject() extends BaseEnrolmentActor {
         if(CollectionUtils.isNotEmpty(contentList)) {
             val batchContentList: Map[String, List[java.util.Map[String, AnyRef]]] = contentList.filter(event => StringUtils.isNotBlank(event.getOrDefault(JsonKey.BATCH_ID, "").asInstanceOf[String])).toList.groupBy(event => event.get(JsonKey.BATCH_ID).asInstanceOf[String])
             val batchIds = batchContentList.keySet.toList.asJava
-            val batches:Map[String, List[java.util.Map[String, AnyRef]]] = getBatches(request.getRequestContext ,new java.util.ArrayList[String](batchIds), null).toList.groupBy(batch => batch.get(JsonKey.BATCH_ID).asInstanceOf[String])
+            val batches:Map[String, List[java.util.Map[String, AnyRef]]] = getCachedBatches(request.getRequestContext, batchIds).toList.groupBy(batch => batch.get(JsonKey.BATCH_ID).asInstanceOf[String])
             val invalidBatchIds = batchContentList.keySet.diff(batches.keySet).toList.asJava
             val validBatches:Map[String, List[java.util.Map[String, AnyRef]]]  = batches.filterKeys(key => batchIds.contains(key))
             val completedBatchIds = validBatches.filter(batch => 1 != batch._2.head.get(JsonKey.STATUS).asInstanceOf[Integer]).keys.toList.asJava
@@ -113,15 +120,10 @@ class ContentConsumptionActor @Inject() extends BaseEnrolmentActor {
                             val courseId = if (entry._2.head.containsKey(JsonKey.COURSE_ID)) entry._2.head.getOrDefault(JsonKey.COURSE_ID, "").asInstanceOf[String] else entry._2.head.getOrDefault(JsonKey.COLLECTION_ID, "").asInstanceOf[String]
                             if(entry._2.head.containsKey(JsonKey.COLLECTION_ID)) entry._2.head.remove(JsonKey.COLLECTION_ID)
                             val contentIds = entry._2.map(e => e.getOrDefault(JsonKey.CONTENT_ID, "").asInstanceOf[String]).asJava
-                            val existingContents = getContentsConsumption(userId, courseId, contentIds, batchId, request.getRequestContext).groupBy(x => x.get("contentId").asInstanceOf[String]).map(e => e._1 -> e._2.toList.head).toMap
-                            val contents:List[java.util.Map[String, AnyRef]] = entry._2.toList.map(inputContent => {
-                                val existingContent = existingContents.getOrElse(inputContent.get("contentId").asInstanceOf[String], new java.util.HashMap[String, AnyRef])
-                                processContentConsumption(inputContent, existingContent, userId)
-                            })
-                            cassandraOperation.batchInsertLogged(request.getRequestContext, consumptionDBInfo.getKeySpace, consumptionDBInfo.getTableName, contents)
-                            val updateData = getLatestReadDetails(userId, batchId, contents)
-                            cassandraOperation.updateRecordV2(request.getRequestContext, "sunbird_courses", "user_enrolments", updateData._1, updateData._2, true)
-                            pushInstructionEvent(request.getRequestContext, userId, batchId, courseId, contents.asJava)
+                            if (coalescer.isEnabled)
+                                coalescer.add(userId, batchId, courseId, entry._2.asJava, request.getRequestContext, writeContents)
+                            else
+                                writeContents(request.getRequestContext, userId, batchId, courseId, entry._2.asJava)
                             contentIds.map(id => responseMessage.put(id,JsonKey.SUCCESS))
 
                         } else {
@@ -148,6 +150,23 @@ class ContentConsumptionActor @Inject() extends BaseEnrolmentActor {
         }
     }
 
+    /**
+     * Merges the input contents with the stored consumption of the user, writes them in one logged
+     * batch, updates the enrolment progress and pushes one instruction event.
+     */
+    def writeContents(requestContext: RequestContext, userId: String, batchId: String, courseId: String, inputContents: java.util.List[java.util.Map[String, AnyRef]]): Unit = {
+        val contentIds = inputContents.map(e => e.getOrDefault(JsonKey.CONTENT_ID, "").asInstanceOf[String]).asJava
+        val existingContents = getContentsConsumption(userId, courseId, contentIds, batchId, requestContext).groupBy(x => x.get("contentId").asInstanceOf[String]).map(e => e._1 -> e._2.toList.head).toMap
+        val contents:List[java.util.Map[String, AnyRef]] = inputContents.toList.map(inputContent => {
+            val existingContent = existingContents.getOrElse(inputContent.get("contentId").asInstanceOf[String], new java.util.HashMap[String, AnyRef])
+            processContentConsumption(inputContent, existingContent, userId)
+        })
+        cassandraOperation.batchInsertLogged(requestContext, consumptionDBInfo.getKeySpace, consumptionDBInfo.getTableName, contents)
+        val updateData = getLatestReadDetails(userId, batchId, contents)
+        updateEnrolmentProgress(requestContext, updateData._1, updateData._2)
+        pushInstructionEvent(requestContext, userId, batchId, courseId, contents.asJava)
+    }
+
     def getDataGroupedByUserId(data: List[java.util.Map[String, AnyRef]], requstedBy: String, requestedFor: String) = {
         val primaryUserId = if(StringUtils.isNotBlank(requestedFor)) requestedFor else requstedBy
         val updatedData: List[java.util.Map[String, AnyRef]] = data.map(f => {
@@ -160,14 +179,14 @@ class ContentConsumptionActor @Inject() extends BaseEnrolmentActor {
     }
 
     def syncAssessmentData(assessment: java.util.Map[String, AnyRef]) = {
-        val topic = ProjectUtil.getConfigValue("kafka_assessment_topic")
+        val topic = ConfigSnapshot.getString("kafka_assessment_topic")
         if (StringUtils.isNotBlank(topic)) KafkaClient.send(mapper.writeValueAsString(assessment), topic)
         else throw new ProjectCommonException("BE_JOB_REQUEST_EXCEPTION", "Invalid topic id.", ResponseCode.CLIENT_ERROR.getResponseCode)
     }
 
     private def pushInvalidDataToKafka(requestContext: RequestContext, data: java.util.Map[String, AnyRef], dataType: String): Unit = {
         logger.info(requestContext, "LearnerStateUpdater - Invalid " + dataType, data)
-        val topic = ProjectUtil.getConfigValue("kafka_topics_contentstate_invalid")
+        val topic = ConfigSnapshot.getString("kafka_topics_contentstate_invalid")
         try {
             val event = mapper.writeValueAsString(data)
             KafkaClient.send(event, topic)
@@ -228,18 +247,18 @@ class ContentConsumptionActor @Inject() extends BaseEnrolmentActor {
 
     def parseDate(dateString: String) = {
         if(StringUtils.isNotBlank(dateString) && !StringUtils.equalsIgnoreCase(JsonKey.NULL, dateString)) {
-            dateFormatter.parse(dateString)
+            dateFormatter.get.parse(dateString)
         } else null
     }
 
     def compareTime(existingTime: java.util.Date, inputTime: java.util.Date): String = {
         if(null == existingTime && null == inputTime) {
             ProjectUtil.getFormattedDate
-        } else if(null == existingTime) dateFormatter.format(inputTime)
-        else if(null == inputTime) dateFormatter.format(existingTime)
+        } else if(null == existingTime) dateFormatter.get.format(inputTime)
+        else if(null == inputTime) dateFormatter.get.format(existingTime)
         else {
-            if(inputTime.after(existingTime)) dateFormatter.format(inputTime)
-            else dateFormatter.format(existingTime)
+            if(inputTime.after(existingTime)) dateFormatter.get.format(inputTime)
+            else dateFormatter.get.format(existingTime)
         }
     }
 
@@ -257,6 +276,34 @@ class ContentConsumptionActor @Inject() extends BaseEnrolmentActor {
       (selectMap, updateMap)
     }
 
+    /**
+     * Updates the last read content of the enrolment, only if the enrolment exists. In "lwt" mode this
+     * is an UPDATE ... IF EXISTS (a Paxos round); in "checked" mode the enrolment is looked up by its
+     * primary key once and remembered, and the update is a plain idempotent write.
+     */
+    def updateEnrolmentProgress(requestContext: RequestContext, selectMap: java.util.Map[String, AnyRef], updateMap: java.util.Map[String, AnyRef]): Unit = {
+        if (StringUtils.equalsIgnoreCase(ContentConsumptionActor.CHECKED_MODE, progressUpdateMode)) {
+            if (enrolmentExists(requestContext, selectMap))
+                cassandraOperation.updateRecordV2(requestContext, "sunbird_courses", "user_enrolments", selectMap, updateMap, false)
+            else
+                logger.info(requestContext, "ContentConsumptionActor: updateEnrolmentProgress : enrolment does not exist : " + selectMap)
+        } else {
+            cassandraOperation.updateRecordV2(requestContext, "sunbird_courses", "user_enrolments", selectMap, updateMap, true)
+        }
+    }
+
+    def enrolmentExists(requestContext: RequestContext, selectMap: java.util.Map[String, AnyRef]): Boolean = {
+        val key = selectMap.get("userId") + "_" + selectMap.get("courseId") + "_" + selectMap.get("batchId")
+        if (null != ContentConsumptionActor.existingEnrolments.getIfPresent(key)) true
+        else {
+            val response = cassandraOperation.getRecords(requestContext, "sunbird_courses", "user_enrolments", selectMap, java.util.Arrays.asList("userid"))
+            val exists = CollectionUtils.isNotEmpty(response.getResult.getOrDefault(JsonKey.RESPONSE, new java.util.ArrayList[AnyRef]).asInstanceOf[java.util.List[AnyRef]])
+            // Enrolments are never deleted, so a positive lookup stays valid.
+            if (exists) ContentConsumptionActor.existingEnrolments.put(key, java.lang.Boolean.TRUE)
+            exists
+        }
+    }
+
     @throws[Exception]
     private def pushInstructionEvent(requestContext: RequestContext, userId: String, batchId: String, courseId: String, contents: java.util.List[java.util.Map[String, AnyRef]]): Unit = {
         val data = new java.util.HashMap[String, AnyRef]
@@ -281,7 +328,7 @@ class ContentConsumptionActor @Inject() extends BaseEnrolmentActor {
             put(CourseJsonKey.ACTION, InstructionEvent.BATCH_USER_STATE_UPDATE.getAction)
             put(CourseJsonKey.ITERATION, 1.asInstanceOf[AnyRef])
         }})
-        val topic = ProjectUtil.getConfigValue("kafka_topics_instruction")
+        val topic = ConfigSnapshot.getString("kafka_topics_instruction")
         logger.info(requestContext,"LearnerStateUpdateActor: pushInstructionEvent :Event Data " + data + " and Topic " + topic)
         if(pushTokafkaEnabled)
             InstructionEventGenerator.pushInstructionEvent(userId, topic, data)
@@ -317,6 +364,16 @@ class ContentConsumptionActor @Inject() extends BaseEnrolmentActor {
         this
     }
 
+    def setProgressUpdateMode(mode: String): ContentConsumptionActor = {
+        progressUpdateMode = mode
+        this
+    }
+
+    def setCoalescer(coalescer: ContentStateCoalescer): ContentConsumptionActor = {
+        this.coalescer = coalescer
+        this
+    }
+
     def getScore(userId: String, courseId: String, contentId: String, batchId: String, requestContext: RequestContext): util.List[util.Map[String, AnyRef]] = {
         val filters = new java.util.HashMap[String, AnyRef]() {
             {
@@ -332,9 +389,16 @@ class ContentConsumptionActor @Inject() extends BaseEnrolmentActor {
             add("total_max_score")
             add("total_score")
         }}
-        val limit = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("assessment.attempts.limit")))
-            (ProjectUtil.getConfigValue("assessment.attempts.limit")).asInstanceOf[Integer] else 25.asInstanceOf[Integer]
+        val limit = ConfigSnapshot.getInt("assessment.attempts.limit", 25).asInstanceOf[Integer]
         val response = cassandraOperation.getRecordsWithLimit(requestContext, assessmentAggregatorDBInfo.getKeySpace, assessmentAggregatorDBInfo.getTableName, filters, fieldsToGet, limit)
         response.getResult.getOrDefault(JsonKey.RESPONSE, new java.util.ArrayList[java.util.Map[String, AnyRef]]).asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]
     }
 }
+
+object ContentConsumptionActor {
+    val LWT_MODE = "lwt"
+    val CHECKED_MODE = "checked"
+
+    private val existingEnrolments: Cache[String, java.lang.Boolean] = CacheBuilder.newBuilder()
+        .maximumSize(ConfigSnapshot.getInt(JsonKey.SUNBIRD_ENROLMENT_EXISTS_CACHE_SIZE, 100000)).build[String, java.lang.Boolean]()
+}
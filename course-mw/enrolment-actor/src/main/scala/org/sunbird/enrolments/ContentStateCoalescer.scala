@@ -0,0 +1,190 @@
+package org.sunbird.enrolments
+
+import java.text.SimpleDateFormat
+import java.util.concurrent.atomic.{AtomicInteger, AtomicLong}
+import java.util.concurrent.{ConcurrentHashMap, ScheduledThreadPoolExecutor, ThreadFactory, TimeUnit}
+
+import org.apache.commons.lang3.StringUtils
+import org.sunbird.common.models.util.{ConfigSnapshot, JsonKey, LoggerUtil, ProjectUtil}
+import org.sunbird.common.request.RequestContext
+
+import scala.collection.JavaConverters._
+
+/**
+ * Write-behind buffer of content state updates. Updates of the same user, batch and course that
+ * arrive within {@code sunbird_content_state_coalesce_window} milliseconds of the first one are
+ * merged per content (highest progress and status, latest access and completion time, other fields
+ * from the newest update) and flushed as one consumption write and one instruction event.
+ * A window of 0 (the default) disables the buffer and every update is written synchronously.
+ *
+ * Durability: a buffered update is acknowledged to the caller before it is written. Pending
+ * updates are flushed when the JVM shuts down normally, but the updates of at most one window are
+ * lost if the process is killed or crashes. A flush that fails is logged and counted, not retried;
+ * the players resend the state on the next update, so only enable the buffer with a short window.
+ *
+ * Flush counts and the latency from the first buffered update to the completed write are reported
+ * by {@link #snapshot}.
+ */
+class ContentStateCoalescer(val window: Long, poolSize: Int) {
+
+    private val logger = new LoggerUtil(classOf[ContentStateCoalescer])
+    private val pending = new ConcurrentHashMap[String, PendingUpdate]()
+    private lazy val executor = {
+        val threadCount = new AtomicInteger()
+        new ScheduledThreadPoolExecutor(poolSize, new ThreadFactory {
+            override def newThread(runnable: Runnable): Thread = {
+                val thread = new Thread(runnable, "content-state-flush-" + threadCount.incrementAndGet())
+                thread.setDaemon(true)
+                thread
+            }
+        })
+    }
+    private val buffered = new AtomicLong()
+    private val merged = new AtomicLong()
+    private val flushed = new AtomicLong()
+    private val failed = new AtomicLong()
+    private val flushLatencyTotal = new AtomicLong()
+    private val flushLatencyMax = new AtomicLong()
+
+    def isEnabled: Boolean = window > 0
+
+    /**
+     * Buffers the contents of a user, to be written by {@code write} once the window of the first
+     * buffered update of the same user, batch and course has passed.
+     */
+    def add(userId: String, batchId: String, courseId: String, contents: java.util.List[java.util.Map[String, AnyRef]], requestContext: RequestContext,
+            write: (RequestContext, String, String, String, java.util.List[java.util.Map[String, AnyRef]]) => Unit): Unit = {
+        val key = userId + "_" + batchId + "_" + courseId
+        var added = false
+        while (!added) {
+            val created = new PendingUpdate(requestContext, userId, batchId, courseId, write)
+            val existing = pending.putIfAbsent(key, created)
+            val update = if (null == existing) created else existing
+            added = update.synchronized {
+                if (update.closed) false
+                else {
+                    contents.asScala.foreach(content => update.merge(content))
+                    true
+                }
+            }
+            if (null == existing) schedule(key, created)
+        }
+    }
+
+    private def schedule(key: String, update: PendingUpdate): Unit = {
+        executor.schedule(new Runnable {
+            override def run(): Unit = flush(key, update)
+        }, window, TimeUnit.MILLISECONDS)
+    }
+
+    private def flush(key: String, update: PendingUpdate): Unit = {
+        pending.remove(key, update)
+        // the scheduled flush and flushAll may both reach the same update, only the first one writes it
+        val contents = update.synchronized {
+            if (update.closed) new java.util.ArrayList[java.util.Map[String, AnyRef]]()
+            else {
+                update.closed = true
+                new java.util.ArrayList[java.util.Map[String, AnyRef]](update.contents.values())
+            }
+        }
+        if (!contents.isEmpty) {
+            try {
+                update.write(update.requestContext, update.userId, update.batchId, update.courseId, contents)
+                flushed.incrementAndGet()
+            } catch {
+                case e: Exception =>
+                    failed.incrementAndGet()
+                    logger.error(update.requestContext, "ContentStateCoalescer: flush failed for " + key + " : " + contents, e)
+            }
+            val latency = System.currentTimeMillis() - update.createdOn
+            flushLatencyTotal.addAndGet(latency)
+            flushLatencyMax.accumulateAndGet(latency, new java.util.function.LongBinaryOperator {
+                override def applyAsLong(left: Long, right: Long): Long = Math.max(left, right)
+            })
+        }
+    }
+
+    /** Writes all buffered updates on the calling thread, e.g. on shutdown. */
+    def flushAll(): Unit = pending.asScala.toList.foreach(entry => flush(entry._1, entry._2))
+
+    def snapshot(): java.util.Map[String, AnyRef] = {
+        val flushes = flushed.get() + failed.get()
+        val snapshot = new java.util.TreeMap[String, AnyRef]()
+        snapshot.put("window", window.asInstanceOf[AnyRef])
+        snapshot.put("pending", pending.size().asInstanceOf[AnyRef])
+        snapshot.put("buffered", buffered.get().asInstanceOf[AnyRef])
+        snapshot.put("merged", merged.get().asInstanceOf[AnyRef])
+        snapshot.put("flushed", flushed.get().asInstanceOf[AnyRef])
+        snapshot.put("failed", failed.get().asInstanceOf[AnyRef])
+        snapshot.put("flushLatencyAvg", (if (flushes > 0) flushLatencyTotal.get() / flushes else 0L).asInstanceOf[AnyRef])
+        snapshot.put("flushLatencyMax", flushLatencyMax.get().asInstanceOf[AnyRef])
+        snapshot
+    }
+
+    private class PendingUpdate(val requestContext: RequestContext, val userId: String, val batchId: String, val courseId: String,
+                                val write: (RequestContext, String, String, String, java.util.List[java.util.Map[String, AnyRef]]) => Unit) {
+        val createdOn: Long = System.currentTimeMillis()
+        val contents = new java.util.LinkedHashMap[String, java.util.Map[String, AnyRef]]()
+        var closed = false
+
+        def merge(content: java.util.Map[String, AnyRef]): Unit = {
+            val contentId = content.getOrDefault(JsonKey.CONTENT_ID, "").asInstanceOf[String]
+            val previous = contents.get(contentId)
+            if (null == previous) {
+                buffered.incrementAndGet()
+                contents.put(contentId, new java.util.HashMap[String, AnyRef](content))
+            } else {
+                merged.incrementAndGet()
+                contents.put(contentId, ContentStateCoalescer.mergeContent(previous, content))
+            }
+        }
+    }
+}
+
+object ContentStateCoalescer {
+
+    private val dateFormatter = new ThreadLocal[SimpleDateFormat] {
+        override def initialValue(): SimpleDateFormat = ProjectUtil.getDateFormatter
+    }
+
+    private val instance = new ContentStateCoalescer(ConfigSnapshot.getLong(JsonKey.SUNBIRD_CONTENT_STATE_COALESCE_WINDOW, 0L),
+        ConfigSnapshot.getInt(JsonKey.SUNBIRD_CONTENT_STATE_FLUSH_POOL_SIZE, 4))
+
+    if (instance.isEnabled) {
+        Runtime.getRuntime.addShutdownHook(new Thread(new Runnable {
+            override def run(): Unit = instance.flushAll()
+        }, "content-state-flush-shutdown"))
+    }
+
+    def getInstance: ContentStateCoalescer = instance
+
+    /** @return the newer content, with the highest progress and status and the latest times of both */
+    def mergeContent(previous: java.util.Map[String, AnyRef], newer: java.util.Map[String, AnyRef]): java.util.Map[String, AnyRef] = {
+        val result = new java.util.HashMap[String, AnyRef](previous)
+        result.putAll(newer)
+        List(JsonKey.PROGRESS, JsonKey.STATUS).foreach(key => {
+            if (previous.containsKey(key) || newer.containsKey(key))
+                result.put(key, Math.max(getInt(previous, key), getInt(newer, key)).asInstanceOf[AnyRef])
+        })
+        List(JsonKey.LAST_ACCESS_TIME, JsonKey.LAST_COMPLETED_TIME).foreach(key => {
+            val latest = getLatest(previous.get(key).asInstanceOf[String], newer.get(key).asInstanceOf[String])
+            if (null != latest) result.put(key, latest)
+        })
+        result
+    }
+
+    private def getInt(content: java.util.Map[String, AnyRef], key: String): Int =
+        Option(content.get(key).asInstanceOf[Number]).map(_.intValue()).getOrElse(0)
+
+    private def getLatest(previous: String, newer: String): String = {
+        if (StringUtils.isBlank(previous) || StringUtils.equalsIgnoreCase(JsonKey.NULL, previous)) newer
+        else if (StringUtils.isBlank(newer) || StringUtils.equalsIgnoreCase(JsonKey.NULL, newer)) previous
+        else {
+            try {
+                if (dateFormatter.get.parse(previous).after(dateFormatter.get.parse(newer))) previous else newer
+            } catch {
+                case _: java.text.ParseException => newer
+            }
+        }
+    }
+}
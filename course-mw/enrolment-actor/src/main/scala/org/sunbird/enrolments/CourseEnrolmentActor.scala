@@ -6,6 +6,8 @@ import java.time.format.DateTimeFormatter
 import java.time.{LocalDate, LocalDateTime, LocalTime}
 import java.util
 import java.util.Date
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.{Executors, TimeUnit, TimeoutException}
 
 import akka.actor.ActorRef
 import com.fasterxml.jackson.databind.ObjectMapper
@@ -16,8 +18,9 @@ import org.sunbird.common.exception.ProjectCommonException
 import org.sunbird.common.models.response.Response
 import org.sunbird.common.models.util.ProjectUtil.EnrolmentType
 import org.sunbird.common.models.util._
-import org.sunbird.common.request.{Request, RequestContext}
+import org.sunbird.common.request.{Request, RequestContext, RequestDeadline}
 import org.sunbird.common.responsecode.ResponseCode
+import org.sunbird.common.util.PostCommitExecutor
 import org.sunbird.learner.actors.coursebatch.dao.impl.{CourseBatchDaoImpl, UserCoursesDaoImpl}
 import org.sunbird.learner.actors.coursebatch.dao.{CourseBatchDao, UserCoursesDao}
 import org.sunbird.learner.actors.group.dao.impl.GroupDaoImpl
@@ -29,6 +32,8 @@ import org.sunbird.telemetry.util.TelemetryUtil
 
 import scala.collection.JavaConversions._
 import scala.collection.JavaConverters._
+import scala.concurrent.duration.Duration
+import scala.concurrent.{Await, ExecutionContext, Future, blocking}
 
 class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") courseBatchNotificationActorRef: ActorRef
                                     )(implicit val  cacheUtil: RedisCacheUtil ) extends BaseEnrolmentActor {
@@ -40,10 +45,12 @@ class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") c
     var courseBatchDao: CourseBatchDao = new CourseBatchDaoImpl()
     var userCoursesDao: UserCoursesDao = new UserCoursesDaoImpl()
     var groupDao: GroupDaoImpl = new GroupDaoImpl()
-    val isCacheEnabled = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("user_enrolments_response_cache_enable")))
-        (ProjectUtil.getConfigValue("user_enrolments_response_cache_enable")).toBoolean else true
-    val ttl: Int = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("user_enrolments_response_cache_ttl")))
-        (ProjectUtil.getConfigValue("user_enrolments_response_cache_ttl")).toInt else 60
+    val isCacheEnabled = ConfigSnapshot.getBoolean("user_enrolments_response_cache_enable", true)
+    val ttl: Int = ConfigSnapshot.getInt("user_enrolments_response_cache_ttl", 60)
+    private val mapper = new ObjectMapper()
+    private val dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd")
+    var readContext: ExecutionContext = CourseEnrolmentActor.readContext
+    var postCommit: PostCommitExecutor = PostCommitExecutor.getInstance()
 
 
     override def preStart { println("Starting CourseEnrolmentActor") }
@@ -74,16 +81,12 @@ class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") c
         val courseId: String = request.get(JsonKey.COURSE_ID).asInstanceOf[String]
         val userId: String = request.get(JsonKey.USER_ID).asInstanceOf[String]
         val batchId: String = request.get(JsonKey.BATCH_ID).asInstanceOf[String]
-        val batchData: CourseBatch = courseBatchDao.readById( courseId, batchId, request.getRequestContext)
-        val enrolmentData: UserCourses = userCoursesDao.read(request.getRequestContext, userId, courseId, batchId)
+        val (batchData, enrolmentData) = readBatchAndEnrolment(userId, courseId, batchId, request.getRequestContext)
         validateEnrolment(batchData, enrolmentData, true)
         val data: java.util.Map[String, AnyRef] = createUserEnrolmentMap(userId, courseId, batchId, enrolmentData, request.getContext.getOrDefault(JsonKey.REQUEST_ID, "").asInstanceOf[String])
         upsertEnrollment(userId, courseId, batchId, data, (null == enrolmentData), request.getRequestContext)
-        logger.info(request.getRequestContext, "CourseEnrolmentActor :: enroll :: Deleting redis for key " + getCacheKey(userId))
-        cacheUtil.delete(getCacheKey(userId))
+        submitPostCommit(userId, courseId, batchId, batchData, data, "enrol", JsonKey.CREATE, JsonKey.ADD, request)
         sender().tell(successResponse(), self)
-        generateTelemetryAudit(userId, courseId, batchId, data, "enrol", JsonKey.CREATE, request.getContext)
-        notifyUser(userId, batchData, JsonKey.ADD)
     }
     
     
@@ -91,17 +94,60 @@ class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") c
         val courseId: String = request.get(JsonKey.COURSE_ID).asInstanceOf[String]
         val userId: String = request.get(JsonKey.USER_ID).asInstanceOf[String]
         val batchId: String = request.get(JsonKey.BATCH_ID).asInstanceOf[String]
-        val batchData: CourseBatch = courseBatchDao.readById(courseId, batchId, request.getRequestContext)
-        val enrolmentData: UserCourses = userCoursesDao.read(request.getRequestContext, userId, courseId, batchId)
+        val (batchData, enrolmentData) = readBatchAndEnrolment(userId, courseId, batchId, request.getRequestContext)
         getUpdatedStatus(enrolmentData)
         validateEnrolment(batchData, enrolmentData, false)
         val data: java.util.Map[String, AnyRef] = new java.util.HashMap[String, AnyRef]() {{ put(JsonKey.ACTIVE, ProjectUtil.ActiveStatus.INACTIVE.getValue.asInstanceOf[AnyRef]) }}
         upsertEnrollment(userId,courseId, batchId, data, false, request.getRequestContext)
-        logger.info(request.getRequestContext, "CourseEnrolmentActor :: unEnroll :: Deleting redis for key " + getCacheKey(userId))
-        cacheUtil.delete(getCacheKey(userId))
+        submitPostCommit(userId, courseId, batchId, batchData, data, "unenrol", JsonKey.UPDATE, JsonKey.REMOVE, request)
         sender().tell(successResponse(), self)
-        generateTelemetryAudit(userId, courseId, batchId, data, "unenrol", JsonKey.UPDATE, request.getContext)
-        notifyUser(userId, batchData, JsonKey.REMOVE)
+    }
+
+    /**
+     * Reads the batch on the read context while the enrolment is read on the actor thread, so the two
+     * Cassandra round trips overlap. The request deadline is carried over to the reading thread, and
+     * the actor waits for the batch at most until the deadline, or sunbird_enrolment_read_timeout
+     * milliseconds if the request has none.
+     */
+    def readBatchAndEnrolment(userId: String, courseId: String, batchId: String, requestContext: RequestContext): (CourseBatch, UserCourses) = {
+        val batchFuture: Future[CourseBatch] = Future {
+            blocking {
+                RequestDeadline.set(requestContext)
+                try courseBatchDao.readById(courseId, batchId, requestContext)
+                finally RequestDeadline.clear()
+            }
+        }(readContext)
+        val enrolmentData: UserCourses = userCoursesDao.read(requestContext, userId, courseId, batchId)
+        val waitMillis = if (null != requestContext && requestContext.getDeadline > 0)
+            Math.max(0L, requestContext.getDeadline - System.currentTimeMillis()) else CourseEnrolmentActor.readTimeout
+        val batchData = try Await.result(batchFuture, Duration(waitMillis, TimeUnit.MILLISECONDS)) catch {
+            case _: TimeoutException =>
+                logger.info(requestContext, "CourseEnrolmentActor :: readBatchAndEnrolment :: batch read did not complete within " + waitMillis + " ms")
+                throw RequestDeadline.exceeded()
+        }
+        (batchData, enrolmentData)
+    }
+
+    /**
+     * Cache invalidation, telemetry and notification of a committed (un)enrolment. They are only
+     * queued here and run off the request path, each retried on failure, and do not fail the request.
+     */
+    def submitPostCommit(userId: String, courseId: String, batchId: String, batchData: CourseBatch, data: java.util.Map[String, AnyRef],
+                         correlation: String, state: String, operationType: String, request: Request): Unit = {
+        val requestContext = request.getRequestContext
+        val telemetryContext = new java.util.HashMap[String, AnyRef](request.getContext)
+        postCommit.submit("enrolmentCacheInvalidation", requestContext, new Runnable {
+            override def run(): Unit = {
+                logger.info(requestContext, "CourseEnrolmentActor :: " + correlation + " :: Deleting redis for key " + getCacheKey(userId))
+                cacheUtil.delete(getCacheKey(userId))
+            }
+        })
+        postCommit.submit("enrolmentTelemetry", requestContext, new Runnable {
+            override def run(): Unit = generateTelemetryAudit(userId, courseId, batchId, data, correlation, state, telemetryContext)
+        })
+        postCommit.submit("enrolmentNotification", requestContext, new Runnable {
+            override def run(): Unit = notifyUser(userId, batchData, operationType)
+        })
     }
 
     def list(request: Request): Unit = {
@@ -124,6 +170,10 @@ class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") c
         val requestBody: String =  prepareSearchRequest(courseIds, request)
         val searchResult:java.util.Map[String, AnyRef] = ContentSearchUtil.searchContentSync(request.getRequestContext, request.getContext.getOrDefault(JsonKey.URL_QUERY_STRING,"").asInstanceOf[String], requestBody, request.get(JsonKey.HEADER).asInstanceOf[java.util.Map[String, String]])
         val coursesList: java.util.List[java.util.Map[String, AnyRef]] = searchResult.getOrDefault(JsonKey.CONTENTS, new java.util.ArrayList[java.util.Map[String, AnyRef]]()).asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]
+        mergeCourseDetails(activeEnrolments, coursesList)
+    }
+
+    def mergeCourseDetails(activeEnrolments: java.util.List[java.util.Map[String, AnyRef]], coursesList: java.util.List[java.util.Map[String, AnyRef]]): java.util.List[java.util.Map[String, AnyRef]] = {
         val coursesMap = {
             if(CollectionUtils.isNotEmpty(coursesList)) {
                 coursesList.map(ev => ev.get(JsonKey.IDENTIFIER).asInstanceOf[String] -> ev).toMap
@@ -157,7 +207,7 @@ class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") c
                 put(JsonKey.LIMIT, courseIds.size().asInstanceOf[AnyRef])
             }})
         }}
-        new ObjectMapper().writeValueAsString(searchRequest)
+        mapper.writeValueAsString(searchRequest)
     }
 
     def addBatchDetails(enrolmentList: util.List[util.Map[String, AnyRef]], request: Request): util.List[util.Map[String, AnyRef]] = {
@@ -198,10 +248,10 @@ class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") c
         if(EnrolmentType.inviteOnly.getVal.equalsIgnoreCase(batchData.getEnrollmentType))
             ProjectCommonException.throwClientErrorException(ResponseCode.enrollmentTypeValidation, ResponseCode.enrollmentTypeValidation.getErrorMessage)
         
-        if((2 == batchData.getStatus) || (null != batchData.getEndDate && LocalDateTime.now().isAfter(LocalDate.parse(batchData.getEndDate, DateTimeFormatter.ofPattern("yyyy-MM-dd")).atTime(LocalTime.MAX))))
+        if((2 == batchData.getStatus) || (null != batchData.getEndDate && LocalDateTime.now().isAfter(LocalDate.parse(batchData.getEndDate, dateFormatter).atTime(LocalTime.MAX))))
             ProjectCommonException.throwClientErrorException(ResponseCode.courseBatchAlreadyCompleted, ResponseCode.courseBatchAlreadyCompleted.getErrorMessage)
         
-        if(isEnrol && null != batchData.getEnrollmentEndDate && LocalDateTime.now().isAfter(LocalDate.parse(batchData.getEnrollmentEndDate, DateTimeFormatter.ofPattern("yyyy-MM-dd")).atTime(LocalTime.MAX)))
+        if(isEnrol && null != batchData.getEnrollmentEndDate && LocalDateTime.now().isAfter(LocalDate.parse(batchData.getEnrollmentEndDate, dateFormatter).atTime(LocalTime.MAX)))
             ProjectCommonException.throwClientErrorException(ResponseCode.courseBatchEnrollmentDateEnded, ResponseCode.courseBatchEnrollmentDateEnded.getErrorMessage)
         
         if(isEnrol && null != enrolmentData && enrolmentData.isActive) ProjectCommonException.throwClientErrorException(ResponseCode.userAlreadyEnrolledCourse, ResponseCode.userAlreadyEnrolledCourse.getErrorMessage)
@@ -332,6 +382,12 @@ class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") c
         this
     }
 
+    def setPipeline(readContext: ExecutionContext, postCommit: PostCommitExecutor) = {
+        this.readContext = readContext
+        this.postCommit = postCommit
+        this
+    }
+
 
     def getUpdatedStatus(enrolmentData: UserCourses) = {
         val query = "{\"request\": {\"filters\":{\"identifier\": \"" + enrolmentData.getCourseId +"\", \"status\": \"Live\"},\"fields\": [\"leafNodesCount\"],\"limit\": 1}}"
@@ -344,4 +400,19 @@ class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") c
     }
 }
 
+object CourseEnrolmentActor {
+    private val readTimeout: Long = ConfigSnapshot.getLong(JsonKey.SUNBIRD_ENROLMENT_READ_TIMEOUT, 10000L)
 
+    /** Batch reads block on Cassandra, so they run on their own threads and not on the actor dispatcher. */
+    private lazy val readContext: ExecutionContext = {
+        val threadCount = new AtomicInteger()
+        ExecutionContext.fromExecutorService(Executors.newFixedThreadPool(
+            Math.max(1, ConfigSnapshot.getInt(JsonKey.SUNBIRD_ENROLMENT_READ_POOL_SIZE, 8)), new java.util.concurrent.ThreadFactory {
+                override def newThread(runnable: Runnable): Thread = {
+                    val thread = new Thread(runnable, "enrolment-read-" + threadCount.incrementAndGet())
+                    thread.setDaemon(true)
+                    thread
+                }
+            }))
+    }
+}
@@ -12,6 +12,7 @@ import org.sunbird.common.models.util.ProjectUtil.getConfigValue
 import org.sunbird.common.models.util.{JsonKey, LoggerEnum, LoggerUtil, ProjectLogger}
 import org.sunbird.common.request.{HeaderParam, Request}
 import org.sunbird.common.responsecode.ResponseCode
+import org.sunbird.common.util.OutboundHttp
 import org.sunbird.keys.SunbirdKey
 
 class GroupAggregatesUtil {
@@ -33,7 +34,7 @@ class GroupAggregatesUtil {
       }}
 
       logger.info(request.getRequestContext, "GroupAggregatesActor:getGroupDetails : Read request group : " + request.get(SunbirdKey.GROUPID))
-      val groupResponse = Unirest.get(requestUrl).headers(headers).asString
+      val groupResponse = OutboundHttp.execute("group", Unirest.get(requestUrl).headers(headers))
 
       if ( null== groupResponse || groupResponse.getStatus != ResponseCode.OK.getResponseCode) {
         logger.info(request.getRequestContext, "GroupAggregatesActor:getGroupDetails : groupResponse.getBody : " + groupResponse.getBody)
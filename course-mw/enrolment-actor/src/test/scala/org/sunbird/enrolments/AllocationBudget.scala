@@ -0,0 +1,62 @@
+package org.sunbird.enrolments
+
+import java.lang.management.ManagementFactory
+import java.lang.reflect.{InvocationHandler, Method, Proxy}
+
+import scala.reflect.ClassTag
+
+/**
+ * Measures the bytes allocated by the current thread for one call of a request path, using the
+ * HotSpot ThreadMXBean. Each measurement warms the path up first and returns the average over
+ * the measured iterations, so that class loading and lazy initialisation are not counted.
+ */
+object AllocationBudget {
+
+    private val threadBean = ManagementFactory.getThreadMXBean match {
+        case bean: com.sun.management.ThreadMXBean if bean.isThreadAllocatedMemorySupported =>
+            bean.setThreadAllocatedMemoryEnabled(true)
+            Some(bean)
+        case _ => None
+    }
+
+    val warmup: Int = 200
+    val iterations: Int = 500
+
+    def isSupported: Boolean = threadBean.isDefined
+
+    /**
+     * @param setup builds the input of an iteration, not counted
+     * @param op the request path to measure
+     * @return average bytes allocated by one call of op
+     */
+    def measure[T](setup: () => T)(op: T => Any): Long = {
+        val bean = threadBean.getOrElse(throw new UnsupportedOperationException("Thread allocation measurement is not supported"))
+        val threadId = Thread.currentThread().getId
+        (1 to warmup).foreach(_ => op(setup()))
+        var total = 0L
+        (1 to iterations).foreach(_ => {
+            val input = setup()
+            val start = bean.getThreadAllocatedBytes(threadId)
+            op(input)
+            total += bean.getThreadAllocatedBytes(threadId) - start
+        })
+        total / iterations
+    }
+
+    /**
+     * Stand-in for a service interface which answers the named methods and returns null for the
+     * rest. Unlike a mock it does not record the calls, so it adds next to nothing to the measurement.
+     */
+    def standIn[T](answers: PartialFunction[String, AnyRef])(implicit tag: ClassTag[T]): T = {
+        val handler = new InvocationHandler {
+            override def invoke(proxy: Any, method: Method, args: Array[AnyRef]): AnyRef =
+                method.getName match {
+                    case "hashCode" => Int.box(System.identityHashCode(proxy))
+                    case "equals" => Boolean.box(proxy == args(0))
+                    case "toString" => tag.runtimeClass.getSimpleName + "StandIn"
+                    case name => answers.applyOrElse(name, (_: String) => null)
+                }
+        }
+        Proxy.newProxyInstance(tag.runtimeClass.getClassLoader, Array(tag.runtimeClass), handler).asInstanceOf[T]
+    }
+}
@@ -0,0 +1,153 @@
+package org.sunbird.enrolments
+
+import akka.actor.ActorSystem
+import akka.testkit.{TestActorRef, TestProbe}
+import org.scalatest.{BeforeAndAfterAll, FlatSpec, Matchers}
+import org.sunbird.cache.util.RedisCacheUtil
+import org.sunbird.cassandra.CassandraOperation
+import org.sunbird.common.inf.ElasticSearchService
+import org.sunbird.common.models.response.Response
+import org.sunbird.common.models.util.JsonKey
+import org.sunbird.common.request.{Request, RequestContext}
+import org.sunbird.learner.actors.coursebatch.dao.UserCoursesDao
+import org.sunbird.learner.actors.group.dao.impl.GroupDaoImpl
+
+import scala.collection.JavaConverters._
+import scala.concurrent.Future
+
+/**
+ * Allocation budgets of the hot request paths. Each path runs on the test thread against in-memory
+ * stand-ins of Cassandra, Elasticsearch and the group activity table, and the bytes it allocates
+ * per call must stay within the budget. A change which makes a path allocate noticeably more, e.g.
+ * a mapper or formatter built per call, fails the build.
+ *
+ * The budgets are about twice the measured allocation, to absorb JVM and library differences. When
+ * a change legitimately needs more, raise the budget in the same change and say why.
+ */
+class AllocationBudgetTest extends FlatSpec with Matchers with BeforeAndAfterAll {
+    implicit val system: ActorSystem = ActorSystem.create("system")
+    val enrolmentCount = 20
+    val contentCount = 10
+
+    val enrolmentListBudget: Long = 120 * 1024
+    val contentStateUpdateBudget: Long = 170 * 1024
+    val batchSearchBudget: Long = 4 * 1024
+
+    override def afterAll(): Unit = {
+        system.terminate()
+    }
+
+    "Enrolment list assembly" should "stay within the allocation budget" in {
+        assume(AllocationBudget.isSupported, "thread allocation measurement is not supported")
+        val userDao = AllocationBudget.standIn[UserCoursesDao] { case "listEnrolments" => enrolments() }
+        val actor = TestActorRef[CourseEnrolmentActor](new CourseEnrolmentActor(null)(null.asInstanceOf[RedisCacheUtil])
+          .setDao(null, userDao, new GroupActivityStandIn()).setEsService(batchSearchStandIn()).asInstanceOf[CourseEnrolmentActor]).underlyingActor
+        val request = getListRequest()
+        val courses = courseSearchResult()
+        val bytes = AllocationBudget.measure(() => ())(_ => {
+            val activeEnrolments = actor.getActiveEnrollments("user1", request.getRequestContext)
+            val courseIds = activeEnrolments.asScala.map(e => e.get(JsonKey.COURSE_ID).asInstanceOf[String]).asJava
+            actor.prepareSearchRequest(courseIds, request)
+            val enrolmentList = actor.mergeCourseDetails(activeEnrolments, courses)
+            val updatedList = actor.updateProgressData(enrolmentList, "user1", courseIds, request.getRequestContext)
+            actor.addBatchDetails(updatedList, request)
+        })
+        withClue(s"Enrolment list assembly allocates $bytes bytes per call: ") { bytes should be <= enrolmentListBudget }
+    }
+
+    "Content state update" should "stay within the allocation budget" in {
+        assume(AllocationBudget.isSupported, "thread allocation measurement is not supported")
+        val existing = new Response()
+        existing.put(JsonKey.RESPONSE, contents(status = 1))
+        val cassandraOperation = AllocationBudget.standIn[CassandraOperation] { case "getRecords" => existing }
+        val actorRef = TestActorRef[ContentConsumptionActor](new ContentConsumptionActor()
+          .setCassandraOperation(cassandraOperation, false).setEsService(batchSearchStandIn()).asInstanceOf[ContentConsumptionActor])
+        val probe = TestProbe()
+        val bytes = AllocationBudget.measure(() => getStateUpdateRequest())(request => actorRef.tell(request, probe.ref))
+        probe.receiveN(1).head shouldBe a[Response]
+        withClue(s"Content state update allocates $bytes bytes per call: ") { bytes should be <= contentStateUpdateBudget }
+    }
+
+    "Batch search" should "stay within the allocation budget" in {
+        assume(AllocationBudget.isSupported, "thread allocation measurement is not supported")
+        val actor = TestActorRef[ContentConsumptionActor](new ContentConsumptionActor().setEsService(batchSearchStandIn()).asInstanceOf[ContentConsumptionActor]).underlyingActor
+        val batchIds = java.util.Arrays.asList("0123")
+        val fields = java.util.Arrays.asList(JsonKey.NAME, JsonKey.BATCH_ID)
+        val bytes = AllocationBudget.measure(() => ())(_ => actor.getBatches(null, batchIds, fields))
+        withClue(s"Batch search allocates $bytes bytes per call: ") { bytes should be <= batchSearchBudget }
+    }
+
+    class GroupActivityStandIn extends GroupDaoImpl {
+        private val response = new Response()
+        response.put(JsonKey.RESPONSE, new java.util.ArrayList[java.util.Map[String, AnyRef]]() {{
+            (1 to enrolmentCount).foreach(i => add(new java.util.HashMap[String, AnyRef]() {{
+                put("activity_id", "do_" + i)
+                put("context_id", "cb:0123")
+                put("agg", new java.util.HashMap[String, AnyRef]() {{ put("completedCount", Int.box(i % 5)) }})
+            }}))
+        }})
+
+        override def readEntries(activityType: String, userId: java.util.List[String], activityIds: java.util.List[String], requestContext: RequestContext): Response = response
+    }
+
+    def batchSearchStandIn(): ElasticSearchService = {
+        val result = Future.successful(new java.util.HashMap[String, AnyRef]() {{
+            put(JsonKey.CONTENT, new java.util.ArrayList[java.util.Map[String, AnyRef]]() {{
+                add(new java.util.HashMap[String, AnyRef]() {{
+                    put(JsonKey.BATCH_ID, "0123")
+                    put(JsonKey.IDENTIFIER, "0123")
+                    put(JsonKey.NAME, "Batch")
+                    put(JsonKey.STATUS, Int.box(1))
+                }})
+            }})
+        }}.asInstanceOf[java.util.Map[String, AnyRef]])
+        AllocationBudget.standIn[ElasticSearchService] { case "search" => result }
+    }
+
+    def enrolments(): java.util.List[java.util.Map[String, AnyRef]] = new java.util.ArrayList[java.util.Map[String, AnyRef]]() {{
+        (1 to enrolmentCount).foreach(i => add(new java.util.HashMap[String, AnyRef]() {{
+            put(JsonKey.USER_ID, "user1")
+            put(JsonKey.COURSE_ID, "do_" + i)
+            put(JsonKey.BATCH_ID, "0123")
+            put(JsonKey.ACTIVE, Boolean.box(i % 4 != 0))
+            put("leafNodesCount", Int.box(5))
+        }}))
+    }}
+
+    def courseSearchResult(): java.util.List[java.util.Map[String, AnyRef]] = new java.util.ArrayList[java.util.Map[String, AnyRef]]() {{
+        (1 to enrolmentCount).foreach(i => add(new java.util.HashMap[String, AnyRef]() {{
+            put(JsonKey.IDENTIFIER, "do_" + i)
+            put(JsonKey.NAME, "Course " + i)
+            put(JsonKey.DESCRIPTION, "Course description")
+            put(JsonKey.LEAF_NODE_COUNT, Int.box(5))
+            put(JsonKey.APP_ICON, "https://example.com/icon.png")
+        }}))
+    }}
+
+    def contents(status: Int): java.util.List[java.util.Map[String, AnyRef]] = new java.util.ArrayList[java.util.Map[String, AnyRef]]() {{
+        (1 to contentCount).foreach(i => add(new java.util.HashMap[String, AnyRef]() {{
+            put("courseId", "do_123")
+            put("batchId", "0123")
+            put("contentId", "do_" + i)
+            put("status", Int.box(status))
+            put("lastAccessTime", "2020-08-12 16:08:45:125+0530")
+        }}))
+    }}
+
+    def getListRequest(): Request = {
+        val request = new Request
+        request.setOperation("listEnrol")
+        request.put(JsonKey.USER_ID, "user1")
+        request.getContext.put(JsonKey.BATCH_DETAILS, Array[String]("name,startDate"))
+        request
+    }
+
+    def getStateUpdateRequest(): Request = {
+        val request = new Request
+        request.setOperation("updateConsumption")
+        request.put("userId", "user1")
+        request.put("requestedBy", "user1")
+        request.put("contents", contents(status = 2))
+        request
+    }
+}
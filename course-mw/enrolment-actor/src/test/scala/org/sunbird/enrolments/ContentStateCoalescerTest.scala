@@ -0,0 +1,59 @@
+package org.sunbird.enrolments
+
+import java.util.concurrent.{CountDownLatch, TimeUnit}
+
+import org.scalatest.{FlatSpec, Matchers}
+import org.sunbird.common.request.RequestContext
+
+import scala.collection.JavaConverters._
+
+class ContentStateCoalescerTest extends FlatSpec with Matchers {
+
+    "mergeContent" should "keep the highest progress and status and the latest times" in {
+        val previous = content("do_1", 80, 2, "2021-01-02 10:00:00:000+0000", "2021-01-02 10:00:00:000+0000")
+        val newer = content("do_1", 40, 1, "2021-01-03 10:00:00:000+0000", null)
+        val result = ContentStateCoalescer.mergeContent(previous, newer)
+        result.get("progress") should be (80)
+        result.get("status") should be (2)
+        result.get("lastAccessTime") should be ("2021-01-03 10:00:00:000+0000")
+        result.get("lastCompletedTime") should be ("2021-01-02 10:00:00:000+0000")
+    }
+
+    "ContentStateCoalescer" should "write the updates of one window once" in {
+        val coalescer = new ContentStateCoalescer(100, 1)
+        val done = new CountDownLatch(1)
+        val writes = new java.util.ArrayList[java.util.List[java.util.Map[String, AnyRef]]]()
+        val write = (requestContext: RequestContext, userId: String, batchId: String, courseId: String, contents: java.util.List[java.util.Map[String, AnyRef]]) => {
+            writes.add(contents)
+            done.countDown()
+        }
+        coalescer.add("user1", "0123", "do_123", List(content("do_1", 10, 1, null, null), content("do_2", 20, 1, null, null)).asJava, null, write)
+        coalescer.add("user1", "0123", "do_123", List(content("do_1", 30, 1, null, null)).asJava, null, write)
+        done.await(5, TimeUnit.SECONDS) should be (true)
+        Thread.sleep(50)
+        writes.size() should be (1)
+        writes.get(0).asScala.map(c => c.get("contentId") -> c.get("progress")).toMap should be (Map("do_1" -> 30, "do_2" -> 20))
+        val snapshot = coalescer.snapshot()
+        snapshot.get("buffered") should be (2L)
+        snapshot.get("merged") should be (1L)
+        snapshot.get("flushed") should be (1L)
+        snapshot.get("pending") should be (0)
+    }
+
+    "ContentStateCoalescer" should "count a failed flush" in {
+        val coalescer = new ContentStateCoalescer(60000, 1)
+        coalescer.add("user1", "0123", "do_123", List(content("do_1", 10, 1, null, null)).asJava, null,
+            (_: RequestContext, _: String, _: String, _: String, _: java.util.List[java.util.Map[String, AnyRef]]) => throw new IllegalStateException("failed"))
+        coalescer.flushAll()
+        coalescer.snapshot().get("failed") should be (1L)
+    }
+
+    def content(contentId: String, progress: Int, status: Int, lastAccessTime: String, lastCompletedTime: String): java.util.Map[String, AnyRef] =
+        new java.util.HashMap[String, AnyRef]() {{
+            put("contentId", contentId)
+            put("progress", progress.asInstanceOf[AnyRef])
+            put("status", status.asInstanceOf[AnyRef])
+            if (null != lastAccessTime) put("lastAccessTime", lastAccessTime)
+            if (null != lastCompletedTime) put("lastCompletedTime", lastCompletedTime)
+        }}
+}
@@ -5,7 +5,7 @@ import java.util.concurrent.TimeUnit
 import akka.actor.{ActorSystem, Props}
 import akka.testkit.TestKit
 import org.scalamock.scalatest.MockFactory
-import org.scalatest.{FlatSpec, Matchers}
+import org.scalatest.{BeforeAndAfterEach, FlatSpec, Matchers}
 import org.sunbird.cassandra.CassandraOperation
 import org.sunbird.common.Constants
 import org.sunbird.common.exception.ProjectCommonException
@@ -15,13 +15,16 @@ import org.sunbird.common.models.util.ProjectUtil
 import org.sunbird.common.request.{Request, RequestContext}
 import org.sunbird.common.responsecode.ResponseCode
 import org.sunbird.dto.SearchDTO
+import org.sunbird.learner.util.CourseBatchCache
 
 import scala.concurrent.ExecutionContext
 import scala.concurrent.duration.FiniteDuration
 
-class CourseConsumptionActorTest extends FlatSpec with Matchers with MockFactory {
+class CourseConsumptionActorTest extends FlatSpec with Matchers with MockFactory with BeforeAndAfterEach {
     implicit val ec: ExecutionContext = ExecutionContext.global
     val system = ActorSystem.create("system")
+
+    override def beforeEach(): Unit = CourseBatchCache.invalidateAll()
     
     "get Consumption" should "return success on not giving contentIds" in {
         val cassandraOperation = mock[CassandraOperation]
@@ -77,10 +80,42 @@ class CourseConsumptionActorTest extends FlatSpec with Matchers with MockFactory
         (cassandraOperation.getRecords(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*,*,*,*,*).returns(response)
         (cassandraOperation.batchInsertLogged(_:RequestContext, _: String, _: String, _: java.util.List[java.util.Map[String, AnyRef]])).expects(*,*,*,*)
         (cassandraOperation.updateRecordV2(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.Map[String, AnyRef], _: Boolean)).expects(*,"sunbird_courses", "user_enrolments",*,*,true)
-        val result = callActor(getStateUpdateRequest(), Props(new ContentConsumptionActor().setCassandraOperation(cassandraOperation, false).setEsService(esService)))
+        val result = callActor(getStateUpdateRequest(), Props(new ContentConsumptionActor().setCassandraOperation(cassandraOperation, false).setProgressUpdateMode(ContentConsumptionActor.LWT_MODE).setEsService(esService)))
+        assert(null!= result)
+    }
+
+    "update Consumption in checked mode" should "skip the progress update of a missing enrolment" in {
+        val cassandraOperation = mock[CassandraOperation]
+        val esService = mock[ElasticSearchService]
+        val emptyResponse = new Response()
+        emptyResponse.put("response", new java.util.ArrayList[java.util.Map[String, AnyRef]])
+        (esService.search(_:RequestContext, _: SearchDTO, _: String)).expects(*,*,*).returns(concurrent.Future{validBatchData()})
+        (cassandraOperation.getRecords(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*,*,*,*,*).returns(emptyResponse).twice()
+        (cassandraOperation.batchInsertLogged(_:RequestContext, _: String, _: String, _: java.util.List[java.util.Map[String, AnyRef]])).expects(*,*,*,*)
+        (cassandraOperation.updateRecordV2(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.Map[String, AnyRef], _: Boolean)).expects(*,*,*,*,*,*).never()
+        val result = callActor(getStateUpdateRequest("user2"), Props(new ContentConsumptionActor().setCassandraOperation(cassandraOperation, false).setProgressUpdateMode(ContentConsumptionActor.CHECKED_MODE).setEsService(esService)))
         assert(null!= result)
     }
 
+    "update Consumption in checked mode" should "update the progress without a lightweight transaction" in {
+        val cassandraOperation = mock[CassandraOperation]
+        val esService = mock[ElasticSearchService]
+        val enrolment = new Response()
+        enrolment.put("response", new java.util.ArrayList[java.util.Map[String, AnyRef]] {{
+            add(new java.util.HashMap[String, AnyRef] {{ put("userid", "user3") }})
+        }})
+        val emptyResponse = new Response()
+        emptyResponse.put("response", new java.util.ArrayList[java.util.Map[String, AnyRef]])
+        (esService.search(_:RequestContext, _: SearchDTO, _: String)).expects(*,*,*).returns(concurrent.Future{validBatchData()}).once()
+        (cassandraOperation.getRecords(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*,*,"user_content_consumption",*,*).returns(emptyResponse).twice()
+        (cassandraOperation.getRecords(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String])).expects(*,"sunbird_courses","user_enrolments",*,*).returns(enrolment).once()
+        (cassandraOperation.batchInsertLogged(_:RequestContext, _: String, _: String, _: java.util.List[java.util.Map[String, AnyRef]])).expects(*,*,*,*).twice()
+        (cassandraOperation.updateRecordV2(_:RequestContext, _: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.Map[String, AnyRef], _: Boolean)).expects(*,"sunbird_courses", "user_enrolments",*,*,false).twice()
+        val props = Props(new ContentConsumptionActor().setCassandraOperation(cassandraOperation, false).setProgressUpdateMode(ContentConsumptionActor.CHECKED_MODE).setEsService(esService))
+        assert(null!= callActor(getStateUpdateRequest("user3"), props))
+        assert(null!= callActor(getStateUpdateRequest("user3"), props))
+    }
+
     "update AssementScore " should "return success on updating the progress" in {
         val cassandraOperation = mock[CassandraOperation]
         val esService = mock[ElasticSearchService]
@@ -113,11 +148,11 @@ class CourseConsumptionActorTest extends FlatSpec with Matchers with MockFactory
         request
     }
 
-    def getStateUpdateRequest(): Request = {
+    def getStateUpdateRequest(userId: String = "user1"): Request = {
         val request = new Request
         request.setOperation("updateConsumption")
-        request.put("userId", "user1")
-        request.put("requestedBy", "user1")
+        request.put("userId", userId)
+        request.put("requestedBy", userId)
         request.put("contents", new java.util.ArrayList[java.util.Map[String, AnyRef]] {{
             add(new java.util.HashMap[String, AnyRef] {{
                 put("courseId", "do_123")
@@ -14,12 +14,14 @@ import org.sunbird.common.exception.ProjectCommonException
 import org.sunbird.common.models.response.Response
 import org.sunbird.common.request.{Request, RequestContext}
 import org.sunbird.common.responsecode.ResponseCode
+import org.sunbird.common.util.PostCommitExecutor
 import org.sunbird.learner.actors.coursebatch.dao.impl.{CourseBatchDaoImpl, UserCoursesDaoImpl}
 import org.sunbird.learner.actors.group.dao.impl.GroupDaoImpl
 import org.sunbird.learner.util.{ContentUtil, JsonUtil}
 import org.sunbird.models.course.batch.CourseBatch
 import org.sunbird.models.user.courses.UserCourses
 
+import scala.concurrent.ExecutionContext
 import scala.concurrent.duration.FiniteDuration
 
 class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
@@ -30,20 +32,37 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
     val groupDao = mock[GroupDaoImpl]
     val cacheUtil = mock[RedisCacheUtil]
     val dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd")
+    val sameThread = ExecutionContext.fromExecutor(new java.util.concurrent.Executor {
+        override def execute(command: Runnable): Unit = command.run()
+    })
 
     "CourseEnrolmentActor" should "return success on enrol" in {
         (courseDao.readById(_: String, _: String,_: RequestContext)).expects(*,*,*).returns(validCourseBatch())
         (userDao.read(_: RequestContext, _: String,_: String,_: String)).expects(*,*,*,*).returns(null)
         (userDao.insertV2(_: RequestContext, _: java.util.Map[String, AnyRef])).expects(*, *)
         (cacheUtil.delete(_: String)).expects(*).once()
-        val response = callActor(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActor(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(sameThread, PostCommitExecutor.inline())))
         assert("Success".equalsIgnoreCase(response.get("response").asInstanceOf[String]))
     }
 
+    "On batch read past the request deadline" should "return operation timeout" in  {
+        // the read pool is saturated, the batch read never starts
+        val stalled = ExecutionContext.fromExecutor(new java.util.concurrent.Executor {
+            override def execute(command: Runnable): Unit = ()
+        })
+        (userDao.read(_: RequestContext, _: String,_: String,_: String)).expects(*,*,*,*).returns(null)
+        val request = getEnrolRequest()
+        val requestContext = new RequestContext(null, null, null, null, null, "reqId", "false", "enrol")
+        requestContext.setDeadline(System.currentTimeMillis() + 200)
+        request.setRequestContext(requestContext)
+        val response = callActorForFailure(request, Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(stalled, PostCommitExecutor.inline())))
+        assert(response.getCode == ResponseCode.operationTimeout.getErrorCode)
+    }
+
     "On invalid course batch" should "return client error" in  {
         (courseDao.readById(_: String, _: String,_: RequestContext)).expects(*,*,*).returns(null)
         (userDao.read(_: RequestContext, _: String,_: String,_: String)).expects(*,*,*,*).returns(null)
-        val response = callActorForFailure(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActorForFailure(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(sameThread, PostCommitExecutor.inline())))
         assert(response.getResponseCode == ResponseCode.CLIENT_ERROR.getResponseCode)
     }
 
@@ -52,7 +71,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         courseBatch.setEnrollmentType("invite-only")
         (courseDao.readById(_: String, _: String,_: RequestContext)).expects(*,*,*).returns(courseBatch)
         (userDao.read(_: RequestContext, _: String,_: String,_: String)).expects(*,*,*,*).returns(null)
-        val response = callActorForFailure(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActorForFailure(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(sameThread, PostCommitExecutor.inline())))
         assert(response.getResponseCode == ResponseCode.CLIENT_ERROR.getResponseCode)
     }
 
@@ -61,7 +80,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         courseBatch.setStatus(2)
         (courseDao.readById(_: String, _: String, _:RequestContext)).expects(*,*,*).returns(courseBatch)
         (userDao.read(_: RequestContext, _: String,_: String,_: String)).expects(*,*,*,*).returns(null)
-        val response = callActorForFailure(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActorForFailure(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(sameThread, PostCommitExecutor.inline())))
         assert(response.getResponseCode == ResponseCode.CLIENT_ERROR.getResponseCode)
     }
 
@@ -71,7 +90,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         courseBatch.setEnrollmentEndDate("2019-01-01")
         (courseDao.readById(_: String, _: String, _:RequestContext)).expects(*,*,*).returns(courseBatch)
         (userDao.read(_: RequestContext, _: String,_: String,_: String)).expects(*,*,*,*).returns(null)
-        val response = callActorForFailure(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActorForFailure(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(sameThread, PostCommitExecutor.inline())))
         assert(response.getResponseCode == ResponseCode.CLIENT_ERROR.getResponseCode)
     }
 
@@ -81,7 +100,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         userCourse.setActive(true)
         (courseDao.readById(_: String, _: String, _:RequestContext)).expects(*,*,*).returns(courseBatch)
         (userDao.read(_: RequestContext, _: String,_: String,_: String)).expects(*,*,*,*).returns(userCourse)
-        val response = callActorForFailure(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActorForFailure(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(sameThread, PostCommitExecutor.inline())))
         assert(response.getResponseCode == ResponseCode.CLIENT_ERROR.getResponseCode)
     }
 
@@ -90,7 +109,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         courseBatch.setEndDate("2019-07-01")
         (courseDao.readById(_: String, _: String, _:RequestContext)).expects(*,*,*).returns(courseBatch)
         (userDao.read(_: RequestContext, _: String,_: String,_: String)).expects(*,*,*,*).returns(null)
-        val response = callActorForFailure(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActorForFailure(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(sameThread, PostCommitExecutor.inline())))
         assert(response.getResponseCode == ResponseCode.CLIENT_ERROR.getResponseCode)
     }
 
@@ -101,7 +120,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         (userDao.read(_: RequestContext, _: String,_: String,_: String)).expects(*,*,*,*).returns(userCourse)
         (userDao.updateV2(_: RequestContext, _: String,_: String,_: String, _: java.util.Map[String, AnyRef])).expects(*,*,*,*,*)
         (cacheUtil.delete(_: String)).expects(*).once()
-        val response = callActor(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActor(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(sameThread, PostCommitExecutor.inline())))
         assert("Success".equalsIgnoreCase(response.get("response").asInstanceOf[String]))
     }
 
@@ -112,7 +131,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         (userDao.read(_: RequestContext, _: String,_: String,_: String)).expects(*,*,*,*).returns(userCourse)
         (userDao.updateV2(_: RequestContext, _: String,_: String,_: String, _: java.util.Map[String, AnyRef])).expects(*,*,*,*,*)
         (cacheUtil.delete(_: String)).expects(*).once()
-        val response = callActor(getUnEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActor(getUnEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(sameThread, PostCommitExecutor.inline())))
         assert("Success".equalsIgnoreCase(response.get("response").asInstanceOf[String]))
     }
 
@@ -121,7 +140,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         userCourse.setActive(false)
         (courseDao.readById(_: String, _: String, _: RequestContext)).expects(*,*,*).returns(validCourseBatch())
         (userDao.read(_: RequestContext, _: String,_: String,_: String)).expects(*,*,*,*).returns(userCourse)
-        val response = callActorForFailure(getUnEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActorForFailure(getUnEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(sameThread, PostCommitExecutor.inline())))
         assert(response.getResponseCode == ResponseCode.CLIENT_ERROR.getResponseCode)
     }
 
@@ -133,7 +152,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         userCourse.setProgress(11)
         (courseDao.readById(_: String, _: String, _: RequestContext)).expects(*,*, *).returns(validCourseBatch())
         (userDao.read(_: RequestContext, _: String,_: String,_: String)).expects(*,*,*,*).returns(userCourse)
-        val response = callActorForFailure(getUnEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActorForFailure(getUnEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(sameThread, PostCommitExecutor.inline())))
         assert(response.getResponseCode == ResponseCode.CLIENT_ERROR.getResponseCode)
     }
 
@@ -145,7 +164,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         userCourse.setBatchId("0130598559365038081")
         (userDao.listEnrolments(_: RequestContext, _: String)).expects(*,*).returns(getEnrolmentLists())
         ((activityType: _root_.scala.Predef.String, userId: _root_.java.util.List[_root_.scala.Predef.String], activityIds: _root_.java.util.List[_root_.scala.Predef.String], requestContext: RequestContext) => groupDao.readEntries(activityType, userId, activityIds, requestContext)).expects(*, *, *, *).returns(getReadEntriesResponse)
-            val response = callActor(getListEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
+            val response = callActor(getListEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(sameThread, PostCommitExecutor.inline())))
         println(response)
         assert(null != response)
     }
@@ -163,7 +182,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         
         (userDao.listEnrolments(_: RequestContext, _: String)).expects(*,*).returns(enrolmentsList)
         ((activityType: _root_.scala.Predef.String, userId: _root_.java.util.List[_root_.scala.Predef.String], activityIds: _root_.java.util.List[_root_.scala.Predef.String], requestContext: RequestContext) => groupDao.readEntries(activityType, userId, activityIds, requestContext)).expects(*, *, *, *).returns(groupResponse)
-        val response = callActor(getListEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActor(getListEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(sameThread, PostCommitExecutor.inline())))
         println(response)
         assert(null != response)
         // TODO: Unable to mock search response as it is static method, hence commented below line to run it in local.
@@ -179,7 +198,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         (cacheUtil.get(_: String, _: String => String, _: Int)).expects(*, *, *).returns(getRedisString())
         val request = getListEnrolRequest()
         request.getContext.put("cache", true.asInstanceOf[AnyRef])
-        val response = callActor(request, Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActor(request, Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(sameThread, PostCommitExecutor.inline())))
         println(response)
         assert(null != response)
     }
@@ -195,7 +214,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         (cacheUtil.set(_: String, _: String, _: Int)).expects(*, *, *).once()
         val request = getListEnrolRequest()
         request.getContext.put("cache", true.asInstanceOf[AnyRef])
-        val response = callActor(request, Props(new CourseEnrolmentActor(null)( cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActor(request, Props(new CourseEnrolmentActor(null)( cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(sameThread, PostCommitExecutor.inline())))
         println(response)
         assert(null != response)
     }
@@ -205,14 +224,14 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
         (userDao.read(_: RequestContext,_: String,_: String,_: String)).expects(*,*,*,*).returns(null)
         (userDao.insertV2(_: RequestContext,_: java.util.Map[String, AnyRef])).expects(*,*)
         (cacheUtil.delete(_: String)).expects(*).once()
-        val response = callActor(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActor(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(sameThread, PostCommitExecutor.inline())))
         assert("Success".equalsIgnoreCase(response.get("response").asInstanceOf[String]))
     }
 
     "CourseEnrolmentActor: enrol after batchEndDate" should "return Exception on enrol" in {
         (courseDao.readById(_: String, _: String,_: RequestContext)).expects(*,*,*).returns(getBatchWithInvalidBatchEndDate())
         (userDao.read(_: RequestContext,_: String,_: String,_: String)).expects(*,*,*,*).returns(null)
-        val response = callActorForFailure(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActorForFailure(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(sameThread, PostCommitExecutor.inline())))
         assert(response.getResponseCode == ResponseCode.CLIENT_ERROR.getResponseCode)
         assert(response.getMessage().equals(ResponseCode.courseBatchAlreadyCompleted.getErrorMessage))
     }
@@ -220,7 +239,7 @@ class CourseEnrolmentTest extends FlatSpec with Matchers with MockFactory {
     "CourseEnrolmentActor: enrol after enrolmentEndDate" should "return Exception on enrol" in {
         (courseDao.readById(_: String, _: String,_: RequestContext)).expects(*,*,*).returns(getBatchWithInvalidEnrolmentEndDate())
         (userDao.read(_: RequestContext,_: String,_: String,_: String)).expects(*,*,*,*).returns(null)
-        val response = callActorForFailure(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao)))
+        val response = callActorForFailure(getEnrolRequest(), Props(new CourseEnrolmentActor(null)(cacheUtil).setDao(courseDao, userDao, groupDao).setPipeline(sameThread, PostCommitExecutor.inline())))
         assert(response.getResponseCode == ResponseCode.CLIENT_ERROR.getResponseCode)
         assert(response.getMessage().equals(ResponseCode.courseBatchEnrollmentDateEnded.getErrorMessage))
     }
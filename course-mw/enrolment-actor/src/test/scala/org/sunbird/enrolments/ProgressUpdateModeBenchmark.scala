@@ -0,0 +1,72 @@
+package org.sunbird.enrolments
+
+import java.util.concurrent.TimeUnit
+
+import akka.actor.ActorSystem
+import akka.testkit.TestActorRef
+import org.sunbird.common.models.util.ProjectUtil
+import org.sunbird.helper.ServiceFactory
+import org.sunbird.learner.util.Util
+
+/**
+ * Compares the two progress update modes of [[ContentConsumptionActor]] against a live Cassandra:
+ * "lwt" (UPDATE ... IF EXISTS) and "checked" (existence looked up once, then plain UPDATEs). It
+ * creates enrolments under a throw away batch id in sunbird_courses.user_enrolments, updates each
+ * of them several times in both modes, and prints the throughput and latency percentiles.
+ *
+ * It is not run by the build. Point sunbird_cassandra_host / sunbird_cassandra_port at a test
+ * cluster and run it from the IDE or with
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.sunbird.enrolments.ProgressUpdateModeBenchmark -Dexec.args="1000 5"
+ * </pre>
+ *
+ * The arguments are the number of enrolments (default 1000) and the updates per enrolment (default 5).
+ */
+object ProgressUpdateModeBenchmark {
+
+    def main(args: Array[String]): Unit = {
+        val enrolments = if (args.length > 0) args(0).toInt else 1000
+        val updatesPerEnrolment = if (args.length > 1) args(1).toInt else 5
+        implicit val system: ActorSystem = ActorSystem.create("benchmark")
+        try {
+            Util.checkCassandraDbConnections()
+            val cassandraOperation = ServiceFactory.getInstance
+            val batchId = "benchmark_" + ProjectUtil.generateUniqueId()
+            (1 to enrolments).foreach(i => cassandraOperation.insertRecord(null, "sunbird_courses", "user_enrolments", new java.util.HashMap[String, AnyRef]() {{
+                put("userid", "user" + i)
+                put("courseid", "do_benchmark")
+                put("batchid", batchId)
+                put("active", java.lang.Boolean.TRUE)
+            }}))
+            println("mode     updates/s      p50 (ms)      p99 (ms)")
+            List(ContentConsumptionActor.LWT_MODE, ContentConsumptionActor.CHECKED_MODE).foreach(mode => {
+                val actor = TestActorRef[ContentConsumptionActor](new ContentConsumptionActor()
+                  .setCassandraOperation(cassandraOperation, false).setProgressUpdateMode(mode)).underlyingActor
+                val latencies = new Array[Long](enrolments * updatesPerEnrolment)
+                val start = System.nanoTime()
+                for (update <- 0 until updatesPerEnrolment; i <- 1 to enrolments) {
+                    val selectMap = new java.util.HashMap[String, AnyRef]() {{
+                        put("userId", "user" + i)
+                        put("courseId", "do_benchmark")
+                        put("batchId", batchId)
+                    }}
+                    val updateMap = new java.util.HashMap[String, AnyRef]() {{
+                        put("lastreadcontentid", "do_content_" + update)
+                        put("lastreadcontentstatus", 1.asInstanceOf[AnyRef])
+                    }}
+                    val callStart = System.nanoTime()
+                    actor.updateEnrolmentProgress(null, selectMap, updateMap)
+                    latencies(update * enrolments + i - 1) = System.nanoTime() - callStart
+                }
+                val elapsed = System.nanoTime() - start
+                java.util.Arrays.sort(latencies)
+                println("%-7s  %10d  %12.2f  %12.2f".format(mode, latencies.length * TimeUnit.SECONDS.toNanos(1) / elapsed,
+                    latencies(latencies.length / 2) / 1e6, latencies(latencies.length * 99 / 100) / 1e6))
+            })
+        } finally {
+            system.terminate()
+        }
+    }
+}
@@ -111,6 +111,28 @@ public interface CassandraOperation {
   Response getRecordsByIndexedProperty(
           String keyspaceName, String tableName, String propertyName, Object propertyValue, RequestContext requestContext);
 
+  /**
+   * Fetch one page of records with specified indexed column
+   *
+   * @param keyspaceName Keyspace name
+   * @param tableName Table name
+   * @param filters Indexed column and other columns with the values to be matched in select query
+   * @param fields Columns to fetch, all columns if empty
+   * @param pageSize Maximum number of records fetched
+   * @param pagingState Paging state returned with the previous page, null for the first page
+   * @param requestContext
+   * @return Response consisting of fetched records and the paging state of the next page, null
+   *     after the last page
+   */
+  Response getRecordsPageByIndexedProperty(
+          String keyspaceName,
+          String tableName,
+          Map<String, Object> filters,
+          List<String> fields,
+          int pageSize,
+          String pagingState,
+          RequestContext requestContext);
+
   /**
    * @desc This method is used to fetch record based on given parameter list and their values
    * @param requestContext
@@ -185,6 +207,24 @@ public interface CassandraOperation {
    */
   Response batchInsert(RequestContext requestContext, String keyspaceName, String tableName, List<Map<String, Object>> records);
 
+  /**
+   * Method to perform batch insert operation with the write timestamp of each record given, so a
+   * copied record does not override a newer write of the same row.
+   *
+   * @param requestContext
+   * @param keyspaceName Keyspace name
+   * @param tableName Table name
+   * @param records List of records in the batch insert operation
+   * @param timestamps Write timestamp in microseconds of the record at the same index
+   * @return Response indicating status of operation
+   */
+  Response batchInsertWithTimestamps(
+      RequestContext requestContext,
+      String keyspaceName,
+      String tableName,
+      List<Map<String, Object>> records,
+      List<Long> timestamps);
+
 
   public Response getRecords(
           RequestContext requestContext, String keyspace, String table, Map<String, Object> filters, List<String> fields);
@@ -199,7 +239,8 @@ public interface CassandraOperation {
    * @param keySpace Keyspace name
    * @param table Table name
    * @param filters Column and value map for filtering
-   * @param fields List of columns to be returned in each record
+   * @param fields List of columns to be returned in each record, {@code writetime(column)} returns
+   *     the write time of the column
    * @param callback action callback to be applied on resultset when it is returned.
    */
   public void applyOperationOnRecordsAsync(
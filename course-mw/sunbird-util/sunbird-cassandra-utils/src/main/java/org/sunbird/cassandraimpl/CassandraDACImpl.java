@@ -10,20 +10,41 @@ import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.sunbird.common.CassandraUtil;
 import org.sunbird.common.Constants;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.ConfigSnapshot;
+import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.request.RequestContext;
+import org.sunbird.common.request.RequestDeadline;
 import org.sunbird.common.responsecode.ResponseCode;
 
 public class CassandraDACImpl extends CassandraOperationImpl {
-    
+
+  private static final String WRITETIME_PREFIX = "writetime(";
+
+  /** Runs the callbacks of {@link #applyOperationOnRecordsAsync}, shared by all calls. */
+  private static final ExecutorService callbackExecutor = createCallbackExecutor();
+
+  private static ExecutorService createCallbackExecutor() {
+    AtomicInteger threadCount = new AtomicInteger();
+    return Executors.newFixedThreadPool(
+        Math.max(1, ConfigSnapshot.getInt(JsonKey.SUNBIRD_CASSANDRA_CALLBACK_POOL_SIZE, 4)),
+        runnable -> {
+          Thread thread = new Thread(runnable, "cassandra-callback-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
     @Override
   public Response getRecords(
             RequestContext requestContext, String keySpace, String table, Map<String, Object> filters, List<String> fields) {
@@ -32,7 +53,7 @@ public class CassandraDACImpl extends CassandraOperationImpl {
     try {
       Select select;
       if (CollectionUtils.isNotEmpty(fields)) {
-        select = QueryBuilder.select((String[]) fields.toArray()).from(keySpace, table);
+        select = QueryBuilder.select(fields.toArray(new String[0])).from(keySpace, table);
       } else {
         select = QueryBuilder.select().all().from(keySpace, table);
       }
@@ -51,7 +72,7 @@ public class CassandraDACImpl extends CassandraOperationImpl {
 
       ResultSet results = null;
       logger.debug(requestContext, select.getQueryString());
-      results = session.execute(select);
+      results = executeRead(session, select);
       response = CassandraUtil.createResponse(results);
     } catch (Exception e) {
       logger.error(requestContext,Constants.EXCEPTION_MSG_FETCH + table + " : " + e.getMessage(), e);
@@ -73,7 +94,15 @@ public class CassandraDACImpl extends CassandraOperationImpl {
     try {
       Select select;
       if (CollectionUtils.isNotEmpty(fields)) {
-        select = QueryBuilder.select((String[]) fields.toArray()).from(keySpace, table);
+        Select.Selection selection = QueryBuilder.select();
+        for (String field : fields) {
+          if (field.startsWith(WRITETIME_PREFIX) && field.endsWith(")")) {
+            selection.writeTime(field.substring(WRITETIME_PREFIX.length(), field.length() - 1));
+          } else {
+            selection.column(field);
+          }
+        }
+        select = selection.from(keySpace, table);
       } else {
         select = QueryBuilder.select().all().from(keySpace, table);
       }
@@ -90,8 +119,9 @@ public class CassandraDACImpl extends CassandraOperationImpl {
         }
       }
       logger.debug(requestContext, select.getQueryString());
+      RequestDeadline.check();
       ResultSetFuture future = session.executeAsync(select);
-      Futures.addCallback(future, callback, Executors.newFixedThreadPool(1));
+      Futures.addCallback(future, callback, callbackExecutor);
     } catch (Exception e) {
       logger.error(requestContext,Constants.EXCEPTION_MSG_FETCH + table + " : " + e.getMessage(), e);
       throw new ProjectCommonException(
@@ -191,7 +221,7 @@ public class CassandraDACImpl extends CassandraOperationImpl {
       select.limit(limit);
       ResultSet results = null;
       logger.debug(requestContext, select.getQueryString());
-      results = session.execute(select);
+      results = executeRead(session, select);
       response = CassandraUtil.createResponse(results);
     } catch (Exception e) {
       logger.error(requestContext,Constants.EXCEPTION_MSG_FETCH + table + " : " + e.getMessage(), e);
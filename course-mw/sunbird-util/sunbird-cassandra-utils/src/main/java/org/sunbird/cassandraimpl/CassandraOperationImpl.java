@@ -2,6 +2,7 @@ package org.sunbird.cassandraimpl;
 
 import com.datastax.driver.core.BatchStatement;
 import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PagingState;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.ConsistencyLevel;
@@ -9,6 +10,7 @@ import com.datastax.driver.core.WriteType;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.datastax.driver.core.exceptions.PagingStateException;
 import com.datastax.driver.core.exceptions.WriteTimeoutException;
 import com.datastax.driver.core.exceptions.QueryExecutionException;
 import com.datastax.driver.core.exceptions.QueryValidationException;
@@ -25,6 +27,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.CassandraUtil;
 import org.sunbird.common.Constants;
@@ -35,6 +38,7 @@ import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.LoggerUtil;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.request.RequestContext;
+import org.sunbird.common.request.RequestDeadline;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.helper.CassandraConnectionManager;
 import org.sunbird.helper.CassandraConnectionMngrFactory;
@@ -190,7 +194,7 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
       }
       ResultSet results = null;
       if (null != selectStatement) logger.debug(requestContext, selectStatement.getQueryString());
-      results = session.execute(selectStatement);
+      results = executeRead(session, selectStatement);
       response = CassandraUtil.createResponse(results);
     } catch (Exception e) {
       logger.error(requestContext, Constants.EXCEPTION_MSG_FETCH + tableName + " : " + e.getMessage(), e);
@@ -243,7 +247,7 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
       }
       selectQuery = selectQuery.allowFiltering();
       if (null != selectQuery) logger.debug(requestContext, selectQuery.getQueryString());
-      ResultSet results = connectionManager.getSession(keyspaceName).execute(selectQuery);
+      ResultSet results = executeRead(connectionManager.getSession(keyspaceName), selectQuery);
       response = CassandraUtil.createResponse(results);
     } catch (Exception e) {
       logger.error(requestContext, Constants.EXCEPTION_MSG_FETCH + tableName + " : " + e.getMessage(), e);
@@ -270,7 +274,7 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
       logger.debug(requestContext, statement.getQueryString());
       BoundStatement boundStatement = new BoundStatement(statement);
       ResultSet results =
-          connectionManager.getSession(keyspaceName).execute(boundStatement.bind(id));
+          executeRead(connectionManager.getSession(keyspaceName), boundStatement.bind(id));
       response = CassandraUtil.createResponse(results);
     } catch (Exception e) {
       logger.error(requestContext, Constants.EXCEPTION_MSG_FETCH + tableName + " : " + e.getMessage(), e);
@@ -292,7 +296,7 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
     try {
       Select selectQuery = QueryBuilder.select().all().from(keyspaceName, tableName);
       logger.debug(requestContext, selectQuery.getQueryString());
-      ResultSet results = connectionManager.getSession(keyspaceName).execute(selectQuery);
+      ResultSet results = executeRead(connectionManager.getSession(keyspaceName), selectQuery);
       response = CassandraUtil.createResponse(results);
     } catch (Exception e) {
       logger.error(requestContext, Constants.EXCEPTION_MSG_FETCH + tableName + " : " + e.getMessage(), e);
@@ -459,7 +463,7 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
                 });
       }
       logger.debug(requestContext, selectWhere.getQueryString());
-      ResultSet results = session.execute(selectWhere);
+      ResultSet results = executeRead(session, selectWhere);
       response = CassandraUtil.createResponse(results);
     } catch (Exception e) {
       logger.error(requestContext, Constants.EXCEPTION_MSG_FETCH + tableName + " : " + e.getMessage(), e);
@@ -475,6 +479,25 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
   @Override
   public Response batchInsert(
           RequestContext requestContext, String keyspaceName, String tableName, List<Map<String, Object>> records) {
+    return batchInsert(requestContext, keyspaceName, tableName, records, null);
+  }
+
+  @Override
+  public Response batchInsertWithTimestamps(
+      RequestContext requestContext,
+      String keyspaceName,
+      String tableName,
+      List<Map<String, Object>> records,
+      List<Long> timestamps) {
+    return batchInsert(requestContext, keyspaceName, tableName, records, timestamps);
+  }
+
+  private Response batchInsert(
+      RequestContext requestContext,
+      String keyspaceName,
+      String tableName,
+      List<Map<String, Object>> records,
+      List<Long> timestamps) {
 
     long startTime = System.currentTimeMillis();
     logger.info(requestContext, 
@@ -486,14 +509,15 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
     ResultSet resultSet = null;
 
     try {
-      for (Map<String, Object> map : records) {
+      for (int i = 0; i < records.size(); i++) {
         Insert insert = QueryBuilder.insertInto(keyspaceName, tableName);
-        map.entrySet()
+        records.get(i).entrySet()
             .stream()
             .forEach(
                 x -> {
                   insert.value(x.getKey(), x.getValue());
                 });
+        if (null != timestamps) insert.using(QueryBuilder.timestamp(timestamps.get(i)));
         batchStatement.add(insert);
       }
       resultSet = session.execute(batchStatement);
@@ -543,15 +567,41 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
     return response;
   }
 
+  /**
+   * Executes a read on behalf of the API request being processed. The read is skipped when the
+   * request deadline has passed and its read timeout is capped to the time left.
+   *
+   * @param session Cassandra session
+   * @param statement select statement
+   * @return ResultSet
+   */
+  protected ResultSet executeRead(Session session, Statement statement) {
+    if (RequestDeadline.isSet()) {
+      RequestDeadline.check();
+      long remaining = RequestDeadline.remainingMillis();
+      int readTimeout =
+          session.getCluster().getConfiguration().getSocketOptions().getReadTimeoutMillis();
+      if (remaining < readTimeout) {
+        statement.setReadTimeoutMillis((int) remaining);
+      }
+    }
+    return session.execute(statement);
+  }
+
   private void logQueryElapseTime(String operation, long startTime) {
 
     long stopTime = System.currentTimeMillis();
-    long elapsedTime = stopTime - startTime;
-    String message =
-        "Cassandra operation {0} started at {1} and completed at {2}. Total time elapsed is {3}.";
-    MessageFormat mf = new MessageFormat(message);
-    logger.info(null, 
-        mf.format(new Object[] {operation, startTime, stopTime, elapsedTime}));
+    logger.info(
+        null,
+        "Cassandra operation "
+            + operation
+            + " started at "
+            + startTime
+            + " and completed at "
+            + stopTime
+            + ". Total time elapsed is "
+            + (stopTime - startTime)
+            + ".");
   }
 
   @Override
@@ -568,7 +618,7 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
       selectQuery.allowFiltering();
       if (null != selectQuery) logger.debug(requestContext, selectQuery.getQueryString());
       ResultSet results =
-          connectionManager.getSession(keyspaceName).execute(selectQuery.allowFiltering());
+          executeRead(connectionManager.getSession(keyspaceName), selectQuery.allowFiltering());
       response = CassandraUtil.createResponse(results);
     } catch (Exception e) {
       logger.error(requestContext, 
@@ -587,6 +637,60 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
     return response;
   }
 
+  @Override
+  public Response getRecordsPageByIndexedProperty(
+          String keyspaceName,
+          String tableName,
+          Map<String, Object> filters,
+          List<String> fields,
+          int pageSize,
+          String pagingState,
+          RequestContext requestContext) {
+    long startTime = System.currentTimeMillis();
+    logger.info(requestContext,
+        "CassandraOperationImpl:getRecordsPageByIndexedProperty called at " + startTime);
+    Response response;
+    try {
+      Builder selectBuilder =
+          CollectionUtils.isNotEmpty(fields)
+              ? QueryBuilder.select(fields.toArray(new String[fields.size()]))
+              : QueryBuilder.select().all();
+      Select selectQuery = selectBuilder.from(keyspaceName, tableName);
+      Where selectWhere = selectQuery.where();
+      filters.forEach((key, value) -> selectWhere.and(eq(key, value)));
+      selectQuery.allowFiltering();
+      selectQuery.setFetchSize(pageSize);
+      if (StringUtils.isNotBlank(pagingState)) {
+        selectQuery.setPagingState(PagingState.fromString(pagingState));
+      }
+      logger.debug(requestContext, selectQuery.getQueryString());
+      ResultSet results = executeRead(connectionManager.getSession(keyspaceName), selectQuery);
+      response = CassandraUtil.createPageResponse(results);
+    } catch (PagingStateException e) {
+      throw new ProjectCommonException(
+          ResponseCode.invalidParameterValue.getErrorCode(),
+          MessageFormat.format(
+              ResponseCode.invalidParameterValue.getErrorMessage(), pagingState, JsonKey.CURSOR),
+          ResponseCode.CLIENT_ERROR.getResponseCode());
+    } catch (ProjectCommonException e) {
+      throw e;
+    } catch (Exception e) {
+      logger.error(requestContext,
+          "CassandraOperationImpl:getRecordsPageByIndexedProperty: "
+              + Constants.EXCEPTION_MSG_FETCH
+              + tableName
+              + " : "
+              + e.getMessage(),
+          e);
+      throw new ProjectCommonException(
+          ResponseCode.SERVER_ERROR.getErrorCode(),
+          ResponseCode.SERVER_ERROR.getErrorMessage(),
+          ResponseCode.SERVER_ERROR.getResponseCode());
+    }
+    logQueryElapseTime("getRecordsPageByIndexedProperty", startTime);
+    return response;
+  }
+
   @Override
   public void deleteRecord(
           String keyspaceName, String tableName, Map<String, String> compositeKeyMap, RequestContext requestContext) {
@@ -669,7 +773,7 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
         selectWhere.and(clause);
       }
       logger.debug(requestContext, selectQuery.getQueryString());
-      ResultSet results = connectionManager.getSession(keyspaceName).execute(selectQuery);
+      ResultSet results = executeRead(connectionManager.getSession(keyspaceName), selectQuery);
       response = CassandraUtil.createResponse(results);
     } catch (Exception e) {
       logger.error(requestContext, 
@@ -736,7 +840,7 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
       }
     }
     logger.debug(requestContext, selectQuery.getQueryString());
-    ResultSet resultSet = connectionManager.getSession(keyspace).execute(selectQuery);
+    ResultSet resultSet = executeRead(connectionManager.getSession(keyspace), selectQuery);
     Response response = CassandraUtil.createResponse(resultSet);
     return response;
   }
@@ -1,5 +1,6 @@
 package org.sunbird.common;
 
+import com.datastax.driver.core.PagingState;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
@@ -92,6 +93,28 @@ public final class CassandraUtil {
     return response;
   }
 
+  /**
+   * Creates the response with the rows fetched for the current page only, without fetching the next
+   * pages, and the paging state of the next page, null after the last page.
+   */
+  public static Response createPageResponse(ResultSet results) {
+    Response response = new Response();
+    List<Map<String, Object>> responseList = new ArrayList<>();
+    Map<String, String> columnsMapping = fetchColumnsMapping(results);
+    int rowCount = results.getAvailableWithoutFetching();
+    Iterator<Row> rowIterator = results.iterator();
+    for (int i = 0; i < rowCount; i++) {
+      Row row = rowIterator.next();
+      Map<String, Object> rowMap = new HashMap<>();
+      columnsMapping.forEach((key, column) -> rowMap.put(key, row.getObject(column)));
+      responseList.add(rowMap);
+    }
+    PagingState pagingState = results.getExecutionInfo().getPagingState();
+    response.put(Constants.RESPONSE, responseList);
+    response.put(JsonKey.PAGING_STATE, null == pagingState ? null : pagingState.toString());
+    return response;
+  }
+
   public static Map<String, String> fetchColumnsMapping(ResultSet results) {
     return results
         .getColumnDefinitions()
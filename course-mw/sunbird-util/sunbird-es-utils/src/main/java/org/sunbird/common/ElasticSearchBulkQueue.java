@@ -0,0 +1,338 @@
+package org.sunbird.common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.sunbird.common.factory.EsClientFactory;
+import org.sunbird.common.inf.ElasticSearchService;
+import org.sunbird.common.models.util.ConfigSnapshot;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerUtil;
+import org.sunbird.common.request.RequestContext;
+import scala.concurrent.Await;
+import scala.concurrent.Future;
+import scala.concurrent.duration.Duration;
+
+/**
+ * Buffers document upserts per index and writes them with {@link
+ * ElasticSearchService#bulkUpsert}. Repeated upserts of the same document before it is written are
+ * merged into one, newer fields win. A document queued by {@link #replace} is saved whole in place
+ * of the indexed one, together with the fields of later upserts. An index is flushed once it has {@code sunbird_es_bulk_size}
+ * documents pending, and all indices every {@code sunbird_es_bulk_flush_interval} milliseconds. An
+ * interval of 0 disables the buffer and every upsert is written on the calling thread.
+ *
+ * <p>Failed documents are queued again, under the fields of a newer pending upsert of the same
+ * document, and dropped after {@code sunbird_es_bulk_max_attempts} attempts. Only one flush of an
+ * index runs at a time, so a failed document is queued again before a newer upsert of it can be
+ * written, and a retry never overwrites newer fields. When {@code
+ * sunbird_es_bulk_queue_capacity} documents are pending the caller flushes the index itself, which
+ * slows the producers down to the write rate of Elasticsearch.
+ *
+ * <p>Upserts are acknowledged before they are written, pending documents are lost if the process
+ * is killed. Counts and the age of the oldest pending document per index are reported by {@link
+ * #snapshot()}.
+ */
+public class ElasticSearchBulkQueue {
+
+  private static final LoggerUtil logger = new LoggerUtil(ElasticSearchBulkQueue.class);
+
+  private final ElasticSearchService esService;
+  private final int batchSize;
+  private final long flushInterval;
+  private final int capacity;
+  private final int maxAttempts;
+  private final Map<String, IndexBuffer> buffers = new ConcurrentHashMap<>();
+  private final AtomicInteger pending = new AtomicInteger();
+  private final AtomicLong enqueued = new AtomicLong();
+  private final AtomicLong merged = new AtomicLong();
+  private final AtomicLong written = new AtomicLong();
+  private final AtomicLong retried = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicLong bulkRequests = new AtomicLong();
+  private final AtomicLong throttled = new AtomicLong();
+  private final AtomicLong bulkLatencyMax = new AtomicLong();
+  private ScheduledThreadPoolExecutor executor;
+
+  public ElasticSearchBulkQueue(
+      ElasticSearchService esService,
+      int batchSize,
+      long flushInterval,
+      int capacity,
+      int maxAttempts) {
+    this.esService = esService;
+    this.batchSize = batchSize;
+    this.flushInterval = flushInterval;
+    this.capacity = capacity;
+    this.maxAttempts = maxAttempts;
+    if (isEnabled()) {
+      AtomicInteger threadCount = new AtomicInteger();
+      executor =
+          new ScheduledThreadPoolExecutor(
+              2,
+              runnable -> {
+                Thread thread =
+                    new Thread(runnable, "es-bulk-flush-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+              });
+      executor.scheduleWithFixedDelay(
+          this::flushAll, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private static class InstanceHolder {
+    private static final ElasticSearchBulkQueue instance = create();
+
+    private static ElasticSearchBulkQueue create() {
+      ElasticSearchBulkQueue queue =
+          new ElasticSearchBulkQueue(
+              EsClientFactory.getInstance(JsonKey.REST),
+              ConfigSnapshot.getInt(JsonKey.SUNBIRD_ES_BULK_SIZE, 500),
+              ConfigSnapshot.getLong(JsonKey.SUNBIRD_ES_BULK_FLUSH_INTERVAL, 1000L),
+              ConfigSnapshot.getInt(JsonKey.SUNBIRD_ES_BULK_QUEUE_CAPACITY, 10000),
+              ConfigSnapshot.getInt(JsonKey.SUNBIRD_ES_BULK_MAX_ATTEMPTS, 3));
+      if (queue.isEnabled()) {
+        Runtime.getRuntime()
+            .addShutdownHook(new Thread(queue::flushAll, "es-bulk-flush-shutdown"));
+      }
+      return queue;
+    }
+  }
+
+  public static ElasticSearchBulkQueue getInstance() {
+    return InstanceHolder.instance;
+  }
+
+  public boolean isEnabled() {
+    return flushInterval > 0;
+  }
+
+  /**
+   * Queues the document to be merged into the existing one, or created if not present.
+   *
+   * @param requestContext context logged with a failed write
+   * @param index index name
+   * @param identifier document id
+   * @param data document fields
+   */
+  public void upsert(
+      RequestContext requestContext, String index, String identifier, Map<String, Object> data) {
+    add(requestContext, index, identifier, data, false);
+  }
+
+  /**
+   * Queues the document to be saved in place of the existing one, fields not given are removed.
+   *
+   * @param requestContext context logged with a failed write
+   * @param index index name
+   * @param identifier document id
+   * @param data document fields
+   */
+  public void replace(
+      RequestContext requestContext, String index, String identifier, Map<String, Object> data) {
+    add(requestContext, index, identifier, data, true);
+  }
+
+  private void add(
+      RequestContext requestContext,
+      String index,
+      String identifier,
+      Map<String, Object> data,
+      boolean replace) {
+    enqueued.incrementAndGet();
+    IndexBuffer buffer = buffers.computeIfAbsent(index, IndexBuffer::new);
+    int size =
+        buffer.add(
+            identifier,
+            new PendingDocument(requestContext, new HashMap<>(data), replace, 0),
+            false);
+    if (!isEnabled()) {
+      flush(buffer);
+    } else if (pending.get() >= capacity) {
+      throttled.incrementAndGet();
+      flush(buffer);
+    } else if (size >= batchSize) {
+      executor.execute(() -> flush(buffer));
+    }
+  }
+
+  /** Writes the pending documents of all indices on the calling thread. */
+  public void flushAll() {
+    for (IndexBuffer buffer : buffers.values()) {
+      try {
+        flush(buffer);
+      } catch (Exception e) {
+        logger.error(null, "ElasticSearchBulkQueue:flushAll: flush failed for " + buffer.index, e);
+      }
+    }
+  }
+
+  private void flush(IndexBuffer buffer) {
+    synchronized (buffer.flushLock) {
+      flushLocked(buffer);
+    }
+  }
+
+  /** Writes the pending documents of the index, the caller holds the flush lock of the buffer. */
+  private void flushLocked(IndexBuffer buffer) {
+    Map<String, PendingDocument> documents = buffer.drain();
+    while (!documents.isEmpty()) {
+      List<String> failed = write(buffer.index, documents);
+      written.addAndGet(documents.size() - failed.size());
+      for (String identifier : failed) {
+        PendingDocument document = documents.get(identifier);
+        if (null == document) continue;
+        if (document.attempts + 1 < maxAttempts) {
+          retried.incrementAndGet();
+          buffer.add(
+              identifier,
+              new PendingDocument(
+                  document.requestContext,
+                  document.data,
+                  document.replace,
+                  document.attempts + 1),
+              true);
+        } else {
+          dropped.incrementAndGet();
+          logger.error(
+              document.requestContext,
+              "ElasticSearchBulkQueue:flush: dropped document "
+                  + identifier
+                  + " of index "
+                  + buffer.index
+                  + " after "
+                  + maxAttempts
+                  + " attempts",
+              null);
+        }
+      }
+      // retries wait for the next interval, unless the buffer is disabled or full again
+      documents =
+          !isEnabled() || buffer.size() >= batchSize ? buffer.drain() : new LinkedHashMap<>();
+    }
+  }
+
+  private List<String> write(String index, Map<String, PendingDocument> documents) {
+    Map<String, Map<String, Object>> request = new LinkedHashMap<>();
+    Set<String> replaced = new HashSet<>();
+    documents.forEach(
+        (identifier, document) -> {
+          request.put(identifier, document.data);
+          if (document.replace) replaced.add(identifier);
+        });
+    long startTime = System.currentTimeMillis();
+    bulkRequests.incrementAndGet();
+    try {
+      Future<List<String>> future = esService.bulkUpsert(null, index, request, replaced);
+      return Await.result(future, Duration.create(ElasticSearchHelper.WAIT_TIME, TimeUnit.SECONDS));
+    } catch (Exception e) {
+      logger.error(null, "ElasticSearchBulkQueue:write: bulk upsert failed for " + index, e);
+      return new ArrayList<>(documents.keySet());
+    } finally {
+      bulkLatencyMax.accumulateAndGet(System.currentTimeMillis() - startTime, Math::max);
+    }
+  }
+
+  public Map<String, Object> snapshot() {
+    Map<String, Object> snapshot = new TreeMap<>();
+    snapshot.put("enabled", isEnabled());
+    snapshot.put("pending", pending.get());
+    snapshot.put("enqueued", enqueued.get());
+    snapshot.put("merged", merged.get());
+    snapshot.put("written", written.get());
+    snapshot.put("retried", retried.get());
+    snapshot.put("dropped", dropped.get());
+    snapshot.put("bulkRequests", bulkRequests.get());
+    snapshot.put("throttled", throttled.get());
+    snapshot.put("bulkLatencyMax", bulkLatencyMax.get());
+    Map<String, Object> indices = new TreeMap<>();
+    long now = System.currentTimeMillis();
+    for (IndexBuffer buffer : buffers.values()) {
+      Map<String, Object> index = new HashMap<>();
+      synchronized (buffer) {
+        index.put("pending", buffer.documents.size());
+        index.put("lag", buffer.documents.isEmpty() ? 0L : now - buffer.oldestEnqueuedOn);
+      }
+      indices.put(buffer.index, index);
+    }
+    snapshot.put("indices", indices);
+    return snapshot;
+  }
+
+  private class IndexBuffer {
+    private final String index;
+    private final Object flushLock = new Object();
+    private LinkedHashMap<String, PendingDocument> documents = new LinkedHashMap<>();
+    private long oldestEnqueuedOn;
+
+    IndexBuffer(String index) {
+      this.index = index;
+    }
+
+    /**
+     * @param retry whether the document is an earlier, failed write which newer pending fields
+     *     override
+     * @return number of pending documents of the index
+     */
+    synchronized int add(String identifier, PendingDocument document, boolean retry) {
+      if (documents.isEmpty()) oldestEnqueuedOn = System.currentTimeMillis();
+      PendingDocument previous = documents.get(identifier);
+      if (null == previous) {
+        pending.incrementAndGet();
+        documents.put(identifier, document);
+      } else {
+        merged.incrementAndGet();
+        documents.put(identifier, retry ? document.then(previous) : previous.then(document));
+      }
+      return documents.size();
+    }
+
+    synchronized Map<String, PendingDocument> drain() {
+      Map<String, PendingDocument> drained = documents;
+      documents = new LinkedHashMap<>();
+      pending.addAndGet(-drained.size());
+      return drained;
+    }
+
+    synchronized int size() {
+      return documents.size();
+    }
+  }
+
+  private static class PendingDocument {
+    private final RequestContext requestContext;
+    private final Map<String, Object> data;
+    private final boolean replace;
+    private final int attempts;
+
+    PendingDocument(
+        RequestContext requestContext, Map<String, Object> data, boolean replace, int attempts) {
+      this.requestContext = requestContext;
+      this.data = data;
+      this.replace = replace;
+      this.attempts = attempts;
+    }
+
+    /**
+     * @return this document with the fields of the newer one applied, or the newer one if it
+     *     replaces the document
+     */
+    PendingDocument then(PendingDocument newer) {
+      if (newer.replace) return newer;
+      Map<String, Object> data = new HashMap<>(this.data);
+      data.putAll(newer.data);
+      return new PendingDocument(
+          newer.requestContext, data, replace, Math.min(attempts, newer.attempts));
+    }
+  }
+}
@@ -9,6 +9,8 @@ import org.apache.lucene.search.join.ScoreMode;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.transport.TransportClient;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.ExistsQueryBuilder;
 import org.elasticsearch.index.query.MatchQueryBuilder;
@@ -27,10 +29,13 @@ import org.elasticsearch.search.aggregations.bucket.terms.Terms.Bucket;
 import org.elasticsearch.search.sort.SortOrder;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerUtil;
+import org.sunbird.common.request.RequestDeadline;
 import org.sunbird.common.util.ConfigUtil;
 import org.sunbird.dto.SearchDTO;
 import scala.concurrent.Await;
 import scala.concurrent.Future;
+import scala.concurrent.duration.Duration;
+import scala.concurrent.duration.FiniteDuration;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -86,7 +91,12 @@ public class ElasticSearchHelper {
   @SuppressWarnings("unchecked")
   public static Object getResponseFromFuture(Future future) {
     try {
-      Object result = Await.result(future, timeout.duration());
+      FiniteDuration wait = timeout.duration();
+      if (RequestDeadline.isSet()) {
+        long remaining = Math.max(0, RequestDeadline.remainingMillis());
+        if (remaining < wait.toMillis()) wait = Duration.create(remaining, TimeUnit.MILLISECONDS);
+      }
+      Object result = Await.result(future, wait);
       return result;
     } catch (Exception e) {
       logger.error( null, 
@@ -725,7 +735,12 @@ public class ElasticSearchHelper {
       count = hits.getTotalHits();
 
       for (SearchHit hit : hits) {
-        esSource.add(hit.getSourceAsMap());
+        // the response may be shared by collapsed searches, each caller parses its own copy of the
+        // source instead of the map cached on the hit
+        esSource.add(
+            null == hit.getSourceRef()
+                ? null
+                : XContentHelper.convertToMap(hit.getSourceRef(), false, XContentType.JSON).v2());
       }
 
       // fetch aggregations aggregations
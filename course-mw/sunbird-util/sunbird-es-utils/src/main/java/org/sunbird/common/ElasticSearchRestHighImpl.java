@@ -6,6 +6,9 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
@@ -26,6 +29,7 @@ import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.action.update.UpdateResponse;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.query.SimpleQueryStringBuilder;
@@ -41,7 +45,9 @@ import org.sunbird.common.models.util.LoggerUtil;
 import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.models.util.PropertiesCache;
 import org.sunbird.common.request.RequestContext;
+import org.sunbird.common.request.RequestDeadline;
 import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.common.util.SingleFlight;
 import org.sunbird.dto.SearchDTO;
 import org.sunbird.helper.ConnectionManager;
 import scala.concurrent.Future;
@@ -55,6 +61,13 @@ import scala.concurrent.Promise;
 public class ElasticSearchRestHighImpl implements ElasticSearchService {
   private static final String ERROR = "ERROR";
   private static LoggerUtil logger = new LoggerUtil(ElasticSearchRestHighImpl.class);
+  private static final SingleFlight<SearchResponse> searchSingleFlight =
+      SingleFlight.getInstance("esSearch");
+  /**
+   * Search timeouts are rounded down to a multiple of this, so searches with close deadlines send
+   * the same request and are collapsed, and none waits past its own deadline.
+   */
+  private static final long SEARCH_TIMEOUT_STEP = 500;
 
   /**
    * This method will put a new data entry inside Elastic search. identifier value becomes _id
@@ -208,6 +221,10 @@ public class ElasticSearchRestHighImpl implements ElasticSearchService {
   public Future<Map<String, Object>> getDataByIdentifier(RequestContext requestContext, String index, String identifier) {
     long startTime = System.currentTimeMillis();
     Promise<Map<String, Object>> promise = Futures.promise();
+    if (RequestDeadline.isExpired()) {
+      promise.failure(RequestDeadline.exceeded());
+      return promise.future();
+    }
     if (StringUtils.isNotEmpty(identifier) && StringUtils.isNotEmpty(index)) {
 
       logger.debug(requestContext, 
@@ -324,7 +341,8 @@ public class ElasticSearchRestHighImpl implements ElasticSearchService {
   /**
    * Method to perform the elastic search on the basis of SearchDTO . SearchDTO contains the search
    * criteria like fields, facets, sort by , filters etc. here user can pass single type to search
-   * or multiple type or null
+   * or multiple type or null. An identical search on the same index which is still in flight is
+   * not sent again, its response is shared.
    *
    * @return search result as Map.
    */
@@ -422,12 +440,23 @@ public class ElasticSearchRestHighImpl implements ElasticSearchService {
     if (null != searchDTO.getFacets() && !searchDTO.getFacets().isEmpty()) {
       searchSourceBuilder = addAggregations(requestContext, searchSourceBuilder, searchDTO.getFacets());
     }
-    logger.info(requestContext, 
-        "ElasticSearchRestHighImpl:search: calling search builder======"
-            + searchSourceBuilder.toString());
-
     searchRequest.source(searchSourceBuilder);
+    logger.debug(
+        requestContext,
+        () ->
+            "ElasticSearchRestHighImpl:search: calling search builder======"
+                + searchRequest.source().toString());
     Promise<Map<String, Object>> promise = Futures.promise();
+    if (RequestDeadline.isSet()) {
+      if (RequestDeadline.isExpired()) {
+        promise.failure(RequestDeadline.exceeded());
+        return promise.future();
+      }
+      searchSourceBuilder.timeout(
+          TimeValue.timeValueMillis(getSearchTimeout(RequestDeadline.remainingMillis())));
+    }
+    // the key includes the timeout, collapsed callers share a request which fits all their deadlines
+    String searchKey = SingleFlight.key(index, searchSourceBuilder.toString());
 
     ActionListener<SearchResponse> listener =
         new ActionListener<SearchResponse>() {
@@ -435,6 +464,16 @@ public class ElasticSearchRestHighImpl implements ElasticSearchService {
           public void onResponse(SearchResponse response) {
             logger.debug(requestContext, 
                 "ElasticSearchRestHighImpl:search:onResponse  response1 = " + response);
+            if (response.isTimedOut()) {
+              // hits collected before the deadline are incomplete, the caller must not use them
+              logger.info(requestContext, 
+                  "ElasticSearchRestHighImpl:search: timed out for index "
+                      + index
+                      + " ,Total time elapsed = "
+                      + calculateEndTime(startTime));
+              promise.failure(RequestDeadline.exceeded());
+              return;
+            }
             if (response.getHits() == null || response.getHits().getTotalHits() == 0) {
 
               Map<String, Object> responseMap = new HashMap<>();
@@ -467,10 +506,36 @@ public class ElasticSearchRestHighImpl implements ElasticSearchService {
           }
         };
 
-    ConnectionManager.getRestClient().searchAsync(searchRequest, listener);
+    searchSingleFlight
+        .execute(
+            searchKey,
+            () -> {
+              CompletableFuture<SearchResponse> future = new CompletableFuture<>();
+              ConnectionManager.getRestClient()
+                  .searchAsync(
+                      searchRequest,
+                      ActionListener.wrap(future::complete, future::completeExceptionally));
+              return future;
+            })
+        .whenComplete(
+            (response, error) -> {
+              if (null != error) listener.onFailure(unwrap(error));
+              else listener.onResponse(response);
+            });
     return promise.future();
   }
 
+  static long getSearchTimeout(long remainingMillis) {
+    return remainingMillis < SEARCH_TIMEOUT_STEP
+        ? remainingMillis
+        : remainingMillis - remainingMillis % SEARCH_TIMEOUT_STEP;
+  }
+
+  private static Exception unwrap(Throwable error) {
+    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+    return cause instanceof Exception ? (Exception) cause : new Exception(cause);
+  }
+
   /**
    * This method will do the health check of elastic search.
    *
@@ -565,6 +630,77 @@ public class ElasticSearchRestHighImpl implements ElasticSearchService {
     return promise.future();
   }
 
+  /**
+   * This method will upsert the documents with one bulk request, the replaced documents are
+   * indexed whole as by {@link #save}.
+   *
+   *
+   * @param requestContext
+   * @param index String index name
+   * @param documents Map<String, Map<String, Object>> documents by identifier
+   * @param replaced Set<String> identifiers of the documents to index whole
+   * @return List<String> identifiers of the failed documents
+   */
+  @Override
+  public Future<List<String>> bulkUpsert(
+      RequestContext requestContext,
+      String index,
+      Map<String, Map<String, Object>> documents,
+      Set<String> replaced) {
+    long startTime = System.currentTimeMillis();
+    logger.debug(requestContext,
+        "ElasticSearchRestHighImpl:bulkUpsert: method started at =="
+            + startTime
+            + " for Index "
+            + index);
+    BulkRequest request = new BulkRequest();
+    Promise<List<String>> promise = Futures.promise();
+    for (Map.Entry<String, Map<String, Object>> document : documents.entrySet()) {
+      if (replaced.contains(document.getKey())) {
+        Map<String, Object> data = new HashMap<>(document.getValue());
+        data.put("identifier", document.getKey());
+        request.add(new IndexRequest(index, _DOC, document.getKey()).source(data));
+      } else {
+        request.add(
+            new UpdateRequest(index, _DOC, document.getKey())
+                .doc(document.getValue())
+                .docAsUpsert(true));
+      }
+    }
+    ActionListener<BulkResponse> listener =
+        new ActionListener<BulkResponse>() {
+          @Override
+          public void onResponse(BulkResponse bulkResponse) {
+            List<String> failed = new ArrayList<>();
+            for (BulkItemResponse bResponse : bulkResponse) {
+              if (bResponse.isFailed()) {
+                failed.add(bResponse.getId());
+                logger.info(requestContext,
+                    "ElasticSearchRestHighImpl:bulkUpsert: api response==="
+                        + bResponse.getId()
+                        + " "
+                        + bResponse.getFailureMessage());
+              }
+            }
+            promise.success(failed);
+            logger.debug(requestContext,
+                "ElasticSearchRestHighImpl:bulkUpsert: method end =="
+                    + " for Index "
+                    + index
+                    + " ,Total time elapsed = "
+                    + calculateEndTime(startTime));
+          }
+
+          @Override
+          public void onFailure(Exception e) {
+            logger.error(requestContext, "ElasticSearchRestHighImpl:bulkUpsert: Bulk upsert error block", e);
+            promise.success(new ArrayList<>(documents.keySet()));
+          }
+        };
+    ConnectionManager.getRestClient().bulkAsync(request, listener);
+    return promise.future();
+  }
+
   private static long calculateEndTime(long startTime) {
     return System.currentTimeMillis() - startTime;
   }
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.common.ElasticSearchHelper;
 import org.sunbird.common.exception.ProjectCommonException;
@@ -98,6 +99,24 @@ public interface ElasticSearchService {
    */
   public Future<Boolean> bulkInsert(RequestContext requestContext, String index, List<Map<String, Object>> dataList);
 
+  /**
+   * This method will write the documents with one bulk request, each document is merged into the
+   * existing one or created if not present, except the replaced ones which are saved whole.
+   *
+   *
+   * @param requestContext
+   * @param index String index name
+   * @param documents Map<String, Map<String, Object>> documents by identifier
+   * @param replaced Set<String> identifiers of the documents to save in place of the existing ones
+   * @return List<String> identifiers of the documents which could not be written, all of them if
+   *     the request failed
+   */
+  public Future<List<String>> bulkUpsert(
+      RequestContext requestContext,
+      String index,
+      Map<String, Map<String, Object>> documents,
+      Set<String> replaced);
+
   /**
    * This method will upsert data based on identifier.take the data based on identifier and merge
    * with incoming data then update it or if not present already will create it.
@@ -0,0 +1,154 @@
+package org.sunbird.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import akka.dispatch.Futures;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.sunbird.common.inf.ElasticSearchService;
+
+public class ElasticSearchBulkQueueTest {
+
+  private ElasticSearchService esService = mock(ElasticSearchService.class);
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testUpsertMergesPendingDocuments() {
+    when(esService.bulkUpsert(Mockito.any(), Mockito.anyString(), Mockito.anyMap(), Mockito.anySet()))
+        .thenReturn(Futures.successful(new ArrayList<>()));
+    ElasticSearchBulkQueue queue = new ElasticSearchBulkQueue(esService, 100, 60000, 1000, 3);
+    queue.upsert(null, "user-courses", "001", document("status", 1));
+    queue.upsert(null, "user-courses", "001", document("progress", 50));
+    queue.upsert(null, "user-courses", "002", document("status", 0));
+    assertEquals(2, getPending(queue));
+    queue.flushAll();
+    ArgumentCaptor<Map> documents = ArgumentCaptor.forClass(Map.class);
+    verify(esService, times(1))
+        .bulkUpsert(
+            Mockito.any(), Mockito.eq("user-courses"), documents.capture(), Mockito.anySet());
+    Map<String, Map<String, Object>> written = documents.getValue();
+    assertEquals(2, written.size());
+    assertEquals(1, written.get("001").get("status"));
+    assertEquals(50, written.get("001").get("progress"));
+    Map<String, Object> snapshot = queue.snapshot();
+    assertEquals(1L, snapshot.get("merged"));
+    assertEquals(2L, snapshot.get("written"));
+    assertEquals(0, snapshot.get("pending"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testReplaceDropsOlderPendingFields() {
+    when(esService.bulkUpsert(Mockito.any(), Mockito.anyString(), Mockito.anyMap(), Mockito.anySet()))
+        .thenReturn(Futures.successful(new ArrayList<>()));
+    ElasticSearchBulkQueue queue = new ElasticSearchBulkQueue(esService, 100, 60000, 1000, 3);
+    queue.upsert(null, "user-courses", "001", document("progress", 50));
+    queue.replace(null, "user-courses", "001", document("status", 1));
+    queue.upsert(null, "user-courses", "001", document("status", 2));
+    queue.upsert(null, "user-courses", "002", document("status", 0));
+    queue.flushAll();
+    ArgumentCaptor<Map> documents = ArgumentCaptor.forClass(Map.class);
+    ArgumentCaptor<Set> replaced = ArgumentCaptor.forClass(Set.class);
+    verify(esService, times(1))
+        .bulkUpsert(
+            Mockito.any(), Mockito.eq("user-courses"), documents.capture(), replaced.capture());
+    Map<String, Map<String, Object>> written = documents.getValue();
+    assertEquals(document("status", 2), written.get("001"));
+    assertEquals(Collections.singleton("001"), replaced.getValue());
+  }
+
+  @Test
+  public void testUpsertRetriesFailedDocuments() {
+    when(esService.bulkUpsert(Mockito.any(), Mockito.anyString(), Mockito.anyMap(), Mockito.anySet()))
+        .thenReturn(Futures.successful(Arrays.asList("001")));
+    ElasticSearchBulkQueue queue = new ElasticSearchBulkQueue(esService, 100, 0, 1000, 3);
+    queue.upsert(null, "user-courses", "001", document("status", 1));
+    verify(esService, times(3)).bulkUpsert(Mockito.any(), Mockito.anyString(), Mockito.anyMap(), Mockito.anySet());
+    Map<String, Object> snapshot = queue.snapshot();
+    assertEquals(2L, snapshot.get("retried"));
+    assertEquals(1L, snapshot.get("dropped"));
+  }
+
+  @Test
+  public void testUpsertFlushesOnCallerWhenFull() {
+    when(esService.bulkUpsert(Mockito.any(), Mockito.anyString(), Mockito.anyMap(), Mockito.anySet()))
+        .thenReturn(Futures.successful(new ArrayList<>()));
+    ElasticSearchBulkQueue queue = new ElasticSearchBulkQueue(esService, 100, 60000, 2, 3);
+    queue.upsert(null, "user-courses", "001", document("status", 1));
+    queue.upsert(null, "user-courses", "002", document("status", 1));
+    Map<String, Object> snapshot = queue.snapshot();
+    assertEquals(1L, snapshot.get("throttled"));
+    assertEquals(2L, snapshot.get("written"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testConcurrentFlushesKeepNewerFields() throws Exception {
+    CountDownLatch firstWriteStarted = new CountDownLatch(1);
+    CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    List<Object> writtenStatus = Collections.synchronizedList(new ArrayList<>());
+    when(esService.bulkUpsert(Mockito.any(), Mockito.anyString(), Mockito.anyMap(), Mockito.anySet()))
+        .thenAnswer(
+            invocation -> {
+              maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+              try {
+                Map<String, Map<String, Object>> documents =
+                    (Map<String, Map<String, Object>>) invocation.getArguments()[2];
+                if (writtenStatus.isEmpty()) {
+                  writtenStatus.add(documents.get("001").get("status"));
+                  firstWriteStarted.countDown();
+                  releaseFirstWrite.await(5, TimeUnit.SECONDS);
+                  return Futures.successful(Arrays.asList("001"));
+                }
+                writtenStatus.add(documents.get("001").get("status"));
+                return Futures.successful(new ArrayList<>());
+              } finally {
+                inFlight.decrementAndGet();
+              }
+            });
+    ElasticSearchBulkQueue queue = new ElasticSearchBulkQueue(esService, 100, 60000, 1000, 3);
+    queue.upsert(null, "user-courses", "001", document("status", 1));
+    Thread first = new Thread(queue::flushAll);
+    first.start();
+    assertTrue(firstWriteStarted.await(5, TimeUnit.SECONDS));
+    queue.upsert(null, "user-courses", "001", document("status", 2));
+    Thread second = new Thread(queue::flushAll);
+    second.start();
+    Thread.sleep(200);
+    releaseFirstWrite.countDown();
+    first.join(5000);
+    second.join(5000);
+    queue.flushAll();
+    assertEquals(1, maxInFlight.get());
+    assertEquals(Arrays.asList(1, 2), writtenStatus);
+    assertEquals(0, getPending(queue));
+  }
+
+  private Map<String, Object> document(String key, Object value) {
+    Map<String, Object> document = new HashMap<>();
+    document.put(key, value);
+    return document;
+  }
+
+  private int getPending(ElasticSearchBulkQueue queue) {
+    return (int) queue.snapshot().get("pending");
+  }
+}
@@ -7,7 +7,10 @@ import static org.powermock.api.mockito.PowerMockito.doNothing;
 import static org.powermock.api.mockito.PowerMockito.mock;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -20,9 +23,16 @@ import org.elasticsearch.action.delete.DeleteResponse;
 import org.elasticsearch.action.get.GetRequestBuilder;
 import org.elasticsearch.action.get.GetResponse;
 import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchResponseSections;
+import org.elasticsearch.action.search.ShardSearchFailure;
 import org.elasticsearch.action.support.master.AcknowledgedResponse;
 import org.elasticsearch.action.update.UpdateResponse;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.text.Text;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.util.concurrent.FutureUtils;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
@@ -45,9 +55,14 @@ import org.sunbird.common.factory.EsClientFactory;
 import org.sunbird.common.inf.ElasticSearchService;
 import org.sunbird.common.models.util.HttpUtil;
 import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.request.RequestContext;
+import org.sunbird.common.request.RequestDeadline;
 import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.dto.SearchDTO;
 import org.sunbird.helper.ConnectionManager;
+import scala.concurrent.Await;
 import scala.concurrent.Future;
+import scala.concurrent.duration.Duration;
 
 /**
  * Test class for Elastic search Rest High level client Impl
@@ -272,6 +287,123 @@ public class ElasticSearchRestHighImplTest {
     assertEquals(false, res);
   }
 
+  @Test
+  public void testBulkUpsertSuccess() {
+    mockRulesForBulk(false);
+    Map<String, Map<String, Object>> documents = new HashMap<>();
+    documents.put("0001", new HashMap<>());
+    Future<List<String>> result = esService.bulkUpsert(null, "test", documents, Collections.singleton("0001"));
+    List<String> failed = (List<String>) ElasticSearchHelper.getResponseFromFuture(result);
+    assertEquals(0, failed.size());
+  }
+
+  @Test
+  public void testBulkUpsertFailure() {
+    mockRulesForBulk(true);
+    Map<String, Map<String, Object>> documents = new HashMap<>();
+    documents.put("0001", new HashMap<>());
+    Future<List<String>> result = esService.bulkUpsert(null, "test", documents, new HashSet<>());
+    List<String> failed = (List<String>) ElasticSearchHelper.getResponseFromFuture(result);
+    assertEquals(Arrays.asList("0001"), failed);
+  }
+
+  @Test
+  public void testSearchFailsWhenTimedOut() throws Exception {
+    mockRulesForSearch(true);
+    RequestContext requestContext =
+        new RequestContext(null, null, null, null, null, "reqId", "false", "search");
+    requestContext.setDeadline(System.currentTimeMillis() + 10000);
+    RequestDeadline.set(requestContext);
+    try {
+      Await.result(
+          esService.search(null, new SearchDTO(), "test"), Duration.create(5, "seconds"));
+      Assert.fail("a timed out search must not return partial hits");
+    } catch (ProjectCommonException e) {
+      assertEquals(ResponseCode.operationTimeout.getErrorCode(), e.getCode());
+    } finally {
+      RequestDeadline.clear();
+    }
+  }
+
+  @Test
+  public void testCollapsedSearchesGetOwnCopies() throws Exception {
+    List<Object[]> calls = mockRulesForPendingSearch();
+    Future<Map<String, Object>> first = esService.search(null, new SearchDTO(), "test");
+    Future<Map<String, Object>> second = esService.search(null, new SearchDTO(), "test");
+    assertEquals(1, calls.size());
+    ((ActionListener<SearchResponse>) calls.get(0)[1]).onResponse(getSearchResponse(false));
+    Map<String, Object> firstHit = getFirstHit(first);
+    firstHit.put("identifier", "changed");
+    ((Map<String, Object>) firstHit.get("tags")).put("level", "2");
+    Map<String, Object> secondHit = getFirstHit(second);
+    assertEquals("001", secondHit.get("identifier"));
+    assertEquals("1", ((Map<String, Object>) secondHit.get("tags")).get("level"));
+  }
+
+  @Test
+  public void testSearchesWithCloseDeadlinesAreCollapsed() throws Exception {
+    List<Object[]> calls = mockRulesForPendingSearch();
+    List<Future<Map<String, Object>>> results = new ArrayList<>();
+    for (long deadline : new long[] {10200, 10400}) {
+      RequestContext requestContext =
+          new RequestContext(null, null, null, null, null, "reqId", "false", "search");
+      requestContext.setDeadline(System.currentTimeMillis() + deadline);
+      RequestDeadline.set(requestContext);
+      try {
+        results.add(esService.search(null, new SearchDTO(), "test"));
+      } finally {
+        RequestDeadline.clear();
+      }
+    }
+    assertEquals(1, calls.size());
+    assertEquals(
+        TimeValue.timeValueMillis(10000), ((SearchRequest) calls.get(0)[0]).source().timeout());
+    ((ActionListener<SearchResponse>) calls.get(0)[1]).onResponse(getSearchResponse(false));
+    for (Future<Map<String, Object>> result : results) {
+      assertEquals("001", getFirstHit(result).get("identifier"));
+    }
+  }
+
+  private void mockRulesForSearch(boolean timedOut) {
+    doAnswer(
+            invocation -> {
+              ((ActionListener<SearchResponse>) invocation.getArguments()[1])
+                  .onResponse(getSearchResponse(timedOut));
+              return null;
+            })
+        .when(client)
+        .searchAsync(Mockito.any(), Mockito.any());
+  }
+
+  /** Searches are answered by the test through the listener of the recorded call. */
+  private List<Object[]> mockRulesForPendingSearch() {
+    List<Object[]> calls = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              calls.add(invocation.getArguments());
+              return null;
+            })
+        .when(client)
+        .searchAsync(Mockito.any(), Mockito.any());
+    return calls;
+  }
+
+  private static Map<String, Object> getFirstHit(Future<Map<String, Object>> result)
+      throws Exception {
+    Map<String, Object> response = Await.result(result, Duration.create(5, "seconds"));
+    return ((List<Map<String, Object>>) response.get(JsonKey.CONTENT)).get(0);
+  }
+
+  private static SearchResponse getSearchResponse(boolean timedOut) {
+    SearchHit hit = new SearchHit(1, "001", new Text("_doc"), new HashMap<>());
+    hit.sourceRef(new BytesArray("{\"identifier\":\"001\",\"tags\":{\"level\":\"1\"}}"));
+    SearchResponseSections sections =
+        new SearchResponseSections(
+            new SearchHits(new SearchHit[] {hit}, 1, 1f), null, null, timedOut, null, null, 1);
+    return new SearchResponse(
+        sections, null, 1, 1, 0, 1, new ShardSearchFailure[0], SearchResponse.Clusters.EMPTY);
+  }
+
   private void mockBaseRules() {
     client = mock(RestHighLevelClient.class);
     PowerMockito.mockStatic(ConnectionManager.class);
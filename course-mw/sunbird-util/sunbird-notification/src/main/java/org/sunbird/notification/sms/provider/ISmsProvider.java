@@ -1,6 +1,7 @@
 package org.sunbird.notification.sms.provider;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface ISmsProvider {
 
@@ -34,4 +35,15 @@ public interface ISmsProvider {
    * @return boolean
    */
   boolean send(List<String> phoneNumber, String smsText);
+
+  /**
+   * This method will send the SMS to a large list of phone numbers without waiting for it, many
+   * numbers per request. default country code value will differ based on Installation, for sunbird
+   * default is 91
+   *
+   * @param phoneNumber List<String>
+   * @param smsText Sms text
+   * @return completed with true if the SMS was sent to all numbers
+   */
+  CompletableFuture<Boolean> sendBulk(List<String> phoneNumber, String smsText);
 }
@@ -0,0 +1,231 @@
+package org.sunbird.notification.sms.providerimpl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+import org.jboss.logging.Logger;
+import org.sunbird.notification.sms.Sms;
+import org.sunbird.notification.utils.JsonUtil;
+
+/**
+ * Sends one SMS text to many phone numbers through the MSG91 post api. The numbers are packed into
+ * batches of {@code batchSize} recipients, one request per batch, which are sent in parallel over
+ * a pool of {@code maxConnections} kept alive connections. Batch requests are started at most
+ * {@code requestsPerSecond} times per second, no limit if it is not positive. A batch fails if no
+ * connection is free within {@code connectionRequestTimeout}, or if the connect or a read of the
+ * response takes longer than {@code connectTimeout} or {@code socketTimeout} milliseconds.
+ *
+ * <p>The outcome of every batch is returned to the caller, the counts of sent and failed batches
+ * and recipients since start are reported by {@link #snapshot()}.
+ */
+public class Msg91BulkSmsSender {
+
+  private static Logger logger = Logger.getLogger(Msg91BulkSmsSender.class);
+
+  private final String url;
+  private final String authKey;
+  private final String sender;
+  private final String route;
+  private final String country;
+  private final int batchSize;
+  private final long batchIntervalNanos;
+  private final CloseableHttpClient httpClient;
+  private final ExecutorService executor;
+  private long nextBatchStart = System.nanoTime();
+
+  private final AtomicLong batches = new AtomicLong();
+  private final AtomicLong failedBatches = new AtomicLong();
+  private final AtomicLong recipients = new AtomicLong();
+  private final AtomicLong failedRecipients = new AtomicLong();
+
+  public Msg91BulkSmsSender(
+      String url,
+      String authKey,
+      String sender,
+      String route,
+      String country,
+      int batchSize,
+      int maxConnections,
+      int requestsPerSecond,
+      int connectTimeout,
+      int socketTimeout,
+      int connectionRequestTimeout) {
+    this.url = url;
+    this.authKey = authKey;
+    this.sender = sender;
+    this.route = route;
+    this.country = country;
+    this.batchSize = Math.max(1, batchSize);
+    this.batchIntervalNanos =
+        requestsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / requestsPerSecond : 0;
+    int connections = Math.max(1, maxConnections);
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(connections);
+    connectionManager.setDefaultMaxPerRoute(connections);
+    RequestConfig requestConfig =
+        RequestConfig.custom()
+            .setConnectTimeout(connectTimeout)
+            .setSocketTimeout(socketTimeout)
+            .setConnectionRequestTimeout(connectionRequestTimeout)
+            .build();
+    this.httpClient =
+        HttpClientBuilder.create()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .build();
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor =
+        Executors.newFixedThreadPool(
+            connections,
+            runnable -> {
+              Thread thread = new Thread(runnable, "msg91-bulk-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * @param phoneNumbers valid phone numbers without leading +, duplicates are sent once
+   * @param smsText text of the SMS
+   * @return outcome of every batch, in the order of the phone numbers
+   */
+  public CompletableFuture<List<BatchResult>> send(List<String> phoneNumbers, String smsText) {
+    List<String> distinct = new ArrayList<>(new LinkedHashSet<>(phoneNumbers));
+    List<CompletableFuture<BatchResult>> futures = new ArrayList<>();
+    for (int from = 0; from < distinct.size(); from += batchSize) {
+      List<String> batch = distinct.subList(from, Math.min(distinct.size(), from + batchSize));
+      futures.add(CompletableFuture.supplyAsync(() -> sendBatch(batch, smsText), executor));
+    }
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+        .thenApply(
+            done -> futures.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+  }
+
+  private BatchResult sendBatch(List<String> batch, String smsText) {
+    long start = 0;
+    int statusCode = 0;
+    String error = null;
+    try {
+      awaitBatchSlot();
+      start = System.currentTimeMillis();
+      HttpPost httpPost = new HttpPost(url);
+      httpPost.setHeader("content-type", "application/json");
+      httpPost.setHeader("authkey", authKey);
+      ProviderDetails providerDetails =
+          new ProviderDetails(
+              sender, route, country, 1, Collections.singletonList(new Sms(smsText, batch)));
+      httpPost.setEntity(
+          new ByteArrayEntity(JsonUtil.toJson(providerDetails).getBytes(StandardCharsets.UTF_8)));
+      try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
+        statusCode = response.getStatusLine().getStatusCode();
+        // reading the body to the end hands the connection back to the pool
+        EntityUtils.consume(response.getEntity());
+        if (statusCode != 200) {
+          error = response.getStatusLine().getReasonPhrase();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      error = "interrupted";
+    } catch (Exception e) {
+      error = e.getMessage();
+    }
+    BatchResult result =
+        new BatchResult(
+            batch.size(), statusCode, error, 0 == start ? 0 : System.currentTimeMillis() - start);
+    batches.incrementAndGet();
+    recipients.addAndGet(batch.size());
+    if (!result.isSuccess()) {
+      failedBatches.incrementAndGet();
+      failedRecipients.addAndGet(batch.size());
+      logger.error(
+          "Msg91BulkSmsSender: SMS for a batch of "
+              + batch.size()
+              + " recipients could not be sent: "
+              + statusCode
+              + " - "
+              + error);
+    }
+    return result;
+  }
+
+  /** Waits until this batch may be started without exceeding the request rate. */
+  private void awaitBatchSlot() throws InterruptedException {
+    if (batchIntervalNanos <= 0) return;
+    long wait;
+    synchronized (this) {
+      long now = System.nanoTime();
+      long slot = Math.max(now, nextBatchStart);
+      nextBatchStart = slot + batchIntervalNanos;
+      wait = slot - now;
+    }
+    if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+  }
+
+  public Map<String, Object> snapshot() {
+    Map<String, Object> snapshot = new TreeMap<>();
+    snapshot.put("batches", batches.get());
+    snapshot.put("failedBatches", failedBatches.get());
+    snapshot.put("recipients", recipients.get());
+    snapshot.put("failedRecipients", failedRecipients.get());
+    return snapshot;
+  }
+
+  /** Outcome of the request sent for one batch of recipients. */
+  public static class BatchResult {
+    private final int recipients;
+    private final int statusCode;
+    private final String error;
+    private final long latency;
+
+    BatchResult(int recipients, int statusCode, String error, long latency) {
+      this.recipients = recipients;
+      this.statusCode = statusCode;
+      this.error = error;
+      this.latency = latency;
+    }
+
+    /** @return number of phone numbers in the batch */
+    public int getRecipients() {
+      return recipients;
+    }
+
+    /** @return http status of the response, 0 if no response was received */
+    public int getStatusCode() {
+      return statusCode;
+    }
+
+    /** @return reason of the failure, null if the batch was sent */
+    public String getError() {
+      return error;
+    }
+
+    /** @return duration of the request in milliseconds */
+    public long getLatency() {
+      return latency;
+    }
+
+    public boolean isSuccess() {
+      return statusCode == 200;
+    }
+  }
+}
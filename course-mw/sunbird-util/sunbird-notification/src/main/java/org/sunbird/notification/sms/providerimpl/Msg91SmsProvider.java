@@ -6,6 +6,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 import org.apache.http.HttpEntity;
 import org.apache.http.StatusLine;
 import org.apache.http.client.methods.CloseableHttpResponse;
@@ -32,6 +34,7 @@ public class Msg91SmsProvider implements ISmsProvider {
   private static String smsMethodType = null;
   private static String authKey = null;
   private static String country = null;
+  private static Msg91BulkSmsSender bulkSender = null;
 
   static {
     boolean resposne = init();
@@ -419,6 +422,70 @@ public class Msg91SmsProvider implements ISmsProvider {
     }
   }
 
+  /**
+   * This method will send the SMS to a large list of phone numbers. Numbers are packed into
+   * multi-recipient requests which are sent asynchronously over pooled connections under a rate
+   * limit, see {@link Msg91BulkSmsSender}. Failed batches are logged by the sender.
+   *
+   * @param phoneNumber List<String>
+   * @param smsText Sms text
+   * @return completed with true if every batch of recipients was sent
+   */
+  @Override
+  public CompletableFuture<Boolean> sendBulk(List<String> phoneNumber, String smsText) {
+    if (JsonUtil.isStringNullOREmpty(smsText) || !validateSettings()) {
+      logger.debug("Msg91SmsProvider - can't sent empty msg or settings are missing.");
+      return CompletableFuture.completedFuture(false);
+    }
+    List<String> phoneNumberList =
+        validatePhoneList(null == phoneNumber ? null : new ArrayList<>(phoneNumber));
+    if (phoneNumberList == null || phoneNumberList.isEmpty()) {
+      logger.debug("can't sent msg with empty phone list.");
+      return CompletableFuture.completedFuture(false);
+    }
+    return getBulkSender()
+        .send(
+            phoneNumberList
+                .stream()
+                .map(this::removePlusFromMobileNumber)
+                .collect(Collectors.toList()),
+            getDoubleEncodedSMS(smsText))
+        .thenApply(
+            results ->
+                !results.isEmpty()
+                    && results.stream().allMatch(Msg91BulkSmsSender.BatchResult::isSuccess));
+  }
+
+  /** @return the sender used by {@link #sendBulk(List, String)}, created on first use */
+  public static synchronized Msg91BulkSmsSender getBulkSender() {
+    if (null == bulkSender) {
+      bulkSender =
+          new Msg91BulkSmsSender(
+              baseUrl + postUrl,
+              authKey,
+              sender,
+              smsRoute,
+              country,
+              getIntProperty("sunbird.msg.91.bulk.batch.size", 100),
+              getIntProperty("sunbird.msg.91.bulk.max.connections", 10),
+              getIntProperty("sunbird.msg.91.bulk.requests.per.second", 10),
+              getIntProperty("sunbird.msg.91.bulk.connect.timeout", 5000),
+              getIntProperty("sunbird.msg.91.bulk.socket.timeout", 10000),
+              getIntProperty("sunbird.msg.91.bulk.connection.request.timeout", 5000));
+    }
+    return bulkSender;
+  }
+
+  private static int getIntProperty(String key, int defaultValue) {
+    String value = PropertiesCache.getInstance().getProperty(key);
+    try {
+      return JsonUtil.isStringNullOREmpty(value) ? defaultValue : Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      logger.error("Msg91SmsProvider - invalid value " + value + " for " + key);
+      return defaultValue;
+    }
+  }
+
   /**
    * This method will verify list of phone numbers. if any phone number is empty or null then will
    * remove it form list.
@@ -0,0 +1,122 @@
+package org.sunbird.notification.sms;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.sunbird.notification.sms.providerimpl.Msg91BulkSmsSender;
+import org.sunbird.notification.sms.providerimpl.Msg91BulkSmsSender.BatchResult;
+
+public class Msg91BulkSmsSenderTest {
+
+	private HttpServer server;
+	private final Queue<JsonNode> requests = new ConcurrentLinkedQueue<>();
+
+	@Before
+	public void startStub() throws IOException {
+		ObjectMapper mapper = new ObjectMapper();
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext(
+				"/api/v2/sendsms",
+				exchange -> {
+					JsonNode body = mapper.readTree(exchange.getRequestBody());
+					requests.add(body);
+					if (body.toString().contains("9000000009")) {
+						try {
+							Thread.sleep(1000);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+					}
+					boolean failed = body.toString().contains("9000000005");
+					byte[] response = "{\"type\":\"success\"}".getBytes();
+					exchange.sendResponseHeaders(failed ? 500 : 200, response.length);
+					exchange.getResponseBody().write(response);
+					exchange.close();
+				});
+		server.start();
+	}
+
+	@After
+	public void stopStub() {
+		server.stop(0);
+	}
+
+	@Test
+	public void testSendPacksRecipientsIntoBatches() {
+		Msg91BulkSmsSender sender = createSender(0);
+		List<BatchResult> results =
+				sender
+						.send(
+								Arrays.asList(
+										"9000000001", "9000000002", "9000000003", "9000000001", "9000000004", "9000000005"),
+								"some message")
+						.join();
+		Assert.assertEquals(3, results.size());
+		Assert.assertEquals(3, requests.size());
+		Assert.assertTrue(results.get(0).isSuccess());
+		Assert.assertTrue(results.get(1).isSuccess());
+		Assert.assertFalse(results.get(2).isSuccess());
+		Assert.assertEquals(500, results.get(2).getStatusCode());
+		Assert.assertEquals(1, results.get(2).getRecipients());
+		for (JsonNode request : requests) {
+			Assert.assertEquals("TesSun", request.get("sender").asText());
+			Assert.assertEquals(1, request.get("sms").size());
+		}
+		Assert.assertEquals(3L, sender.snapshot().get("batches"));
+		Assert.assertEquals(1L, sender.snapshot().get("failedBatches"));
+		Assert.assertEquals(5L, sender.snapshot().get("recipients"));
+		Assert.assertEquals(1L, sender.snapshot().get("failedRecipients"));
+	}
+
+	@Test
+	public void testSendIsRateLimited() {
+		Msg91BulkSmsSender sender = createSender(20);
+		long start = System.currentTimeMillis();
+		sender
+				.send(Arrays.asList("9000000001", "9000000002", "9000000003", "9000000004", "9000000006"), "hi")
+				.join();
+		Assert.assertEquals(3, requests.size());
+		Assert.assertTrue(System.currentTimeMillis() - start >= 100);
+	}
+
+	@Test
+	public void testSendFailsBatchAfterSocketTimeout() {
+		List<BatchResult> results =
+				createSender(0, 200)
+						.send(Arrays.asList("9000000001", "9000000002", "9000000009"), "hi")
+						.join();
+		Assert.assertEquals(2, results.size());
+		Assert.assertTrue(results.get(0).isSuccess());
+		Assert.assertFalse(results.get(1).isSuccess());
+		Assert.assertEquals(0, results.get(1).getStatusCode());
+	}
+
+	private Msg91BulkSmsSender createSender(int requestsPerSecond) {
+		return createSender(requestsPerSecond, 10000);
+	}
+
+	private Msg91BulkSmsSender createSender(int requestsPerSecond, int socketTimeout) {
+		return new Msg91BulkSmsSender(
+				"http://localhost:" + server.getAddress().getPort() + "/api/v2/sendsms",
+				"randomstring",
+				"TesSun",
+				"4",
+				"91",
+				2,
+				2,
+				requestsPerSecond,
+				5000,
+				socketTimeout,
+				5000);
+	}
+}
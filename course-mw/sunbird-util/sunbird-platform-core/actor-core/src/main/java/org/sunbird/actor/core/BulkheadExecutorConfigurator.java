@@ -0,0 +1,35 @@
+package org.sunbird.actor.core;
+
+import akka.dispatch.DispatcherPrerequisites;
+import akka.dispatch.ExecutorServiceFactory;
+import akka.dispatch.ThreadPoolExecutorConfigurator;
+import com.typesafe.config.Config;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Thread pool executor for bulkhead dispatchers. Behaves like akka's thread-pool-executor (and
+ * reads the same "thread-pool-executor" section) but registers the pool in {@link
+ * BulkheadMetrics}. Usage in a dispatcher config: executor =
+ * "org.sunbird.actor.core.BulkheadExecutorConfigurator"
+ */
+public class BulkheadExecutorConfigurator extends ThreadPoolExecutorConfigurator {
+
+  public BulkheadExecutorConfigurator(Config config, DispatcherPrerequisites prerequisites) {
+    super(config.getConfig("thread-pool-executor"), prerequisites);
+  }
+
+  @Override
+  public ExecutorServiceFactory createExecutorServiceFactory(
+      String id, ThreadFactory threadFactory) {
+    ExecutorServiceFactory factory = super.createExecutorServiceFactory(id, threadFactory);
+    return () -> {
+      ExecutorService executorService = factory.createExecutorService();
+      if (executorService instanceof ThreadPoolExecutor) {
+        BulkheadMetrics.register(id, (ThreadPoolExecutor) executorService);
+      }
+      return executorService;
+    };
+  }
+}
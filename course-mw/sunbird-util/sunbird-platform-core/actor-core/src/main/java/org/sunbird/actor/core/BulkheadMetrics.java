@@ -0,0 +1,42 @@
+package org.sunbird.actor.core;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Registry of the thread pools created by {@link BulkheadExecutorConfigurator}, keyed by
+ * dispatcher id.
+ */
+public final class BulkheadMetrics {
+
+  private static final Map<String, ThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+
+  private BulkheadMetrics() {}
+
+  static void register(String dispatcher, ThreadPoolExecutor executor) {
+    executors.put(dispatcher, executor);
+  }
+
+  /**
+   * Current usage of every registered bulkhead.
+   *
+   * @return map of dispatcher id to pool size, active threads, queued and completed tasks
+   */
+  public static Map<String, Map<String, Object>> snapshot() {
+    Map<String, Map<String, Object>> snapshot = new TreeMap<>();
+    executors.forEach(
+        (dispatcher, executor) -> {
+          Map<String, Object> metrics = new TreeMap<>();
+          metrics.put("poolSize", executor.getPoolSize());
+          metrics.put("maxPoolSize", executor.getMaximumPoolSize());
+          metrics.put("activeCount", executor.getActiveCount());
+          metrics.put("largestPoolSize", executor.getLargestPoolSize());
+          metrics.put("queueSize", executor.getQueue().size());
+          metrics.put("completedTaskCount", executor.getCompletedTaskCount());
+          snapshot.put(dispatcher, metrics);
+        });
+    return snapshot;
+  }
+}
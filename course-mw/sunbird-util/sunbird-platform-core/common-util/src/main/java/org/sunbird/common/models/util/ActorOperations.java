@@ -165,6 +165,8 @@ public enum ActorOperations {
   ADD_CERTIFICATE("addCertificate"),
   ASSIGN_KEYS("assignKeys"),
   DOWNLOAD_QR_CODES("downloadQRCodes"),
+  PROCESS_QR_CODE_DOWNLOAD("processQRCodeDownload"),
+  GET_QR_CODE_DOWNLOAD_STATUS("getQRCodeDownloadStatus"),
   GET_SIGN_URL("getSignUrl"),
   MERGE_USER_CERTIFICATE("mergeUserCertificate"),
   MIGRATE_USER("migrateUser"),
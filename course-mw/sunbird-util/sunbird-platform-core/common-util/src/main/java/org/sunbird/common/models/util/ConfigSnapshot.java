@@ -0,0 +1,136 @@
+package org.sunbird.common.models.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Immutable snapshot of the service configuration, i.e. the properties files loaded by {@link
+ * PropertiesCache} overridden by the non blank environment variables. It is built once and read
+ * without locking; {@link #reload()} builds a new snapshot and swaps it in.
+ *
+ * <p>{@link ProjectUtil#getConfigValue(String)} reads from this snapshot. Hot call sites which need
+ * a number, flag or list should use the typed getters, which parse the value once per snapshot.
+ */
+public final class ConfigSnapshot {
+
+  private static final ConfigSnapshot EMPTY = new ConfigSnapshot(Collections.emptyMap());
+  private static volatile ConfigSnapshot current = load();
+
+  private final Map<String, String> values;
+  private final Map<String, Object> parsed = new ConcurrentHashMap<>();
+
+  private ConfigSnapshot(Map<String, String> values) {
+    this.values = Collections.unmodifiableMap(values);
+  }
+
+  private static ConfigSnapshot load() {
+    Map<String, String> values = new HashMap<>();
+    Map<String, String> properties = PropertiesCache.getInstance().getProperties();
+    if (null != properties) values.putAll(properties);
+    System.getenv()
+        .forEach(
+            (key, value) -> {
+              if (StringUtils.isNotBlank(value)) values.put(key, value);
+            });
+    return new ConfigSnapshot(values);
+  }
+
+  /**
+   * Loading the properties logs through {@link ProjectLogger}, which reads its settings from here,
+   * so the reads made while the first snapshot is loading see an empty one.
+   */
+  private static ConfigSnapshot snapshot() {
+    ConfigSnapshot snapshot = current;
+    return null != snapshot ? snapshot : EMPTY;
+  }
+
+  /** Rebuild the snapshot from the environment and the properties files. */
+  public static void reload() {
+    current = load();
+    ProjectLogger.log(
+        "ConfigSnapshot:reload: loaded " + current.values.size() + " values", LoggerEnum.INFO.name());
+  }
+
+  /**
+   * @param key config key
+   * @return value of the key, null if not configured
+   */
+  public static String getString(String key) {
+    return snapshot().values.get(key);
+  }
+
+  /**
+   * @param key config key
+   * @param defaultValue value returned if the key is blank or not configured
+   * @return value of the key
+   */
+  public static String getString(String key, String defaultValue) {
+    return StringUtils.defaultIfBlank(snapshot().values.get(key), defaultValue);
+  }
+
+  /**
+   * @param key config key
+   * @param defaultValue value returned if the key is blank or not configured
+   * @return value of the key as int
+   */
+  public static int getInt(String key, int defaultValue) {
+    return (Integer)
+        snapshot().parse(
+            key, "int", value -> null != value ? Integer.parseInt(value) : defaultValue);
+  }
+
+  /**
+   * @param key config key
+   * @param defaultValue value returned if the key is blank or not configured
+   * @return value of the key as long
+   */
+  public static long getLong(String key, long defaultValue) {
+    return (Long)
+        snapshot().parse(key, "long", value -> null != value ? Long.parseLong(value) : defaultValue);
+  }
+
+  /**
+   * @param key config key
+   * @param defaultValue value returned if the key is blank or not configured
+   * @return value of the key as boolean
+   */
+  public static boolean getBoolean(String key, boolean defaultValue) {
+    return (Boolean)
+        snapshot().parse(
+            key, "boolean", value -> null != value ? Boolean.parseBoolean(value) : defaultValue);
+  }
+
+  /**
+   * @param key config key
+   * @return comma separated value of the key as an unmodifiable list, empty if not configured
+   */
+  @SuppressWarnings("unchecked")
+  public static List<String> getList(String key) {
+    return (List<String>)
+        snapshot().parse(
+            key,
+            "list",
+            value ->
+                null != value
+                    ? Collections.unmodifiableList(
+                        Arrays.stream(value.split(","))
+                            .map(String::trim)
+                            .filter(StringUtils::isNotEmpty)
+                            .collect(Collectors.toList()))
+                    : Collections.emptyList());
+  }
+
+  /** Parse the value of a key once per snapshot; blank values are not cached. */
+  private Object parse(String key, String type, Function<String, Object> parser) {
+    String value = StringUtils.trimToNull(values.get(key));
+    if (null == value) return parser.apply(null);
+    return parsed.computeIfAbsent(type + ":" + key, k -> parser.apply(value));
+  }
+}
@@ -5,8 +5,10 @@ import com.mashape.unirest.http.HttpResponse;
 import com.mashape.unirest.http.Unirest;
 import com.mashape.unirest.http.exceptions.UnirestException;
 import org.apache.commons.collections4.MapUtils;
+import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.HttpUtilResponse;
 import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.common.util.OutboundHttp;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -33,7 +35,9 @@ public class HttpUtil {
   public static String sendGetRequest(String requestURL, Map<String, String> headers)
           throws UnirestException {
     long startTime = System.currentTimeMillis();
-    HttpResponse<String> httpResponse = Unirest.get(requestURL).headers(headers).asString();
+    HttpResponse<String> httpResponse =
+        OutboundHttp.execute(
+            OutboundHttp.getHost(requestURL), Unirest.get(requestURL).headers(headers));
     if(200 == httpResponse.getStatus()) {
       long stopTime = System.currentTimeMillis();
       long elapsedTime = stopTime - startTime;
@@ -57,7 +61,9 @@ public class HttpUtil {
       String requestURL, Map<String, String> params, Map<String, String> headers)
       throws Exception {
     long startTime = System.currentTimeMillis();
-    HttpResponse<String> httpResponse = Unirest.post(requestURL).headers(headers).body(params).asString();
+    HttpResponse<String> httpResponse =
+        OutboundHttp.execute(
+            OutboundHttp.getHost(requestURL), Unirest.post(requestURL).headers(headers).body(params));
     String str = httpResponse.getBody();
     long stopTime = System.currentTimeMillis();
     long elapsedTime = stopTime - startTime;
@@ -83,7 +89,9 @@ public class HttpUtil {
   public static String sendPostRequest(
       String requestURL, String params, Map<String, String> headers) throws Exception {
     long startTime = System.currentTimeMillis();
-    HttpResponse<String> httpResponse = Unirest.post(requestURL).headers(headers).body(params).asString();
+    HttpResponse<String> httpResponse =
+        OutboundHttp.execute(
+            OutboundHttp.getHost(requestURL), Unirest.post(requestURL).headers(headers).body(params));
     String str = httpResponse.getBody();
     long stopTime = System.currentTimeMillis();
     long elapsedTime = stopTime - startTime;
@@ -112,8 +120,12 @@ public class HttpUtil {
     long startTime = System.currentTimeMillis();
     HttpUtilResponse response = new HttpUtilResponse();
     try {
-      HttpResponse<String> httpResponse = Unirest.post(requestURL).headers(headers).body(params).asString();
+      HttpResponse<String> httpResponse =
+          OutboundHttp.execute(
+              OutboundHttp.getHost(requestURL), Unirest.post(requestURL).headers(headers).body(params));
       response = new HttpUtilResponse(httpResponse.getBody(), httpResponse.getStatus());
+    } catch (ProjectCommonException ex) {
+      throw ex;
     } catch (Exception ex) {
       logger.error(null, "Exception occurred while reading body of POST call response : " , ex);
     }
@@ -149,7 +161,9 @@ public class HttpUtil {
             + params);
 
     try {
-      HttpResponse<String> httpResponse = Unirest.patch(requestURL).headers(headers).body(params).asString();
+      HttpResponse<String> httpResponse =
+          OutboundHttp.execute(
+              OutboundHttp.getHost(requestURL), Unirest.patch(requestURL).headers(headers).body(params));
       
       if (ResponseCode.OK.getResponseCode() == httpResponse.getStatus()) {
         long stopTime = System.currentTimeMillis();
@@ -174,6 +188,8 @@ public class HttpUtil {
               + " ,Total time elapsed = "
               + elapsedTime);
       return "Failure";
+    } catch (ProjectCommonException e) {
+      throw e;
     } catch (Exception e) {
       logger.error(null, "HttpUtil call fails == " + e.getMessage(), e);
     }
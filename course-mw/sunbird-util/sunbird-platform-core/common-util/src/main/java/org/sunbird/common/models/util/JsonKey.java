@@ -89,6 +89,7 @@ public final class JsonKey {
   public static final String BLOCKED = "blocked";
   public static final String BODY = "body";
   public static final String BULK_OP_DB = "BulkOpDb";
+  public static final String BULKHEADS = "bulkheads";
   public static final String BULK_UPLOAD_BATCH_DATA_SIZE = "bulk_upload_batch_data_size";
   public static final String BULK_UPLOAD_ORG_DATA_SIZE = "bulk_upload_org_data_size";
   public static final String BULK_UPLOAD_USER_DATA_SIZE = "sunbird_user_bulk_upload_size";
@@ -317,6 +318,9 @@ public final class JsonKey {
   public static final String LEARNER_SERVICE = "Learner service";
   public static final String LEVEL = "level";
   public static final String LIMIT = "limit";
+  public static final String CURSOR = "cursor";
+  public static final String NEXT_CURSOR = "nextCursor";
+  public static final String PAGING_STATE = "pagingState";
   public static final String LIST = "List";
   public static final String LOC_ID = "locationId";
   public static final String LOCATION = "location";
@@ -610,6 +614,7 @@ public final class JsonKey {
   public static final String USER_COUNT = "userCount";
   public static final String USER_COUNT_TTL = "userCountTTL";
   public static final String USER_COURSE = "user_course";
+  public static final String BATCH_PARTICIPANTS = "batch_participants";
   public static final String USER_COURSES = "userCourses";
   public static final String USER_DB = "user_db";
   public static final String USER_FOUND = "user exist with this login Id.";
@@ -710,6 +715,8 @@ public final class JsonKey {
   public static final String ORIGINAL_PROVIDER = "originalProvider";
   public static final String SUNBIRD_CASSANDRA_CONSISTENCY_LEVEL =
       "sunbird_cassandra_consistency_level";
+  public static final String SUNBIRD_CASSANDRA_CALLBACK_POOL_SIZE =
+      "sunbird_cassandra_callback_pool_size";
   public static final String VERSION_2 = "v2";
   public static final String CUSTODIAN_ORG_CHANNEL = "custodianOrgChannel";
   public static final String CUSTODIAN_ORG_ID = "custodianOrgId";
@@ -1014,6 +1021,73 @@ public final class JsonKey {
   public static final String CREATOR_DETAILS_FIELDS = "sunbird_user_search_cretordetails_fields";
   public static final String USER_SEARCH_BASE_URL = "sunbird_user_service_api_base_url";
   public static final String SUNBIRD_QRCODE_COURSES_LIMIT ="sunbird_user_qrcode_courses_limit";
+  public static final String SUNBIRD_QRCODE_DIALCODE_LOOKUP_BATCH_SIZE = "sunbird_qrcode_dialcode_lookup_batch_size";
+  public static final String SUNBIRD_QRCODE_IMAGE_CACHE_SIZE = "sunbird_qrcode_image_cache_size";
+  public static final String SUNBIRD_QRCODE_IMAGE_CACHE_TTL = "sunbird_qrcode_image_cache_ttl";
+  public static final String SUNBIRD_ADMISSION_CONTROL_ENABLED = "sunbird_admission_control_enabled";
+  public static final String SUNBIRD_ADMISSION_INITIAL_LIMIT = "sunbird_admission_initial_limit";
+  public static final String SUNBIRD_ADMISSION_MIN_LIMIT = "sunbird_admission_min_limit";
+  public static final String SUNBIRD_ADMISSION_MAX_LIMIT = "sunbird_admission_max_limit";
+  public static final String SUNBIRD_ADMISSION_LATENCY_THRESHOLD = "sunbird_admission_latency_threshold";
+  public static final String SUNBIRD_ADMISSION_MAX_QUEUE_DEPTH = "sunbird_admission_max_queue_depth";
+  public static final String SUNBIRD_PAGE_CACHE_REFRESH_INTERVAL = "sunbird_page_cache_refresh_interval";
+  public static final String SUNBIRD_LOG_SAMPLE_PERCENT = "sunbird_log_sample_percent";
+  public static final String SUNBIRD_LOG_MAX_MESSAGE_LENGTH = "sunbird_log_max_message_length";
+  public static final String SUNBIRD_NODE_ID = "sunbird_node_id";
+  public static final String SUNBIRD_POST_COMMIT_POOL_SIZE = "sunbird_post_commit_pool_size";
+  public static final String SUNBIRD_POST_COMMIT_QUEUE_CAPACITY = "sunbird_post_commit_queue_capacity";
+  public static final String SUNBIRD_POST_COMMIT_MAX_ATTEMPTS = "sunbird_post_commit_max_attempts";
+  public static final String SUNBIRD_POST_COMMIT_RETRY_DELAY = "sunbird_post_commit_retry_delay";
+  public static final String SUNBIRD_ENROLMENT_READ_POOL_SIZE = "sunbird_enrolment_read_pool_size";
+  public static final String SUNBIRD_ENROLMENT_READ_TIMEOUT = "sunbird_enrolment_read_timeout";
+  public static final String SUNBIRD_ENROLMENT_PROGRESS_UPDATE_MODE = "sunbird_enrolment_progress_update_mode";
+  public static final String SUNBIRD_ENROLMENT_EXISTS_CACHE_SIZE = "sunbird_enrolment_exists_cache_size";
+  public static final String SUNBIRD_CONTENT_STATE_COALESCE_WINDOW = "sunbird_content_state_coalesce_window";
+  public static final String SUNBIRD_CONTENT_STATE_FLUSH_POOL_SIZE = "sunbird_content_state_flush_pool_size";
+  public static final String SUNBIRD_COURSE_BATCH_CACHE_SIZE = "sunbird_course_batch_cache_size";
+  public static final String SUNBIRD_COURSE_BATCH_CACHE_TTL = "sunbird_course_batch_cache_ttl";
+  public static final String SUNBIRD_ES_BULK_SIZE = "sunbird_es_bulk_size";
+  public static final String SUNBIRD_ES_BULK_FLUSH_INTERVAL = "sunbird_es_bulk_flush_interval";
+  public static final String SUNBIRD_ES_BULK_QUEUE_CAPACITY = "sunbird_es_bulk_queue_capacity";
+  public static final String SUNBIRD_ES_BULK_MAX_ATTEMPTS = "sunbird_es_bulk_max_attempts";
+  public static final String SUNBIRD_HTTP_MAX_CONNECTIONS = "sunbird_http_max_connections";
+  public static final String SUNBIRD_HTTP_MAX_CONNECTIONS_PER_HOST = "sunbird_http_max_connections_per_host";
+  public static final String SUNBIRD_HTTP_CONNECT_TIMEOUT = "sunbird_http_connect_timeout";
+  public static final String SUNBIRD_HTTP_READ_TIMEOUT = "sunbird_http_read_timeout";
+  public static final String SUNBIRD_USER_ORG_CACHE_SIZE = "sunbird_user_org_cache_size";
+  public static final String SUNBIRD_USER_ORG_CACHE_TTL = "sunbird_user_org_cache_ttl";
+  public static final String SUNBIRD_USER_ORG_LOOKUP_BATCH_SIZE = "sunbird_user_org_lookup_batch_size";
+  public static final String SUNBIRD_PARTICIPANT_CHUNK_SIZE = "sunbird_participant_chunk_size";
+  public static final String SUNBIRD_PARTICIPANT_PARALLELISM = "sunbird_participant_parallelism";
+  public static final String SUNBIRD_PARTICIPANTS_PAGE_SIZE = "sunbird_participants_page_size";
+  public static final String SUNBIRD_PARTICIPANTS_MAX_PAGE_SIZE = "sunbird_participants_max_page_size";
+  public static final String SUNBIRD_BATCH_PARTICIPANTS_READ_ENABLED = "sunbird_batch_participants_read_enabled";
+  public static final String SUNBIRD_CONDITIONAL_RESPONSE_ENABLED = "sunbird_conditional_response_enabled";
+  public static final String SUNBIRD_USER_COURSES_MAX_AGE = "sunbird_user_courses_max_age";
+  public static final String SUNBIRD_COURSE_BATCH_READ_MAX_AGE = "sunbird_course_batch_read_max_age";
+  public static final String SUNBIRD_SINGLE_FLIGHT_ENABLED = "sunbird_single_flight_enabled";
+  public static final String SUNBIRD_HEALTH_PROBE_INTERVAL = "sunbird_health_probe_interval";
+  public static final String SUNBIRD_HEALTH_PROBE_TIMEOUT = "sunbird_health_probe_timeout";
+  public static final String SUNBIRD_CERT_TEMPLATE_CACHE_SIZE = "sunbird_cert_template_cache_size";
+  public static final String SUNBIRD_CERT_TEMPLATE_CACHE_TTL = "sunbird_cert_template_cache_ttl";
+  public static final String SUNBIRD_TOC_VALIDATION_CHUNK_SIZE = "sunbird_toc_validation_chunk_size";
+  public static final String SUNBIRD_TOC_VALIDATION_PARALLELISM = "sunbird_toc_validation_parallelism";
+  public static final String SUNBIRD_TOC_FRAMEWORK_CACHE_TTL = "sunbird_toc_framework_cache_ttl";
+  public static final String CONFIG = "config";
+  public static final String ADMISSION = "admission";
+  public static final String POST_COMMIT = "postCommit";
+  public static final String CONTENT_STATE_COALESCER = "contentStateCoalescer";
+  public static final String ES_BULK_QUEUE = "esBulkQueue";
+  public static final String OUTBOUND_HTTP = "outboundHttp";
+  public static final String USER_ORG_CACHE = "userOrgCache";
+  public static final String SINGLE_FLIGHT = "singleFlight";
+  public static final String READY = "ready";
+  public static final String LATENCY = "latency";
+  public static final String LAST_CHECKED = "lastChecked";
+  public static final String CONSECUTIVE_FAILURES = "consecutiveFailures";
+  public static final String CERT_TEMPLATES = "certTemplates";
+  public static final String CERT_TEMPLATE_FIELDS = "certTemplateFields";
+  public static final String QR_CODE_DOWNLOAD = "qrCodeDownload";
   public static final String ACCESS_TOKEN_PUBLICKEY_BASEPATH = "accesstoken.publickey.basepath";
   public static final String ACCESS_TOKEN_PUBLICKEY_KEYPREFIX = "accesstoken.publickey.keyprefix";
   public static final String ACCESS_TOKEN_PUBLICKEY_KEYCOUNT = "accesstoken.publickey.keycount";
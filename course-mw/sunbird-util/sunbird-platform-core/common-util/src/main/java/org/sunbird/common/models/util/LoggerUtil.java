@@ -12,9 +12,22 @@ import org.sunbird.telemetry.util.TelemetryEvents;
 import org.sunbird.telemetry.util.TelemetryWriter;
 
 import java.util.Map;
+import java.util.function.Supplier;
 
+/**
+ * Request aware logger. Every call is guarded by the level of the underlying logger, so nothing is
+ * built for a disabled level; callers with an expensive message should pass a {@link Supplier},
+ * which is only evaluated when the log is written. Messages longer than {@code
+ * sunbird_log_max_message_length} are truncated.
+ *
+ * <p>Debug logs of a request are written at info level when the request asks for debug, or when it
+ * falls in the {@code sunbird_log_sample_percent} sample. The sample is picked by request id, so a
+ * sampled request has all of its debug logs.
+ */
 public class LoggerUtil {
 
+    private static final String TRUNCATED = "...[truncated ";
+
     private Logger logger;
     
     public  LoggerUtil(Class c) {
@@ -22,10 +35,11 @@ public class LoggerUtil {
     }
     
     public void info(RequestContext requestContext, String message, Object data) {
+        if (!logger.isInfoEnabled()) return;
         if(null != requestContext) {
-            logger.info(Markers.appendEntries(requestContext.getContextMap()), message, data);    
+            logger.info(Markers.appendEntries(requestContext.getContextMap()), truncate(message), data);    
         } else {
-            logger.info(message, data);
+            logger.info(truncate(message), data);
         }
         
     }
@@ -34,44 +48,69 @@ public class LoggerUtil {
         info(requestContext, message, null);
     }
 
+    public void info(RequestContext requestContext, Supplier<String> message) {
+        if (logger.isInfoEnabled()) info(requestContext, message.get(), null);
+    }
+
     public void error(RequestContext requestContext, String message, Throwable e) {
+        if (!logger.isErrorEnabled()) return;
         if(null != requestContext) {
-            logger.error(Markers.appendEntries(requestContext.getContextMap()) ,message, e);
+            logger.error(Markers.appendEntries(requestContext.getContextMap()) ,truncate(message), e);
         } else {
-            logger.error(message, e);
+            logger.error(truncate(message), e);
         }
     }
     
     public void error(RequestContext requestContext, String message, Throwable e, Map<String, Object> telemetryInfo) {
-        if(null != requestContext) {
-            logger.error(Markers.appendEntries(requestContext.getContextMap()) ,message, e);
-        } else {
-            logger.error(message, e);
-        }
+        error(requestContext, message, e);
         telemetryProcess(requestContext, telemetryInfo, e);
     }
 
     public void warn(RequestContext requestContext, String message, Throwable e) {
+        if (!logger.isWarnEnabled()) return;
         if(null != requestContext) {
-            logger.warn(Markers.appendEntries(requestContext.getContextMap()), message, e);
+            logger.warn(Markers.appendEntries(requestContext.getContextMap()), truncate(message), e);
         } else {
-            logger.warn(message, e);
+            logger.warn(truncate(message), e);
         }
         
     }
     
     public void debug(RequestContext requestContext, String message, Object data) {
         if(isDebugEnabled(requestContext)) {
-            logger.info(Markers.appendEntries(requestContext.getContextMap()), message, data);
-        } else {
-            logger.debug(message, data);
+            if (logger.isInfoEnabled())
+                logger.info(Markers.appendEntries(requestContext.getContextMap()), truncate(message), data);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug(truncate(message), data);
         }
     }
 
     public void debug(RequestContext requestContext, String message) {debug(requestContext, message, null);}
 
+    public void debug(RequestContext requestContext, Supplier<String> message) {
+        if (isDebugEnabled(requestContext) ? logger.isInfoEnabled() : logger.isDebugEnabled())
+            debug(requestContext, message.get(), null);
+    }
+
     private static boolean isDebugEnabled(RequestContext requestContext) {
-        return (null != requestContext && StringUtils.equalsIgnoreCase("true", requestContext.getDebugEnabled()));
+        return (null != requestContext && (StringUtils.equalsIgnoreCase("true", requestContext.getDebugEnabled()) || isSampled(requestContext)));
+    }
+
+    /** A request is sampled when its request id hashes into the configured percentage. */
+    static boolean isSampled(RequestContext requestContext) {
+        int percent = ConfigSnapshot.getInt(JsonKey.SUNBIRD_LOG_SAMPLE_PERCENT, 0);
+        if (percent <= 0 || null == requestContext.getReqId()) return false;
+        return percent >= 100 || Math.floorMod(requestContext.getReqId().hashCode(), 100) < percent;
+    }
+
+    /**
+     * @param message log message
+     * @return the message cut to sunbird_log_max_message_length characters
+     */
+    public static String truncate(String message) {
+        int maxLength = ConfigSnapshot.getInt(JsonKey.SUNBIRD_LOG_MAX_MESSAGE_LENGTH, 4096);
+        if (null == message || maxLength <= 0 || message.length() <= maxLength) return message;
+        return message.substring(0, maxLength) + TRUNCATED + (message.length() - maxLength) + " chars]";
     }
 
     private void telemetryProcess(RequestContext requestContext, Map<String, Object> telemetryInfo, Throwable e) {
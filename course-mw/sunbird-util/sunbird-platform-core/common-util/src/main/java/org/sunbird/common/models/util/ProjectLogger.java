@@ -108,6 +108,7 @@ public class ProjectLogger {
   }
 
   private static void info(String message, Object data, LoggerEnum loggerEnum) {
+    if (!rootLogger.isInfoEnabled()) return;
     rootLogger.info(getBELogEvent(LoggerEnum.INFO.name(), message, data, loggerEnum));
   }
 
@@ -124,7 +125,8 @@ public class ProjectLogger {
   }
 
   private static void backendLog(String message, Object data, Throwable e, String logLevel) {
-    if (!StringUtils.isBlank(logLevel)) {
+    // The log event is serialised eagerly, so skip it for a disabled level.
+    if (!StringUtils.isBlank(logLevel) && isEnabled(logLevel)) {
 
       switch (logLevel) {
         case "INFO":
@@ -146,6 +148,19 @@ public class ProjectLogger {
     }
   }
 
+  private static boolean isEnabled(String logLevel) {
+    switch (logLevel) {
+      case "INFO":
+        return rootLogger.isInfoEnabled();
+      case "WARN":
+        return rootLogger.isWarnEnabled();
+      case "ERROR":
+        return rootLogger.isErrorEnabled();
+      default:
+        return rootLogger.isDebugEnabled();
+    }
+  }
+
   private static String getBELogEvent(
       String logLevel, String message, Object data, LoggerEnum logEnum) {
     String logData = getBELog(logLevel, message, data, null, logEnum);
@@ -169,7 +184,7 @@ public class ProjectLogger {
     LogEvent te = new LogEvent();
     Map<String, Object> eks = new HashMap<String, Object>();
     eks.put(JsonKey.LEVEL, logLevel);
-    eks.put(JsonKey.MESSAGE, message);
+    eks.put(JsonKey.MESSAGE, LoggerUtil.truncate(message));
 
     if (null != data) {
       eks.put(JsonKey.DATA, data);
@@ -197,6 +212,7 @@ public class ProjectLogger {
   }
 
   public static void logQuery(String query, RequestContext requestContext) {
+    if (!queryLogger.isDebugEnabled()) return;
     if(isDebugEnabled(requestContext)) {
         queryLogger.debug(query, StructuredArguments.entries(requestContext.getContextMap()));
     } else {
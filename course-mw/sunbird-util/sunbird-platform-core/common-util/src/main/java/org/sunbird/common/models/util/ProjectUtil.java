@@ -11,7 +11,6 @@ import java.text.MessageFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.commons.lang.StringUtils;
@@ -30,9 +29,6 @@ import org.sunbird.common.responsecode.ResponseCode;
  */
 public class ProjectUtil {
 
-  /** format the date in YYYY-MM-DD hh:mm:ss:SSZ */
-  private static AtomicInteger atomicInteger = new AtomicInteger();
-
   public static Integer DEFAULT_BATCH_SIZE = 10;
   public static final long BACKGROUND_ACTOR_WAIT_TIME = 30;
   public static final String ELASTIC_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
@@ -50,6 +46,8 @@ public class ProjectUtil {
     "profilecompleteness.properties",
     "mailTemplates.properties"
   };
+  private static final ThreadLocal<SimpleDateFormat> dateFormatter =
+      ThreadLocal.withInitial(ProjectUtil::getDateFormatter);
   public static PropertiesCache propertiesCache;
   private static Pattern pattern;
   private static final String EMAIL_PATTERN =
@@ -262,7 +260,7 @@ public class ProjectUtil {
    * @return
    */
   public static String getFormattedDate() {
-    return getDateFormatter().format(new Date());
+    return dateFormatter.get().format(new Date());
   }
 
   /**
@@ -271,7 +269,7 @@ public class ProjectUtil {
    * @return
    */
   public static String formatDate(Date date) {
-    if (null != date) return getDateFormatter().format(date);
+    if (null != date) return dateFormatter.get().format(date);
     else return null;
   }
   /**
@@ -302,26 +300,23 @@ public class ProjectUtil {
   }
 
   /**
-   * This method will generate unique id based on current time stamp and some random value mixed up.
+   * This method will generate unique id based on current time stamp, prefixed with the environment
+   * id scaled down as before (0 for any environment id below 10000000).
    *
    * @param environmentId int
    * @return String
    */
   public static String getUniqueIdFromTimestamp(int environmentId) {
-    Random random = new Random();
-    long env = (environmentId + random.nextInt(99999)) / 10000000;
-    long uid = System.currentTimeMillis() + random.nextInt(999999);
-    uid = uid << 13;
-    return env + "" + uid + "" + atomicInteger.getAndIncrement();
+    return (environmentId / 10000000) + UniqueIdGenerator.nextId();
   }
 
   /**
-   * This method will generate the unique id .
+   * This method will generate the unique id. The id is time ordered, see {@link UniqueIdGenerator}.
    *
    * @return
    */
-  public static synchronized String generateUniqueId() {
-    return UUID.randomUUID().toString();
+  public static String generateUniqueId() {
+    return UniqueIdGenerator.nextId();
   }
 
   public enum Method {
@@ -489,6 +484,12 @@ public class ProjectUtil {
     return MessageFormat.format(exceptionMsg, fieldValue);
   }
 
+  /**
+   * Formatter for the service date format. A new instance is returned as SimpleDateFormat is not
+   * thread safe; use {@link #getFormattedDate()} or {@link #formatDate(Date)} for formatting.
+   *
+   * @return date formatter
+   */
   public static SimpleDateFormat getDateFormatter() {
     SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss:SSSZ");
     simpleDateFormat.setLenient(false);
@@ -861,11 +862,15 @@ public class ProjectUtil {
     return urlValidator.isValid(url);
   }
 
+  /**
+   * Read a config value from {@link ConfigSnapshot}, environment variable taking precedence over
+   * the properties files.
+   *
+   * @param key config key
+   * @return config value, null if not configured
+   */
   public static String getConfigValue(String key) {
-    if (StringUtils.isNotBlank(System.getenv(key))) {
-      return System.getenv(key);
-    }
-    return propertiesCache.readProperty(key);
+    return ConfigSnapshot.getString(key);
   }
 
   /**
@@ -2,6 +2,7 @@ package org.sunbird.common.models.util;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
@@ -57,6 +58,14 @@ public class PropertiesCache {
 
   public void saveConfigProperty(String key, String value) {
     configProp.setProperty(key, value);
+    ConfigSnapshot.reload();
+  }
+
+  /** @return copy of the properties loaded from the properties files */
+  public Map<String, String> getProperties() {
+    Map<String, String> properties = new HashMap<>();
+    configProp.stringPropertyNames().forEach(key -> properties.put(key, configProp.getProperty(key)));
+    return properties;
   }
 
   public String getProperty(String key) {
@@ -9,6 +9,7 @@ import com.mashape.unirest.http.exceptions.UnirestException;
 import com.mashape.unirest.request.BaseRequest;
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONObject;
+import org.sunbird.common.request.RequestDeadline;
 import scala.concurrent.Future;
 import scala.concurrent.Promise;
 
@@ -28,6 +29,10 @@ public class RestUtil {
   public static Future<HttpResponse<JsonNode>> executeAsync(BaseRequest request) {
     ProjectLogger.log("RestUtil:execute: request url = " + request.getHttpRequest().getUrl());
     Promise<HttpResponse<JsonNode>> promise = Futures.promise();
+    if (RequestDeadline.isExpired()) {
+      promise.failure(RequestDeadline.exceeded());
+      return promise.future();
+    }
 
     request.asJsonAsync(
         new Callback<JsonNode>() {
@@ -52,6 +57,7 @@ public class RestUtil {
   }
 
   public static HttpResponse<JsonNode> execute(BaseRequest request) throws Exception {
+    RequestDeadline.check();
     return request.asJson();
   }
 
@@ -0,0 +1,95 @@
+package org.sunbird.common.models.util;
+
+import java.net.InetAddress;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Lock free, time ordered unique id generator. An id is the current time in millis (13 digits), a
+ * per millisecond counter (4 digits) and the node id (5 digits), so ids of a node are strictly
+ * increasing and ids of different nodes never collide as long as the node ids differ.
+ *
+ * <p>The time and counter are kept in one {@link AtomicLong} and advanced with compare and set.
+ * When more than 10000 ids are asked for within a millisecond the counter carries into the next
+ * millisecond instead of waiting for the clock, and a clock moving backwards does not repeat ids.
+ *
+ * <p>The node id is read from {@code sunbird_node_id}. When it is not configured the node id is
+ * derived from the host name, which is stable across restarts but may collide with another host,
+ * and a warning is logged; a random one is picked only if the host name is unknown too.
+ */
+public final class UniqueIdGenerator {
+
+  private static final long COUNTER_RANGE = 10000L;
+  private static final int NODE_RANGE = 100000;
+
+  private static final LoggerUtil logger = new LoggerUtil(UniqueIdGenerator.class);
+  private static final AtomicLong lastTime = new AtomicLong();
+  private static final String nodeId =
+      StringUtils.leftPad(
+          String.valueOf(
+              getNodeId(ConfigSnapshot.getString(JsonKey.SUNBIRD_NODE_ID), getHostName())),
+          5,
+          '0');
+
+  private UniqueIdGenerator() {}
+
+  /** @return a new id, 22 digits until the year 2286 */
+  public static String nextId() {
+    return nextTime() + nodeId;
+  }
+
+  /** @return millis * 10000 + counter, greater than any value returned before */
+  static long nextTime() {
+    long now = System.currentTimeMillis() * COUNTER_RANGE;
+    while (true) {
+      long last = lastTime.get();
+      long next = now > last ? now : last + 1;
+      if (lastTime.compareAndSet(last, next)) {
+        return next;
+      }
+    }
+  }
+
+  /**
+   * @param configured value of {@code sunbird_node_id}
+   * @param hostName name of this host, may be null
+   * @return node id in [0, 100000)
+   */
+  static int getNodeId(String configured, String hostName) {
+    if (StringUtils.isNumeric(configured)) {
+      return (int) (Long.parseLong(configured) % NODE_RANGE);
+    }
+    if (StringUtils.isNotBlank(hostName)) {
+      int node = Math.floorMod(hostName.hashCode(), NODE_RANGE);
+      logger.warn(
+          null,
+          "UniqueIdGenerator: "
+              + JsonKey.SUNBIRD_NODE_ID
+              + " is not configured, using "
+              + node
+              + " derived from host "
+              + hostName
+              + "; configure a distinct node id per instance to rule out id collisions",
+          null);
+      return node;
+    }
+    int node = ThreadLocalRandom.current().nextInt(NODE_RANGE);
+    logger.warn(
+        null,
+        "UniqueIdGenerator: "
+            + JsonKey.SUNBIRD_NODE_ID
+            + " is not configured and the host name is unknown, using random node id "
+            + node,
+        null);
+    return node;
+  }
+
+  private static String getHostName() {
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (Exception e) {
+      return System.getenv("HOSTNAME");
+    }
+  }
+}
@@ -3,13 +3,12 @@ package org.sunbird.common.request;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.io.Serializable;
 import java.text.MessageFormat;
-import java.util.Arrays;
 import java.util.Map;
 import java.util.WeakHashMap;
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.models.util.ConfigSnapshot;
 import org.sunbird.common.models.util.JsonKey;
-import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.responsecode.ResponseCode;
 
 /** @author Manzarul */
@@ -52,9 +51,7 @@ public class Request implements Serializable {
   
 
   public void toLower() {
-    Arrays.asList(
-            ProjectUtil.getConfigValue(JsonKey.SUNBIRD_API_REQUEST_LOWER_CASE_FIELDS).split(","))
-        .stream()
+    ConfigSnapshot.getList(JsonKey.SUNBIRD_API_REQUEST_LOWER_CASE_FIELDS)
         .forEach(
             field -> {
               if (StringUtils.isNotBlank((String) this.getRequest().get(field))) {
@@ -16,6 +16,7 @@ public class RequestContext {
     private String debugEnabled;
     private String op;
     private final String pid = "lms-service"; 
+    private long deadline;
     private Map<String, Object> contextMap = new HashMap<>();
     
     
@@ -90,4 +91,13 @@ public class RequestContext {
     public Map<String, Object> getContextMap() {
         return contextMap;
     }
+
+    /** @return epoch millis by which the caller expects a response, 0 if not set */
+    public long getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
 }
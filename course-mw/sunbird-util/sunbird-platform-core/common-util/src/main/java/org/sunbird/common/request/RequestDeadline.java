@@ -0,0 +1,62 @@
+package org.sunbird.common.request;
+
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.responsecode.ResponseCode;
+
+/**
+ * Holds the deadline of the API request being processed on the current thread. The deadline is
+ * set by the controller in {@link RequestContext} and activated by the actor while it processes
+ * the request, so that downstream Cassandra, ES and HTTP calls can skip work the caller is no
+ * longer waiting for.
+ */
+public final class RequestDeadline {
+
+  private static final ThreadLocal<Long> deadline = new ThreadLocal<>();
+
+  private RequestDeadline() {}
+
+  /**
+   * Activate the deadline of the given request context for the current thread.
+   *
+   * @param requestContext context of the request being processed
+   */
+  public static void set(RequestContext requestContext) {
+    if (null != requestContext && requestContext.getDeadline() > 0) {
+      deadline.set(requestContext.getDeadline());
+    } else {
+      deadline.remove();
+    }
+  }
+
+  public static void clear() {
+    deadline.remove();
+  }
+
+  public static boolean isSet() {
+    return null != deadline.get();
+  }
+
+  /** @return milliseconds left for the current request, Long.MAX_VALUE if there is no deadline */
+  public static long remainingMillis() {
+    Long value = deadline.get();
+    return null == value ? Long.MAX_VALUE : value - System.currentTimeMillis();
+  }
+
+  public static boolean isExpired() {
+    return remainingMillis() <= 0;
+  }
+
+  /** Throws operationTimeout if the deadline of the current request has passed. */
+  public static void check() {
+    if (isExpired()) {
+      throw exceeded();
+    }
+  }
+
+  public static ProjectCommonException exceeded() {
+    return new ProjectCommonException(
+        ResponseCode.operationTimeout.getErrorCode(),
+        ResponseCode.operationTimeout.getErrorMessage(),
+        ResponseCode.SERVER_ERROR.getResponseCode());
+  }
+}
@@ -688,7 +688,11 @@ public final class RequestValidator {
           new ArrayList<>(
               Arrays.asList(
                   new String[] {
-                    JsonKey.USER, JsonKey.ORGANISATION, JsonKey.BATCH, JsonKey.USER_COURSE
+                    JsonKey.USER,
+                    JsonKey.ORGANISATION,
+                    JsonKey.BATCH,
+                    JsonKey.USER_COURSE,
+                    JsonKey.BATCH_PARTICIPANTS
                   }));
       if (!list.contains(request.getRequest().get(JsonKey.OBJECT_TYPE))) {
         throw new ProjectCommonException(
@@ -826,6 +826,7 @@ public enum ResponseCode {
   activityIdMismatch(ResponseMessage.Key.ACTIVITY_ID_MISSING, ResponseMessage.Message.ACTIVITY_ID_MISSING),
   activityTypeMismatch(ResponseMessage.Key.ACTIVITY_TYPE_MISSING, ResponseMessage.Message.ACTIVITY_TYPE_MISSING),
   erroCallGrooupAPI(ResponseMessage.Key.ERR_CALLING_GROUP_API, ResponseMessage.Message.ERR_CALLING_GROUP_API),
+  tooManyRequests(ResponseMessage.Key.TOO_MANY_REQUESTS, ResponseMessage.Message.TOO_MANY_REQUESTS),
 
   OK(200),
   CLIENT_ERROR(400),
@@ -457,6 +457,7 @@ public interface ResponseMessage {
     String ACTIVITY_ID_MISSING = "ActivityId is mandatory.";
     String ACTIVITY_TYPE_MISSING = "ActivityType is mandatory.";
     String ERR_CALLING_GROUP_API = "Error while calling group api.";
+    String TOO_MANY_REQUESTS = "Too many requests for {0}. Please try again later.";
   }
 
   interface Key {
@@ -842,5 +843,6 @@ public interface ResponseMessage {
     String ACTIVITY_ID_MISSING = "ACTIVITY_ID_MISSING";
     String ACTIVITY_TYPE_MISSING = "ACTIVITY_TYPE_MISSING";
     String ERR_CALLING_GROUP_API = "ERR_CALLING_GROUOP_API";
+    String TOO_MANY_REQUESTS = "TOO_MANY_REQUESTS";
   }
 }
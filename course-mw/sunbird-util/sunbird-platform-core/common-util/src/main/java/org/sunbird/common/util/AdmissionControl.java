@@ -0,0 +1,180 @@
+package org.sunbird.common.util;
+
+import java.text.MessageFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.models.util.ConfigSnapshot;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.responsecode.ResponseCode;
+
+/**
+ * Admission control for requests sent to actors. Every operation has an adaptive concurrency limit
+ * (AIMD: grows by one per limit's worth of fast completions, shrinks by a factor on timeouts or slow
+ * completions) and every actor has a fixed bound on requests waiting or in process. Requests over
+ * the operation limit are rejected with 429, requests to a backed up actor with 503, so that at
+ * saturation some requests still complete instead of all of them timing out. A request is admitted
+ * once, by the controller which asks the actor; routers forward it without another permit.
+ *
+ * @see #acquire(String, String)
+ */
+public final class AdmissionControl {
+
+  private static final double BACKOFF_RATIO = 0.9;
+  private static final boolean enabled =
+      ConfigSnapshot.getBoolean(JsonKey.SUNBIRD_ADMISSION_CONTROL_ENABLED, true);
+  private static final int initialLimit =
+      ConfigSnapshot.getInt(JsonKey.SUNBIRD_ADMISSION_INITIAL_LIMIT, 64);
+  private static final int minLimit = ConfigSnapshot.getInt(JsonKey.SUNBIRD_ADMISSION_MIN_LIMIT, 8);
+  private static final int maxLimit = ConfigSnapshot.getInt(JsonKey.SUNBIRD_ADMISSION_MAX_LIMIT, 512);
+  private static final long latencyThreshold =
+      ConfigSnapshot.getLong(JsonKey.SUNBIRD_ADMISSION_LATENCY_THRESHOLD, 5000);
+  private static final int maxQueueDepth =
+      ConfigSnapshot.getInt(JsonKey.SUNBIRD_ADMISSION_MAX_QUEUE_DEPTH, 256);
+
+  private static final Map<String, OperationLimit> operationLimits = new ConcurrentHashMap<>();
+  private static final Map<String, QueueDepth> queueDepths = new ConcurrentHashMap<>();
+  private static final Permit NO_OP_PERMIT = new Permit(null, null);
+
+  private AdmissionControl() {}
+
+  /**
+   * Admit a request for the given actor and operation. The returned permit must be released once
+   * the actor has replied or the ask has failed.
+   *
+   * @param actor name of the actor (or router) the request is sent to
+   * @param operation actor operation
+   * @return permit for the request
+   * @throws ProjectCommonException with 503 if the actor is backed up, 429 if the operation is over
+   *     its concurrency limit
+   */
+  public static Permit acquire(String actor, String operation) {
+    if (!enabled) return NO_OP_PERMIT;
+    QueueDepth queueDepth = queueDepths.computeIfAbsent(actor, key -> new QueueDepth());
+    if (!queueDepth.tryAcquire(maxQueueDepth)) {
+      throw new ProjectCommonException(
+          ResponseCode.serviceUnAvailable.getErrorCode(),
+          ResponseCode.serviceUnAvailable.getErrorMessage(),
+          ResponseCode.SERVICE_UNAVAILABLE.getResponseCode());
+    }
+    OperationLimit operationLimit =
+        operationLimits.computeIfAbsent(
+            StringUtils.defaultString(operation), key -> new OperationLimit(initialLimit));
+    if (!operationLimit.tryAcquire()) {
+      queueDepth.release();
+      throw new ProjectCommonException(
+          ResponseCode.tooManyRequests.getErrorCode(),
+          MessageFormat.format(ResponseCode.tooManyRequests.getErrorMessage(), operation),
+          ResponseCode.TOO_MANY_REQUESTS.getResponseCode());
+    }
+    return new Permit(queueDepth, operationLimit);
+  }
+
+  /**
+   * Current limits and shed counts.
+   *
+   * @return map having per operation limit, inFlight and shed count and per actor inFlight and shed
+   *     count
+   */
+  public static Map<String, Object> snapshot() {
+    Map<String, Object> operations = new TreeMap<>();
+    operationLimits.forEach(
+        (operation, limit) -> {
+          Map<String, Object> metrics = new TreeMap<>();
+          metrics.put("limit", (int) limit.limit);
+          metrics.put("inFlight", limit.inFlight.get());
+          metrics.put("shed", limit.shed.get());
+          operations.put(operation, metrics);
+        });
+    Map<String, Object> actors = new TreeMap<>();
+    queueDepths.forEach(
+        (actor, depth) -> {
+          Map<String, Object> metrics = new TreeMap<>();
+          metrics.put("inFlight", depth.inFlight.get());
+          metrics.put("shed", depth.shed.get());
+          actors.put(actor, metrics);
+        });
+    Map<String, Object> snapshot = new TreeMap<>();
+    snapshot.put("operations", operations);
+    snapshot.put("actors", actors);
+    return snapshot;
+  }
+
+  /** Admission of a single request. */
+  public static final class Permit {
+    private final QueueDepth queueDepth;
+    private final OperationLimit operationLimit;
+    private final long startTime = System.currentTimeMillis();
+    private final AtomicInteger released = new AtomicInteger();
+
+    private Permit(QueueDepth queueDepth, OperationLimit operationLimit) {
+      this.queueDepth = queueDepth;
+      this.operationLimit = operationLimit;
+    }
+
+    /**
+     * Release the permit and feed the outcome to the operation limit.
+     *
+     * @param timedOut true if the request timed out
+     */
+    public void release(boolean timedOut) {
+      if (null == queueDepth || !released.compareAndSet(0, 1)) return;
+      queueDepth.release();
+      long latency = System.currentTimeMillis() - startTime;
+      operationLimit.release(timedOut || latency > latencyThreshold);
+    }
+  }
+
+  static final class QueueDepth {
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicLong shed = new AtomicLong();
+
+    boolean tryAcquire(int max) {
+      if (inFlight.incrementAndGet() > max) {
+        inFlight.decrementAndGet();
+        shed.incrementAndGet();
+        return false;
+      }
+      return true;
+    }
+
+    void release() {
+      inFlight.decrementAndGet();
+    }
+  }
+
+  static final class OperationLimit {
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicLong shed = new AtomicLong();
+    volatile double limit;
+
+    OperationLimit(int limit) {
+      this.limit = limit;
+    }
+
+    boolean tryAcquire() {
+      while (true) {
+        int current = inFlight.get();
+        if (current >= (int) limit) {
+          shed.incrementAndGet();
+          return false;
+        }
+        if (inFlight.compareAndSet(current, current + 1)) return true;
+      }
+    }
+
+    synchronized void release(boolean overloaded) {
+      int current = inFlight.getAndDecrement();
+      if (overloaded) {
+        limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+      } else if (current * 2 >= limit) {
+        // Grow only while the limit is actually in use, otherwise it drifts to the max when idle.
+        limit = Math.min(maxLimit, limit + 1 / limit);
+      }
+    }
+  }
+}
@@ -0,0 +1,170 @@
+package org.sunbird.common.util;
+
+import com.mashape.unirest.http.HttpResponse;
+import com.mashape.unirest.http.Unirest;
+import com.mashape.unirest.http.async.Callback;
+import com.mashape.unirest.http.exceptions.UnirestException;
+import com.mashape.unirest.request.BaseRequest;
+import java.net.URI;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.models.util.ConfigSnapshot;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.request.RequestDeadline;
+
+/**
+ * Runs outbound HTTP calls on the shared, pooled Unirest clients and keeps latency and error
+ * counts per destination. {@link #init()}, called once on startup, configures the clients for the
+ * whole JVM:
+ *
+ * <ul>
+ *   <li>at most {@code sunbird_http_max_connections} pooled connections, of which at most {@code
+ *       sunbird_http_max_connections_per_host} to one host; further calls to that host wait for a
+ *       free connection up to the connect timeout
+ *   <li>{@code sunbird_http_connect_timeout} and {@code sunbird_http_read_timeout} milliseconds
+ * </ul>
+ *
+ * A call is counted as an error when it fails or the destination answers with a 5xx status. Counts,
+ * calls in flight and latencies per destination are reported by {@link #snapshot()}. Calls are
+ * refused once the deadline of the current request has passed.
+ */
+public class OutboundHttp {
+
+  private static final Map<String, DestinationMetrics> metrics = new ConcurrentHashMap<>();
+
+  private OutboundHttp() {}
+
+  /**
+   * Configures the connection pool and timeouts of the Unirest clients. Unirest replaces its
+   * clients, so this is called on startup, before any call is made.
+   */
+  public static void init() {
+    Unirest.setConcurrency(
+        ConfigSnapshot.getInt(JsonKey.SUNBIRD_HTTP_MAX_CONNECTIONS, 200),
+        ConfigSnapshot.getInt(JsonKey.SUNBIRD_HTTP_MAX_CONNECTIONS_PER_HOST, 20));
+    Unirest.setTimeouts(
+        ConfigSnapshot.getLong(JsonKey.SUNBIRD_HTTP_CONNECT_TIMEOUT, 10000),
+        ConfigSnapshot.getLong(JsonKey.SUNBIRD_HTTP_READ_TIMEOUT, 60000));
+  }
+
+  /**
+   * Sends the request and waits for the response.
+   *
+   * @param destination name of the called service, used for the metrics
+   * @param request request built with {@code Unirest}
+   * @return response with the body as string
+   */
+  public static HttpResponse<String> execute(String destination, BaseRequest request)
+      throws UnirestException {
+    RequestDeadline.check();
+    DestinationMetrics destinationMetrics = getMetrics(destination);
+    long startTime = destinationMetrics.start();
+    HttpResponse<String> response = null;
+    try {
+      response = request.asString();
+      return response;
+    } finally {
+      destinationMetrics.end(startTime, response);
+    }
+  }
+
+  /**
+   * Sends the request without blocking the caller.
+   *
+   * @param destination name of the called service, used for the metrics
+   * @param request request built with {@code Unirest}
+   * @return stage completed with the response, or exceptionally if the call failed
+   */
+  public static CompletionStage<HttpResponse<String>> executeAsync(
+      String destination, BaseRequest request) {
+    CompletableFuture<HttpResponse<String>> future = new CompletableFuture<>();
+    if (RequestDeadline.isExpired()) {
+      future.completeExceptionally(RequestDeadline.exceeded());
+      return future;
+    }
+    DestinationMetrics destinationMetrics = getMetrics(destination);
+    long startTime = destinationMetrics.start();
+    request.asStringAsync(
+        new Callback<String>() {
+          @Override
+          public void completed(HttpResponse<String> response) {
+            destinationMetrics.end(startTime, response);
+            future.complete(response);
+          }
+
+          @Override
+          public void failed(UnirestException e) {
+            destinationMetrics.end(startTime, null);
+            future.completeExceptionally(e);
+          }
+
+          @Override
+          public void cancelled() {
+            destinationMetrics.end(startTime, null);
+            future.cancel(false);
+          }
+        });
+    return future;
+  }
+
+  /** @return host of the url, used as destination of calls to arbitrary urls */
+  public static String getHost(String url) {
+    try {
+      String host = URI.create(url).getHost();
+      return StringUtils.isBlank(host) ? "unknown" : host;
+    } catch (Exception e) {
+      return "unknown";
+    }
+  }
+
+  private static DestinationMetrics getMetrics(String destination) {
+    return metrics.computeIfAbsent(destination, name -> new DestinationMetrics());
+  }
+
+  public static Map<String, Object> snapshot() {
+    Map<String, Object> snapshot = new TreeMap<>();
+    metrics.forEach(
+        (destination, destinationMetrics) ->
+            snapshot.put(destination, destinationMetrics.snapshot()));
+    return snapshot;
+  }
+
+  private static class DestinationMetrics {
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong latencyTotal = new AtomicLong();
+    private final AtomicLong latencyMax = new AtomicLong();
+
+    long start() {
+      inFlight.incrementAndGet();
+      return System.currentTimeMillis();
+    }
+
+    void end(long startTime, HttpResponse<String> response) {
+      long latency = System.currentTimeMillis() - startTime;
+      inFlight.decrementAndGet();
+      calls.incrementAndGet();
+      if (null == response || response.getStatus() >= 500) errors.incrementAndGet();
+      latencyTotal.addAndGet(latency);
+      latencyMax.accumulateAndGet(latency, Math::max);
+    }
+
+    Map<String, Object> snapshot() {
+      long callCount = calls.get();
+      Map<String, Object> snapshot = new TreeMap<>();
+      snapshot.put("inFlight", inFlight.get());
+      snapshot.put("calls", callCount);
+      snapshot.put("errors", errors.get());
+      snapshot.put("latencyAvg", callCount > 0 ? latencyTotal.get() / callCount : 0L);
+      snapshot.put("latencyMax", latencyMax.get());
+      return snapshot;
+    }
+  }
+}
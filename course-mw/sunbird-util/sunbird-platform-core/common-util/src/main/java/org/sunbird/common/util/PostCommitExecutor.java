@@ -0,0 +1,184 @@
+package org.sunbird.common.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.sunbird.common.models.util.ConfigSnapshot;
+import org.sunbird.common.models.util.JsonKey;
+import org.sunbird.common.models.util.LoggerUtil;
+import org.sunbird.common.request.RequestContext;
+
+/**
+ * Runs the side effects of a committed write (cache invalidation, telemetry, notifications) off the
+ * request path. A failed task is retried with exponential backoff up to {@code
+ * sunbird_post_commit_max_attempts} times; tasks submitted while {@code
+ * sunbird_post_commit_queue_capacity} tasks are pending are rejected and counted, never blocking the
+ * caller.
+ *
+ * <p>Submitted, succeeded, retried, failed and rejected counts are kept per task name and reported
+ * by {@link #snapshot()}.
+ */
+public class PostCommitExecutor {
+
+  private static final LoggerUtil logger = new LoggerUtil(PostCommitExecutor.class);
+  private static final PostCommitExecutor instance =
+      new PostCommitExecutor(
+          ConfigSnapshot.getInt(JsonKey.SUNBIRD_POST_COMMIT_POOL_SIZE, 4),
+          ConfigSnapshot.getInt(JsonKey.SUNBIRD_POST_COMMIT_QUEUE_CAPACITY, 10000));
+
+  private final ScheduledExecutorService executor;
+  private final int queueCapacity;
+  private final int maxAttempts =
+      ConfigSnapshot.getInt(JsonKey.SUNBIRD_POST_COMMIT_MAX_ATTEMPTS, 3);
+  private final long retryDelay = ConfigSnapshot.getLong(JsonKey.SUNBIRD_POST_COMMIT_RETRY_DELAY, 200);
+  private final AtomicInteger pending = new AtomicInteger();
+  private final Map<String, TaskMetrics> metrics = new ConcurrentHashMap<>();
+
+  private PostCommitExecutor(int poolSize, int queueCapacity) {
+    this.queueCapacity = queueCapacity;
+    if (poolSize > 0) {
+      AtomicInteger threadCount = new AtomicInteger();
+      ScheduledThreadPoolExecutor pool =
+          new ScheduledThreadPoolExecutor(
+              poolSize,
+              runnable -> {
+                Thread thread =
+                    new Thread(runnable, "post-commit-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+              });
+      pool.setRemoveOnCancelPolicy(true);
+      this.executor = pool;
+    } else {
+      this.executor = null;
+    }
+  }
+
+  /** @return the shared executor */
+  public static PostCommitExecutor getInstance() {
+    return instance;
+  }
+
+  /** @return an executor running the tasks on the calling thread, without retry delay */
+  public static PostCommitExecutor inline() {
+    return new PostCommitExecutor(0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Run a task after the write it belongs to has been committed.
+   *
+   * @param name task name, used for the metrics
+   * @param requestContext context of the request, for logging
+   * @param task the side effect
+   */
+  public void submit(String name, RequestContext requestContext, Runnable task) {
+    TaskMetrics taskMetrics = metrics.computeIfAbsent(name, key -> new TaskMetrics());
+    taskMetrics.submitted.incrementAndGet();
+    if (null == executor) {
+      int attempt = 1;
+      while (!run(name, requestContext, task, attempt, taskMetrics)) attempt++;
+      return;
+    }
+    if (pending.incrementAndGet() > queueCapacity) {
+      pending.decrementAndGet();
+      taskMetrics.rejected.incrementAndGet();
+      logger.info(requestContext, "PostCommitExecutor: queue full, dropped task " + name);
+      return;
+    }
+    schedule(name, requestContext, task, 1, 0, taskMetrics);
+  }
+
+  private void schedule(
+      String name,
+      RequestContext requestContext,
+      Runnable task,
+      int attempt,
+      long delay,
+      TaskMetrics taskMetrics) {
+    try {
+      executor.schedule(
+          () -> {
+            if (run(name, requestContext, task, attempt, taskMetrics)) {
+              pending.decrementAndGet();
+            } else {
+              schedule(
+                  name,
+                  requestContext,
+                  task,
+                  attempt + 1,
+                  retryDelay << (attempt - 1),
+                  taskMetrics);
+            }
+          },
+          delay,
+          TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      pending.decrementAndGet();
+      taskMetrics.rejected.incrementAndGet();
+    }
+  }
+
+  /** @return true if the task is done, i.e. it succeeded or ran out of attempts */
+  private boolean run(
+      String name, RequestContext requestContext, Runnable task, int attempt, TaskMetrics taskMetrics) {
+    try {
+      task.run();
+      taskMetrics.succeeded.incrementAndGet();
+      return true;
+    } catch (Exception e) {
+      if (attempt >= maxAttempts) {
+        taskMetrics.failed.incrementAndGet();
+        logger.error(
+            requestContext,
+            "PostCommitExecutor: task " + name + " failed after " + attempt + " attempts",
+            e);
+        return true;
+      }
+      taskMetrics.retried.incrementAndGet();
+      logger.info(
+          requestContext,
+          "PostCommitExecutor: task " + name + " failed on attempt " + attempt + ", retrying: "
+              + e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Counts of the shared executor.
+   *
+   * @return map having the pending task count and per task name submitted, succeeded, retried,
+   *     failed and rejected counts
+   */
+  public static Map<String, Object> snapshot() {
+    Map<String, Object> tasks = new TreeMap<>();
+    instance.metrics.forEach((name, taskMetrics) -> tasks.put(name, taskMetrics.toMap()));
+    Map<String, Object> snapshot = new TreeMap<>();
+    snapshot.put("pending", instance.pending.get());
+    snapshot.put("tasks", tasks);
+    return snapshot;
+  }
+
+  static final class TaskMetrics {
+    final AtomicLong submitted = new AtomicLong();
+    final AtomicLong succeeded = new AtomicLong();
+    final AtomicLong retried = new AtomicLong();
+    final AtomicLong failed = new AtomicLong();
+    final AtomicLong rejected = new AtomicLong();
+
+    Map<String, Object> toMap() {
+      Map<String, Object> map = new TreeMap<>();
+      map.put("submitted", submitted.get());
+      map.put("succeeded", succeeded.get());
+      map.put("retried", retried.get());
+      map.put("failed", failed.get());
+      map.put("rejected", rejected.get());
+      return map;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package org.sunbird.common.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.models.util.ConfigSnapshot;
+import org.sunbird.common.models.util.JsonKey;
+
+/**
+ * Collapses identical concurrent backend calls into one, one named instance per kind of call. A
+ * call made while an identical call (same key) is still in flight is not sent again; the caller
+ * gets the stage of the call in flight instead. Once the call completes the next call with that
+ * key is sent again, so results are never reused after the fact.
+ *
+ * <p>All callers of a collapsed call see the same result object, so the shared result must not be
+ * modified: share the raw response and convert it per caller. {@code sunbird_single_flight_enabled}
+ * turns collapsing off. Call, collapsed and in flight counts per instance are reported by {@link
+ * #snapshot()}.
+ */
+public class SingleFlight<T> {
+
+  private static final Map<String, SingleFlight<?>> instances = new ConcurrentHashMap<>();
+  private static final ObjectMapper mapper =
+      new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+  private final boolean enabled;
+  private final Map<String, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+  private final AtomicLong calls = new AtomicLong();
+  private final AtomicLong collapsed = new AtomicLong();
+
+  SingleFlight(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /** @param name kind of call, e.g. content search */
+  @SuppressWarnings("unchecked")
+  public static <T> SingleFlight<T> getInstance(String name) {
+    return (SingleFlight<T>)
+        instances.computeIfAbsent(
+            name,
+            key ->
+                new SingleFlight<>(
+                    ConfigSnapshot.getBoolean(JsonKey.SUNBIRD_SINGLE_FLIGHT_ENABLED, true)));
+  }
+
+  /**
+   * @param key normalised request, see {@link #key(Object...)}
+   * @param call sends the call if no identical call is in flight
+   * @return stage completed with the result of the call sent by this or an earlier caller
+   */
+  public CompletionStage<T> execute(String key, Supplier<? extends CompletionStage<T>> call) {
+    calls.incrementAndGet();
+    if (!enabled) return call.get();
+    CompletableFuture<T> shared = new CompletableFuture<>();
+    CompletableFuture<T> existing = inFlight.putIfAbsent(key, shared);
+    if (null != existing) {
+      collapsed.incrementAndGet();
+      return existing.thenApply(result -> result);
+    }
+    try {
+      call.get()
+          .whenComplete(
+              (result, error) -> {
+                inFlight.remove(key, shared);
+                if (null != error) shared.completeExceptionally(error);
+                else shared.complete(result);
+              });
+    } catch (RuntimeException e) {
+      inFlight.remove(key, shared);
+      shared.completeExceptionally(e);
+    }
+    return shared;
+  }
+
+  /**
+   * Builds a key which does not depend on the order of map entries. String parts holding a JSON
+   * object are parsed first, so two request bodies differing only in key order get the same key.
+   *
+   * @param parts parts of the request which decide the result, e.g. url and body
+   * @return normalised request
+   */
+  public static String key(Object... parts) {
+    StringBuilder key = new StringBuilder();
+    for (Object part : parts) {
+      if (key.length() > 0) key.append('|');
+      key.append(normalise(part));
+    }
+    return key.toString();
+  }
+
+  private static String normalise(Object part) {
+    try {
+      if (part instanceof String) {
+        String value = (String) part;
+        if (!StringUtils.startsWith(StringUtils.trim(value), "{")) return value;
+        part = mapper.readValue(value, TreeMap.class);
+      }
+      return mapper.writeValueAsString(part);
+    } catch (Exception e) {
+      return String.valueOf(part);
+    }
+  }
+
+  public static Map<String, Object> snapshot() {
+    Map<String, Object> snapshot = new TreeMap<>();
+    instances.forEach(
+        (name, instance) -> {
+          Map<String, Object> metrics = new TreeMap<>();
+          metrics.put("calls", instance.calls.get());
+          metrics.put("collapsed", instance.collapsed.get());
+          metrics.put("inFlight", instance.inFlight.size());
+          snapshot.put(name, metrics);
+        });
+    return snapshot;
+  }
+}
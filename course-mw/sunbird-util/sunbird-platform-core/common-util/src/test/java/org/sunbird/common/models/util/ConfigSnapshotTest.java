@@ -0,0 +1,52 @@
+package org.sunbird.common.models.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class ConfigSnapshotTest {
+
+  @Test
+  public void testGetStringSuccess() {
+    assertEquals("64", ConfigSnapshot.getString(JsonKey.SUNBIRD_ADMISSION_INITIAL_LIMIT));
+    assertEquals(
+        ConfigSnapshot.getString(JsonKey.SUNBIRD_ADMISSION_INITIAL_LIMIT),
+        ProjectUtil.getConfigValue(JsonKey.SUNBIRD_ADMISSION_INITIAL_LIMIT));
+    assertNull(ConfigSnapshot.getString("config_snapshot_unknown_key"));
+    assertEquals("default", ConfigSnapshot.getString("config_snapshot_unknown_key", "default"));
+  }
+
+  @Test
+  public void testGetTypedValueSuccess() {
+    assertEquals(64, ConfigSnapshot.getInt(JsonKey.SUNBIRD_ADMISSION_INITIAL_LIMIT, 1));
+    assertEquals(5000L, ConfigSnapshot.getLong(JsonKey.SUNBIRD_ADMISSION_LATENCY_THRESHOLD, 1L));
+    assertTrue(ConfigSnapshot.getBoolean(JsonKey.SUNBIRD_ADMISSION_CONTROL_ENABLED, false));
+    assertEquals(7, ConfigSnapshot.getInt("config_snapshot_unknown_key", 7));
+    assertFalse(ConfigSnapshot.getBoolean("config_snapshot_unknown_key", false));
+  }
+
+  @Test
+  public void testGetListSuccess() {
+    List<String> fields = ConfigSnapshot.getList(JsonKey.SUNBIRD_API_REQUEST_LOWER_CASE_FIELDS);
+    assertEquals(
+        Arrays.asList(
+            "source", "externalId", "userName", "provider", "loginId", "email", "prevUsedEmail"),
+        fields);
+    assertSame(fields, ConfigSnapshot.getList(JsonKey.SUNBIRD_API_REQUEST_LOWER_CASE_FIELDS));
+    assertTrue(ConfigSnapshot.getList("config_snapshot_unknown_key").isEmpty());
+  }
+
+  @Test
+  public void testReloadOnSaveConfigProperty() {
+    assertEquals(3, ConfigSnapshot.getInt("config_snapshot_reload_key", 3));
+    PropertiesCache.getInstance().saveConfigProperty("config_snapshot_reload_key", "10");
+    assertEquals(10, ConfigSnapshot.getInt("config_snapshot_reload_key", 3));
+    assertEquals("10", ProjectUtil.getConfigValue("config_snapshot_reload_key"));
+  }
+}
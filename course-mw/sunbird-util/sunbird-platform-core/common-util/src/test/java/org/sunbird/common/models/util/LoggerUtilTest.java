@@ -0,0 +1,53 @@
+package org.sunbird.common.models.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import org.sunbird.common.request.RequestContext;
+
+public class LoggerUtilTest {
+
+  private static final LoggerUtil logger = new LoggerUtil(LoggerUtilTest.class);
+
+  @Test
+  public void testTruncateSuccess() {
+    assertNull(LoggerUtil.truncate(null));
+    assertEquals("message", LoggerUtil.truncate("message"));
+    String truncated = LoggerUtil.truncate(StringUtils.repeat("a", 5000));
+    assertTrue(truncated.startsWith(StringUtils.repeat("a", 4096) + "...[truncated 904 chars]"));
+    assertEquals(4096 + "...[truncated 904 chars]".length(), truncated.length());
+  }
+
+  @Test
+  public void testIsSampledSuccess() {
+    RequestContext requestContext = getRequestContext("req-1");
+    assertFalse(LoggerUtil.isSampled(requestContext));
+    PropertiesCache.getInstance().saveConfigProperty(JsonKey.SUNBIRD_LOG_SAMPLE_PERCENT, "100");
+    try {
+      assertTrue(LoggerUtil.isSampled(requestContext));
+      assertFalse(LoggerUtil.isSampled(getRequestContext(null)));
+    } finally {
+      PropertiesCache.getInstance().saveConfigProperty(JsonKey.SUNBIRD_LOG_SAMPLE_PERCENT, "0");
+    }
+  }
+
+  @Test
+  public void testSupplierNotEvaluatedForDisabledLevel() {
+    boolean[] evaluated = new boolean[1];
+    logger.debug(
+        getRequestContext("req-2"),
+        () -> {
+          evaluated[0] = true;
+          return "message";
+        });
+    assertFalse(evaluated[0]);
+  }
+
+  private RequestContext getRequestContext(String reqId) {
+    return new RequestContext("uid", "did", "sid", "appId", "appVer", reqId, "false", "op");
+  }
+}
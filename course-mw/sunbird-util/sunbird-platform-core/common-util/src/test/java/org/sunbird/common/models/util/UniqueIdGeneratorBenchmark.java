@@ -0,0 +1,77 @@
+package org.sunbird.common.models.util;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Contention benchmark of the unique id generation, comparing {@link UniqueIdGenerator} with the
+ * synchronized random UUID it replaced, with 1 to 64 threads. It is not run by the build, run it
+ * from the IDE or with
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.sunbird.common.models.util.UniqueIdGeneratorBenchmark
+ * </pre>
+ *
+ * and pass the measured seconds per run as the first argument (default 2).
+ */
+public class UniqueIdGeneratorBenchmark {
+
+  private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+  public static void main(String[] args) throws InterruptedException {
+    long seconds = args.length > 0 ? Long.parseLong(args[0]) : 2;
+    System.out.println("threads  synchronized UUID (ops/s)  UniqueIdGenerator (ops/s)");
+    for (int threads : THREADS) {
+      long uuid = run(threads, seconds, UniqueIdGeneratorBenchmark::synchronizedUuid);
+      long generator = run(threads, seconds, UniqueIdGenerator::nextId);
+      System.out.println(String.format("%7d  %25d  %25d", threads, uuid, generator));
+    }
+  }
+
+  private static synchronized String synchronizedUuid() {
+    return UUID.randomUUID().toString();
+  }
+
+  /** @return ids generated per second by all threads together, after a warm up of one second */
+  private static long run(int threads, long seconds, Supplier<String> generator)
+      throws InterruptedException {
+    LongAdder count = new LongAdder();
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(threads);
+    long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+    long end = warmupEnd + TimeUnit.SECONDS.toNanos(seconds);
+    Object[] sink = new Object[threads];
+    for (int t = 0; t < threads; t++) {
+      int index = t;
+      Thread thread =
+          new Thread(
+              () -> {
+                try {
+                  start.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                  return;
+                }
+                String last = null;
+                long local = 0;
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                  last = generator.get();
+                  if (now >= warmupEnd) local++;
+                }
+                sink[index] = last;
+                count.add(local);
+                done.countDown();
+              });
+      thread.setDaemon(true);
+      thread.start();
+    }
+    start.countDown();
+    done.await();
+    return count.sum() / seconds;
+  }
+}
@@ -0,0 +1,67 @@
+package org.sunbird.common.models.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+public class UniqueIdGeneratorTest {
+
+  @Test
+  public void testNextIdIsTimeOrdered() {
+    long before = System.currentTimeMillis();
+    String previous = UniqueIdGenerator.nextId();
+    assertEquals(22, previous.length());
+    assertTrue(Long.parseLong(previous.substring(0, 13)) >= before);
+    for (int i = 0; i < 50000; i++) {
+      String id = UniqueIdGenerator.nextId();
+      assertEquals(22, id.length());
+      assertTrue(id.compareTo(previous) > 0);
+      previous = id;
+    }
+  }
+
+  @Test
+  public void testNextIdUniqueAcrossThreads() throws Exception {
+    int threads = 16;
+    int idsPerThread = 20000;
+    Set<String> ids = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < idsPerThread; i++) ids.add(ProjectUtil.generateUniqueId());
+                }));
+      }
+      for (Future<?> future : futures) future.get();
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(threads * idsPerThread, ids.size());
+  }
+
+  @Test
+  public void testGetNodeId() {
+    assertEquals(42, UniqueIdGenerator.getNodeId("100042", "course-service-0"));
+    int node = UniqueIdGenerator.getNodeId(null, "course-service-0");
+    assertEquals(node, UniqueIdGenerator.getNodeId("", "course-service-0"));
+    assertTrue(node >= 0 && node < 100000);
+  }
+
+  @Test
+  public void testGetUniqueIdFromTimestampSuccess() {
+    String id = ProjectUtil.getUniqueIdFromTimestamp(1);
+    assertEquals(23, id.length());
+    assertTrue(id.startsWith("0"));
+  }
+}
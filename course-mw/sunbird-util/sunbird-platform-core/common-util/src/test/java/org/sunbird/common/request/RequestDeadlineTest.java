@@ -0,0 +1,62 @@
+package org.sunbird.common.request;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.responsecode.ResponseCode;
+
+public class RequestDeadlineTest {
+
+  @After
+  public void tearDown() {
+    RequestDeadline.clear();
+  }
+
+  @Test
+  public void testNoDeadlineIsNeverExpired() {
+    RequestDeadline.set(getRequestContext(0));
+    assertFalse(RequestDeadline.isSet());
+    assertFalse(RequestDeadline.isExpired());
+    assertEquals(Long.MAX_VALUE, RequestDeadline.remainingMillis());
+    RequestDeadline.check();
+  }
+
+  @Test
+  public void testFutureDeadlineIsNotExpired() {
+    RequestDeadline.set(getRequestContext(System.currentTimeMillis() + 10000));
+    assertTrue(RequestDeadline.isSet());
+    assertFalse(RequestDeadline.isExpired());
+    RequestDeadline.check();
+  }
+
+  @Test
+  public void testPastDeadlineFailsCheck() {
+    RequestDeadline.set(getRequestContext(System.currentTimeMillis() - 1));
+    assertTrue(RequestDeadline.isExpired());
+    try {
+      RequestDeadline.check();
+    } catch (ProjectCommonException e) {
+      assertEquals(ResponseCode.operationTimeout.getErrorCode(), e.getCode());
+      return;
+    }
+    throw new AssertionError("check should fail after the deadline");
+  }
+
+  @Test
+  public void testClearRemovesDeadline() {
+    RequestDeadline.set(getRequestContext(System.currentTimeMillis() - 1));
+    RequestDeadline.clear();
+    assertFalse(RequestDeadline.isExpired());
+  }
+
+  private RequestContext getRequestContext(long deadline) {
+    RequestContext requestContext =
+        new RequestContext(null, null, null, null, null, "reqId", "false", "op");
+    requestContext.setDeadline(deadline);
+    return requestContext;
+  }
+}
@@ -0,0 +1,73 @@
+package org.sunbird.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.responsecode.ResponseCode;
+
+public class AdmissionControlTest {
+
+  @Test
+  public void testAcquireAndReleaseSuccess() {
+    AdmissionControl.Permit permit = AdmissionControl.acquire("test-actor", "testAcquire");
+    assertNotNull(permit);
+    permit.release(false);
+    Map<String, Object> operation = getOperationMetrics("testAcquire");
+    assertEquals(0, operation.get("inFlight"));
+    assertEquals(0L, operation.get("shed"));
+  }
+
+  @Test
+  public void testAcquireFailureOverOperationLimit() {
+    List<AdmissionControl.Permit> permits = new ArrayList<>();
+    try {
+      while (permits.size() < 1000) {
+        permits.add(AdmissionControl.acquire("limit-actor-" + permits.size(), "testLimit"));
+      }
+    } catch (ProjectCommonException e) {
+      assertEquals(ResponseCode.TOO_MANY_REQUESTS.getResponseCode(), e.getResponseCode());
+    }
+    assertEquals(64, permits.size());
+    assertEquals(1L, getOperationMetrics("testLimit").get("shed"));
+    permits.forEach(permit -> permit.release(false));
+  }
+
+  @Test
+  public void testAcquireFailureOverQueueDepth() {
+    List<AdmissionControl.Permit> permits = new ArrayList<>();
+    try {
+      while (permits.size() < 1000) {
+        permits.add(AdmissionControl.acquire("busy-actor", "testQueueDepth" + permits.size()));
+      }
+    } catch (ProjectCommonException e) {
+      assertEquals(ResponseCode.SERVICE_UNAVAILABLE.getResponseCode(), e.getResponseCode());
+    }
+    assertEquals(256, permits.size());
+    permits.forEach(permit -> permit.release(false));
+  }
+
+  @Test
+  public void testLimitDecreasesOnTimeout() {
+    AdmissionControl.acquire("timeout-actor", "testTimeout").release(true);
+    assertEquals(57, getOperationMetrics("testTimeout").get("limit"));
+  }
+
+  @Test
+  public void testReleaseTwiceIsIgnored() {
+    AdmissionControl.Permit permit = AdmissionControl.acquire("release-actor", "testRelease");
+    permit.release(true);
+    permit.release(true);
+    assertEquals(57, getOperationMetrics("testRelease").get("limit"));
+  }
+
+  private Map<String, Object> getOperationMetrics(String operation) {
+    Map<String, Object> operations =
+        (Map<String, Object>) AdmissionControl.snapshot().get("operations");
+    return (Map<String, Object>) operations.get(operation);
+  }
+}
@@ -0,0 +1,69 @@
+package org.sunbird.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mashape.unirest.http.HttpResponse;
+import com.mashape.unirest.http.async.Callback;
+import com.mashape.unirest.http.exceptions.UnirestException;
+import com.mashape.unirest.request.BaseRequest;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class OutboundHttpTest {
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testExecuteCountsServerErrors() throws UnirestException {
+    BaseRequest request = mock(BaseRequest.class);
+    HttpResponse<String> response = mock(HttpResponse.class);
+    when(response.getStatus()).thenReturn(200, 503);
+    when(request.asString()).thenReturn(response);
+    OutboundHttp.execute("testSync", request);
+    OutboundHttp.execute("testSync", request);
+    Map<String, Object> metrics = getMetrics("testSync");
+    assertEquals(2L, metrics.get("calls"));
+    assertEquals(1L, metrics.get("errors"));
+    assertEquals(0, metrics.get("inFlight"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testExecuteAsyncFailure() throws InterruptedException {
+    BaseRequest request = mock(BaseRequest.class);
+    doAnswer(
+            invocation -> {
+              ((Callback<String>) invocation.getArguments()[0])
+                  .failed(new UnirestException("connect timed out"));
+              return null;
+            })
+        .when(request)
+        .asStringAsync(Mockito.any(Callback.class));
+    CompletableFuture<HttpResponse<String>> future =
+        OutboundHttp.executeAsync("testAsync", request).toCompletableFuture();
+    try {
+      future.get();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof UnirestException);
+    }
+    assertTrue(future.isCompletedExceptionally());
+    assertEquals(1L, getMetrics("testAsync").get("errors"));
+  }
+
+  @Test
+  public void testGetHost() {
+    assertEquals("localhost", OutboundHttp.getHost("http://localhost:8000/v1/issuer/issuers"));
+    assertEquals("unknown", OutboundHttp.getHost("not a url"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> getMetrics(String destination) {
+    return (Map<String, Object>) OutboundHttp.snapshot().get(destination);
+  }
+}
@@ -0,0 +1,69 @@
+package org.sunbird.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class PostCommitExecutorTest {
+
+  @Test
+  public void testSubmitInlineRetriesUntilSuccess() {
+    AtomicInteger attempts = new AtomicInteger();
+    PostCommitExecutor.inline()
+        .submit(
+            "testInline",
+            null,
+            () -> {
+              if (attempts.incrementAndGet() < 2) throw new IllegalStateException("failed");
+            });
+    assertEquals(2, attempts.get());
+  }
+
+  @Test
+  public void testSubmitInlineGivesUpAfterMaxAttempts() {
+    AtomicInteger attempts = new AtomicInteger();
+    PostCommitExecutor.inline()
+        .submit(
+            "testInlineFailure",
+            null,
+            () -> {
+              attempts.incrementAndGet();
+              throw new IllegalStateException("failed");
+            });
+    assertEquals(3, attempts.get());
+  }
+
+  @Test
+  public void testSubmitRetriesInBackground() throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(2);
+    PostCommitExecutor.getInstance()
+        .submit(
+            "testBackground",
+            null,
+            () -> {
+              done.countDown();
+              if (done.getCount() > 0) throw new IllegalStateException("failed");
+            });
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    Map<String, Object> metrics = getTaskMetrics("testBackground");
+    for (int i = 0; i < 50 && !Long.valueOf(1).equals(metrics.get("succeeded")); i++) {
+      Thread.sleep(10);
+      metrics = getTaskMetrics("testBackground");
+    }
+    assertEquals(1L, metrics.get("submitted"));
+    assertEquals(1L, metrics.get("retried"));
+    assertEquals(1L, metrics.get("succeeded"));
+    assertEquals(0L, metrics.get("failed"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> getTaskMetrics(String name) {
+    Map<String, Object> tasks = (Map<String, Object>) PostCommitExecutor.snapshot().get("tasks");
+    return (Map<String, Object>) tasks.get(name);
+  }
+}
@@ -0,0 +1,71 @@
+package org.sunbird.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class SingleFlightTest {
+
+  @Test
+  public void testExecuteCollapsesCallsInFlight() {
+    SingleFlight<String> singleFlight = new SingleFlight<>(true);
+    AtomicInteger sent = new AtomicInteger();
+    CompletableFuture<String> call = new CompletableFuture<>();
+    CompletionStage<String> first =
+        singleFlight.execute("search", () -> countCall(sent, call));
+    CompletionStage<String> second =
+        singleFlight.execute("search", () -> countCall(sent, new CompletableFuture<>()));
+    call.complete("result");
+    assertEquals("result", first.toCompletableFuture().join());
+    assertEquals("result", second.toCompletableFuture().join());
+    assertEquals(1, sent.get());
+    singleFlight.execute("search", () -> countCall(sent, CompletableFuture.completedFuture("next")));
+    assertEquals(2, sent.get());
+  }
+
+  @Test
+  public void testExecuteSharesFailure() {
+    SingleFlight<String> singleFlight = new SingleFlight<>(true);
+    CompletableFuture<String> call = new CompletableFuture<>();
+    CompletionStage<String> first = singleFlight.execute("search", () -> call);
+    CompletionStage<String> second = singleFlight.execute("search", () -> call);
+    call.completeExceptionally(new IllegalStateException("search failed"));
+    assertTrue(first.toCompletableFuture().isCompletedExceptionally());
+    assertTrue(second.toCompletableFuture().isCompletedExceptionally());
+  }
+
+  @Test
+  public void testExecuteWhenDisabled() {
+    SingleFlight<String> singleFlight = new SingleFlight<>(false);
+    AtomicInteger sent = new AtomicInteger();
+    singleFlight.execute("search", () -> countCall(sent, new CompletableFuture<>()));
+    singleFlight.execute("search", () -> countCall(sent, new CompletableFuture<>()));
+    assertEquals(2, sent.get());
+  }
+
+  @Test
+  public void testKeyIgnoresKeyOrder() {
+    Map<String, Object> filters = new LinkedHashMap<>();
+    filters.put("status", 1);
+    filters.put("courseId", "do_1");
+    Map<String, Object> reordered = new HashMap<>();
+    reordered.put("courseId", "do_1");
+    reordered.put("status", 1);
+    assertEquals(SingleFlight.key("index", filters), SingleFlight.key("index", reordered));
+    assertEquals(
+        SingleFlight.key("{\"limit\":10,\"query\":\"maths\"}"),
+        SingleFlight.key("{\"query\":\"maths\",\"limit\":10}"));
+  }
+
+  private CompletionStage<String> countCall(AtomicInteger sent, CompletionStage<String> call) {
+    sent.incrementAndGet();
+    return call;
+  }
+}
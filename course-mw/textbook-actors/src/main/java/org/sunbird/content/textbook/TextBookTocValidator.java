@@ -0,0 +1,141 @@
+package org.sunbird.content.textbook;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.commons.collections.CollectionUtils;
+import org.sunbird.common.models.util.ConfigSnapshot;
+import org.sunbird.common.models.util.JsonKey;
+
+/**
+ * Runs the lookups which validate an uploaded textbook TOC. The identifiers of all rows are
+ * collected and deduplicated first and then looked up in chunks of {@code
+ * sunbird_toc_validation_chunk_size}, at most {@code sunbird_toc_validation_parallelism} chunks at
+ * a time across all uploads, so the number of calls grows with the unique identifiers and not with
+ * the rows. Topics of a framework are kept for {@code sunbird_toc_framework_cache_ttl} seconds.
+ */
+public class TextBookTocValidator {
+
+  public static final int CHUNK_SIZE =
+      ConfigSnapshot.getInt(JsonKey.SUNBIRD_TOC_VALIDATION_CHUNK_SIZE, 100);
+
+  private static final ExecutorService validationExecutor = createValidationExecutor();
+  private static final Cache<String, List<String>> frameworkTopics =
+      CacheBuilder.newBuilder()
+          .maximumSize(100)
+          .expireAfterWrite(
+              ConfigSnapshot.getLong(JsonKey.SUNBIRD_TOC_FRAMEWORK_CACHE_TTL, 600L),
+              TimeUnit.SECONDS)
+          .build();
+
+  private final Map<String, Long> timings = new LinkedHashMap<>();
+
+  private static ExecutorService createValidationExecutor() {
+    AtomicInteger threadCount = new AtomicInteger();
+    return Executors.newFixedThreadPool(
+        Math.max(1, ConfigSnapshot.getInt(JsonKey.SUNBIRD_TOC_VALIDATION_PARALLELISM, 4)),
+        runnable -> {
+          Thread thread = new Thread(runnable, "toc-validation-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  /**
+   * Starts looking up the distinct ids in parallel chunks without waiting for the result.
+   *
+   * @param ids ids to look up, duplicates are looked up once
+   * @param chunkSize number of ids looked up by one call
+   * @param search looks up one chunk and returns the ids found
+   * @return ids found by all chunks, completed exceptionally if any chunk failed
+   */
+  public static CompletableFuture<Set<String>> lookup(
+      Collection<String> ids, int chunkSize, Function<List<String>, Collection<String>> search) {
+    if (CollectionUtils.isEmpty(ids)) {
+      return CompletableFuture.completedFuture(new HashSet<>());
+    }
+    List<CompletableFuture<Collection<String>>> futures = new ArrayList<>();
+    for (List<String> chunk :
+        Lists.partition(new ArrayList<>(new LinkedHashSet<>(ids)), Math.max(1, chunkSize))) {
+      futures.add(CompletableFuture.supplyAsync(() -> search.apply(chunk), validationExecutor));
+    }
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+        .thenApply(
+            done -> {
+              Set<String> found = new HashSet<>();
+              futures.forEach(future -> found.addAll(future.join()));
+              return found;
+            });
+  }
+
+  /** Waits for a lookup and rethrows the error of a failed chunk as it was thrown. */
+  public static Set<String> join(CompletableFuture<Set<String>> lookup) {
+    try {
+      return lookup.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+      throw e;
+    }
+  }
+
+  /**
+   * @param frameworkId framework of the textbook
+   * @param loader reads the topics of the framework, an empty result is not kept
+   * @return topics of the framework
+   */
+  public static List<String> getFrameworkTopics(
+      String frameworkId, Function<String, List<String>> loader) {
+    List<String> topics = null == frameworkId ? null : frameworkTopics.getIfPresent(frameworkId);
+    if (null == topics) {
+      topics = loader.apply(frameworkId);
+      if (null != frameworkId && CollectionUtils.isNotEmpty(topics)) {
+        frameworkTopics.put(frameworkId, topics);
+      }
+    }
+    return topics;
+  }
+
+  static void invalidateFrameworkTopics() {
+    frameworkTopics.invalidateAll();
+  }
+
+  /** Runs a validation phase and records its duration in milliseconds. */
+  public <T> T timed(String phase, Supplier<T> task) {
+    long start = System.currentTimeMillis();
+    try {
+      return task.get();
+    } finally {
+      timings.put(phase, System.currentTimeMillis() - start);
+    }
+  }
+
+  public void timed(String phase, Runnable task) {
+    timed(
+        phase,
+        () -> {
+          task.run();
+          return null;
+        });
+  }
+
+  /** @return duration in milliseconds per validation phase, in the order the phases ran */
+  public Map<String, Long> getTimings() {
+    return timings;
+  }
+}
@@ -26,6 +26,7 @@ import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.common.util.KeycloakRequiredActionLinkUtil;
 import org.sunbird.content.textbook.FileExtension;
 import org.sunbird.content.textbook.TextBookTocUploader;
+import org.sunbird.content.textbook.TextBookTocValidator;
 import org.sunbird.content.util.TextBookTocUtil;
 import org.sunbird.services.sso.SSOManager;
 import org.sunbird.services.sso.SSOServiceFactory;
@@ -48,6 +49,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static java.io.File.separator;
@@ -130,10 +132,13 @@ public class TextbookTocActor extends BaseActor {
     Map<Integer, List<String>> rowNumVsContentIdsMap =
         (Map<Integer, List<String>>) resultMap.get(JsonKey.LINKED_CONTENT);
     resultMap.remove(JsonKey.LINKED_CONTENT);
-    validateLinkedContents(rowNumVsContentIdsMap);
-    logger.info(null, 
-        "Timed:TextbookTocActor:upload duration for validate linked content: "
-            + (Instant.now().toEpochMilli() - startTime.toEpochMilli()));
+    TextBookTocValidator validator = new TextBookTocValidator();
+    Map<String, List<Integer>> contentIdVsRowNumMap = getContentIdVsRowNumMap(rowNumVsContentIdsMap);
+    CompletableFuture<Set<String>> linkedContentLookup =
+        TextBookTocValidator.lookup(
+            contentIdVsRowNumMap.keySet(),
+            TextBookTocValidator.CHUNK_SIZE,
+            this::callSearchApiForContentIdsValidation);
     resultMap.put(JsonKey.LINKED_CONTENT, false);
     for (Entry<Integer, List<String>> entry : rowNumVsContentIdsMap.entrySet()) {
       if (CollectionUtils.isNotEmpty(entry.getValue())) {
@@ -143,13 +148,40 @@ public class TextbookTocActor extends BaseActor {
     }
     String tbId = (String) request.get(TEXTBOOK_ID);
 
-    Map<String, Object> hierarchy = getHierarchy(tbId);
+    Map<String, Object> hierarchy = validator.timed("hierarchy", () -> getHierarchy(tbId));
     logger.info(null, 
         "Timed:TextbookTocActor:upload duration for get hirearchy data: "
             + (Instant.now().toEpochMilli() - startTime.toEpochMilli()));
-    validateTopics(topics, (String) hierarchy.get(JsonKey.FRAMEWORK));
-    validateDialCodesWithReservedDialCodes(dialCodes, hierarchy, (String) request.getContext().getOrDefault(JsonKey.X_AUTH_TOKEN, ""));
-    checkDialCodeUniquenessInTextBookHierarchy(reqDialCodeIdentifierMap, hierarchy);
+    String channel = (String) hierarchy.get(JsonKey.CHANNEL);
+    String authToken = (String) request.getContext().getOrDefault(JsonKey.X_AUTH_TOKEN, "");
+    CompletableFuture<Set<String>> dialCodeLookup =
+        TextBookTocValidator.lookup(
+            dialCodes,
+            TextBookTocValidator.CHUNK_SIZE,
+            chunk -> callDialcodeSearchApi(chunk, channel, authToken));
+    validator.timed(
+        "topics", () -> validateTopics(topics, (String) hierarchy.get(JsonKey.FRAMEWORK)));
+    validator.timed(
+        "linkedContents",
+        () ->
+            validateLinkedContents(
+                contentIdVsRowNumMap, TextBookTocValidator.join(linkedContentLookup)));
+    validator.timed(
+        "dialCodes",
+        () ->
+            validateDialCodesWithReservedDialCodes(
+                dialCodes, TextBookTocValidator.join(dialCodeLookup)));
+    validator.timed(
+        "dialCodeUniqueness",
+        () -> checkDialCodeUniquenessInTextBookHierarchy(reqDialCodeIdentifierMap, hierarchy));
+    logger.info(
+        null,
+        "Timed:TextbookTocActor:upload validation phases for "
+            + contentIdVsRowNumMap.size()
+            + " linked contents and "
+            + (null == dialCodes ? 0 : dialCodes.size())
+            + " dial codes: "
+            + validator.getTimings());
     request.getRequest().put(JsonKey.DATA, resultMap);
     String mode = ((Map<String, Object>) request.get(JsonKey.DATA)).get(JsonKey.MODE).toString();
     logger.info(null, 
@@ -175,11 +207,11 @@ public class TextbookTocActor extends BaseActor {
     sender().tell(response, sender());
   }
 
-  private void validateLinkedContents(Map<Integer, List<String>> rowNumVsContentIdsMap)
-      throws Exception {
+  private Map<String, List<Integer>> getContentIdVsRowNumMap(
+      Map<Integer, List<String>> rowNumVsContentIdsMap) {
     // rowNumVsContentIdsMap convert to contentIdVsrowListMap
+    Map<String, List<Integer>> contentIdVsRowNumMap = new HashMap<>();
     if (MapUtils.isNotEmpty(rowNumVsContentIdsMap)) {
-      Map<String, List<Integer>> contentIdVsRowNumMap = new HashMap<>();
       rowNumVsContentIdsMap.forEach(
           (k, v) -> {
             v.forEach(
@@ -193,20 +225,26 @@ public class TextbookTocActor extends BaseActor {
                   }
                 });
           });
-      callSearchApiForContentIdsValidation(contentIdVsRowNumMap);
     }
+    return contentIdVsRowNumMap;
   }
 
-  @SuppressWarnings("unchecked")
-  private void callSearchApiForContentIdsValidation(Map<String, List<Integer>> contentIdVsRowNumMap)
-      throws Exception {
+  private void validateLinkedContents(
+      Map<String, List<Integer>> contentIdVsRowNumMap, Set<String> searchedContentIds) {
     if (MapUtils.isEmpty(contentIdVsRowNumMap)) {
       logger.info(null, 
-          "TextbookTocActor:callSearchApiForContentIdsValidation : Content id map is Empty.");
+          "TextbookTocActor:validateLinkedContents : Content id map is Empty.");
       return;
     }
-    List<String> contentIds = new ArrayList<>();
-    contentIds.addAll(contentIdVsRowNumMap.keySet());
+    if (!searchedContentIds.containsAll(contentIdVsRowNumMap.keySet())) {
+      String errorMsg = prepareErrorMsg(contentIdVsRowNumMap, searchedContentIds);
+      ProjectCommonException.throwClientErrorException(
+          ResponseCode.errorInvalidLinkedContentId, errorMsg);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private Set<String> callSearchApiForContentIdsValidation(List<String> contentIds) {
     Map<String, Object> requestMap = new HashMap<>();
     Map<String, Object> request = new HashMap<>();
     Map<String, Object> filters = new HashMap<>();
@@ -222,8 +260,10 @@ public class TextbookTocActor extends BaseActor {
         getConfigValue(JsonKey.SUNBIRD_CS_BASE_URL)
             + getConfigValue(JsonKey.SUNBIRD_CONTENT_SEARCH_URL);
     HttpResponse<String> updateResponse = null;
+    Set<String> searchedContentIds = new HashSet<>();
     logger.info(null, 
-        "TextbookTocActor:callSearchApiForContentIdsValidation : requestUrl=" + requestUrl);
+        "TextbookTocActor:callSearchApiForContentIdsValidation : requestUrl=" + requestUrl
+            + ", contentIds=" + contentIds.size());
     try {
       updateResponse =
           Unirest.post(requestUrl)
@@ -237,15 +277,12 @@ public class TextbookTocActor extends BaseActor {
                 + response.getResponseCode().getResponseCode());
         if (response.getResponseCode().getResponseCode() == ResponseCode.OK.getResponseCode()) {
           Map<String, Object> result = response.getResult();
-          Set<String> searchedContentIds = new HashSet<>();
           if (MapUtils.isNotEmpty(result)) {
             int count = (int) result.get(JsonKey.COUNT);
             if (0 == count) {
               logger.info(null, 
                   "TextbookTocActor:callSearchApiForContentIdsValidation : Content id count in response is zero.");
-              String errorMsg = prepareErrorMsg(contentIdVsRowNumMap, searchedContentIds);
-              ProjectCommonException.throwClientErrorException(
-                  ResponseCode.errorInvalidLinkedContentId, errorMsg);
+              return searchedContentIds;
             }
             List<Map<String, Object>> content =
                 (List<Map<String, Object>>) result.get(JsonKey.CONTENT);
@@ -254,11 +291,6 @@ public class TextbookTocActor extends BaseActor {
                   contentMap -> {
                     searchedContentIds.add((String) contentMap.get(JsonKey.IDENTIFIER));
                   });
-              if (searchedContentIds.size() != contentIds.size()) {
-                String errorMsg = prepareErrorMsg(contentIdVsRowNumMap, searchedContentIds);
-                ProjectCommonException.throwClientErrorException(
-                    ResponseCode.errorInvalidLinkedContentId, errorMsg);
-              }
             } else {
               logger.info(null, 
                   "TextbookTocActor:callSearchApiForContentIdsValidation : Content is Empty.");
@@ -280,10 +312,11 @@ public class TextbookTocActor extends BaseActor {
           "TextbookTocActor:validateLinkedContents : Error occurred with message " + e.getMessage(),
           e);
       if (e instanceof ProjectCommonException) {
-        throw e;
+        throw (ProjectCommonException) e;
       }
       throwCompositeSearchFailureError();
     }
+    return searchedContentIds;
   }
 
   private String prepareErrorMsg(
@@ -392,7 +425,8 @@ public class TextbookTocActor extends BaseActor {
 
   private void validateTopics(Set<String> topics, String frameworkId) {
     if (CollectionUtils.isNotEmpty(topics)) {
-      List<String> frameworkTopics = getRelatedFrameworkTopics(frameworkId);
+      List<String> frameworkTopics =
+          TextBookTocValidator.getFrameworkTopics(frameworkId, this::getRelatedFrameworkTopics);
       Set<String> invalidTopics = new HashSet<>();
       topics.forEach(
           name -> {
@@ -445,11 +479,9 @@ public class TextbookTocActor extends BaseActor {
   }
 
   private void validateDialCodesWithReservedDialCodes(
-      Set<String> dialCodes, Map<String, Object> textbookData, String authToken) {
-    String channel = (String) textbookData.get(JsonKey.CHANNEL);
+      Set<String> dialCodes, Set<String> searchedDialcodes) {
     if (CollectionUtils.isNotEmpty(dialCodes)) {
       Set<String> invalidDialCodes = new HashSet<>();
-      List<String> searchedDialcodes = callDialcodeSearchApi(dialCodes, channel, authToken);
       if (CollectionUtils.isNotEmpty(searchedDialcodes)) {
         dialCodes.forEach(
             dialCode -> {
@@ -466,7 +498,7 @@ public class TextbookTocActor extends BaseActor {
     }
   }
 
-  private List<String> callDialcodeSearchApi(Set<String> dialCodes, String channel, String authToken) {
+  private List<String> callDialcodeSearchApi(List<String> dialCodes, String channel, String authToken) {
     Map<String, Object> requestMap = new HashMap<>();
     Map<String, Object> request = new HashMap<>();
     requestMap.put(JsonKey.REQUEST, request);
@@ -0,0 +1,71 @@
+package org.sunbird.content.textbook;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.sunbird.common.exception.ProjectCommonException;
+import org.sunbird.common.responsecode.ResponseCode;
+
+public class TextBookTocValidatorTest {
+
+  @Test
+  public void testLookupSearchesDistinctIdsInChunks() {
+    List<List<String>> requests = Collections.synchronizedList(new ArrayList<>());
+    Set<String> found =
+        TextBookTocValidator.join(
+            TextBookTocValidator.lookup(
+                Arrays.asList("do_1", "do_2", "do_1", "do_3", "do_2"),
+                2,
+                chunk -> {
+                  requests.add(chunk);
+                  return chunk.contains("do_3") ? Collections.emptyList() : chunk;
+                }));
+    assertEquals(new HashSet<>(Arrays.asList("do_1", "do_2")), found);
+    assertEquals(2, requests.size());
+    assertEquals(3, requests.stream().mapToInt(List::size).sum());
+  }
+
+  @Test(expected = ProjectCommonException.class)
+  public void testLookupRethrowsChunkError() {
+    TextBookTocValidator.join(
+        TextBookTocValidator.lookup(
+            Arrays.asList("do_1"),
+            2,
+            chunk -> {
+              ProjectCommonException.throwServerErrorException(ResponseCode.SERVER_ERROR);
+              return chunk;
+            }));
+  }
+
+  @Test
+  public void testFrameworkTopicsAreCachedWhenFound() {
+    TextBookTocValidator.invalidateFrameworkTopics();
+    AtomicInteger reads = new AtomicInteger();
+    TextBookTocValidator.getFrameworkTopics(
+        "NCF",
+        id -> {
+          reads.incrementAndGet();
+          return Collections.emptyList();
+        });
+    List<String> topics =
+        TextBookTocValidator.getFrameworkTopics(
+            "NCF",
+            id -> {
+              reads.incrementAndGet();
+              return Arrays.asList("Plants");
+            });
+    TextBookTocValidator.getFrameworkTopics("NCF", id -> Collections.emptyList());
+    assertEquals(2, reads.get());
+    assertTrue(topics.contains("Plants"));
+    assertEquals(
+        topics, TextBookTocValidator.getFrameworkTopics("NCF", id -> Collections.emptyList()));
+  }
+}
@@ -2,6 +2,7 @@ package controllers;
 
 import akka.actor.ActorRef;
 import akka.actor.ActorSelection;
+import akka.pattern.AskTimeoutException;
 import akka.pattern.PatternsCS;
 import akka.util.Timeout;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -21,6 +22,7 @@ import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.HeaderParam;
 import org.sunbird.common.request.RequestContext;
 import org.sunbird.common.responsecode.ResponseCode;
+import org.sunbird.common.util.AdmissionControl;
 import org.sunbird.keys.SunbirdKey;
 import org.sunbird.telemetry.util.TelemetryEvents;
 import org.sunbird.telemetry.util.TelemetryWriter;
@@ -32,6 +34,7 @@ import play.mvc.Result;
 import play.mvc.Results;
 import util.Attrs;
 import util.AuthenticationHelper;
+import util.ConditionalResponse;
 
 import java.io.File;
 import java.io.UnsupportedEncodingException;
@@ -43,6 +46,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
@@ -336,17 +340,48 @@ public class BaseController extends Controller {
     response.setParams(createResponseParamObj(code, null, request.attrs().getOptional(Attrs.REQUEST_ID).orElse(null)));
 
     String value = null;
+    String json = null;
     try {
       if (response.getResult() != null) {
-        String json = new ObjectMapper().writeValueAsString(response.getResult());
+        json = ConditionalResponse.toJson(response.getResult());
         value = getResponseSize(json);
       }
     } catch (Exception e) {
       value = "0.0";
     }
 
+    String ifNoneMatch = request.header(Http.HeaderNames.IF_NONE_MATCH).orElse(null);
+    if (null != ifNoneMatch
+        && null != json
+        && !ConditionalResponse.isCacheable(request.method())
+        && ConditionalResponse.isNotModified(ifNoneMatch, ConditionalResponse.getETag(json))) {
+      return Results.status(Http.Status.PRECONDITION_FAILED)
+          .withHeader(HeaderParam.X_Response_Length.getName(), value);
+    }
+    String cacheControl = ConditionalResponse.getCacheControl(request.method(), request.path());
+    if (null == cacheControl || null == json) {
+      return Results.ok(Json.toJson(response))
+          .withHeader(HeaderParam.X_Response_Length.getName(), value);
+    }
+    String etag = ConditionalResponse.getETag(json);
+    if (ConditionalResponse.isNotModified(ifNoneMatch, etag)) {
+      return Results.status(Http.Status.NOT_MODIFIED)
+          .withHeaders(
+              HeaderParam.X_Response_Length.getName(),
+              value,
+              Http.HeaderNames.ETAG,
+              etag,
+              Http.HeaderNames.CACHE_CONTROL,
+              cacheControl);
+    }
     return Results.ok(Json.toJson(response))
-        .withHeader(HeaderParam.X_Response_Length.getName(), value);
+        .withHeaders(
+            HeaderParam.X_Response_Length.getName(),
+            value,
+            Http.HeaderNames.ETAG,
+            etag,
+            Http.HeaderNames.CACHE_CONTROL,
+            cacheControl);
   }
 
   /**
@@ -532,6 +567,11 @@ public class BaseController extends Controller {
     // ...
     setContextData(httpReq, request);
     setChannelAndActorInfo(httpReq, request);
+    if (null != request.getRequestContext()) {
+      request
+          .getRequestContext()
+          .setDeadline(System.currentTimeMillis() + timeout.duration().toMillis());
+    }
 
     Function<Object, Result> function =
         new Function<Object, Result>() {
@@ -554,11 +594,37 @@ public class BaseController extends Controller {
           }
         };
 
+    String actorName =
+        (actorRef instanceof ActorRef)
+            ? ((ActorRef) actorRef).path().name()
+            : ((ActorSelection) actorRef).pathString();
+    AdmissionControl.Permit permit;
+    try {
+      permit = AdmissionControl.acquire(actorName, operation);
+    } catch (ProjectCommonException e) {
+      ProjectLogger.log(
+          "BaseController:actorResponseHandler: request shed for operation = " + operation,
+          LoggerEnum.INFO.name());
+      return CompletableFuture.completedFuture(createCommonExceptionResponse(e, httpReq));
+    }
+    CompletionStage<Object> future;
     if (actorRef instanceof ActorRef) {
-      return PatternsCS.ask((ActorRef) actorRef, request, timeout).thenApply(function);
+      future = PatternsCS.ask((ActorRef) actorRef, request, timeout);
     } else {
-      return PatternsCS.ask((ActorSelection) actorRef, request, timeout).thenApply(function);
+      future = PatternsCS.ask((ActorSelection) actorRef, request, timeout);
     }
+    return future
+        .whenComplete((result, failure) -> permit.release(isTimeout(result, failure)))
+        .thenApply(function);
+  }
+
+  private static boolean isTimeout(Object result, Throwable failure) {
+    Throwable cause = (failure instanceof CompletionException) ? failure.getCause() : failure;
+    return cause instanceof AskTimeoutException
+        || (result instanceof ProjectCommonException
+            && ResponseCode.operationTimeout
+                .getErrorCode()
+                .equals(((ProjectCommonException) result).getCode()));
   }
 
   /**
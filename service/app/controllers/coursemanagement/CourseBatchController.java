@@ -6,13 +6,16 @@ import com.fasterxml.jackson.databind.JsonNode;
 import controllers.BaseController;
 import controllers.coursemanagement.validator.CourseBatchRequestValidator;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Named;
+import org.apache.commons.lang3.StringUtils;
 import org.sunbird.common.models.util.ActorOperations;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
@@ -57,8 +60,16 @@ public class CourseBatchController extends BaseController {
     return handleRequest(
         courseBatchActorRef,
         ActorOperations.GET_BATCH.getValue(),
+        null,
+        (request) -> {
+          ((Request) request)
+              .getContext()
+              .put(JsonKey.CERT_TEMPLATE_FIELDS, getCertTemplateFields(httpRequest));
+          return null;
+        },
         batchId,
         JsonKey.BATCH_ID,
+        null,
         false,
         httpRequest);
   }
@@ -122,6 +133,7 @@ public class CourseBatchController extends BaseController {
       reqObj.put(JsonKey.REQUESTED_BY, httpRequest.attrs().getOptional(Attrs.USER_ID).orElse(null));
       String requestedField = httpRequest.getQueryString(JsonKey.FIELDS);
       reqObj.getContext().put(JsonKey.PARTICIPANTS, requestedField);
+      reqObj.getContext().put(JsonKey.CERT_TEMPLATE_FIELDS, getCertTemplateFields(httpRequest));
       List<String> esObjectType = new ArrayList<>();
       esObjectType.add(EsType.courseBatch.getTypeName());
 
@@ -141,6 +153,16 @@ public class CourseBatchController extends BaseController {
     }
   }
 
+  /** @return template fields to keep in cert_templates of the batches, null to keep all */
+  private List<String> getCertTemplateFields(Http.Request httpRequest) {
+    String fields = httpRequest.getQueryString(JsonKey.CERT_TEMPLATE_FIELDS);
+    if (StringUtils.isBlank(fields)) return null;
+    return Arrays.stream(fields.split(","))
+        .map(String::trim)
+        .filter(StringUtils::isNotBlank)
+        .collect(Collectors.toList());
+  }
+
   public CompletionStage<Result> getParticipants(Http.Request httpRequest) {
     return handleRequest(
         courseBatchActorRef,
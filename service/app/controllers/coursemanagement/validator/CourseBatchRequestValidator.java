@@ -334,9 +334,26 @@ public class CourseBatchRequestValidator extends BaseRequestValidator {
                 MessageFormat.format(ResponseCode.invalidRequestData.getErrorMessage(), JsonKey.BATCH),
                 ResponseCode.CLIENT_ERROR.getResponseCode());
     }
+    Map<String, Object> batch = (Map<String, Object>) request.getRequest().get(JsonKey.BATCH);
     validateParam(
-            (String) ((Map<String, Object>)request.getRequest().get(JsonKey.BATCH)).get(JsonKey.BATCH_ID),
+            (String) batch.get(JsonKey.BATCH_ID),
             ResponseCode.mandatoryParamsMissing,
             JsonKey.BATCH_ID);
+    Object limit = batch.get(JsonKey.LIMIT);
+    if (null != limit && (!(limit instanceof Integer) || (int) limit <= 0)) {
+      throw new ProjectCommonException(
+          ResponseCode.invalidParameterValue.getErrorCode(),
+          MessageFormat.format(
+              ResponseCode.invalidParameterValue.getErrorMessage(), limit, JsonKey.LIMIT),
+          ResponseCode.CLIENT_ERROR.getResponseCode());
+    }
+    Object cursor = batch.get(JsonKey.CURSOR);
+    if (null != cursor && !(cursor instanceof String)) {
+      throw new ProjectCommonException(
+          ResponseCode.invalidParameterValue.getErrorCode(),
+          MessageFormat.format(
+              ResponseCode.invalidParameterValue.getErrorMessage(), cursor, JsonKey.CURSOR),
+          ResponseCode.CLIENT_ERROR.getResponseCode());
+    }
   }
 }
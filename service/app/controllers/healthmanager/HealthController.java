@@ -2,6 +2,7 @@
 package controllers.healthmanager;
 
 import akka.actor.ActorRef;
+import com.fasterxml.jackson.databind.JsonNode;
 import controllers.BaseController;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -12,9 +13,18 @@ import java.util.concurrent.CompletionStage;
 import javax.inject.Inject;
 import javax.inject.Named;
 import org.apache.commons.lang3.StringUtils;
+import org.sunbird.actor.core.BulkheadMetrics;
+import org.sunbird.common.ElasticSearchBulkQueue;
 import org.sunbird.common.models.response.Response;
 import org.sunbird.common.models.util.*;
 import org.sunbird.common.request.Request;
+import org.sunbird.common.util.AdmissionControl;
+import org.sunbird.common.util.OutboundHttp;
+import org.sunbird.common.util.PostCommitExecutor;
+import org.sunbird.common.util.SingleFlight;
+import org.sunbird.enrolments.ContentStateCoalescer;
+import org.sunbird.learner.actors.health.HealthProber;
+import org.sunbird.userorg.UserOrgCache;
 import play.mvc.Http;
 import play.mvc.Result;
 import util.Attrs;
@@ -67,6 +77,14 @@ public class HealthController extends BaseController {
     finalResponseMap.put(JsonKey.CHECKS, responseList);
     finalResponseMap.put(JsonKey.NAME, "Learner service health");
     finalResponseMap.put(JsonKey.Healthy, true);
+    finalResponseMap.put(JsonKey.BULKHEADS, BulkheadMetrics.snapshot());
+    finalResponseMap.put(JsonKey.ADMISSION, AdmissionControl.snapshot());
+    finalResponseMap.put(JsonKey.POST_COMMIT, PostCommitExecutor.snapshot());
+    finalResponseMap.put(JsonKey.CONTENT_STATE_COALESCER, ContentStateCoalescer.getInstance().snapshot());
+    finalResponseMap.put(JsonKey.ES_BULK_QUEUE, ElasticSearchBulkQueue.getInstance().snapshot());
+    finalResponseMap.put(JsonKey.OUTBOUND_HTTP, OutboundHttp.snapshot());
+    finalResponseMap.put(JsonKey.USER_ORG_CACHE, UserOrgCache.snapshot());
+    finalResponseMap.put(JsonKey.SINGLE_FLIGHT, SingleFlight.snapshot());
     Response response = new Response();
     response.getResult().put(JsonKey.RESPONSE, finalResponseMap);
     response.setId("learner.service.health.api");
@@ -75,4 +93,62 @@ public class HealthController extends BaseController {
     return CompletableFuture.completedFuture(ok(play.libs.Json.toJson(response)));
   }
 
+  /**
+   * Liveness probe, answers as long as the service handles requests. Dependencies are not checked.
+   *
+   * @return CompletionStage<Result>
+   */
+  public CompletionStage<Result> getLiveness(Http.Request httpRequest) {
+    Map<String, Object> finalResponseMap = new HashMap<>();
+    finalResponseMap.put(JsonKey.NAME, "Learner service liveness");
+    finalResponseMap.put(JsonKey.Healthy, true);
+    return CompletableFuture.completedFuture(
+        ok(createHealthResponse("learner.service.health.live", finalResponseMap, httpRequest)));
+  }
+
+  /**
+   * Readiness probe, answers 503 unless the last background probes of Cassandra and Elasticsearch
+   * succeeded.
+   *
+   * @return CompletionStage<Result>
+   */
+  public CompletionStage<Result> getReadiness(Http.Request httpRequest) {
+    HealthProber prober = HealthProber.getInstance();
+    boolean ready = prober.isReady();
+    Map<String, Object> finalResponseMap = new HashMap<>();
+    finalResponseMap.put(JsonKey.NAME, "Learner service readiness");
+    finalResponseMap.put(JsonKey.READY, ready);
+    finalResponseMap.put(
+        JsonKey.CHECKS, prober.getChecks(JsonKey.CASSANDRA_SERVICE, JsonKey.ES_SERVICE));
+    return CompletableFuture.completedFuture(
+        status(
+            ready ? Http.Status.OK : Http.Status.SERVICE_UNAVAILABLE,
+            createHealthResponse("learner.service.health.ready", finalResponseMap, httpRequest)));
+  }
+
+  /**
+   * Last background probe of every dependency with its latency, and the service diagnostics. Unlike
+   * the liveness and readiness probes, this requires an authenticated caller.
+   *
+   * @return CompletionStage<Result>
+   */
+  public CompletionStage<Result> getHealthDetail(Http.Request httpRequest) {
+    Map<String, Object> finalResponseMap = new HashMap<>(HealthProber.getInstance().snapshot());
+    finalResponseMap.put(JsonKey.NAME, "Learner service health detail");
+    finalResponseMap.put(JsonKey.BULKHEADS, BulkheadMetrics.snapshot());
+    finalResponseMap.put(JsonKey.ADMISSION, AdmissionControl.snapshot());
+    finalResponseMap.put(JsonKey.OUTBOUND_HTTP, OutboundHttp.snapshot());
+    return CompletableFuture.completedFuture(
+        ok(createHealthResponse("learner.service.health.detail", finalResponseMap, httpRequest)));
+  }
+
+  private JsonNode createHealthResponse(
+      String id, Map<String, Object> finalResponseMap, Http.Request httpRequest) {
+    Response response = new Response();
+    response.getResult().put(JsonKey.RESPONSE, finalResponseMap);
+    response.setId(id);
+    response.setVer(getApiVersion(httpRequest.path()));
+    response.setTs(httpRequest.attrs().getOptional(Attrs.REQUEST_ID).orElse(null));
+    return play.libs.Json.toJson(response);
+  }
 }
@@ -7,6 +7,7 @@ import java.util.concurrent.CompletionStage;
 import javax.inject.Inject;
 import javax.inject.Named;
 import org.sunbird.common.models.util.ActorOperations;
+import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.request.Request;
@@ -33,4 +34,17 @@ public class QRCodeDownloadController extends BaseController {
         },
         httpRequest);
   }
+
+  public CompletionStage<Result> getQRCodeDownloadStatus(String processId, Http.Request httpRequest) {
+    return handleRequest(
+        qrcodeDownloadActorRef,
+        ActorOperations.GET_QR_CODE_DOWNLOAD_STATUS.getValue(),
+        null,
+        null,
+        processId,
+        JsonKey.PROCESS_ID,
+        null,
+        false,
+        httpRequest);
+  }
 }
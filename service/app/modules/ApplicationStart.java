@@ -9,6 +9,8 @@ import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.LoggerEnum;
 import org.sunbird.common.models.util.ProjectLogger;
 import org.sunbird.common.models.util.ProjectUtil;
+import org.sunbird.common.util.OutboundHttp;
+import org.sunbird.learner.actors.health.HealthProber;
 import org.sunbird.learner.util.SchedulerManager;
 import org.sunbird.learner.util.Util;
 import play.api.Environment;
@@ -39,7 +41,9 @@ public class ApplicationStart {
     ssoPublicKey = System.getenv(JsonKey.SSO_PUBLIC_KEY);
     ProjectLogger.log("Server started.. with environment: " + env.name(), LoggerEnum.INFO.name());
     checkCassandraConnections();
+    OutboundHttp.init();
     SchedulerManager.schedule();
+    HealthProber.getInstance().start();
     lifecycle.addStopHook(
         () -> {
           return CompletableFuture.completedFuture(null);
@@ -7,9 +7,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.sunbird.auth.verifier.AccessTokenValidator;
 import org.sunbird.common.exception.ProjectCommonException;
 import org.sunbird.common.models.response.Response;
+import org.sunbird.common.models.util.ConfigSnapshot;
 import org.sunbird.common.models.util.JsonKey;
 import org.sunbird.common.models.util.ProjectLogger;
-import org.sunbird.common.models.util.ProjectUtil;
 import org.sunbird.common.request.HeaderParam;
 import org.sunbird.common.responsecode.ResponseCode;
 import org.sunbird.keys.SunbirdKey;
@@ -164,7 +164,7 @@ public class OnRequestHandler implements ActionCreator {
           if (optionalChannel.isPresent()) {
               channel = optionalChannel.get();
           } else {
-              String sunbirdDefaultChannel = ProjectUtil.getConfigValue(JsonKey.SUNBIRD_DEFAULT_CHANNEL);
+              String sunbirdDefaultChannel = ConfigSnapshot.getString(JsonKey.SUNBIRD_DEFAULT_CHANNEL);
               channel =
                       (StringUtils.isNotEmpty(sunbirdDefaultChannel))
                               ? sunbirdDefaultChannel
@@ -244,7 +244,7 @@ public class OnRequestHandler implements ActionCreator {
   }
 
   public CompletionStage<Result> checkForServiceHealth(Http.Request request) {
-    if (Boolean.parseBoolean((ProjectUtil.getConfigValue(JsonKey.SUNBIRD_HEALTH_CHECK_ENABLE)))
+    if (ConfigSnapshot.getBoolean(JsonKey.SUNBIRD_HEALTH_CHECK_ENABLE, false)
         && !request.path().endsWith(JsonKey.HEALTH)) {
       if (!isServiceHealthy) {
         ResponseCode headerCode = ResponseCode.SERVICE_UNAVAILABLE;
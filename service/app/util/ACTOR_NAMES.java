@@ -16,6 +16,7 @@ import org.sunbird.learner.actors.course.CourseManagementActor;
 import org.sunbird.learner.actors.coursebatch.CourseBatchManagementActor;
 import org.sunbird.learner.actors.coursebatch.CourseBatchNotificationActor;
 import org.sunbird.learner.actors.health.HealthActor;
+import org.sunbird.learner.actors.qrcodedownload.QRCodeDownloadBackgroundJobActor;
 import org.sunbird.learner.actors.qrcodedownload.QRCodeDownloadManagementActor;
 import org.sunbird.learner.actors.search.SearchHandlerActor;
 import org.sunbird.learner.actors.syncjobmanager.EsSyncActor;
@@ -34,6 +35,8 @@ public enum ACTOR_NAMES {
   CERTIFICATE_ACTOR(CertificateActor.class, "certificate-actor"),
   QRCODE_DOWNLOAD_MANAGEMENT_ACTOR(
       QRCodeDownloadManagementActor.class, "qrcode-download-management-actor"),
+  QRCODE_DOWNLOAD_BACKGROUND_JOB_ACTOR(
+      QRCodeDownloadBackgroundJobActor.class, "qrcode-download-background-job-actor"),
   BULK_UPLOAD_MANAMGEMENT_ACTOR(BulkUploadManagementActor.class, "bulk-upload-management-actor"),
   BULK_UPLOAD_BACKGROUND_JOB_ACTOR(
       BulkUploadBackGroundJobActor.class, "bulk-upload-background-job-actor"),
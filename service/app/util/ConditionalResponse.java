@@ -0,0 +1,94 @@
+package util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.commons.lang3.StringUtils;
+import org.sunbird.common.models.util.ConfigSnapshot;
+import org.sunbird.common.models.util.JsonKey;
+
+/**
+ * Validators of the responses of read heavy GET routes. The ETag of a response is a hash of its
+ * result, i.e. of the response without the request id and timestamp, so unchanged data keeps its
+ * ETag between reads and a GET or HEAD request sending it in If-None-Match can be answered with 304
+ * and no body. Responses of these routes carry a private Cache-Control, as the results depend on
+ * the caller, with the max-age configured per route; 0 means the client revalidates every read.
+ *
+ * <p>Responses of other methods carry no validators, as they are not cacheable. An If-None-Match
+ * sent with them which matches the response fails the request with 412.
+ */
+public class ConditionalResponse {
+
+  private static final Map<String, String> maxAgeKeys = new LinkedHashMap<>();
+  private static final ObjectMapper mapper =
+      new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+  static {
+    maxAgeKeys.put("/v1/user/courses/list", JsonKey.SUNBIRD_USER_COURSES_MAX_AGE);
+    maxAgeKeys.put("/v1/course/batch/read", JsonKey.SUNBIRD_COURSE_BATCH_READ_MAX_AGE);
+  }
+
+  private ConditionalResponse() {}
+
+  /** @return true if a matching If-None-Match is answered with 304, false if with 412 */
+  public static boolean isCacheable(String method) {
+    return "GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method);
+  }
+
+  /**
+   * @return Cache-Control of the route, null if the responses of the method and route have no
+   *     validators
+   */
+  public static String getCacheControl(String method, String path) {
+    if (null == path
+        || !isCacheable(method)
+        || !ConfigSnapshot.getBoolean(JsonKey.SUNBIRD_CONDITIONAL_RESPONSE_ENABLED, true)) {
+      return null;
+    }
+    for (Map.Entry<String, String> entry : maxAgeKeys.entrySet()) {
+      if (path.startsWith(entry.getKey())) {
+        int maxAge = ConfigSnapshot.getInt(entry.getValue(), 0);
+        return maxAge > 0 ? "private, max-age=" + maxAge : "private, no-cache";
+      }
+    }
+    return null;
+  }
+
+  /** @return result serialised with sorted map keys, so that equal results serialise equally */
+  public static String toJson(Object result) throws Exception {
+    return mapper.writeValueAsString(result);
+  }
+
+  /** @return strong ETag of the serialised result */
+  public static String getETag(String json) {
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+      return "\""
+          + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16))
+          + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @param ifNoneMatch value of the If-None-Match header, may be null
+   * @param etag ETag of the current response
+   * @return true if the client already has the current response
+   */
+  public static boolean isNotModified(String ifNoneMatch, String etag) {
+    if (StringUtils.isBlank(ifNoneMatch)) return false;
+    for (String tag : ifNoneMatch.split(",")) {
+      String value = StringUtils.removeStart(tag.trim(), "W/");
+      if ("*".equals(value) || etag.equals(value)) return true;
+    }
+    return false;
+  }
+}
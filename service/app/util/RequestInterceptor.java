@@ -1,6 +1,7 @@
 package util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -21,6 +22,8 @@ public class RequestInterceptor {
 
   public static List<String> restrictedUriList = null;
   private static ConcurrentHashMap<String, Short> apiHeaderIgnoreMap = new ConcurrentHashMap<>();
+  // authenticated although the parent path is public, service diagnostics are not for anonymous callers
+  private static final List<String> authenticatedUriList = Arrays.asList("/health/detail");
   private static LoggerUtil logger =  new LoggerUtil(RequestInterceptor.class);
 
   private RequestInterceptor() {}
@@ -34,6 +37,8 @@ public class RequestInterceptor {
     apiHeaderIgnoreMap.put("/v1/page/assemble", var);
     apiHeaderIgnoreMap.put("/v1/dial/assemble", var);
     apiHeaderIgnoreMap.put("/health", var);
+    apiHeaderIgnoreMap.put("/health/live", var);
+    apiHeaderIgnoreMap.put("/health/ready", var);
     apiHeaderIgnoreMap.put("/v1/data/sync", var);
     apiHeaderIgnoreMap.put("/v1/content/link", var);
     apiHeaderIgnoreMap.put("/v1/content/unlink", var);
@@ -112,7 +117,7 @@ public class RequestInterceptor {
    */
   public static boolean isRequestInExcludeList(String requestUrl) {
     boolean resp = false;
-    if (!StringUtils.isBlank(requestUrl)) {
+    if (!StringUtils.isBlank(requestUrl) && !authenticatedUriList.contains(requestUrl)) {
       if (apiHeaderIgnoreMap.containsKey(requestUrl)) {
         resp = true;
       } else {
@@ -215,6 +215,22 @@ public class CourseBatchControllerTest extends BaseApplicationTest {
     Assert.assertEquals( 200, result.status());
   }
 
+  @Test
+  public void testGetBatchNotModified() {
+    Result result =
+        Helpers.route(application, new Http.RequestBuilder().uri(GET_BATCH_URL).method("GET"));
+    Assert.assertEquals(200, result.status());
+    String etag = result.header(Http.HeaderNames.ETAG).get();
+    Http.RequestBuilder req =
+        new Http.RequestBuilder()
+            .uri(GET_BATCH_URL)
+            .header(Http.HeaderNames.IF_NONE_MATCH, etag)
+            .method("GET");
+    result = Helpers.route(application, req);
+    Assert.assertEquals(304, result.status());
+    Assert.assertEquals(etag, result.header(Http.HeaderNames.ETAG).get());
+  }
+
   @Test
   public void testSearchBatchSuccess() {
  //   setup(ACTOR_NAMES.SEARCH_HANDLER_ACTOR, DummyActor.class);
@@ -53,4 +53,25 @@ public class HealthControllerTest extends BaseApplicationTest {
     Assert.assertEquals(200, result.status());
   }
 
+  @Test
+  public void testLiveness() {
+    RequestBuilder req = new RequestBuilder().uri("/health/live").method("GET");
+    Result result = Helpers.route(application, req);
+    Assert.assertEquals(200, result.status());
+  }
+
+  @Test
+  public void testReadinessBeforeProbe() {
+    RequestBuilder req = new RequestBuilder().uri("/health/ready").method("GET");
+    Result result = Helpers.route(application, req);
+    Assert.assertEquals(503, result.status());
+  }
+
+  @Test
+  public void testHealthDetail() {
+    RequestBuilder req = new RequestBuilder().uri("/health/detail").method("GET");
+    Result result = Helpers.route(application, req);
+    Assert.assertEquals(200, result.status());
+  }
+
 }
@@ -0,0 +1,49 @@
+package util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class ConditionalResponseTest {
+
+  @Test
+  public void testETagIgnoresMapOrder() throws Exception {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("batchId", "0123");
+    result.put("status", 1);
+    Map<String, Object> reordered = new LinkedHashMap<>();
+    reordered.put("status", 1);
+    reordered.put("batchId", "0123");
+    String etag = ConditionalResponse.getETag(ConditionalResponse.toJson(result));
+    assertEquals(etag, ConditionalResponse.getETag(ConditionalResponse.toJson(reordered)));
+    reordered.put("status", 2);
+    assertNotEquals(etag, ConditionalResponse.getETag(ConditionalResponse.toJson(reordered)));
+  }
+
+  @Test
+  public void testIsNotModified() throws Exception {
+    String etag = ConditionalResponse.getETag(ConditionalResponse.toJson(new HashMap<>()));
+    assertTrue(ConditionalResponse.isNotModified("\"other\", W/" + etag, etag));
+    assertTrue(ConditionalResponse.isNotModified("*", etag));
+    assertFalse(ConditionalResponse.isNotModified("\"other\"", etag));
+    assertFalse(ConditionalResponse.isNotModified(null, etag));
+  }
+
+  @Test
+  public void testGetCacheControl() {
+    assertEquals(
+        "private, max-age=30",
+        ConditionalResponse.getCacheControl("GET", "/v1/course/batch/read/0123"));
+    assertEquals(
+        "private, no-cache", ConditionalResponse.getCacheControl("HEAD", "/v1/user/courses/list/1"));
+    assertNull(ConditionalResponse.getCacheControl("POST", "/v1/course/batch/read/0123"));
+    assertNull(ConditionalResponse.getCacheControl("GET", "/v1/course/batch/create"));
+  }
+}
@@ -117,6 +117,14 @@ public class RequestInterceptorTest {
     Assert.assertEquals("Anonymous", RequestInterceptor.verifyRequestData(req));
   }
 
+  @Test
+  public void testHealthDetailIsNotInExcludeList() {
+    Assert.assertTrue(RequestInterceptor.isRequestInExcludeList("/health"));
+    Assert.assertTrue(RequestInterceptor.isRequestInExcludeList("/health/live"));
+    Assert.assertTrue(RequestInterceptor.isRequestInExcludeList("/health/ready"));
+    Assert.assertFalse(RequestInterceptor.isRequestInExcludeList("/health/detail"));
+  }
+
   private Http.Request createRequest(String token, String path) {
     Http.Request req =
         new Http.Request() {